@@ -0,0 +1,52 @@
+-- EXPLAIN plans for the k6 MySQL scenarios, in the shape Hibernate generates for ProductSpecification.
+-- Run against the seeded 2M-row database before and after V5__AddProductSearchIndexes:
+--   mysql -h <host> -u <user> -p <db> < benchmarks/mysql-search-indexes-explain.sql
+-- Each query notes the index V5 was designed for. No plans or timings have been recorded yet;
+-- check the actual plans here, and the k6 latencies from run-mysql-baseline.sh, before relying on them.
+
+-- Default browse, newest first -> idx_products_deleted_created_at (no filesort)
+EXPLAIN FORMAT=TREE
+SELECT p.id FROM products p
+WHERE p.is_deleted = 0
+ORDER BY p.created_at DESC
+LIMIT 20 OFFSET 0;
+
+-- filtered_sorted_paginated: category name + price range, sorted by price -> idx_products_category_deleted_price
+EXPLAIN FORMAT=TREE
+SELECT p.id FROM products p
+JOIN categories c ON c.id = p.category_id
+WHERE p.is_deleted = 0
+  AND lower(c.name) = 'footwear'
+  AND p.price >= 100 AND p.price <= 2500
+ORDER BY p.price ASC
+LIMIT 20 OFFSET 100;
+
+-- Currency + price range, sorted by price -> idx_products_currency_deleted_price
+EXPLAIN FORMAT=TREE
+SELECT p.id FROM products p
+WHERE p.is_deleted = 0
+  AND p.currency = 0
+  AND p.price >= 100 AND p.price <= 2500
+ORDER BY p.price DESC
+LIMIT 20;
+
+-- Created-date window -> idx_products_deleted_created_at (range)
+EXPLAIN FORMAT=TREE
+SELECT p.id FROM products p
+WHERE p.is_deleted = 0
+  AND p.created_at >= '2024-01-01' AND p.created_at <= '2024-03-31'
+ORDER BY p.created_at DESC
+LIMIT 20;
+
+-- autocomplete (DB fallback before the in-memory index loads): prefix on the case-insensitive name -> uc_products_name
+EXPLAIN FORMAT=TREE
+SELECT p.id FROM products p
+WHERE p.is_deleted = 0
+  AND p.name LIKE 'pre%' ESCAPE '\\'
+ORDER BY p.name ASC
+LIMIT 10;
+
+-- Reindex catch-up -> idx_products_last_modified_at (range)
+EXPLAIN FORMAT=TREE
+SELECT p.id FROM products p
+WHERE p.last_modified_at >= NOW() - INTERVAL 10 MINUTE;
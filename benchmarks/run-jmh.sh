@@ -0,0 +1,82 @@
+#!/usr/bin/env bash
+set -euo pipefail
+
+# Runs the JMH microbenchmarks (src/jmh/java, built by the jmh Maven profile) with the GC
+# profiler, so every benchmark reports bytes allocated per operation (gc.alloc.rate.norm)
+# next to its time. Given the result file of an earlier run as BASELINE, it fails when any
+# benchmark now allocates more than ALLOC_THRESHOLD_PCT percent more per operation.
+# Allocation per operation is stable between runs on the same JDK, unlike timings on a
+# shared machine, so it is what gates; time changes are only reported.
+#   ./benchmarks/run-jmh.sh                                        # everything
+#   INCLUDE=ProductDocument ./benchmarks/run-jmh.sh                # a subset (regex on names)
+#   LABEL=main ./benchmarks/run-jmh.sh                             # on the base branch, then:
+#   BASELINE=benchmarks/results/jmh_main_<timestamp>.json ./benchmarks/run-jmh.sh
+# Needs jq for the comparison.
+
+SCRIPT_DIR="$(cd "$(dirname "$0")" && pwd)"
+ROOT_DIR="$(cd "$SCRIPT_DIR/.." && pwd)"
+RESULTS_DIR="$SCRIPT_DIR/results"
+TIMESTAMP=$(date +%Y%m%d_%H%M%S)
+
+LABEL="${LABEL:-current}"
+INCLUDE="${INCLUDE:-}"
+BASELINE="${BASELINE:-}"
+ALLOC_THRESHOLD_PCT="${ALLOC_THRESHOLD_PCT:-10}"
+# Below this many bytes per operation a percentage change is noise (e.g. one extra boxed value)
+ALLOC_MIN_BYTES="${ALLOC_MIN_BYTES:-16}"
+
+mkdir -p "$RESULTS_DIR"
+RESULT="$RESULTS_DIR/jmh_${LABEL}_${TIMESTAMP}.json"
+
+if [ -n "$BASELINE" ] && [ ! -f "$BASELINE" ]; then
+    echo "ERROR: baseline $BASELINE not found."
+    exit 1
+fi
+
+echo "============================================"
+echo "  JMH Microbenchmarks ($LABEL)"
+echo "  Benchmarks: ${INCLUDE:-all}"
+echo "  Baseline:   ${BASELINE:-none}"
+echo "============================================"
+
+"$ROOT_DIR/mvnw" -B -q -f "$ROOT_DIR/pom.xml" -Pjmh test-compile exec:exec \
+    -Djmh.args="$INCLUDE -prof gc -rf json -rff $RESULT"
+
+echo ""
+echo "Results: $RESULT"
+
+if [ -z "$BASELINE" ]; then
+    exit 0
+fi
+
+# One line per benchmark present in both runs:
+# name, time before, time after, time unit, bytes/op before, bytes/op after
+COMPARISON=$(jq -r --slurpfile baseline "$BASELINE" '
+    def name: .benchmark + (if .params then " " + (.params | to_entries | map("\(.key)=\(.value)") | join(",")) else "" end);
+    ($baseline[0] | map({(name): .}) | add) as $before
+    | .[] | name as $name | select($before[$name] != null)
+    | [$name,
+       $before[$name].primaryMetric.score, .primaryMetric.score, .primaryMetric.scoreUnit,
+       $before[$name].secondaryMetrics["gc.alloc.rate.norm"].score, .secondaryMetrics["gc.alloc.rate.norm"].score]
+    | @tsv' "$RESULT")
+
+echo ""
+echo "$COMPARISON" | awk -F'\t' -v threshold="$ALLOC_THRESHOLD_PCT" -v min_bytes="$ALLOC_MIN_BYTES" '
+    BEGIN {
+        printf "%-75s %14s %14s %12s %12s  %s\n", "benchmark", "time before", "time after", "B/op before", "B/op after", ""
+        failed = 0
+    }
+    {
+        flag = ""
+        if ($6 - $5 > min_bytes && ($5 == 0 || ($6 - $5) * 100 / $5 > threshold)) {
+            flag = "ALLOCATION REGRESSION"
+            failed = 1
+        }
+        printf "%-75s %10.3f %-3s %10.3f %-3s %12.1f %12.1f  %s\n", $1, $2, $4, $3, $4, $5, $6, flag
+    }
+    END { exit failed }
+' || {
+    echo ""
+    echo "FAILED: allocation per operation grew more than ${ALLOC_THRESHOLD_PCT}% against $BASELINE"
+    exit 1
+}
@@ -9,9 +9,14 @@ mkdir -p "$RESULTS_DIR"
 
 # Default: port-forward to EKS productservice
 BASE_URL="${BASE_URL:-http://localhost:8080}"
+# Re-run the same scenarios under another label to compare schema changes, e.g.
+#   LABEL=mysql_indexed ./run-mysql-baseline.sh     (after V5__AddProductSearchIndexes)
+# and commit both result logs next to the change they measure.
+LABEL="${LABEL:-mysql_baseline}"
+SCRIPT="${SCRIPT:-mysql-baseline.js}"
 
 echo "============================================"
-echo "  MySQL Baseline Benchmark"
+echo "  MySQL Benchmark ($LABEL)"
 echo "  Target: $BASE_URL"
 echo "  Dataset: 2M products, 50 categories"
 echo "============================================"
@@ -32,13 +37,13 @@ echo ""
 k6 run \
   --env BASE_URL="$BASE_URL" \
   --summary-trend-stats="min,avg,med,p(90),p(95),p(99),max" \
-  --out csv="$RESULTS_DIR/mysql_baseline_${TIMESTAMP}.csv" \
-  "$SCRIPT_DIR/mysql-baseline.js" \
-  2>&1 | tee "$RESULTS_DIR/mysql_baseline_${TIMESTAMP}.log"
+  --out csv="$RESULTS_DIR/${LABEL}_${TIMESTAMP}.csv" \
+  "$SCRIPT_DIR/$SCRIPT" \
+  2>&1 | tee "$RESULTS_DIR/${LABEL}_${TIMESTAMP}.log"
 
 echo ""
 echo "============================================"
 echo "  Benchmark complete!"
-echo "  Log:  $RESULTS_DIR/mysql_baseline_${TIMESTAMP}.log"
-echo "  CSV:  $RESULTS_DIR/mysql_baseline_${TIMESTAMP}.csv"
+echo "  Log:  $RESULTS_DIR/${LABEL}_${TIMESTAMP}.log"
+echo "  CSV:  $RESULTS_DIR/${LABEL}_${TIMESTAMP}.csv"
 echo "============================================"
@@ -0,0 +1,95 @@
+#!/usr/bin/env bash
+set -euo pipefail
+
+# Compares insert throughput of random (v4) and time-ordered (v7) primary keys by running
+# the seed profile twice, each time into a freshly created schema, and recording how long
+# the product inserts took and how InnoDB's page splits and buffer pool reads moved.
+#
+# Needs a built jar (./mvnw -DskipTests package) and a MySQL 8 reachable both by the app
+# (DB_URL host/port) and by the mysql client command below. Defaults fit docker-compose.yml:
+#   docker compose up -d mysql && ./benchmarks/run-uuid-insert-benchmark.sh
+# Differences show most once the primary key outgrows the buffer pool, so keep the full
+# 2M rows (or shrink innodb_buffer_pool_size) rather than cutting TARGET_PRODUCTS down.
+
+SCRIPT_DIR="$(cd "$(dirname "$0")" && pwd)"
+ROOT_DIR="$(cd "$SCRIPT_DIR/.." && pwd)"
+RESULTS_DIR="$SCRIPT_DIR/results"
+TIMESTAMP=$(date +%Y%m%d_%H%M%S)
+
+JAR="${JAR:-$ROOT_DIR/target/productservice-0.0.1-SNAPSHOT.jar}"
+TARGET_PRODUCTS="${TARGET_PRODUCTS:-2000000}"
+VERSIONS="${VERSIONS:-4 7}"
+DB_HOST="${DB_HOST:-localhost}"
+DB_PORT="${DB_PORT:-3307}"
+DB_NAME="${DB_NAME:-productservice_uuid_bench}"
+DB_USERNAME="${DB_USERNAME:-root}"
+DB_PASSWORD="${DB_PASSWORD:-rootpassword}"
+# Root access is needed to recreate the schema and enable the page split counter
+MYSQL="${MYSQL:-docker exec -i productservice-mysql mysql -uroot -p$DB_PASSWORD}"
+
+mkdir -p "$RESULTS_DIR"
+SUMMARY="$RESULTS_DIR/uuid_insert_${TIMESTAMP}.txt"
+
+if [ ! -f "$JAR" ]; then
+    echo "ERROR: $JAR not found. Build it with ./mvnw -DskipTests package or set JAR."
+    exit 1
+fi
+
+sql() {
+    $MYSQL -N -B -e "$1" 2>/dev/null
+}
+
+metric() {
+    sql "SELECT COUNT FROM information_schema.INNODB_METRICS WHERE NAME = '$1'"
+}
+
+status() {
+    sql "SHOW GLOBAL STATUS LIKE '$1'" | awk '{print $2}'
+}
+
+echo "============================================"
+echo "  UUID Insert Benchmark"
+echo "  Target: $DB_HOST:$DB_PORT/$DB_NAME"
+echo "  Rows:   $TARGET_PRODUCTS products per run"
+echo "  Ids:    version(s) $VERSIONS"
+echo "============================================"
+
+sql "SET GLOBAL innodb_monitor_enable = 'index_page_splits'"
+printf "%-8s %12s %12s %14s %16s %12s\n" "version" "seconds" "rows/s" "page_splits" "pool_disk_reads" "index_mb" | tee "$SUMMARY"
+
+for VERSION in $VERSIONS; do
+    sql "DROP DATABASE IF EXISTS \`$DB_NAME\`; CREATE DATABASE \`$DB_NAME\`"
+
+    # Flyway runs on startup, so the schema exists before the seeder starts its inserts
+    SPLITS_BEFORE=$(metric index_page_splits)
+    READS_BEFORE=$(status Innodb_buffer_pool_reads)
+    LOG="$RESULTS_DIR/uuid_v${VERSION}_${TIMESTAMP}.log"
+
+    DB_URL="jdbc:mysql://$DB_HOST:$DB_PORT/$DB_NAME?useSSL=false&allowPublicKeyRetrieval=true&serverTimezone=UTC&rewriteBatchedStatements=true" \
+    DB_USERNAME="$DB_USERNAME" DB_PASSWORD="$DB_PASSWORD" ISSUER_URI="http://localhost:8081" \
+        java ${JAVA_OPTS:-} -jar "$JAR" --spring.profiles.active=seed \
+            --seed.id-version="$VERSION" --seed.target-products="$TARGET_PRODUCTS" > "$LOG" 2>&1 || {
+        echo "ERROR: seeding with v$VERSION ids failed, see $LOG"
+        exit 1
+    }
+
+    # "Total inserted: N in Xs (R rows/s)" is logged by ProductDataSeeder once the products are in
+    LINE=$(grep "Product seeding complete" "$LOG" | tail -1)
+    SECONDS_TAKEN=$(echo "$LINE" | sed -E 's/.* in ([0-9.]+)s .*/\1/')
+    ROWS_PER_SECOND=$(echo "$LINE" | sed -E 's/.*\(([0-9]+) rows\/s\).*/\1/')
+    SPLITS=$(( $(metric index_page_splits) - SPLITS_BEFORE ))
+    READS=$(( $(status Innodb_buffer_pool_reads) - READS_BEFORE ))
+    INDEX_MB=$(sql "SELECT ROUND((data_length + index_length) / 1024 / 1024) FROM information_schema.TABLES
+                    WHERE table_schema = '$DB_NAME' AND table_name = 'products'")
+
+    printf "%-8s %12s %12s %14s %16s %12s\n" "v$VERSION" "$SECONDS_TAKEN" "$ROWS_PER_SECOND" "$SPLITS" "$READS" "$INDEX_MB" | tee -a "$SUMMARY"
+done
+
+sql "DROP DATABASE IF EXISTS \`$DB_NAME\`"
+
+echo ""
+echo "============================================"
+echo "  Benchmark complete!"
+echo "  Summary: $SUMMARY"
+echo "  Logs:    $RESULTS_DIR/uuid_v*_${TIMESTAMP}.log"
+echo "============================================"
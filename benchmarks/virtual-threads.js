@@ -0,0 +1,93 @@
+import http from 'k6/http';
+import { check } from 'k6';
+import { Trend, Counter } from 'k6/metrics';
+
+// ---------------------------------------------------------------------------
+// Platform vs virtual threads. Run the same script once per mode, restarting the
+// service in between, and compare the two summaries:
+//   VIRTUAL_THREADS_ENABLED=false → LABEL=platform_threads SCRIPT=virtual-threads.js ./run-mysql-baseline.sh
+//   VIRTUAL_THREADS_ENABLED=true  → LABEL=virtual_threads  SCRIPT=virtual-threads.js ./run-mysql-baseline.sh
+//
+// A fixed arrival rate (not a fixed VU count) keeps offered load identical in both
+// runs, so a mode that cannot keep up shows it as dropped iterations and latency
+// rather than as a lower request rate. The rate steps well past Tomcat's default
+// 200 platform threads worth of concurrent, I/O-bound requests. In the virtual run,
+// also watch datasource.admission.* and jvm.threads.virtual.pinned on /actuator/metrics.
+// ---------------------------------------------------------------------------
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080';
+const PEAK_RATE = parseInt(__ENV.PEAK_RATE || '1200', 10);   // requests/s at the last step
+
+const searchLatency     = new Trend('search_duration', true);
+const getByIdLatency    = new Trend('get_by_id_duration', true);
+const categoriesLatency = new Trend('get_categories_duration', true);
+const unavailable       = new Counter('database_unavailable');   // 503s from the JDBC admission limit
+const errors            = new Counter('errors');
+
+export const options = {
+  scenarios: {
+    mixed_io: {
+      executor: 'ramping-arrival-rate',
+      exec: 'mixedIo',
+      startRate: Math.round(PEAK_RATE / 12),
+      timeUnit: '1s',
+      preAllocatedVUs: 200,
+      maxVUs: 2000,
+      stages: [
+        { duration: '30s', target: Math.round(PEAK_RATE / 4) },   // warm-up
+        { duration: '1m',  target: Math.round(PEAK_RATE / 4) },
+        { duration: '30s', target: Math.round(PEAK_RATE / 2) },
+        { duration: '1m',  target: Math.round(PEAK_RATE / 2) },
+        { duration: '30s', target: PEAK_RATE },
+        { duration: '2m',  target: PEAK_RATE },                   // hold at peak
+        { duration: '15s', target: 0 },
+      ],
+    },
+  },
+  thresholds: {
+    http_req_failed: ['rate<0.05'],
+  },
+};
+
+const SEARCH_QUERIES = [
+  'leather wallet', 'cotton shirt', 'bamboo bottle', 'silk scarf',
+  'titanium watch', 'ceramic mug', 'wooden chair', 'steel belt',
+];
+
+let productIds = [];
+
+function pick(arr) {
+  return arr[Math.floor(Math.random() * arr.length)];
+}
+
+function doCheck(res, name, metricTrend) {
+  const ok = check(res, {
+    [`${name} status 200`]: (r) => r.status === 200,
+  });
+  metricTrend.add(res.timings.duration);
+  if (res.status === 503) unavailable.add(1);
+  if (!ok) errors.add(1);
+  return ok;
+}
+
+// Mostly point reads and searches (MySQL and Elasticsearch round trips), some category listings
+export function mixedIo() {
+  const roll = Math.random();
+  if (roll < 0.5 && productIds.length > 0) {
+    const res = http.get(`${BASE_URL}/products/${pick(productIds)}`);
+    doCheck(res, 'get_by_id', getByIdLatency);
+  } else if (roll < 0.9 || productIds.length === 0) {
+    const page = Math.floor(Math.random() * 5);
+    const res = http.get(
+      `${BASE_URL}/search/products?query=${encodeURIComponent(pick(SEARCH_QUERIES))}&size=20&page=${page}`
+    );
+    if (doCheck(res, 'search', searchLatency) && productIds.length < 100) {
+      try {
+        const body = JSON.parse(res.body);
+        (body.products || []).forEach((p) => productIds.push(p.id));
+      } catch (_) {}
+    }
+  } else {
+    const res = http.get(`${BASE_URL}/categories`);
+    doCheck(res, 'get_categories', categoriesLatency);
+  }
+}
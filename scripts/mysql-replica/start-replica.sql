@@ -0,0 +1,16 @@
+-- Runs once, when the mysql-replica container initialises an empty data directory.
+-- Replicates everything the primary has written since GTIDs were enabled on it, so start
+-- both from a clean slate (docker compose --profile replica down -v) the first time.
+
+-- The lag check runs SHOW REPLICA STATUS as the application user
+GRANT REPLICATION CLIENT ON *.* TO 'productuser'@'%';
+
+CHANGE REPLICATION SOURCE TO
+    SOURCE_HOST = 'mysql',
+    SOURCE_PORT = 3306,
+    SOURCE_USER = 'root',
+    SOURCE_PASSWORD = 'rootpassword',
+    SOURCE_AUTO_POSITION = 1,
+    GET_SOURCE_PUBLIC_KEY = 1;
+
+START REPLICA;
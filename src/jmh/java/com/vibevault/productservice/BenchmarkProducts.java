@@ -0,0 +1,51 @@
+package com.vibevault.productservice;
+
+import com.vibevault.productservice.commons.UuidV7;
+import com.vibevault.productservice.models.Category;
+import com.vibevault.productservice.models.Currency;
+import com.vibevault.productservice.models.Price;
+import com.vibevault.productservice.models.Product;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Products shaped like the seeded catalog (see ProductDataSeeder): a few words of name, a
+ * paragraph of description, an image URL and one of a handful of categories.
+ */
+public final class BenchmarkProducts {
+
+    private static final String[] CATEGORIES = {"Electronics", "Home & Kitchen", "Fashion", "Sports", "Books"};
+    private static final String DESCRIPTION = "Hand-finished with reinforced stitching and a water-resistant coating. "
+            + "Ships in recyclable packaging and is covered by a two-year warranty against manufacturing defects.";
+
+    private BenchmarkProducts() {
+    }
+
+    public static List<Product> products(int count) {
+        List<Category> categories = new ArrayList<>(CATEGORIES.length);
+        for (String name : CATEGORIES) {
+            Category category = new Category();
+            category.setId(UuidV7.next());
+            category.setName(name);
+            categories.add(category);
+        }
+
+        Date createdAt = new Date(1_735_689_600_000L);
+        List<Product> products = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Product product = new Product();
+            product.setId(UuidV7.next());
+            product.setName("Premium Leather Wallet " + i);
+            product.setDescription(DESCRIPTION);
+            product.setImageUrl("https://cdn.example.com/products/" + i + "/main.jpg");
+            product.setPrice(new Price(19.99 + i % 500, Currency.values()[i % Currency.values().length]));
+            product.setCategory(categories.get(i % categories.size()));
+            product.setCreatedAt(createdAt);
+            product.setLastModifiedAt(createdAt);
+            products.add(product);
+        }
+        return products;
+    }
+}
@@ -0,0 +1,59 @@
+package com.vibevault.productservice.dtos.search;
+
+import com.vibevault.productservice.BenchmarkProducts;
+import com.vibevault.productservice.dtos.product.GetProductResponseDto;
+import com.vibevault.productservice.models.Product;
+import com.vibevault.productservice.models.TotalAccuracy;
+import com.vibevault.productservice.services.SearchResultsPage;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import tools.jackson.databind.ObjectWriter;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The last step of /search/products: the result page mapped to response DTOs and written as
+ * JSON, at the default page size and the maximum one.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProductSearchResponseBenchmark {
+
+    @Param({"10", "100"})
+    public int pageSize;
+
+    private List<Product> products;
+    private Page<Product> page;
+    private ProductSearchResponseDto response;
+    private ObjectWriter writer;
+
+    @Setup
+    public void setUp() {
+        products = BenchmarkProducts.products(pageSize);
+        page = new SearchResultsPage<>(products, PageRequest.of(0, pageSize), 10_000, TotalAccuracy.EXACT);
+        response = ProductSearchResponseDto.fromPage(page);
+        writer = JsonMapper.builder().build().writerFor(ProductSearchResponseDto.class);
+    }
+
+    @Benchmark
+    public List<GetProductResponseDto> fromProducts() {
+        return GetProductResponseDto.fromProducts(products);
+    }
+
+    @Benchmark
+    public byte[] serialize() {
+        return writer.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public byte[] fromPageAndSerialize() {
+        return writer.writeValueAsBytes(ProductSearchResponseDto.fromPage(page));
+    }
+}
@@ -0,0 +1,48 @@
+package com.vibevault.productservice.models;
+
+import com.vibevault.productservice.BenchmarkProducts;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mapping between products and their search documents: fromProduct on every index write and
+ * reindex batch, toProduct for every hit when search hydrates from the index.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProductDocumentBenchmark {
+
+    private static final int PRODUCTS = 1024;
+
+    private List<Product> products;
+    private List<ProductDocument> documents;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        products = BenchmarkProducts.products(PRODUCTS);
+        documents = products.stream().map(ProductDocument::fromProduct).toList();
+    }
+
+    @Benchmark
+    public ProductDocument fromProduct() {
+        return ProductDocument.fromProduct(products.get(nextIndex()));
+    }
+
+    @Benchmark
+    public Product toProduct() {
+        return documents.get(nextIndex()).toProduct();
+    }
+
+    // Cycles through distinct products so string content is not the same object every call
+    private int nextIndex() {
+        next = (next + 1) & (PRODUCTS - 1);
+        return next;
+    }
+}
@@ -0,0 +1,48 @@
+package com.vibevault.productservice.security;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.oauth2.jwt.Jwt;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Turning the roles claim into authorities, which runs on every authenticated request.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RolesClaimConverterBenchmark {
+
+    private final RolesClaimConverter converter = new RolesClaimConverter();
+    private Jwt withRoles;
+    private Jwt withoutRoles;
+
+    @Setup
+    public void setUp() {
+        withRoles = jwt().claim("roles", List.of("ADMIN", "USER")).build();
+        withoutRoles = jwt().build();
+    }
+
+    @Benchmark
+    public Collection<GrantedAuthority> roles() {
+        return converter.convert(withRoles);
+    }
+
+    @Benchmark
+    public Collection<GrantedAuthority> noRolesClaim() {
+        return converter.convert(withoutRoles);
+    }
+
+    private static Jwt.Builder jwt() {
+        return Jwt.withTokenValue("token")
+                .header("alg", "RS256")
+                .subject("user-1")
+                .issuer("https://issuer.example.com");
+    }
+}
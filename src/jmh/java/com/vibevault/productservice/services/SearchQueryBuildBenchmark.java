@@ -0,0 +1,57 @@
+package com.vibevault.productservice.services;
+
+import com.vibevault.productservice.models.Currency;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.elasticsearch.client.elc.NativeQuery;
+
+import java.util.Date;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Building the Elasticsearch NativeQuery for one /search/products request: validation, the bool
+ * filter query, paging and sort, and with facets the three aggregations. Serializing it for the
+ * wire happens inside ElasticsearchOperations and is not included.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SearchQueryBuildBenchmark {
+
+    private final UUID categoryId = UUID.randomUUID();
+    private final Date createdAfter = new Date(1_704_067_200_000L);
+    private final Date createdBefore = new Date(1_735_689_600_000L);
+
+    private SearchServiceESImpl searchService;
+
+    @Setup
+    public void setUp() {
+        // Query construction touches neither the cluster nor MySQL
+        searchService = new SearchServiceESImpl(null, null,
+                new SearchStageMetrics(new SimpleMeterRegistry(), "searchServiceESImpl"),
+                SearchServiceESImpl.HYDRATION_DATABASE, false, false, 60,
+                new double[]{0, 25, 50, 100, 250, 500, 1000}, 20);
+    }
+
+    @Benchmark
+    public NativeQuery browse() throws Exception {
+        return searchService.buildSearchQuery(null, null, null, null, null, null, null, null,
+                0, 20, "createdAt", "desc", false);
+    }
+
+    @Benchmark
+    public NativeQuery queryWithAllFilters() throws Exception {
+        return searchService.buildSearchQuery("leather wallet", 10.0, 250.0, Currency.USD, categoryId, "Fashion",
+                createdAfter, createdBefore, 2, 20, "price", "asc", false);
+    }
+
+    @Benchmark
+    public NativeQuery queryWithFacets() throws Exception {
+        return searchService.buildSearchQuery("leather wallet", null, null, null, null, null, null, null,
+                0, 20, "createdAt", "desc", true);
+    }
+}
@@ -0,0 +1,98 @@
+package com.vibevault.productservice.specifications;
+
+import com.vibevault.productservice.models.Category;
+import com.vibevault.productservice.models.Currency;
+import com.vibevault.productservice.models.Product;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import org.hibernate.SessionFactory;
+import org.hibernate.boot.MetadataSources;
+import org.hibernate.boot.registry.StandardServiceRegistry;
+import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.dialect.MySQLDialect;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.Date;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Composing the search specifications and turning them into a predicate tree, as
+ * SearchServiceDBImpl does for every page, COUNT and facet query. Hibernate is bootstrapped
+ * without a database connection, so this measures predicate building, not SQL rendering.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProductSpecificationBenchmark {
+
+    private final UUID categoryId = UUID.randomUUID();
+    private final Date createdAfter = new Date(1_704_067_200_000L);
+    private final Date createdBefore = new Date(1_735_689_600_000L);
+
+    private SessionFactory sessionFactory;
+    private CriteriaBuilder criteriaBuilder;
+
+    @Setup
+    public void setUp() {
+        StandardServiceRegistry registry = new StandardServiceRegistryBuilder()
+                .applySetting(AvailableSettings.DIALECT, MySQLDialect.class.getName())
+                .applySetting(AvailableSettings.ALLOW_METADATA_ON_BOOT, false)
+                .build();
+        sessionFactory = new MetadataSources(registry)
+                .addAnnotatedClass(Product.class)
+                .addAnnotatedClass(Category.class)
+                .buildMetadata()
+                .buildSessionFactory();
+        criteriaBuilder = sessionFactory.getCriteriaBuilder();
+    }
+
+    @TearDown
+    public void tearDown() {
+        sessionFactory.close();
+    }
+
+    // The landing page: no filters
+    @Benchmark
+    public Predicate browse() {
+        return toPredicate(search(ProductSpecification.withQuery(null), null, null, null, null, null, null, null));
+    }
+
+    @Benchmark
+    public Predicate likeWithAllFilters() {
+        return toPredicate(search(ProductSpecification.withQuery("leather wallet"), 10.0, 250.0, Currency.USD,
+                categoryId, "Fashion", createdAfter, createdBefore));
+    }
+
+    @Benchmark
+    public Predicate fullTextByRelevance() {
+        return toPredicate(search(ProductSpecification.withFullTextQuery("leather wallet", true),
+                null, null, null, null, "Fashion", null, null));
+    }
+
+    private Predicate toPredicate(Specification<Product> spec) {
+        CriteriaQuery<Product> query = criteriaBuilder.createQuery(Product.class);
+        return spec.toPredicate(query.from(Product.class), query, criteriaBuilder);
+    }
+
+    // Same composition as SearchServiceDBImpl.buildSpecification
+    private static Specification<Product> search(Specification<Product> textMatch, Double minPrice, Double maxPrice,
+                                                 Currency currency, UUID categoryId, String categoryName,
+                                                 Date createdAfter, Date createdBefore) {
+        return Specification.where(ProductSpecification.notDeleted())
+                .and(textMatch)
+                .and(ProductSpecification.withMinPrice(minPrice))
+                .and(ProductSpecification.withMaxPrice(maxPrice))
+                .and(ProductSpecification.withCurrency(currency))
+                .and(ProductSpecification.withCategoryId(categoryId))
+                .and(ProductSpecification.withCategoryName(categoryName))
+                .and(ProductSpecification.withCreatedAfter(createdAfter))
+                .and(ProductSpecification.withCreatedBefore(createdBefore));
+    }
+}
@@ -6,14 +6,18 @@ import com.vibevault.productservice.dtos.exceptions.authentication.InvalidTokenE
 import com.vibevault.productservice.exceptions.categories.CategoryAlreadyExistsException;
 import com.vibevault.productservice.exceptions.categories.CategoryNotCreatedException;
 import com.vibevault.productservice.exceptions.categories.CategoryNotFoundException;
+import com.vibevault.productservice.exceptions.products.InvalidBulkRequestException;
+import com.vibevault.productservice.exceptions.products.InvalidCursorException;
 import com.vibevault.productservice.exceptions.products.ProductNotCreatedException;
 import com.vibevault.productservice.exceptions.products.ProductNotDeletedException;
 import com.vibevault.productservice.exceptions.products.ProductNotFoundException;
 import com.vibevault.productservice.exceptions.search.InvalidSearchParameterException;
 import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.dao.DataAccessException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.CannotCreateTransactionException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.client.RestClientException;
@@ -125,4 +129,42 @@ public class ExceptionAdvices {
                 request.getRequestURI(),
                 ErrorCode.INVALID_SEARCH_PARAMETER.toString()), HttpStatus.BAD_REQUEST);
     }
+
+    @ExceptionHandler(InvalidCursorException.class)
+    ResponseEntity<ExceptionDto> handleInvalidCursorException(InvalidCursorException invalidCursorException,
+                                                              HttpServletRequest request) {
+        return new ResponseEntity<>(new ExceptionDto(HttpStatus.BAD_REQUEST,
+                invalidCursorException.getMessage(),
+                request.getRequestURI(),
+                ErrorCode.INVALID_CURSOR.toString()), HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(InvalidBulkRequestException.class)
+    ResponseEntity<ExceptionDto> handleInvalidBulkRequestException(InvalidBulkRequestException invalidBulkRequestException,
+                                                                   HttpServletRequest request) {
+        return new ResponseEntity<>(new ExceptionDto(HttpStatus.BAD_REQUEST,
+                invalidBulkRequestException.getMessage(),
+                request.getRequestURI(),
+                ErrorCode.INVALID_BULK_REQUEST.toString()), HttpStatus.BAD_REQUEST);
+    }
+
+    // No connection within the JDBC admission limit or the pool timeout; the request can be retried
+    @ExceptionHandler(CannotCreateTransactionException.class)
+    ResponseEntity<ExceptionDto> handleCannotCreateTransactionException(CannotCreateTransactionException cannotCreateTransactionException,
+                                                                        HttpServletRequest request) {
+        return new ResponseEntity<>(new ExceptionDto(HttpStatus.SERVICE_UNAVAILABLE,
+                "Database is busy, please retry",
+                request.getRequestURI(),
+                ErrorCode.DATABASE_UNAVAILABLE.toString()), HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
+    // Another request updated the same product between this one's read and its write
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    ResponseEntity<ExceptionDto> handleOptimisticLockingFailureException(OptimisticLockingFailureException optimisticLockingFailureException,
+                                                                         HttpServletRequest request) {
+        return new ResponseEntity<>(new ExceptionDto(HttpStatus.CONFLICT,
+                "The product was changed by another request, please retry",
+                request.getRequestURI(),
+                ErrorCode.CONCURRENT_UPDATE.toString()), HttpStatus.CONFLICT);
+    }
 }
@@ -0,0 +1,41 @@
+package com.vibevault.productservice.commons;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Encodes keyset positions into opaque, URL-safe continuation tokens.
+ * Each value is Base64url-encoded on its own and the parts are joined with '.',
+ * so values may contain any character without needing escaping.
+ */
+public final class CursorCodec {
+
+    private static final String SEPARATOR = ".";
+    private static final int MAX_TOKEN_LENGTH = 2048;
+
+    private CursorCodec() {
+    }
+
+    public static String encode(List<String> values) {
+        Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+        return values.stream()
+                .map(value -> encoder.encodeToString(value.getBytes(StandardCharsets.UTF_8)))
+                .collect(Collectors.joining(SEPARATOR));
+    }
+
+    /**
+     * @throws IllegalArgumentException if the token is blank, too long or not valid Base64url
+     */
+    public static List<String> decode(String token) {
+        if (token == null || token.isBlank() || token.length() > MAX_TOKEN_LENGTH) {
+            throw new IllegalArgumentException("Malformed cursor");
+        }
+        Base64.Decoder decoder = Base64.getUrlDecoder();
+        return Arrays.stream(token.split("\\.", -1))
+                .map(part -> new String(decoder.decode(part), StandardCharsets.UTF_8))
+                .toList();
+    }
+}
@@ -0,0 +1,42 @@
+package com.vibevault.productservice.commons;
+
+import com.vibevault.productservice.exceptions.products.InvalidCursorException;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Position of a cursor-paginated search: the sort it was issued for, the sort value and id of
+ * the last hit returned, and optionally the point-in-time the search is pinned to.
+ */
+public record SearchCursor(String sortBy, String sortDir, String sortValue, String id, String pointInTimeId) {
+
+    public String encode() {
+        List<String> parts = new ArrayList<>(List.of(sortBy, sortDir, sortValue, id));
+        if (pointInTimeId != null) {
+            parts.add(pointInTimeId);
+        }
+        return CursorCodec.encode(parts);
+    }
+
+    /**
+     * Decodes a token and checks it was issued for the same sort as the current request.
+     */
+    public static SearchCursor decode(String token, String sortBy, String sortDir) throws InvalidCursorException {
+        List<String> parts;
+        try {
+            parts = CursorCodec.decode(token);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException("Invalid cursor: " + token, e);
+        }
+        if (parts.size() != 4 && parts.size() != 5) {
+            throw new InvalidCursorException("Invalid cursor: " + token);
+        }
+        SearchCursor cursor = new SearchCursor(parts.get(0), parts.get(1), parts.get(2), parts.get(3),
+                parts.size() == 5 ? parts.get(4) : null);
+        if (!cursor.sortBy().equals(sortBy) || !cursor.sortDir().equals(sortDir)) {
+            throw new InvalidCursorException("Cursor was issued for a different sort order");
+        }
+        return cursor;
+    }
+}
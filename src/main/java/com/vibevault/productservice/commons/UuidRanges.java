@@ -0,0 +1,96 @@
+package com.vibevault.productservice.commons;
+
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Splits a UUID key range into contiguous sub-ranges. UUIDs are treated as unsigned 128-bit
+ * big-endian numbers, which is the order MySQL uses to compare BINARY(16) primary keys
+ * (unlike {@link UUID#compareTo}, which compares signed halves).
+ */
+public final class UuidRanges {
+
+    private UuidRanges() {
+    }
+
+    /**
+     * An inclusive range of ids.
+     */
+    public record Range(UUID from, UUID to) {
+    }
+
+    /**
+     * Splits [min, max] into at most {@code parts} contiguous, non-overlapping inclusive ranges
+     * of equal width that together cover the whole interval.
+     */
+    public static List<Range> split(UUID min, UUID max, int parts) {
+        if (parts < 1) {
+            throw new IllegalArgumentException("parts must be at least 1");
+        }
+        BigInteger low = toBigInteger(min);
+        BigInteger high = toBigInteger(max);
+        if (low.compareTo(high) > 0) {
+            throw new IllegalArgumentException("min must not be greater than max");
+        }
+
+        BigInteger span = high.subtract(low).add(BigInteger.ONE);
+        BigInteger count = BigInteger.valueOf(parts).min(span);
+        BigInteger width = span.divide(count);
+
+        List<Range> ranges = new ArrayList<>(count.intValue());
+        BigInteger from = low;
+        for (int i = 0; i < count.intValue(); i++) {
+            boolean last = i == count.intValue() - 1;
+            BigInteger to = last ? high : from.add(width).subtract(BigInteger.ONE);
+            ranges.add(new Range(fromBigInteger(from), fromBigInteger(to)));
+            from = to.add(BigInteger.ONE);
+        }
+        return ranges;
+    }
+
+    /**
+     * Splits [min, max] into contiguous, non-overlapping inclusive ranges that start at min and
+     * at each split point, e.g. points sampled at row quantiles of the key. Points must be in
+     * key order; points outside (min, max] and repeated points are skipped.
+     */
+    public static List<Range> between(UUID min, UUID max, List<UUID> splitPoints) {
+        BigInteger low = toBigInteger(min);
+        BigInteger high = toBigInteger(max);
+        if (low.compareTo(high) > 0) {
+            throw new IllegalArgumentException("min must not be greater than max");
+        }
+
+        List<Range> ranges = new ArrayList<>(splitPoints.size() + 1);
+        BigInteger from = low;
+        for (UUID point : splitPoints) {
+            BigInteger start = toBigInteger(point);
+            if (start.compareTo(from) <= 0 || start.compareTo(high) > 0) {
+                continue;
+            }
+            ranges.add(new Range(fromBigInteger(from), fromBigInteger(start.subtract(BigInteger.ONE))));
+            from = start;
+        }
+        ranges.add(new Range(fromBigInteger(from), max));
+        return ranges;
+    }
+
+    static BigInteger toBigInteger(UUID uuid) {
+        ByteBuffer buffer = ByteBuffer.allocate(16);
+        buffer.putLong(uuid.getMostSignificantBits());
+        buffer.putLong(uuid.getLeastSignificantBits());
+        return new BigInteger(1, buffer.array());
+    }
+
+    static UUID fromBigInteger(BigInteger value) {
+        byte[] raw = value.toByteArray();
+        byte[] bytes = new byte[16];
+        // toByteArray() may add a leading sign byte or return fewer than 16 bytes
+        int copy = Math.min(raw.length, 16);
+        System.arraycopy(raw, raw.length - copy, bytes, 16 - copy, copy);
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        return new UUID(buffer.getLong(), buffer.getLong());
+    }
+}
@@ -0,0 +1,177 @@
+package com.vibevault.productservice.configurations;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Caps how many threads can hold or wait for a JDBC connection. With virtual threads every
+ * request gets its own thread, so thousands of them can pile up on a pool of a few connections,
+ * each holding its request for the full pool timeout. Here a connection is only requested from
+ * the pool once a permit is acquired; a bounded number of threads may wait for a permit, and
+ * anything past that, or waiting longer than the acquire timeout, fails at once with a
+ * {@link SQLTransientConnectionException}.
+ *
+ * Permits are counted per thread, not per connection: a thread that already holds one (say, for a
+ * transaction that opens a REQUIRES_NEW one) takes further connections straight from the pool.
+ * Otherwise every permit holder could wait on a permit only another holder can return. Give the
+ * pool a few more connections than there are permits so those nested connections are available.
+ *
+ * The permit is returned when the thread's first connection is closed (handed back to the pool).
+ */
+public class AdmissionControlledDataSource extends DelegatingDataSource {
+
+    private final Semaphore permits;
+    private final int maxWaiting;
+    private final long acquireTimeoutMs;
+    private final AtomicInteger waiting = new AtomicInteger();
+    // Connections the current thread holds through this data source; the first one carries the permit
+    private final ThreadLocal<AtomicInteger> held = ThreadLocal.withInitial(AtomicInteger::new);
+
+    private final Timer waitTime;
+    private final Counter rejectedQueueFull;
+    private final Counter rejectedTimeout;
+
+    public AdmissionControlledDataSource(DataSource target, String poolName, int permitCount, int maxWaiting,
+                                         long acquireTimeoutMs, MeterRegistry meterRegistry) {
+        super(target);
+        this.permits = new Semaphore(permitCount, true);
+        this.maxWaiting = maxWaiting;
+        this.acquireTimeoutMs = acquireTimeoutMs;
+
+        this.waitTime = Timer.builder("datasource.admission.wait")
+                .description("Time spent waiting for a JDBC admission permit")
+                .publishPercentileHistogram()
+                .tag("pool", poolName)
+                .register(meterRegistry);
+        this.rejectedQueueFull = rejected(meterRegistry, poolName, "queue-full");
+        this.rejectedTimeout = rejected(meterRegistry, poolName, "timeout");
+        Gauge.builder("datasource.admission.waiting", waiting, AtomicInteger::get)
+                .description("Threads waiting for a JDBC admission permit")
+                .tag("pool", poolName)
+                .register(meterRegistry);
+        Gauge.builder("datasource.admission.in-use", this, ds -> permitCount - ds.permits.availablePermits())
+                .description("JDBC admission permits currently held")
+                .tag("pool", poolName)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        AtomicInteger threadHeld = held.get();
+        boolean admitted = admitFirst(threadHeld);
+        try {
+            return releasingOnClose(super.getConnection(), threadHeld, admitted);
+        } catch (SQLException | RuntimeException e) {
+            release(threadHeld, admitted);
+            throw e;
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        AtomicInteger threadHeld = held.get();
+        boolean admitted = admitFirst(threadHeld);
+        try {
+            return releasingOnClose(super.getConnection(username, password), threadHeld, admitted);
+        } catch (SQLException | RuntimeException e) {
+            release(threadHeld, admitted);
+            throw e;
+        }
+    }
+
+    // Returns whether a permit was taken: only for the thread's first connection
+    private boolean admitFirst(AtomicInteger threadHeld) throws SQLException {
+        if (threadHeld.get() > 0) {
+            threadHeld.incrementAndGet();
+            return false;
+        }
+        admit();
+        threadHeld.incrementAndGet();
+        return true;
+    }
+
+    private void release(AtomicInteger threadHeld, boolean admitted) {
+        threadHeld.decrementAndGet();
+        if (admitted) {
+            permits.release();
+        }
+    }
+
+    private void admit() throws SQLException {
+        if (permits.tryAcquire()) {
+            return;
+        }
+        if (waiting.incrementAndGet() > maxWaiting) {
+            waiting.decrementAndGet();
+            rejectedQueueFull.increment();
+            throw new SQLTransientConnectionException(
+                    "JDBC admission queue full: " + maxWaiting + " threads already waiting for a connection");
+        }
+        long start = System.nanoTime();
+        try {
+            if (!permits.tryAcquire(acquireTimeoutMs, TimeUnit.MILLISECONDS)) {
+                rejectedTimeout.increment();
+                throw new SQLTransientConnectionException(
+                        "No JDBC admission permit within " + acquireTimeoutMs + " ms");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Interrupted waiting for a JDBC admission permit", e);
+        } finally {
+            waiting.decrementAndGet();
+            waitTime.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    // Releases on the first close() (from whichever thread closes it); every other call goes
+    // straight to the pooled connection
+    private Connection releasingOnClose(Connection connection, AtomicInteger threadHeld, boolean admitted) {
+        AtomicBoolean released = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "equals" -> proxy == args[0];
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "close" -> {
+                        try {
+                            yield invoke(connection, method, args);
+                        } finally {
+                            if (released.compareAndSet(false, true)) {
+                                release(threadHeld, admitted);
+                            }
+                        }
+                    }
+                    default -> invoke(connection, method, args);
+                });
+    }
+
+    private static Object invoke(Connection connection, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(connection, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+
+    private static Counter rejected(MeterRegistry meterRegistry, String poolName, String reason) {
+        return Counter.builder("datasource.admission.rejected")
+                .description("Connection requests turned away by the JDBC admission limit")
+                .tag("pool", poolName)
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+}
@@ -1,15 +1,38 @@
 package com.vibevault.productservice.configurations;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.restclient.RestTemplateBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+
 @Configuration
 public class ApplicationConfig {
+    // Used by the FakeStore client and token validation. On virtual threads it switches to the JDK
+    // HttpClient, which blocks the calling thread without pinning it, so a slow upstream only parks
+    // the request; its own internal work then runs on virtual threads too. The client is set up to
+    // behave like the default one: HTTP/1.1, following redirects, and bounded connect/read waits.
     @Bean
-    public RestTemplate restTemplate() {
+    public RestTemplate restTemplate(@Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads,
+                                     @Value("${http.client.connect-timeout-ms:5000}") long connectTimeoutMs,
+                                     @Value("${http.client.read-timeout-ms:30000}") long readTimeoutMs) {
         RestTemplateBuilder restTemplateBuilder = new RestTemplateBuilder();
-        return restTemplateBuilder.build();
+        if (!virtualThreads) {
+            return restTemplateBuilder.build();
+        }
+        HttpClient httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .connectTimeout(Duration.ofMillis(connectTimeoutMs))
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+        JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(httpClient);
+        requestFactory.setReadTimeout(Duration.ofMillis(readTimeoutMs));
+        return restTemplateBuilder.requestFactory(() -> requestFactory).build();
     }
 }
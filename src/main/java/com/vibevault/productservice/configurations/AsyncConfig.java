@@ -1,11 +1,134 @@
 package com.vibevault.productservice.configurations;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskDecorator;
 import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
-// TODO: Configure a bounded ThreadPoolTaskExecutor to prevent unbounded thread creation
-// under high write volume. Will be replaced by Kafka consumer when Kafka is integrated.
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+// Product change events are indexed on a dedicated, bounded pool so a burst of writes
+// cannot spawn unbounded indexing work. Will be replaced by a Kafka consumer when Kafka is integrated.
+// With spring.threads.virtual.enabled the pools keep their sizes and queues but run on virtual threads,
+// so a worker blocked on Elasticsearch or MySQL no longer ties up a platform thread.
+@Slf4j
 @Configuration
 @EnableAsync
 public class AsyncConfig {
+
+    public static final String INDEXING_EXECUTOR = "indexingExecutor";
+    public static final String SEARCH_BATCH_EXECUTOR = "searchBatchExecutor";
+
+    static final String POLICY_CALLER_RUNS = "caller-runs";
+    static final String POLICY_SHED = "shed";
+
+    @Bean(name = INDEXING_EXECUTOR)
+    public ThreadPoolTaskExecutor indexingExecutor(MeterRegistry meterRegistry,
+                                                   @Value("${indexing.executor.core-pool-size:2}") int corePoolSize,
+                                                   @Value("${indexing.executor.max-pool-size:4}") int maxPoolSize,
+                                                   @Value("${indexing.executor.queue-capacity:1000}") int queueCapacity,
+                                                   @Value("${indexing.executor.rejection-policy:caller-runs}") String rejectionPolicy,
+                                                   @Value("${indexing.executor.await-termination-seconds:30}") int awaitTerminationSeconds,
+                                                   @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        setThreads(executor, "indexing-", virtualThreads);
+        executor.setCorePoolSize(corePoolSize);
+        executor.setMaxPoolSize(maxPoolSize);
+        executor.setQueueCapacity(queueCapacity);
+        // Drain queued index updates on shutdown instead of dropping them
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(awaitTerminationSeconds);
+
+        Timer latency = Timer.builder("indexing.executor.task.latency")
+                .description("Time from submission to completion of an indexing task, including queue wait")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        Counter rejected = Counter.builder("indexing.executor.rejected")
+                .description("Indexing tasks rejected because the queue was full")
+                .tag("policy", rejectionPolicy)
+                .register(meterRegistry);
+
+        executor.setTaskDecorator(latencyRecordingDecorator(latency));
+        executor.setRejectedExecutionHandler(rejectionHandler(rejectionPolicy, rejected));
+
+        Gauge.builder("indexing.executor.queue.size", executor, ThreadPoolTaskExecutor::getQueueSize)
+                .description("Indexing tasks waiting in the queue")
+                .register(meterRegistry);
+        Gauge.builder("indexing.executor.active", executor, ThreadPoolTaskExecutor::getActiveCount)
+                .description("Indexing workers currently running a task")
+                .register(meterRegistry);
+        Gauge.builder("indexing.executor.pool.size", executor, ThreadPoolTaskExecutor::getPoolSize)
+                .description("Indexing worker threads currently alive")
+                .register(meterRegistry);
+
+        return executor;
+    }
+
+    // Runs the searches of a DB-mode batch in parallel. Each one holds a JDBC connection while it runs,
+    // so keep the pool well under the connection pool; past the queue, searches run on the request thread.
+    @Bean(name = SEARCH_BATCH_EXECUTOR)
+    public ThreadPoolTaskExecutor searchBatchExecutor(@Value("${search.batch.executor.pool-size:4}") int poolSize,
+                                                      @Value("${search.batch.executor.queue-capacity:100}") int queueCapacity,
+                                                      @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        setThreads(executor, "search-batch-", virtualThreads);
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        return executor;
+    }
+
+    static void setThreads(ThreadPoolTaskExecutor executor, String namePrefix, boolean virtualThreads) {
+        if (virtualThreads) {
+            executor.setThreadFactory(Thread.ofVirtual().name(namePrefix, 1).factory());
+        } else {
+            executor.setThreadNamePrefix(namePrefix);
+        }
+    }
+
+    static TaskDecorator latencyRecordingDecorator(Timer latency) {
+        return task -> {
+            long submittedAt = System.nanoTime();
+            return () -> {
+                try {
+                    task.run();
+                } finally {
+                    latency.record(System.nanoTime() - submittedAt, TimeUnit.NANOSECONDS);
+                }
+            };
+        };
+    }
+
+    /**
+     * caller-runs applies backpressure by indexing on the publishing (request) thread;
+     * shed drops the update and counts it, leaving the document stale until the next write or reindex.
+     * Neither policy throws, so a saturated indexer never fails the product write itself.
+     */
+    static RejectedExecutionHandler rejectionHandler(String policy, Counter rejected) {
+        return switch (policy) {
+            case POLICY_CALLER_RUNS -> (task, pool) -> {
+                rejected.increment();
+                if (!pool.isShutdown()) {
+                    task.run();
+                }
+            };
+            case POLICY_SHED -> (task, pool) -> {
+                rejected.increment();
+                log.warn("Indexing queue full ({} queued), dropping index update", pool.getQueue().size());
+            };
+            default -> throw new IllegalArgumentException(
+                    "Unknown indexing.executor.rejection-policy: " + policy
+                            + ". Allowed: " + POLICY_CALLER_RUNS + ", " + POLICY_SHED);
+        };
+    }
 }
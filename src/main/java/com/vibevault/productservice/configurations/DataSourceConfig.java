@@ -0,0 +1,122 @@
+package com.vibevault.productservice.configurations;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.autoconfigure.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+// Builds the Hikari pool the way Spring Boot would (spring.datasource.* and spring.datasource.hikari.*)
+// and, when the JDBC admission limit is on, hands everything else a DataSource that guards it.
+// The limit defaults to on exactly when request handling runs on virtual threads. It hands out
+// reserved-connections fewer permits than the pool has connections, leaving those for the nested
+// (REQUIRES_NEW) connections a permit holder may open.
+//
+// With read replicas configured, read-only transactions that opted in through ReplicaReads (DB-mode
+// search) run on them: the lazy proxy only fetches a physical connection once the transaction manager
+// has marked it read-only (or not), so it can pick the replica side or the primary. Everything else,
+// including every write and every other read, stays on the primary.
+@Slf4j
+@Configuration
+public class DataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource connectionPool(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    public ReadReplicas readReplicas(DataSourceProperties properties,
+                                     MeterRegistry meterRegistry,
+                                     @Value("${datasource.replica.urls:}") List<String> urls,
+                                     @Value("${datasource.replica.username:${spring.datasource.username:}}") String username,
+                                     @Value("${datasource.replica.password:${spring.datasource.password:}}") String password,
+                                     @Value("${datasource.replica.maximum-pool-size:10}") int maximumPoolSize,
+                                     @Value("${datasource.replica.connection-timeout-ms:2000}") long connectionTimeoutMs,
+                                     @Value("${datasource.replica.max-lag-seconds:5}") long maxLagSeconds,
+                                     @Value("${datasource.replica.allow-standalone:false}") boolean allowStandalone,
+                                     @Value("${datasource.admission.enabled:${spring.threads.virtual.enabled:false}}") boolean admissionEnabled,
+                                     @Value("${datasource.admission.max-waiting:200}") int maxWaiting,
+                                     @Value("${datasource.admission.acquire-timeout-ms:5000}") long acquireTimeoutMs,
+                                     @Value("${datasource.admission.reserved-connections:1}") int reservedConnections) {
+        List<ReadReplicas.Replica> replicas = new ArrayList<>();
+        for (String url : urls) {
+            if (url.isBlank()) {
+                continue;
+            }
+            String name = "replica-" + (replicas.size() + 1);
+            HikariDataSource pool = properties.initializeDataSourceBuilder()
+                    .type(HikariDataSource.class)
+                    .url(url.trim())
+                    .username(username)
+                    .password(password)
+                    .build();
+            pool.setPoolName(name);
+            pool.setMaximumPoolSize(maximumPoolSize);
+            pool.setReadOnly(true);
+            // Short, so a replica that is down is given up on quickly and reads fall back to the primary
+            pool.setConnectionTimeout(connectionTimeoutMs);
+            // A replica that is down at startup must not stop the service from starting
+            pool.setInitializationFailTimeout(-1);
+            pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+
+            DataSource connections = admissionEnabled
+                    ? new AdmissionControlledDataSource(pool, name, permits(maximumPoolSize, reservedConnections),
+                            maxWaiting, acquireTimeoutMs, meterRegistry)
+                    : pool;
+            replicas.add(new ReadReplicas.Replica(name, pool, connections));
+        }
+        if (!replicas.isEmpty()) {
+            log.info("Routing search reads to {} read replica(s), max lag {}s", replicas.size(), maxLagSeconds);
+        }
+        return new ReadReplicas(replicas, maxLagSeconds, allowStandalone, meterRegistry);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource connectionPool,
+                                 ReadReplicas readReplicas,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${datasource.admission.enabled:${spring.threads.virtual.enabled:false}}") boolean admissionEnabled,
+                                 @Value("${datasource.admission.max-waiting:200}") int maxWaiting,
+                                 @Value("${datasource.admission.acquire-timeout-ms:5000}") long acquireTimeoutMs,
+                                 @Value("${datasource.admission.reserved-connections:1}") int reservedConnections) {
+        DataSource primary = connectionPool;
+        if (admissionEnabled) {
+            // Unset until the pool validates its config on start; Hikari then defaults it to 10
+            int poolSize = connectionPool.getMaximumPoolSize() > 0 ? connectionPool.getMaximumPoolSize() : 10;
+            int permits = permits(poolSize, reservedConnections);
+            log.info("JDBC admission limit on: {} permits for {} connections, up to {} waiting, {} ms acquire timeout",
+                    permits, poolSize, maxWaiting, acquireTimeoutMs);
+            String poolName = connectionPool.getPoolName() != null ? connectionPool.getPoolName() : "primary";
+            primary = new AdmissionControlledDataSource(connectionPool, poolName, permits,
+                    maxWaiting, acquireTimeoutMs, meterRegistry);
+        }
+        if (readReplicas.isEmpty()) {
+            return primary;
+        }
+        LazyConnectionDataSourceProxy routing = new LazyConnectionDataSourceProxy(primary);
+        routing.setReadOnlyDataSource(readReplicas.routing(primary));
+        return routing;
+    }
+
+    static int permits(int poolSize, int reservedConnections) {
+        if (poolSize - reservedConnections < 1) {
+            log.warn("A pool of {} connections cannot reserve {} for nested transactions; using 1 permit",
+                    poolSize, reservedConnections);
+            return 1;
+        }
+        return poolSize - reservedConnections;
+    }
+}
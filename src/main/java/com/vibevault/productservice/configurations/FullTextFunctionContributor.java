@@ -0,0 +1,26 @@
+package com.vibevault.productservice.configurations;
+
+import org.hibernate.boot.model.FunctionContributions;
+import org.hibernate.boot.model.FunctionContributor;
+import org.hibernate.type.StandardBasicTypes;
+
+/**
+ * Registers MySQL's MATCH ... AGAINST with Hibernate so criteria queries can use the
+ * products FULLTEXT index. Loaded through META-INF/services, before Spring starts.
+ *
+ * fulltext_match(name, description, query) returns the relevance score, which is 0 for rows
+ * that do not match.
+ */
+public class FullTextFunctionContributor implements FunctionContributor {
+
+    public static final String FULLTEXT_MATCH = "fulltext_match";
+
+    @Override
+    public void contributeFunctions(FunctionContributions functionContributions) {
+        functionContributions.getFunctionRegistry().registerPattern(
+                FULLTEXT_MATCH,
+                "match(?1, ?2) against (?3 in boolean mode)",
+                functionContributions.getTypeConfiguration().getBasicTypeRegistry()
+                        .resolve(StandardBasicTypes.DOUBLE));
+    }
+}
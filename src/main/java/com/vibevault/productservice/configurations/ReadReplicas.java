@@ -0,0 +1,204 @@
+package com.vibevault.productservice.configurations;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The read replica pools and their replication lag. {@link #routing(DataSource)} returns the
+ * DataSource read-only transactions run on: inside a {@link ReplicaReads} scope it hands out
+ * connections from the healthy replicas in turn, and from the primary while none is healthy;
+ * outside one it always uses the primary.
+ *
+ * A replica is healthy once a lag check has seen it at most max-lag seconds behind its source,
+ * and stays so until a check sees it further behind, sees replication stopped, or cannot reach
+ * it, or until a connection request to it fails. Until the first check completes, reads go to
+ * the primary. A server that reports no replication status at all is not replicating, so it is
+ * kept out of rotation, unless standalone servers are explicitly allowed (e.g. a second instance
+ * used for local testing), in which case it counts as a replica with no lag.
+ */
+@Slf4j
+public class ReadReplicas implements AutoCloseable {
+
+    static final String LAG_QUERY = "SHOW REPLICA STATUS";
+
+    /**
+     * One replica: the raw pool (for lag checks and shutdown) and the DataSource reads use,
+     * which may guard the pool with an admission limit.
+     */
+    public record Replica(String name, DataSource pool, DataSource connections) {
+    }
+
+    private final List<ReplicaState> replicas;
+    private final long maxLagSeconds;
+    private final boolean allowStandalone;
+    private final AtomicInteger next = new AtomicInteger();
+    private final MeterRegistry meterRegistry;
+    private final Counter fallbackNoReplica;
+    private final Counter fallbackReplicaError;
+
+    public ReadReplicas(List<Replica> replicas, long maxLagSeconds, boolean allowStandalone, MeterRegistry meterRegistry) {
+        this.maxLagSeconds = maxLagSeconds;
+        this.allowStandalone = allowStandalone;
+        this.meterRegistry = meterRegistry;
+        this.replicas = replicas.stream().map(ReplicaState::new).toList();
+        this.fallbackNoReplica = fallback("no-healthy-replica");
+        this.fallbackReplicaError = fallback("replica-error");
+
+        for (ReplicaState state : this.replicas) {
+            Gauge.builder("datasource.replica.lag", state, s -> s.lagSeconds)
+                    .description("Seconds the replica was behind its source at the last check; NaN if unknown")
+                    .baseUnit("seconds")
+                    .tag("pool", state.replica.name())
+                    .register(meterRegistry);
+            Gauge.builder("datasource.replica.healthy", state, s -> s.healthy ? 1 : 0)
+                    .description("1 while the replica takes read-only traffic, 0 while reads fall back to the primary")
+                    .tag("pool", state.replica.name())
+                    .register(meterRegistry);
+        }
+    }
+
+    public boolean isEmpty() {
+        return replicas.isEmpty();
+    }
+
+    /**
+     * The DataSource for read-only transactions: a replica for reads that opted in through
+     * {@link ReplicaReads}, the given primary for the rest and as the fallback.
+     */
+    public DataSource routing(DataSource primary) {
+        return new AbstractDataSource() {
+            @Override
+            public Connection getConnection() throws SQLException {
+                return readConnection(primary, null, null);
+            }
+
+            @Override
+            public Connection getConnection(String username, String password) throws SQLException {
+                return readConnection(primary, username, password);
+            }
+        };
+    }
+
+    private Connection readConnection(DataSource primary, String username, String password) throws SQLException {
+        if (!ReplicaReads.isAllowed()) {
+            return username == null ? primary.getConnection() : primary.getConnection(username, password);
+        }
+        int size = replicas.size();
+        int start = size == 0 ? 0 : Math.floorMod(next.getAndIncrement(), size);
+        for (int i = 0; i < size; i++) {
+            ReplicaState state = replicas.get((start + i) % size);
+            if (!state.healthy) {
+                continue;
+            }
+            try {
+                Connection connection = username == null
+                        ? state.replica.connections().getConnection()
+                        : state.replica.connections().getConnection(username, password);
+                state.served.increment();
+                return connection;
+            } catch (SQLTransientConnectionException e) {
+                // Busy (pool or admission limit exhausted) rather than broken: try the next one, keep it in rotation
+                fallbackReplicaError.increment();
+            } catch (SQLException e) {
+                // Taken out of rotation until the next lag check reaches it again
+                state.healthy = false;
+                fallbackReplicaError.increment();
+                log.warn("Read replica {} unavailable, routing its reads elsewhere: {}", state.replica.name(), e.getMessage());
+            }
+        }
+        fallbackNoReplica.increment();
+        return username == null ? primary.getConnection() : primary.getConnection(username, password);
+    }
+
+    @Scheduled(fixedDelayString = "${datasource.replica.lag-check-interval-ms:1000}")
+    public void checkLag() {
+        for (ReplicaState state : replicas) {
+            Double lag = lagOf(state);
+            boolean healthy = lag != null && lag <= maxLagSeconds;
+            if (healthy != state.healthy) {
+                if (healthy) {
+                    log.info("Read replica {} back in rotation ({}s behind)", state.replica.name(), lag);
+                } else {
+                    log.warn("Read replica {} out of rotation ({}), reads fall back to the primary or other replicas",
+                            state.replica.name(), lag == null ? "replication status unknown" : lag + "s behind");
+                }
+            }
+            state.lagSeconds = lag == null ? Double.NaN : lag;
+            state.healthy = healthy;
+        }
+    }
+
+    // Seconds behind the source, null if unknown or the server is not replicating from anything
+    // (0 for the latter when standalone servers are allowed)
+    private Double lagOf(ReplicaState state) {
+        try (Connection connection = state.replica.pool().getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet status = statement.executeQuery(LAG_QUERY)) {
+            if (!status.next()) {
+                if (!state.standaloneLogged) {
+                    if (allowStandalone) {
+                        log.info("Read replica {} reports no replication status; standalone servers are allowed, "
+                                + "treating it as up to date", state.replica.name());
+                    } else {
+                        log.warn("Read replica {} reports no replication status; keeping it out of rotation "
+                                + "(set datasource.replica.allow-standalone to use it anyway)", state.replica.name());
+                    }
+                    state.standaloneLogged = true;
+                }
+                return allowStandalone ? 0.0 : null;
+            }
+            long behind = status.getLong("Seconds_Behind_Source");
+            // NULL while the replication threads are stopped or reconnecting
+            return status.wasNull() ? null : (double) behind;
+        } catch (SQLException e) {
+            log.debug("Lag check on read replica {} failed: {}", state.replica.name(), e.getMessage());
+            return null;
+        }
+    }
+
+    @Override
+    public void close() throws Exception {
+        for (ReplicaState state : replicas) {
+            if (state.replica.pool() instanceof AutoCloseable pool) {
+                pool.close();
+            }
+        }
+    }
+
+    private Counter fallback(String reason) {
+        return Counter.builder("datasource.routing.fallback")
+                .description("Read-only connection requests a replica could not take (replica-error) "
+                        + "or that went to the primary because no replica was healthy (no-healthy-replica)")
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+
+    private final class ReplicaState {
+        private final Replica replica;
+        private final Counter served;
+        private volatile boolean healthy;
+        private volatile double lagSeconds = Double.NaN;
+        private boolean standaloneLogged;
+
+        private ReplicaState(Replica replica) {
+            this.replica = replica;
+            this.served = Counter.builder("datasource.routing.connections")
+                    .description("Read-only connections served by each read replica")
+                    .tag("pool", replica.name())
+                    .register(meterRegistry);
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.vibevault.productservice.configurations;
+
+/**
+ * Opt-in for reads that may run on a read replica. A read-only transaction goes to a replica only
+ * while the thread that runs it is inside a scope opened here; everything else, including product
+ * lookups that fill the product cache, stays on the primary and sees its own writes. Only DB-mode
+ * search opts in.
+ *
+ * The flag is checked when the transaction fetches its physical connection, which the lazy routing
+ * proxy defers until the first statement, so opening the scope first thing in a
+ * {@code @Transactional(readOnly = true)} method is enough.
+ */
+public final class ReplicaReads {
+
+    private static final ThreadLocal<Boolean> ALLOWED = new ThreadLocal<>();
+
+    private ReplicaReads() {
+    }
+
+    public static Scope allow() {
+        boolean previous = isAllowed();
+        ALLOWED.set(Boolean.TRUE);
+        return () -> {
+            if (previous) {
+                ALLOWED.set(Boolean.TRUE);
+            } else {
+                ALLOWED.remove();
+            }
+        };
+    }
+
+    public static boolean isAllowed() {
+        return Boolean.TRUE.equals(ALLOWED.get());
+    }
+
+    /**
+     * Restores the previous setting on close.
+     */
+    public interface Scope extends AutoCloseable {
+        @Override
+        void close();
+    }
+}
@@ -0,0 +1,10 @@
+package com.vibevault.productservice.configurations;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+    // Enables @Scheduled background jobs such as the periodic bulk index flush.
+}
@@ -1,5 +1,7 @@
 package com.vibevault.productservice.configurations;
 
+import com.vibevault.productservice.services.CachingSearchService;
+import com.vibevault.productservice.services.SearchResultCache;
 import com.vibevault.productservice.services.SearchService;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.ApplicationContext;
@@ -13,7 +15,10 @@ public class SearchServiceConfig {
     @Bean
     @Primary
     public SearchService searchService(ApplicationContext context,
-                                       @Value("${searchServiceType}") String serviceType) {
-        return context.getBean(serviceType, SearchService.class);
+                                       @Value("${searchServiceType}") String serviceType,
+                                       @Value("${search.cache.enabled:true}") boolean cacheEnabled,
+                                       SearchResultCache searchResultCache) {
+        SearchService searchService = context.getBean(serviceType, SearchService.class);
+        return cacheEnabled ? new CachingSearchService(searchService, searchResultCache) : searchService;
     }
 }
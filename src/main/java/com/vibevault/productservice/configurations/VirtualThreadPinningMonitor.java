@@ -0,0 +1,115 @@
+package com.vibevault.productservice.configurations;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Reports virtual threads that stay pinned to their carrier thread, typically because they block
+ * inside a synchronized block or a native frame. A pinned thread holds a carrier for as long as it
+ * blocks, so a few of them on a hot path quietly turn the virtual-thread setup back into a small
+ * fixed pool.
+ *
+ * Streams the JFR jdk.VirtualThreadPinned event in-process: every event past the threshold counts
+ * towards jvm.threads.virtual.pinned, and the first event from each distinct call site is logged
+ * with its stack so the offending code can be found without attaching a profiler.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "threads.virtual.pinning-monitor.enabled", havingValue = "true")
+public class VirtualThreadPinningMonitor {
+
+    static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+
+    // Caps memory if pinning happens at many sites; later sites are still counted, just not logged
+    private static final int MAX_LOGGED_SITES = 100;
+
+    private final Duration threshold;
+    private final int stackDepth;
+    private final Counter pinned;
+    private final Timer pinnedTime;
+    private final Set<String> loggedSites = ConcurrentHashMap.newKeySet();
+
+    private RecordingStream stream;
+
+    public VirtualThreadPinningMonitor(MeterRegistry meterRegistry,
+                                       @Value("${threads.virtual.pinning-monitor.threshold-ms:20}") long thresholdMs,
+                                       @Value("${threads.virtual.pinning-monitor.stack-depth:12}") int stackDepth) {
+        this.threshold = Duration.ofMillis(thresholdMs);
+        this.stackDepth = stackDepth;
+        this.pinned = Counter.builder("jvm.threads.virtual.pinned")
+                .description("Virtual threads that blocked while pinned to their carrier for longer than the threshold")
+                .register(meterRegistry);
+        this.pinnedTime = Timer.builder("jvm.threads.virtual.pinned.duration")
+                .description("How long pinned virtual threads held their carrier")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        if (stream != null) {
+            return;
+        }
+        stream = new RecordingStream();
+        stream.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+        stream.onEvent(PINNED_EVENT, this::record);
+        stream.startAsync();
+        log.info("Watching for virtual threads pinned longer than {} ms", threshold.toMillis());
+    }
+
+    @PreDestroy
+    public synchronized void stop() {
+        if (stream != null) {
+            stream.close();
+            stream = null;
+        }
+    }
+
+    void record(RecordedEvent event) {
+        pinned.increment();
+        pinnedTime.record(event.getDuration());
+
+        List<String> frames = frames(event);
+        String site = siteOf(frames);
+        if (loggedSites.size() < MAX_LOGGED_SITES && loggedSites.add(site)) {
+            log.warn("Virtual thread pinned for {} ms at {} (further pinning here is only counted):\n\t{}",
+                    event.getDuration().toMillis(), site,
+                    String.join("\n\t", frames.subList(0, Math.min(stackDepth, frames.size()))));
+        }
+    }
+
+    // The top frames are the JDK's own parking code, so the site is the first frame outside the JDK
+    static String siteOf(List<String> frames) {
+        return frames.stream()
+                .filter(frame -> !frame.startsWith("java.") && !frame.startsWith("jdk.") && !frame.startsWith("sun."))
+                .findFirst()
+                .orElse(frames.isEmpty() ? "unknown" : frames.get(0));
+    }
+
+    private static List<String> frames(RecordedEvent event) {
+        if (event.getStackTrace() == null) {
+            return List.of();
+        }
+        return event.getStackTrace().getFrames().stream()
+                .filter(RecordedFrame::isJavaFrame)
+                .map(frame -> frame.getMethod().getType().getName() + "." + frame.getMethod().getName()
+                        + ":" + frame.getLineNumber())
+                .collect(Collectors.toList());
+    }
+}
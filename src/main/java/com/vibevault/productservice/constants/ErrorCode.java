@@ -11,7 +11,11 @@ public enum ErrorCode {
     CATEGORY_ALREADY_EXISTS,
     INVALID_TOKEN,
     ACCESS_DENIED,
-    INVALID_SEARCH_PARAMETER;
+    INVALID_SEARCH_PARAMETER,
+    INVALID_CURSOR,
+    INVALID_BULK_REQUEST,
+    DATABASE_UNAVAILABLE,
+    CONCURRENT_UPDATE;
 
     @Override
     public String toString() {
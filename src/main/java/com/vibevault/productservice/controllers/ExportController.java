@@ -0,0 +1,49 @@
+package com.vibevault.productservice.controllers;
+
+import com.vibevault.productservice.services.ProductExportService;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.GZIPOutputStream;
+
+@RestController
+@RequestMapping("/admin/export")
+@RequiredArgsConstructor
+public class ExportController {
+
+    private static final String NDJSON_CONTENT_TYPE = "application/x-ndjson";
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final ProductExportService productExportService;
+
+    // Writes straight to the servlet output stream on the request thread rather than returning a
+    // StreamingResponseBody, so multi-minute exports are not cut off by the async request timeout.
+    @GetMapping("/products")
+    @PreAuthorize("hasRole('ADMIN')")
+    public void exportProducts(@RequestParam(defaultValue = "false") boolean gzip,
+                               HttpServletResponse response) throws IOException {
+        response.setContentType(NDJSON_CONTENT_TYPE);
+        response.setCharacterEncoding("UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"products.ndjson\"");
+        if (gzip) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+
+        OutputStream out = new BufferedOutputStream(response.getOutputStream(), BUFFER_SIZE);
+        if (gzip) {
+            out = new GZIPOutputStream(out, BUFFER_SIZE, true);
+        }
+        try (OutputStream body = out) {
+            productExportService.exportProducts(body);
+        }
+    }
+}
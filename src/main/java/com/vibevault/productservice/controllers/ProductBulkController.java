@@ -0,0 +1,38 @@
+package com.vibevault.productservice.controllers;
+
+import com.vibevault.productservice.dtos.product.BulkCreateProductsRequestDto;
+import com.vibevault.productservice.dtos.product.BulkProductResponseDto;
+import com.vibevault.productservice.dtos.product.BulkUpdateProductsRequestDto;
+import com.vibevault.productservice.exceptions.products.InvalidBulkRequestException;
+import com.vibevault.productservice.services.ProductBulkResult;
+import com.vibevault.productservice.services.ProductBulkService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+// Catalog imports: many products per request, with one result per item in request order
+@RestController
+@RequestMapping("/products/bulk")
+@RequiredArgsConstructor
+public class ProductBulkController {
+
+    private final ProductBulkService productBulkService;
+
+    @PostMapping("")
+    @PreAuthorize("hasAnyRole('SELLER','ADMIN')")
+    public BulkProductResponseDto createProducts(@RequestBody BulkCreateProductsRequestDto requestDto)
+            throws InvalidBulkRequestException {
+        List<ProductBulkResult> results = productBulkService.createProducts(requestDto.toProducts());
+        return BulkProductResponseDto.fromResults(results);
+    }
+
+    @PatchMapping("")
+    @PreAuthorize("hasAnyRole('SELLER','ADMIN')")
+    public BulkProductResponseDto updateProducts(@RequestBody BulkUpdateProductsRequestDto requestDto)
+            throws InvalidBulkRequestException {
+        List<ProductBulkResult> results = productBulkService.updateProducts(requestDto.toProductUpdates());
+        return BulkProductResponseDto.fromResults(results);
+    }
+}
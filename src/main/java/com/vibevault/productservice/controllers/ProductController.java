@@ -1,14 +1,15 @@
 package com.vibevault.productservice.controllers;
 
 import com.vibevault.productservice.dtos.product.*;
+import com.vibevault.productservice.exceptions.products.InvalidCursorException;
 import com.vibevault.productservice.exceptions.products.ProductNotCreatedException;
 import com.vibevault.productservice.exceptions.products.ProductNotDeletedException;
 import com.vibevault.productservice.exceptions.products.ProductNotFoundException;
 import com.vibevault.productservice.models.Product;
 import com.vibevault.productservice.services.ProductService;
+import org.springframework.data.domain.Slice;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
-import java.util.List;
 
 @RestController
 @RequestMapping("/products")
@@ -39,9 +40,10 @@ public class ProductController {
         return GetProductResponseDto.fromProduct(product);
     }
     @GetMapping("")
-    public List<GetProductResponseDto> getAllProducts() throws ProductNotFoundException {
-        List<Product> products = productService.getAllProducts();
-        return GetProductResponseDto.fromProducts(products);
+    public GetProductPageResponseDto getAllProducts(@RequestParam(required = false) String cursor,
+                                                    @RequestParam(defaultValue = "20") int size) throws ProductNotFoundException, InvalidCursorException {
+        Slice<Product> products = productService.getProductPage(cursor, size);
+        return GetProductPageResponseDto.fromSlice(products);
     }
     @DeleteMapping("/{productId}")
     @PreAuthorize("hasAnyRole('SELLER','ADMIN')")
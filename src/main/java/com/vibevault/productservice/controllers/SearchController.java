@@ -1,11 +1,18 @@
 package com.vibevault.productservice.controllers;
 
+import com.vibevault.productservice.dtos.product.GetProductPageResponseDto;
+import com.vibevault.productservice.dtos.search.BatchSearchRequestDto;
+import com.vibevault.productservice.dtos.search.BatchSearchResponseDto;
 import com.vibevault.productservice.dtos.search.ProductSearchResponseDto;
 import com.vibevault.productservice.dtos.search.ProductSuggestionResponseDto;
+import com.vibevault.productservice.exceptions.products.InvalidCursorException;
 import com.vibevault.productservice.exceptions.search.InvalidSearchParameterException;
 import com.vibevault.productservice.models.Currency;
 import com.vibevault.productservice.models.Product;
+import com.vibevault.productservice.services.SearchBatchResult;
+import com.vibevault.productservice.services.SearchCursorPage;
 import com.vibevault.productservice.services.SearchService;
+import com.vibevault.productservice.services.SearchStageMetrics;
 import org.springframework.data.domain.Page;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.web.bind.annotation.*;
@@ -19,9 +26,11 @@ import java.util.UUID;
 public class SearchController {
 
     private final SearchService searchService;
+    private final SearchStageMetrics searchStageMetrics;
 
-    public SearchController(SearchService searchService) {
+    public SearchController(SearchService searchService, SearchStageMetrics searchStageMetrics) {
         this.searchService = searchService;
+        this.searchStageMetrics = searchStageMetrics;
     }
 
     @GetMapping("/products")
@@ -37,14 +46,58 @@ public class SearchController {
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "createdAt") String sortBy,
-            @RequestParam(defaultValue = "desc") String sortDir
+            @RequestParam(defaultValue = "desc") String sortDir,
+            @RequestParam(defaultValue = "false") boolean facets
     ) throws InvalidSearchParameterException {
 
-        Page<Product> results = searchService.searchProducts(
+        Page<Product> results = facets
+                ? searchService.searchProductsWithFacets(query, minPrice, maxPrice, currency, categoryId,
+                        categoryName, createdAfter, createdBefore, page, size, sortBy, sortDir)
+                : searchService.searchProducts(query, minPrice, maxPrice, currency, categoryId,
+                        categoryName, createdAfter, createdBefore, page, size, sortBy, sortDir);
+
+        // Outside the service, so its stages miss it; timed as the response stage of the same search
+        long mappingStartedAt = System.nanoTime();
+        ProductSearchResponseDto response = ProductSearchResponseDto.fromPage(results);
+        searchStageMetrics.recordResponse(SearchStageMetrics.shapeOf(query),
+                sortBy, results.getTotalElements(), System.nanoTime() - mappingStartedAt);
+        return response;
+    }
+
+    // Selected whenever a cursor parameter is present; pass an empty cursor to start
+    @GetMapping(value = "/products", params = "cursor")
+    public GetProductPageResponseDto searchProductsAfter(
+            @RequestParam(required = false) String query,
+            @RequestParam(required = false) Double minPrice,
+            @RequestParam(required = false) Double maxPrice,
+            @RequestParam(required = false) Currency currency,
+            @RequestParam(required = false) UUID categoryId,
+            @RequestParam(required = false) String categoryName,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) Date createdAfter,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) Date createdBefore,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "createdAt") String sortBy,
+            @RequestParam(defaultValue = "desc") String sortDir,
+            @RequestParam String cursor
+    ) throws InvalidSearchParameterException, InvalidCursorException {
+
+        SearchCursorPage results = searchService.searchProductsAfter(
                 query, minPrice, maxPrice, currency, categoryId, categoryName,
-                createdAfter, createdBefore, page, size, sortBy, sortDir);
+                createdAfter, createdBefore, size, sortBy, sortDir, cursor);
+
+        long mappingStartedAt = System.nanoTime();
+        GetProductPageResponseDto response = GetProductPageResponseDto.fromCursorPage(results);
+        searchStageMetrics.recordResponseUncounted(SearchStageMetrics.shapeOf(query),
+                sortBy, System.nanoTime() - mappingStartedAt);
+        return response;
+    }
 
-        return ProductSearchResponseDto.fromPage(results);
+    // Several independent searches (e.g. one per home-page rail) in one request
+    @PostMapping("/batch")
+    public BatchSearchResponseDto searchBatch(@RequestBody BatchSearchRequestDto requestDto)
+            throws InvalidSearchParameterException {
+        List<SearchBatchResult> results = searchService.searchBatch(requestDto.toSearchParameters());
+        return BatchSearchResponseDto.fromResults(results);
     }
 
     @GetMapping("/products/suggest")
@@ -0,0 +1,18 @@
+package com.vibevault.productservice.dtos.product;
+
+import com.vibevault.productservice.models.Product;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class BulkCreateProductsRequestDto {
+    private List<CreateProductRequestDto> products;
+
+    public List<Product> toProducts() {
+        if (products == null) {
+            return List.of();
+        }
+        return products.stream().map(CreateProductRequestDto::toProduct).toList();
+    }
+}
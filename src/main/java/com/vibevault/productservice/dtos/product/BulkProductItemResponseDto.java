@@ -0,0 +1,26 @@
+package com.vibevault.productservice.dtos.product;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.vibevault.productservice.services.ProductBulkResult;
+import lombok.Data;
+
+@Data
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BulkProductItemResponseDto {
+    // Position of the item in the request
+    private int index;
+    private String id;
+    private String name;
+    private String error;
+
+    public static BulkProductItemResponseDto fromResult(ProductBulkResult result) {
+        BulkProductItemResponseDto dto = new BulkProductItemResponseDto();
+        dto.setIndex(result.index());
+        if (result.product() != null) {
+            dto.setId(String.valueOf(result.product().getId()));
+            dto.setName(result.product().getName());
+        }
+        dto.setError(result.error());
+        return dto;
+    }
+}
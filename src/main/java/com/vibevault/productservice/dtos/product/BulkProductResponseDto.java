@@ -0,0 +1,22 @@
+package com.vibevault.productservice.dtos.product;
+
+import com.vibevault.productservice.services.ProductBulkResult;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class BulkProductResponseDto {
+    private int succeeded;
+    private int failed;
+    private List<BulkProductItemResponseDto> results;
+
+    public static BulkProductResponseDto fromResults(List<ProductBulkResult> results) {
+        BulkProductResponseDto dto = new BulkProductResponseDto();
+        int succeeded = (int) results.stream().filter(ProductBulkResult::isSucceeded).count();
+        dto.setSucceeded(succeeded);
+        dto.setFailed(results.size() - succeeded);
+        dto.setResults(results.stream().map(BulkProductItemResponseDto::fromResult).toList());
+        return dto;
+    }
+}
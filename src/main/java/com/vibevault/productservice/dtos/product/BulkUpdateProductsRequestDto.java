@@ -0,0 +1,21 @@
+package com.vibevault.productservice.dtos.product;
+
+import com.vibevault.productservice.services.ProductUpdate;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class BulkUpdateProductsRequestDto {
+    // Each item names the product to change in its id field
+    private List<UpdateProductRequestDto> products;
+
+    public List<ProductUpdate> toProductUpdates() {
+        if (products == null) {
+            return List.of();
+        }
+        return products.stream()
+                .map(dto -> new ProductUpdate(dto.getId(), dto.toChanges()))
+                .toList();
+    }
+}
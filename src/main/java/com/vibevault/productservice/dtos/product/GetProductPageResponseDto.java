@@ -0,0 +1,41 @@
+package com.vibevault.productservice.dtos.product;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.vibevault.productservice.commons.CursorCodec;
+import com.vibevault.productservice.models.Product;
+import com.vibevault.productservice.services.SearchCursorPage;
+import lombok.Data;
+import org.springframework.data.domain.Slice;
+
+import java.util.List;
+
+@Data
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class GetProductPageResponseDto {
+    private List<GetProductResponseDto> products;
+    private int pageSize;
+    private boolean hasNext;
+    private String nextCursor;
+
+    public static GetProductPageResponseDto fromSlice(Slice<Product> slice) {
+        GetProductPageResponseDto dto = new GetProductPageResponseDto();
+        List<Product> content = slice.getContent();
+        dto.setProducts(GetProductResponseDto.fromProducts(content));
+        dto.setPageSize(slice.getSize());
+        dto.setHasNext(slice.hasNext());
+        if (slice.hasNext() && !content.isEmpty()) {
+            Product last = content.get(content.size() - 1);
+            dto.setNextCursor(CursorCodec.encode(List.of(last.getId().toString())));
+        }
+        return dto;
+    }
+
+    public static GetProductPageResponseDto fromCursorPage(SearchCursorPage page) {
+        GetProductPageResponseDto dto = new GetProductPageResponseDto();
+        dto.setProducts(GetProductResponseDto.fromProducts(page.products()));
+        dto.setPageSize(page.pageSize());
+        dto.setHasNext(page.hasNext());
+        dto.setNextCursor(page.nextCursor());
+        return dto;
+    }
+}
@@ -23,7 +23,9 @@ public class GetProductResponseDto {
         responseDto.setDescription(product.getDescription());
         responseDto.setImageUrl(product.getImageUrl());
         responseDto.setPrice(product.getPrice());
-        responseDto.setCategoryName(product.getCategory().getName());
+        if (product.getCategory() != null) {
+            responseDto.setCategoryName(product.getCategory().getName());
+        }
         return responseDto;
     }
 
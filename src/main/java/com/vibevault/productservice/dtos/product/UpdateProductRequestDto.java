@@ -22,8 +22,14 @@ public class UpdateProductRequestDto {
     private String categoryName;
 
     public Product toProduct() {
-        Product product = new Product();
+        Product product = toChanges();
         product.setId(UUID.fromString(this.id));
+        return product;
+    }
+
+    // The requested changes without the id, which a bulk update validates per item
+    public Product toChanges() {
+        Product product = new Product();
         product.setName(this.name);
         product.setDescription(this.description);
         product.setImageUrl(this.imageUrl);
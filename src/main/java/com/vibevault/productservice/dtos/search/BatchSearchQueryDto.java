@@ -0,0 +1,32 @@
+package com.vibevault.productservice.dtos.search;
+
+import com.vibevault.productservice.models.Currency;
+import com.vibevault.productservice.services.SearchParameters;
+import lombok.Data;
+
+import java.util.Date;
+import java.util.UUID;
+
+/**
+ * One search in a batch. Fields and defaults match the query parameters of GET /search/products.
+ */
+@Data
+public class BatchSearchQueryDto {
+    private String query;
+    private Double minPrice;
+    private Double maxPrice;
+    private Currency currency;
+    private UUID categoryId;
+    private String categoryName;
+    private Date createdAfter;
+    private Date createdBefore;
+    private int page = 0;
+    private int size = 10;
+    private String sortBy = "createdAt";
+    private String sortDir = "desc";
+
+    public SearchParameters toSearchParameters() {
+        return new SearchParameters(query, minPrice, maxPrice, currency, categoryId, categoryName,
+                createdAfter, createdBefore, page, size, sortBy, sortDir);
+    }
+}
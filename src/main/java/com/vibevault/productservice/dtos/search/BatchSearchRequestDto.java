@@ -0,0 +1,18 @@
+package com.vibevault.productservice.dtos.search;
+
+import com.vibevault.productservice.services.SearchParameters;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class BatchSearchRequestDto {
+    private List<BatchSearchQueryDto> searches;
+
+    public List<SearchParameters> toSearchParameters() {
+        if (searches == null) {
+            return List.of();
+        }
+        return searches.stream().map(BatchSearchQueryDto::toSearchParameters).toList();
+    }
+}
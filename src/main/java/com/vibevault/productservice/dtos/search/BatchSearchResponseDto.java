@@ -0,0 +1,18 @@
+package com.vibevault.productservice.dtos.search;
+
+import com.vibevault.productservice.services.SearchBatchResult;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class BatchSearchResponseDto {
+    // In the order the searches were submitted
+    private List<BatchSearchResultDto> results;
+
+    public static BatchSearchResponseDto fromResults(List<SearchBatchResult> searchBatchResults) {
+        BatchSearchResponseDto dto = new BatchSearchResponseDto();
+        dto.setResults(searchBatchResults.stream().map(BatchSearchResultDto::fromResult).toList());
+        return dto;
+    }
+}
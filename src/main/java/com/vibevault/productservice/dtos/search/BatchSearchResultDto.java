@@ -0,0 +1,24 @@
+package com.vibevault.productservice.dtos.search;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.vibevault.productservice.services.SearchBatchResult;
+import lombok.Data;
+
+/**
+ * Either the page of one batched search or, if its parameters were rejected, the reason.
+ */
+@Data
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BatchSearchResultDto {
+    private ProductSearchResponseDto result;
+    private String error;
+
+    public static BatchSearchResultDto fromResult(SearchBatchResult searchBatchResult) {
+        BatchSearchResultDto dto = new BatchSearchResultDto();
+        if (searchBatchResult.page() != null) {
+            dto.setResult(ProductSearchResponseDto.fromPage(searchBatchResult.page()));
+        }
+        dto.setError(searchBatchResult.error());
+        return dto;
+    }
+}
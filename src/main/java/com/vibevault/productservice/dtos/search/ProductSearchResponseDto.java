@@ -3,6 +3,9 @@ package com.vibevault.productservice.dtos.search;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.vibevault.productservice.dtos.product.GetProductResponseDto;
 import com.vibevault.productservice.models.Product;
+import com.vibevault.productservice.models.SearchFacets;
+import com.vibevault.productservice.models.TotalAccuracy;
+import com.vibevault.productservice.services.SearchResultsPage;
 import lombok.Data;
 import org.springframework.data.domain.Page;
 
@@ -15,11 +18,15 @@ public class ProductSearchResponseDto {
     private int currentPage;
     private int totalPages;
     private long totalElements;
+    // EXACT, ESTIMATE (a recent count reused for a short TTL) or LOWER_BOUND (at least this many)
+    private TotalAccuracy totalAccuracy;
     private int pageSize;
     private boolean hasNext;
     private boolean hasPrevious;
     private boolean first;
     private boolean last;
+    // Only present when requested with facets=true
+    private SearchFacets facets;
 
     public static ProductSearchResponseDto fromPage(Page<Product> page) {
         ProductSearchResponseDto dto = new ProductSearchResponseDto();
@@ -27,11 +34,13 @@ public class ProductSearchResponseDto {
         dto.setCurrentPage(page.getNumber());
         dto.setTotalPages(page.getTotalPages());
         dto.setTotalElements(page.getTotalElements());
+        dto.setTotalAccuracy(SearchResultsPage.totalAccuracyOf(page));
         dto.setPageSize(page.getSize());
         dto.setHasNext(page.hasNext());
         dto.setHasPrevious(page.hasPrevious());
         dto.setFirst(page.isFirst());
         dto.setLast(page.isLast());
+        dto.setFacets(SearchResultsPage.facetsOf(page));
         return dto;
     }
 }
@@ -0,0 +1,27 @@
+package com.vibevault.productservice.events;
+
+import com.vibevault.productservice.models.Product;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * One notification for a batch of products written in the same transaction, so listeners can
+ * act on the batch at once (one bulk index request, one cache invalidation) instead of per product.
+ */
+@Getter
+@AllArgsConstructor
+public class ProductBatchChangedEvent {
+
+    private final List<Product> products;
+    private final ProductChangedEvent.ActionType actionType;
+
+    public static ProductBatchChangedEvent created(List<Product> products) {
+        return new ProductBatchChangedEvent(products, ProductChangedEvent.ActionType.CREATED);
+    }
+
+    public static ProductBatchChangedEvent updated(List<Product> products) {
+        return new ProductBatchChangedEvent(products, ProductChangedEvent.ActionType.UPDATED);
+    }
+}
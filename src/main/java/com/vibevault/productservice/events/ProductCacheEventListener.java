@@ -0,0 +1,38 @@
+package com.vibevault.productservice.events;
+
+import com.vibevault.productservice.models.ProductSnapshot;
+import com.vibevault.productservice.services.ProductCache;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Publishes committed product changes into the product cache. Runs synchronously after commit,
+ * when the flush has stamped lastModifiedAt and the row version, so the cache never holds an
+ * uncommitted version.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ProductCacheEventListener {
+
+    private final ProductCache productCache;
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void handleProductChanged(ProductChangedEvent event) {
+        try {
+            productCache.putCommitted(ProductSnapshot.fromProduct(event.getProduct()));
+        } catch (RuntimeException e) {
+            // Fall back to a plain invalidation so the next read goes to the database
+            log.warn("Could not refresh cached product {}: {}", event.getProduct().getId(), e.getMessage());
+            productCache.invalidate(event.getProduct().getId());
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void handleProductsChanged(ProductBatchChangedEvent event) {
+        event.getProducts().forEach(product -> handleProductChanged(new ProductChangedEvent(product, event.getActionType())));
+    }
+}
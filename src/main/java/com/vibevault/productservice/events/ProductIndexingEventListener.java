@@ -1,21 +1,25 @@
 package com.vibevault.productservice.events;
 
+import com.vibevault.productservice.configurations.AsyncConfig;
 import com.vibevault.productservice.services.ProductIndexingService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.context.event.EventListener;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
 
 @Slf4j
 @Component
 @RequiredArgsConstructor
+@ConditionalOnProperty(name = "indexing.mode", havingValue = "events")
 public class ProductIndexingEventListener {
 
     private final ProductIndexingService productIndexingService;
 
-    @Async
-    @EventListener
+    @Async(AsyncConfig.INDEXING_EXECUTOR)
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
     public void handleProductChanged(ProductChangedEvent event) {
         try {
             // DELETED re-indexes with deleted=true (soft-delete) rather than removing from index.
@@ -29,4 +33,16 @@ public class ProductIndexingEventListener {
                     event.getProduct().getId(), e.getMessage());
         }
     }
+
+    // One bulk request for the whole batch; a failure leaves the batch stale until the next write or reindex
+    @Async(AsyncConfig.INDEXING_EXECUTOR)
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void handleProductsChanged(ProductBatchChangedEvent event) {
+        try {
+            productIndexingService.indexProducts(event.getProducts());
+        } catch (Exception e) {
+            log.warn("Failed to index batch of {} products to Elasticsearch: {}",
+                    event.getProducts().size(), e.getMessage());
+        }
+    }
 }
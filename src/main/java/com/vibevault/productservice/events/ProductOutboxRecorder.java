@@ -0,0 +1,33 @@
+package com.vibevault.productservice.events;
+
+import com.vibevault.productservice.models.ProductOutboxEntry;
+import com.vibevault.productservice.repositories.ProductOutboxRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Writes each product change to the outbox inside the product's own transaction,
+ * so the outbox row commits or rolls back together with the change.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "indexing.mode", havingValue = "outbox", matchIfMissing = true)
+public class ProductOutboxRecorder {
+
+    private final ProductOutboxRepository productOutboxRepository;
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void recordProductChanged(ProductChangedEvent event) {
+        productOutboxRepository.save(ProductOutboxEntry.fromEvent(event));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void recordProductsChanged(ProductBatchChangedEvent event) {
+        productOutboxRepository.saveAll(event.getProducts().stream()
+                .map(product -> ProductOutboxEntry.fromEvent(new ProductChangedEvent(product, event.getActionType())))
+                .toList());
+    }
+}
@@ -0,0 +1,28 @@
+package com.vibevault.productservice.events;
+
+import com.vibevault.productservice.services.ProductSuggestionIndex;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Keeps the in-memory suggestion index in step with committed product changes.
+ * Changes made by other instances arrive through the index's periodic catch-up.
+ */
+@Component
+@RequiredArgsConstructor
+public class ProductSuggestionIndexEventListener {
+
+    private final ProductSuggestionIndex productSuggestionIndex;
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void handleProductChanged(ProductChangedEvent event) {
+        productSuggestionIndex.apply(event.getProduct());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void handleProductsChanged(ProductBatchChangedEvent event) {
+        event.getProducts().forEach(productSuggestionIndex::apply);
+    }
+}
@@ -0,0 +1,28 @@
+package com.vibevault.productservice.events;
+
+import com.vibevault.productservice.services.SearchResultCache;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Clears cached search pages after any committed product change. Working out which cached
+ * queries a change affects is not worth it at these TTLs, so invalidation is all-or-nothing.
+ */
+@Component
+@RequiredArgsConstructor
+public class SearchCacheEventListener {
+
+    private final SearchResultCache searchResultCache;
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void handleProductChanged(ProductChangedEvent event) {
+        searchResultCache.invalidateAll();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void handleProductsChanged(ProductBatchChangedEvent event) {
+        searchResultCache.invalidateAll();
+    }
+}
@@ -0,0 +1,7 @@
+package com.vibevault.productservice.exceptions.products;
+
+public class InvalidBulkRequestException extends Exception {
+    public InvalidBulkRequestException(String message) {
+        super(message);
+    }
+}
@@ -17,8 +17,9 @@ import java.util.UUID;
 @EqualsAndHashCode(callSuper = false)
 @EntityListeners(AuditingEntityListener.class)
 public class BaseModel {
+    // Time-ordered so inserts append to the primary key; existing random (v4) ids stay valid
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @TimeOrderedUuid
     @ToString.Exclude
     @EqualsAndHashCode.Exclude
     private UUID id;
@@ -0,0 +1,7 @@
+package com.vibevault.productservice.models;
+
+/**
+ * One value of a facet and how many matching products have it.
+ */
+public record FacetBucket(String key, long count) {
+}
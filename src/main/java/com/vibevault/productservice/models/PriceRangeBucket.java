@@ -0,0 +1,7 @@
+package com.vibevault.productservice.models;
+
+/**
+ * Matching products priced in [from, to). A null bound is open.
+ */
+public record PriceRangeBucket(Double from, Double to, long count) {
+}
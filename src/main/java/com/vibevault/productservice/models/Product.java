@@ -1,4 +1,5 @@
 package com.vibevault.productservice.models;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import jakarta.persistence.*;
 import lombok.*;
@@ -39,4 +40,12 @@ public class Product extends BaseModel{
     @ToString.Exclude
     @ManyToOne
     private Category category;
+
+    // Incremented by Hibernate on every update; orders copies of the product outside the database
+    // (search documents, caches) independently of the instances' clocks
+    @Version
+    @JsonIgnore
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private Long version;
 }
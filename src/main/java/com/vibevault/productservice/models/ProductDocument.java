@@ -14,9 +14,14 @@ import org.springframework.data.elasticsearch.annotations.MultiField;
 import org.springframework.data.elasticsearch.annotations.Setting;
 
 import java.util.Date;
-
-@Document(indexName = "products")
-@Setting(shards = 1, replicas = 0)
+import java.util.UUID;
+
+// indexName is an alias over versioned products_v{n} indices, managed by ProductIndexManager.
+// Writes carry the product's row version as an external version (ProductIndexWrites), so an older
+// snapshot never replaces a newer one; _gte lets a retry of the same snapshot succeed.
+@Document(indexName = ProductDocument.INDEX_ALIAS, createIndex = false,
+        versionType = Document.VersionType.EXTERNAL_GTE)
+@Setting(settingPath = "/elasticsearch/product-settings.json", shards = 1, replicas = 0)
 @Getter
 @Setter
 @NoArgsConstructor
@@ -24,12 +29,21 @@ import java.util.Date;
 @Builder
 public class ProductDocument {
 
+    public static final String INDEX_ALIAS = "products";
+
+    // Mapped as keyword so it can serve as the search_after tie-breaker
     @Id
+    @Field(type = FieldType.Keyword)
     private String id;
 
+    // name.suggest holds edge n-grams of each word so prefix lookups are plain term matches
     @MultiField(
             mainField = @Field(type = FieldType.Text, analyzer = "standard"),
-            otherFields = @InnerField(suffix = "keyword", type = FieldType.Keyword)
+            otherFields = {
+                    @InnerField(suffix = "keyword", type = FieldType.Keyword),
+                    @InnerField(suffix = "suggest", type = FieldType.Text,
+                            analyzer = "autocomplete", searchAnalyzer = "autocomplete_search")
+            }
     )
     private String name;
 
@@ -51,6 +65,10 @@ public class ProductDocument {
     @Field(type = FieldType.Keyword)
     private String categoryName;
 
+    // categoryName is lower-cased for filtering; this keeps the original for display
+    @Field(type = FieldType.Keyword, index = false, docValues = false)
+    private String categoryDisplayName;
+
     @Field(type = FieldType.Date, format = {}, pattern = "uuuu-MM-dd'T'HH:mm:ss.SSSXXX||epoch_millis")
     private Date createdAt;
 
@@ -60,6 +78,10 @@ public class ProductDocument {
     @Field(type = FieldType.Boolean)
     private boolean deleted;
 
+    // Product.version when the document was built; null in documents indexed before it existed
+    @Field(type = FieldType.Long, index = false)
+    private Long version;
+
     public static ProductDocument fromProduct(Product product) {
         ProductDocumentBuilder builder = ProductDocument.builder()
                 .id(product.getId().toString())
@@ -68,7 +90,8 @@ public class ProductDocument {
                 .imageUrl(product.getImageUrl())
                 .createdAt(product.getCreatedAt())
                 .lastModifiedAt(product.getLastModifiedAt())
-                .deleted(product.isDeleted());
+                .deleted(product.isDeleted())
+                .version(product.getVersion());
 
         if (product.getPrice() != null) {
             builder.price(product.getPrice().getPrice());
@@ -78,8 +101,36 @@ public class ProductDocument {
         if (product.getCategory() != null) {
             builder.categoryId(product.getCategory().getId().toString());
             builder.categoryName(product.getCategory().getName().toLowerCase());
+            builder.categoryDisplayName(product.getCategory().getName());
         }
 
         return builder.build();
     }
+
+    /**
+     * Builds a detached product from the indexed fields, for serving search results
+     * without a database round trip.
+     */
+    public Product toProduct() {
+        Product product = new Product();
+        product.setId(UUID.fromString(id));
+        product.setName(name);
+        product.setDescription(description);
+        product.setImageUrl(imageUrl);
+        if (price != null || currency != null) {
+            product.setPrice(new Price(price, currency != null ? Currency.valueOf(currency) : null));
+        }
+        if (categoryId != null || categoryName != null) {
+            Category category = new Category();
+            category.setId(categoryId != null ? UUID.fromString(categoryId) : null);
+            // Documents indexed before categoryDisplayName existed only carry the lower-cased name
+            category.setName(categoryDisplayName != null ? categoryDisplayName : categoryName);
+            product.setCategory(category);
+        }
+        product.setCreatedAt(createdAt);
+        product.setLastModifiedAt(lastModifiedAt);
+        product.setDeleted(deleted);
+        product.setVersion(version);
+        return product;
+    }
 }
@@ -0,0 +1,41 @@
+package com.vibevault.productservice.models;
+
+import com.vibevault.productservice.events.ProductChangedEvent;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.Date;
+import java.util.UUID;
+
+/**
+ * A product change recorded in the same transaction as the change itself,
+ * waiting to be shipped to the search index.
+ */
+@Entity
+@Table(name = "product_outbox")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductOutboxEntry {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "product_id", nullable = false)
+    private UUID productId;
+
+    @Enumerated
+    @Column(name = "action_type", nullable = false)
+    private ProductChangedEvent.ActionType actionType;
+
+    @Column(name = "created_at", nullable = false)
+    private Date createdAt;
+
+    public static ProductOutboxEntry fromEvent(ProductChangedEvent event) {
+        return new ProductOutboxEntry(null, event.getProduct().getId(), event.getActionType(), new Date());
+    }
+}
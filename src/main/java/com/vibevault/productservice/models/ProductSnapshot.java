@@ -0,0 +1,89 @@
+package com.vibevault.productservice.models;
+
+import java.util.Date;
+import java.util.UUID;
+
+/**
+ * Immutable copy of the product fields served by the read path. Cached instances are shared
+ * between threads, so callers always get a fresh {@link Product} via {@link #toProduct()}.
+ */
+public record ProductSnapshot(UUID id,
+                              String name,
+                              String description,
+                              String imageUrl,
+                              Double price,
+                              Currency currency,
+                              UUID categoryId,
+                              String categoryName,
+                              Date createdAt,
+                              Date lastModifiedAt,
+                              boolean deleted,
+                              Long version) {
+
+    public static ProductSnapshot fromProduct(Product product) {
+        Price price = product.getPrice();
+        Category category = product.getCategory();
+        return new ProductSnapshot(
+                product.getId(),
+                product.getName(),
+                product.getDescription(),
+                product.getImageUrl(),
+                price != null ? price.getPrice() : null,
+                price != null ? price.getCurrency() : null,
+                category != null ? category.getId() : null,
+                category != null ? category.getName() : null,
+                copy(product.getCreatedAt()),
+                copy(product.getLastModifiedAt()),
+                product.isDeleted(),
+                product.getVersion());
+    }
+
+    public Product toProduct() {
+        Product product = new Product();
+        product.setId(id);
+        product.setName(name);
+        product.setDescription(description);
+        product.setImageUrl(imageUrl);
+        if (price != null || currency != null) {
+            product.setPrice(new Price(price, currency));
+        }
+        if (categoryId != null || categoryName != null) {
+            Category category = new Category();
+            category.setId(categoryId);
+            category.setName(categoryName);
+            product.setCategory(category);
+        }
+        product.setCreatedAt(copy(createdAt));
+        product.setLastModifiedAt(copy(lastModifiedAt));
+        product.setDeleted(deleted);
+        product.setVersion(version);
+        return product;
+    }
+
+    /**
+     * True if this snapshot may replace {@code other}: its row version is at least as high.
+     * A snapshot without a version never replaces one that has it.
+     */
+    public boolean isAtLeastAsRecentAs(ProductSnapshot other) {
+        if (other.version == null) {
+            return true;
+        }
+        return version != null && version >= other.version;
+    }
+
+    /**
+     * True if this snapshot's row version is strictly higher than {@code other}'s.
+     * A snapshot without a version is older than one that has it.
+     */
+    public boolean isNewerThan(ProductSnapshot other) {
+        if (version == null) {
+            return false;
+        }
+        return other.version == null || version > other.version;
+    }
+
+    // Date is mutable and JDBC may hand back a java.sql.Timestamp subclass
+    private static Date copy(Date date) {
+        return date != null ? new Date(date.getTime()) : null;
+    }
+}
@@ -0,0 +1,31 @@
+package com.vibevault.productservice.models;
+
+import java.util.UUID;
+
+/**
+ * The columns an autocomplete suggestion shows, plus the row version to order concurrent updates.
+ */
+public record ProductSuggestion(UUID id, String name, UUID categoryId, String categoryName, Long version) {
+
+    public static ProductSuggestion fromProduct(Product product) {
+        Category category = product.getCategory();
+        return new ProductSuggestion(product.getId(), product.getName(),
+                category != null ? category.getId() : null,
+                category != null ? category.getName() : null,
+                product.getVersion());
+    }
+
+    public Product toProduct() {
+        Product product = new Product();
+        product.setId(id);
+        product.setName(name);
+        if (categoryId != null || categoryName != null) {
+            Category category = new Category();
+            category.setId(categoryId);
+            category.setName(categoryName);
+            product.setCategory(category);
+        }
+        product.setVersion(version);
+        return product;
+    }
+}
@@ -0,0 +1,9 @@
+package com.vibevault.productservice.models;
+
+import java.util.UUID;
+
+/**
+ * The columns needed to tell whether an indexed copy of a product is still current.
+ */
+public record ProductVersion(UUID id, Long version, boolean deleted) {
+}
@@ -0,0 +1,25 @@
+package com.vibevault.productservice.models;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Filter counts over the products matching a search. Category keys are lower-cased, as stored
+ * in the search index; categories and currencies are ordered by count, price ranges by price.
+ */
+public record SearchFacets(List<FacetBucket> categories, List<FacetBucket> currencies,
+                           List<PriceRangeBucket> priceRanges) {
+
+    /**
+     * Checks configured price-range boundaries are strictly ascending.
+     */
+    public static double[] requireAscending(double[] priceBoundaries) {
+        for (int i = 1; i < priceBoundaries.length; i++) {
+            if (priceBoundaries[i] <= priceBoundaries[i - 1]) {
+                throw new IllegalArgumentException("search.facets.price-ranges must be strictly ascending: "
+                        + Arrays.toString(priceBoundaries));
+            }
+        }
+        return priceBoundaries;
+    }
+}
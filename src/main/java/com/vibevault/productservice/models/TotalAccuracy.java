@@ -0,0 +1,13 @@
+package com.vibevault.productservice.models;
+
+/**
+ * How far a search page's total can be trusted.
+ */
+public enum TotalAccuracy {
+    // Counted for this request
+    EXACT,
+    // A recent count of the same filters, reused for a short TTL
+    ESTIMATE,
+    // Not counted; at least this many matches exist
+    LOWER_BOUND
+}
@@ -2,9 +2,12 @@ package com.vibevault.productservice.repositories;
 
 import com.vibevault.productservice.models.Category;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.Collection;
+import java.util.Date;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -21,4 +24,13 @@ public interface CategoryRepository extends JpaRepository<Category, UUID> {
     Category save(Category category);
 
     List<Category> findAllByIdIn(List<UUID> uuids);
+
+    // No-op on a duplicate name, so concurrent first-time inserts of the same category
+    // converge on one row instead of failing on uc_categories_name
+    @Modifying
+    @Query(value = "INSERT INTO categories (id, created_at, last_modified_at, is_deleted, name, product_count) "
+            + "VALUES (:id, :now, :now, false, :name, 0) "
+            + "ON DUPLICATE KEY UPDATE id = id",
+           nativeQuery = true)
+    int insertIfAbsent(byte[] id, String name, Date now);
 }
@@ -0,0 +1,18 @@
+package com.vibevault.productservice.repositories;
+
+import com.vibevault.productservice.models.ProductOutboxEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface ProductOutboxRepository extends JpaRepository<ProductOutboxEntry, Long> {
+
+    // SKIP LOCKED lets several replicas poll concurrently: each claims a disjoint batch,
+    // and the row locks are held until the claiming transaction commits or rolls back.
+    @Query(value = "SELECT * FROM product_outbox ORDER BY id LIMIT :batchSize FOR UPDATE SKIP LOCKED",
+           nativeQuery = true)
+    List<ProductOutboxEntry> claimBatch(int batchSize);
+}
@@ -1,19 +1,28 @@
 package com.vibevault.productservice.repositories;
 
 import com.vibevault.productservice.models.Product;
-import org.springframework.data.domain.Page;
+import com.vibevault.productservice.models.ProductSuggestion;
+import com.vibevault.productservice.models.ProductVersion;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.Date;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
-public interface ProductRepository extends JpaRepository<Product, UUID>, JpaSpecificationExecutor<Product> {
+public interface ProductRepository extends JpaRepository<Product, UUID>, JpaSpecificationExecutor<Product>,
+        ProductSearchRepository {
 
     @Override
     <S extends Product> S save(S product);
@@ -31,11 +40,73 @@ public interface ProductRepository extends JpaRepository<Product, UUID>, JpaSpec
     @Override
     Optional<Product> findById(UUID productId);
 
-    @Query(value = "SELECT p FROM Product p LEFT JOIN FETCH p.category",
-           countQuery = "SELECT COUNT(p) FROM Product p")
-    Page<Product> findAllWithCategory(Pageable pageable);
+    @Query("SELECT MIN(p.id) FROM Product p")
+    UUID findMinId();
+
+    @Query("SELECT MAX(p.id) FROM Product p")
+    UUID findMaxId();
+
+    // Ids in key order; with PageRequest.of(n, 1) this is the id at row offset n, used to pick
+    // reindex partition boundaries at row quantiles
+    @Query("SELECT p.id FROM Product p ORDER BY p.id")
+    List<UUID> findIdsInKeyOrder(Pageable pageable);
+
+    // Range-bounded keyset batches for the partitioned reindex. Soft-deleted products are
+    // included so their documents are written with deleted=true.
+    @Query("SELECT p FROM Product p LEFT JOIN FETCH p.category WHERE p.id >= :fromId AND p.id <= :toId ORDER BY p.id")
+    List<Product> findRangeWithCategory(UUID fromId, UUID toId, Pageable pageable);
+
+    @Query("SELECT p FROM Product p LEFT JOIN FETCH p.category WHERE p.id > :afterId AND p.id <= :toId ORDER BY p.id")
+    List<Product> findRangeWithCategoryAfter(UUID afterId, UUID toId, Pageable pageable);
+
+    // Keyset batches over (lastModifiedAt, id) for the reindex catch-up, served by
+    // idx_products_last_modified_at (InnoDB appends id to the index)
+    @Query("SELECT p FROM Product p LEFT JOIN FETCH p.category WHERE p.lastModifiedAt >= :since "
+            + "ORDER BY p.lastModifiedAt, p.id")
+    List<Product> findModifiedSinceWithCategory(Date since, Pageable pageable);
+
+    @Query("SELECT p FROM Product p LEFT JOIN FETCH p.category WHERE p.lastModifiedAt > :afterModifiedAt "
+            + "OR (p.lastModifiedAt = :afterModifiedAt AND p.id > :afterId) ORDER BY p.lastModifiedAt, p.id")
+    List<Product> findModifiedAfterWithCategory(Date afterModifiedAt, UUID afterId, Pageable pageable);
 
     @Query("SELECT p FROM Product p LEFT JOIN FETCH p.category WHERE p.id IN :ids")
     List<Product> findAllByIdWithCategory(List<UUID> ids);
 
+    // Names taken by any product, deleted or not, since uc_products_name spans both. MySQL's
+    // default collation compares case-insensitively, so the stored spelling may differ from the argument.
+    @Query("SELECT p.name FROM Product p WHERE p.name IN :names")
+    List<String> findExistingNames(Collection<String> names);
+
+    // Narrow projection (no description LOB, no category join) for checking index staleness
+    @Query("SELECT new com.vibevault.productservice.models.ProductVersion(p.id, p.version, p.isDeleted) "
+            + "FROM Product p WHERE p.id IN :ids")
+    List<ProductVersion> findVersionsByIds(List<UUID> ids);
+
+    // Keyset pagination over the primary key: each page is a range scan on the
+    // clustered index, so cost stays flat regardless of how deep the client pages.
+    @Query("SELECT p FROM Product p LEFT JOIN FETCH p.category WHERE p.isDeleted = false ORDER BY p.id")
+    Slice<Product> findFirstPageWithCategory(Pageable pageable);
+
+    @Query("SELECT p FROM Product p LEFT JOIN FETCH p.category WHERE p.isDeleted = false AND p.id > :afterId ORDER BY p.id")
+    Slice<Product> findPageWithCategoryAfter(UUID afterId, Pageable pageable);
+
+    // Forward-only cursor for full-catalog exports. MySQL Connector/J only streams rows
+    // (instead of buffering the whole result set) when the fetch size is Integer.MIN_VALUE.
+    // Must be consumed inside a transaction and closed by the caller.
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT p FROM Product p LEFT JOIN FETCH p.category WHERE p.isDeleted = false")
+    Stream<Product> streamAllWithCategory();
+
+    // Names only, for building the in-memory suggestion index; streamed for the same reason as above
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new com.vibevault.productservice.models.ProductSuggestion(p.id, p.name, c.id, c.name, p.version) "
+            + "FROM Product p LEFT JOIN p.category c WHERE p.isDeleted = false")
+    Stream<ProductSuggestion> streamAllSuggestions();
+
 }
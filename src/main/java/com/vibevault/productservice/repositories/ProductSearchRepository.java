@@ -0,0 +1,23 @@
+package com.vibevault.productservice.repositories;
+
+import com.vibevault.productservice.models.Product;
+import com.vibevault.productservice.models.SearchFacets;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
+
+public interface ProductSearchRepository {
+
+    /**
+     * Like findAll(spec, pageable) but without the COUNT query: reads one row past the page
+     * to tell whether another page exists.
+     */
+    Slice<Product> findSlice(Specification<Product> spec, Pageable pageable);
+
+    /**
+     * Category, currency and price-range counts over the rows matching spec, with one GROUP BY
+     * query per facet. Price ranges are [boundaries[i], boundaries[i + 1]), the last one open-ended.
+     * The specification must not set an ORDER BY.
+     */
+    SearchFacets findFacets(Specification<Product> spec, double[] priceBoundaries, int categoryLimit);
+}
@@ -0,0 +1,142 @@
+package com.vibevault.productservice.repositories;
+
+import com.vibevault.productservice.models.Category;
+import com.vibevault.productservice.models.Currency;
+import com.vibevault.productservice.models.FacetBucket;
+import com.vibevault.productservice.models.PriceRangeBucket;
+import com.vibevault.productservice.models.Product;
+import com.vibevault.productservice.models.SearchFacets;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Read-only like SimpleJpaRepository's own finders. These queries reach a read replica only when the
+// search calling them opened a ReplicaReads scope; otherwise they run on the primary
+@Transactional(readOnly = true)
+public class ProductSearchRepositoryImpl implements ProductSearchRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Slice<Product> findSlice(Specification<Product> spec, Pageable pageable) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Product> query = criteriaBuilder.createQuery(Product.class);
+        Root<Product> root = query.from(Product.class);
+        query.select(root);
+
+        Predicate predicate = spec.toPredicate(root, query, criteriaBuilder);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        // Same rule as SimpleJpaRepository: a sorted Pageable replaces any ordering set by the specification
+        if (pageable.getSort().isSorted()) {
+            query.orderBy(QueryUtils.toOrders(pageable.getSort(), root, criteriaBuilder));
+        }
+
+        List<Product> rows = entityManager.createQuery(query)
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize() + 1)
+                .getResultList();
+        boolean hasNext = rows.size() > pageable.getPageSize();
+        return new SliceImpl<>(hasNext ? rows.subList(0, pageable.getPageSize()) : rows, pageable, hasNext);
+    }
+
+    @Override
+    public SearchFacets findFacets(Specification<Product> spec, double[] priceBoundaries, int categoryLimit) {
+        return new SearchFacets(
+                countByCategory(spec, categoryLimit),
+                countByCurrency(spec),
+                countByPriceRange(spec, priceBoundaries));
+    }
+
+    private List<FacetBucket> countByCategory(Specification<Product> spec, int limit) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = criteriaBuilder.createTupleQuery();
+        Root<Product> root = query.from(Product.class);
+        // Joined before applying the specification so its category filters reuse this join
+        Join<Product, Category> category = root.join("category", JoinType.INNER);
+        Expression<String> name = criteriaBuilder.lower(category.get("name"));
+        Expression<Long> count = criteriaBuilder.count(root);
+
+        query.multiselect(name, count)
+                .where(predicateOf(spec, root, query, criteriaBuilder))
+                .groupBy(name)
+                .orderBy(criteriaBuilder.desc(count));
+
+        return entityManager.createQuery(query).setMaxResults(limit).getResultList().stream()
+                .map(row -> new FacetBucket(row.get(0, String.class), row.get(1, Long.class)))
+                .toList();
+    }
+
+    private List<FacetBucket> countByCurrency(Specification<Product> spec) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = criteriaBuilder.createTupleQuery();
+        Root<Product> root = query.from(Product.class);
+        Path<Currency> currency = root.get("price").get("currency");
+        Expression<Long> count = criteriaBuilder.count(root);
+
+        query.multiselect(currency, count)
+                .where(predicateOf(spec, root, query, criteriaBuilder))
+                .groupBy(currency)
+                .orderBy(criteriaBuilder.desc(count));
+
+        return entityManager.createQuery(query).getResultList().stream()
+                .filter(row -> row.get(0) != null)
+                .map(row -> new FacetBucket(row.get(0, Currency.class).name(), row.get(1, Long.class)))
+                .toList();
+    }
+
+    // One pass over the matches with a SUM(CASE ...) per range, rather than a query per range
+    private List<PriceRangeBucket> countByPriceRange(Specification<Product> spec, double[] boundaries) {
+        if (boundaries.length == 0) {
+            return List.of();
+        }
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = criteriaBuilder.createTupleQuery();
+        Root<Product> root = query.from(Product.class);
+        Path<Double> price = root.get("price").get("price");
+
+        List<Selection<?>> sums = new ArrayList<>(boundaries.length);
+        for (int i = 0; i < boundaries.length; i++) {
+            Predicate inRange = i + 1 < boundaries.length
+                    ? criteriaBuilder.and(criteriaBuilder.ge(price, boundaries[i]), criteriaBuilder.lt(price, boundaries[i + 1]))
+                    : criteriaBuilder.ge(price, boundaries[i]);
+            sums.add(criteriaBuilder.sum(criteriaBuilder.<Long>selectCase().when(inRange, 1L).otherwise(0L)));
+        }
+        query.multiselect(sums).where(predicateOf(spec, root, query, criteriaBuilder));
+
+        Tuple row = entityManager.createQuery(query).getSingleResult();
+        List<PriceRangeBucket> buckets = new ArrayList<>(boundaries.length);
+        for (int i = 0; i < boundaries.length; i++) {
+            Number sum = (Number) row.get(i);
+            buckets.add(new PriceRangeBucket(boundaries[i], i + 1 < boundaries.length ? boundaries[i + 1] : null,
+                    sum != null ? sum.longValue() : 0));
+        }
+        return buckets;
+    }
+
+    private static Predicate predicateOf(Specification<Product> spec, Root<Product> root,
+                                         CriteriaQuery<?> query, CriteriaBuilder criteriaBuilder) {
+        Predicate predicate = spec.toPredicate(root, query, criteriaBuilder);
+        return predicate != null ? predicate : criteriaBuilder.conjunction();
+    }
+}
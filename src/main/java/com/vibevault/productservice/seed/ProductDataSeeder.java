@@ -1,7 +1,7 @@
 package com.vibevault.productservice.seed;
 
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.boot.SpringApplication;
 import org.springframework.context.ApplicationContext;
@@ -9,6 +9,7 @@ import org.springframework.context.annotation.Profile;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Component;
 
+import com.vibevault.productservice.commons.UuidV7;
 import com.vibevault.productservice.models.Currency;
 
 import java.nio.ByteBuffer;
@@ -16,17 +17,19 @@ import java.sql.Timestamp;
 import java.time.Instant;
 import java.util.*;
 import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
 
 @Slf4j
 @Component
 @Profile("seed")
-@RequiredArgsConstructor
 public class ProductDataSeeder implements CommandLineRunner {
 
     private final JdbcTemplate jdbcTemplate;
     private final ApplicationContext applicationContext;
+    private final int targetProducts;
+    // Version 7 by default, matching BaseModel; 4 only to compare insert throughput against random ids
+    private final Supplier<UUID> idGenerator;
 
-    private static final int TARGET_PRODUCTS = 2_000_000;
     private static final int BATCH_SIZE = 10_000;
     private static final int CURRENCY_INR_ORDINAL = Currency.INR.ordinal();
 
@@ -83,6 +86,21 @@ public class ProductDataSeeder implements CommandLineRunner {
             "Imported", "Local Artisan", "Subscription Boxes", "Bundles"
     };
 
+    public ProductDataSeeder(JdbcTemplate jdbcTemplate,
+                             ApplicationContext applicationContext,
+                             @Value("${seed.target-products:2000000}") int targetProducts,
+                             @Value("${seed.id-version:7}") int idVersion) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.applicationContext = applicationContext;
+        this.targetProducts = targetProducts;
+        this.idGenerator = switch (idVersion) {
+            case 4 -> UUID::randomUUID;
+            case 7 -> UuidV7::next;
+            default -> throw new IllegalArgumentException(
+                    "Unknown seed.id-version: " + idVersion + ". Allowed: 4, 7");
+        };
+    }
+
     @Override
     public void run(String... args) {
         log.info("=== Product Data Seeder Started ===");
@@ -90,7 +108,7 @@ public class ProductDataSeeder implements CommandLineRunner {
         int[] exitCode = {0};
         try {
             Long productCount = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM products", Long.class);
-            if (productCount != null && productCount >= TARGET_PRODUCTS) {
+            if (productCount != null && productCount >= targetProducts) {
                 log.info("Products table already has {} rows, skipping seed.", productCount);
                 return;
             }
@@ -133,7 +151,7 @@ public class ProductDataSeeder implements CommandLineRunner {
             if (existingId != null) {
                 categoryIds.add(existingId);
             } else {
-                byte[] id = uuidToBytes(UUID.randomUUID());
+                byte[] id = uuidToBytes(idGenerator.get());
                 categoryIds.add(id);
                 batchArgs.add(new Object[]{id, now, now, false, categoryName, "Products in " + categoryName});
             }
@@ -150,7 +168,7 @@ public class ProductDataSeeder implements CommandLineRunner {
     private void seedProducts(List<byte[]> categoryIds) {
         Long existingCount = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM products", Long.class);
         int alreadyInserted = existingCount != null ? existingCount.intValue() : 0;
-        int remaining = TARGET_PRODUCTS - alreadyInserted;
+        int remaining = targetProducts - alreadyInserted;
 
         if (remaining <= 0) {
             log.info("Products already at target count.");
@@ -164,6 +182,7 @@ public class ProductDataSeeder implements CommandLineRunner {
 
         ThreadLocalRandom rng = ThreadLocalRandom.current();
         Timestamp now = Timestamp.from(Instant.now());
+        long start = System.nanoTime();
         int totalInserted = 0;
         int nameIndex = alreadyInserted;
 
@@ -178,7 +197,7 @@ public class ProductDataSeeder implements CommandLineRunner {
                 byte[] categoryId = categoryIds.get(idx % categoryIds.size());
 
                 batch.add(new Object[]{
-                        uuidToBytes(UUID.randomUUID()),
+                        uuidToBytes(idGenerator.get()),
                         now, now, false,
                         name,
                         name + " — high quality product for everyday use.",
@@ -197,7 +216,9 @@ public class ProductDataSeeder implements CommandLineRunner {
             }
         }
 
-        log.info("Product seeding complete. Total inserted: {}", totalInserted);
+        double seconds = Math.max((System.nanoTime() - start) / 1e9, 0.001);
+        log.info("Product seeding complete. Total inserted: {} in {}s ({} rows/s)",
+                totalInserted, String.format("%.1f", seconds), Math.round(totalInserted / seconds));
     }
 
     private void updateCategoryCounts() {
@@ -0,0 +1,127 @@
+package com.vibevault.productservice.services;
+
+import com.vibevault.productservice.exceptions.products.InvalidCursorException;
+import com.vibevault.productservice.exceptions.search.InvalidSearchParameterException;
+import com.vibevault.productservice.models.Currency;
+import com.vibevault.productservice.models.Product;
+import org.springframework.data.domain.Page;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Serves repeated searches from {@link SearchResultCache} before falling through to the
+ * configured search backend. Invalid parameters are never cached; the delegate rejects them.
+ */
+public class CachingSearchService implements SearchService {
+
+    private final SearchService delegate;
+    private final SearchResultCache searchResultCache;
+
+    public CachingSearchService(SearchService delegate, SearchResultCache searchResultCache) {
+        this.delegate = delegate;
+        this.searchResultCache = searchResultCache;
+    }
+
+    @Override
+    public Page<Product> searchProducts(String query, Double minPrice, Double maxPrice,
+                                         Currency currency, UUID categoryId, String categoryName,
+                                         Date createdAfter, Date createdBefore,
+                                         int page, int size, String sortBy, String sortDir)
+            throws InvalidSearchParameterException {
+        SearchResultCache.SearchKey key = SearchResultCache.SearchKey.of(query, minPrice, maxPrice,
+                currency, categoryId, categoryName, createdAfter, createdBefore, page, size, sortBy, sortDir);
+
+        Optional<Page<Product>> cached = searchResultCache.get(key);
+        if (cached.isPresent()) {
+            return cached.get();
+        }
+
+        Page<Product> results = delegate.searchProducts(query, minPrice, maxPrice, currency, categoryId,
+                categoryName, createdAfter, createdBefore, page, size, sortBy, sortDir);
+        searchResultCache.put(key, results);
+        return results;
+    }
+
+    @Override
+    public Page<Product> searchProductsWithFacets(String query, Double minPrice, Double maxPrice,
+                                                  Currency currency, UUID categoryId, String categoryName,
+                                                  Date createdAfter, Date createdBefore,
+                                                  int page, int size, String sortBy, String sortDir)
+            throws InvalidSearchParameterException {
+        SearchResultCache.SearchKey key = SearchResultCache.SearchKey.of(query, minPrice, maxPrice,
+                currency, categoryId, categoryName, createdAfter, createdBefore, page, size, sortBy, sortDir)
+                .withFacets();
+
+        Optional<Page<Product>> cached = searchResultCache.get(key);
+        if (cached.isPresent()) {
+            return cached.get();
+        }
+
+        Page<Product> results = delegate.searchProductsWithFacets(query, minPrice, maxPrice, currency, categoryId,
+                categoryName, createdAfter, createdBefore, page, size, sortBy, sortDir);
+        searchResultCache.put(key, results);
+        return results;
+    }
+
+    /**
+     * Cached searches are answered here; only the misses are sent on to the delegate, as one
+     * smaller batch. The batch size is checked first, so an oversized batch is rejected before
+     * any cache lookup. Rejected searches are not cached.
+     */
+    @Override
+    public List<SearchBatchResult> searchBatch(List<SearchParameters> searches) throws InvalidSearchParameterException {
+        SearchParameters.validateBatchSize(searches);
+
+        List<SearchBatchResult> results = new ArrayList<>(searches.size());
+        List<SearchResultCache.SearchKey> missedKeys = new ArrayList<>();
+        List<SearchParameters> missed = new ArrayList<>();
+        List<Integer> missedPositions = new ArrayList<>();
+        for (SearchParameters search : searches) {
+            SearchResultCache.SearchKey key = SearchResultCache.SearchKey.of(search.query(), search.minPrice(),
+                    search.maxPrice(), search.currency(), search.categoryId(), search.categoryName(),
+                    search.createdAfter(), search.createdBefore(), search.page(), search.size(),
+                    search.sortBy(), search.sortDir());
+            Optional<Page<Product>> cached = searchResultCache.get(key);
+            if (cached.isPresent()) {
+                results.add(SearchBatchResult.of(cached.get()));
+            } else {
+                missedPositions.add(results.size());
+                results.add(null);
+                missedKeys.add(key);
+                missed.add(search);
+            }
+        }
+
+        if (!missed.isEmpty()) {
+            List<SearchBatchResult> fetched = delegate.searchBatch(missed);
+            for (int i = 0; i < fetched.size(); i++) {
+                SearchBatchResult result = fetched.get(i);
+                if (result.page() != null) {
+                    searchResultCache.put(missedKeys.get(i), result.page());
+                }
+                results.set(missedPositions.get(i), result);
+            }
+        }
+        return results;
+    }
+
+    // Cursor pages are positional and cheap at any depth, so they are not cached
+    @Override
+    public SearchCursorPage searchProductsAfter(String query, Double minPrice, Double maxPrice,
+                                                Currency currency, UUID categoryId, String categoryName,
+                                                Date createdAfter, Date createdBefore,
+                                                int size, String sortBy, String sortDir, String cursor)
+            throws InvalidSearchParameterException, InvalidCursorException {
+        return delegate.searchProductsAfter(query, minPrice, maxPrice, currency, categoryId, categoryName,
+                createdAfter, createdBefore, size, sortBy, sortDir, cursor);
+    }
+
+    @Override
+    public List<Product> getSuggestions(String prefix, int limit) {
+        return delegate.getSuggestions(prefix, limit);
+    }
+}
@@ -0,0 +1,103 @@
+package com.vibevault.productservice.services;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.vibevault.productservice.commons.UuidV7;
+import com.vibevault.productservice.models.Category;
+import com.vibevault.productservice.repositories.CategoryRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.Date;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Resolves category names to persisted categories for the product write path.
+ * Known names are answered from an in-process name→id cache without touching the database.
+ * Unknown names are inserted with INSERT ... ON DUPLICATE KEY in a separate transaction and
+ * read back, so two writers creating the same category at once both end up with the same row.
+ *
+ * Names are cached case-insensitively, matching the default MySQL collation of uc_categories_name.
+ */
+@Component
+public class CategoryResolver {
+
+    static final String CACHE_NAME = "category-ids";
+
+    /**
+     * Cached id and stored name of a category.
+     */
+    record CategoryRef(UUID id, String name) {
+    }
+
+    private final CategoryRepository categoryRepository;
+    private final TransactionTemplate upsertTransaction;
+    private final Cache<String, CategoryRef> cache;
+
+    public CategoryResolver(CategoryRepository categoryRepository,
+                            PlatformTransactionManager transactionManager,
+                            MeterRegistry meterRegistry,
+                            @Value("${category.cache.max-size:1000}") long maxSize,
+                            @Value("${category.cache.ttl-seconds:600}") long ttlSeconds) {
+        this.categoryRepository = categoryRepository;
+        this.upsertTransaction = new TransactionTemplate(transactionManager);
+        this.upsertTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    /**
+     * Returns a detached category carrying the persisted id and stored name, creating the
+     * category if it does not exist yet. Only the id is used when it is set on a product.
+     */
+    public Category resolve(String name) {
+        String key = name.toLowerCase(Locale.ROOT);
+        CategoryRef ref = cache.getIfPresent(key);
+        if (ref == null) {
+            ref = categoryRepository.findByName(name)
+                    .map(category -> new CategoryRef(category.getId(), category.getName()))
+                    .orElseGet(() -> upsert(name));
+            cache.put(key, ref);
+        }
+        return toCategory(ref);
+    }
+
+    private CategoryRef upsert(String name) {
+        // Runs in its own transaction so the read after the insert sees a row committed
+        // by a concurrent writer, whatever snapshot the caller's transaction already holds
+        return upsertTransaction.execute(status -> {
+            categoryRepository.insertIfAbsent(toBytes(UuidV7.next()), name, new Date());
+            Optional<Category> category = categoryRepository.findByName(name);
+            return category
+                    .map(c -> new CategoryRef(c.getId(), c.getName()))
+                    .orElseThrow(() -> new IllegalStateException("Category " + name + " missing after upsert"));
+        });
+    }
+
+    private static Category toCategory(CategoryRef ref) {
+        Category category = new Category();
+        category.setId(ref.id());
+        category.setName(ref.name());
+        return category;
+    }
+
+    private static byte[] toBytes(UUID uuid) {
+        return ByteBuffer.allocate(16)
+                .putLong(uuid.getMostSignificantBits())
+                .putLong(uuid.getLeastSignificantBits())
+                .array();
+    }
+}
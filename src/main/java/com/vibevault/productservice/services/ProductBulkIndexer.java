@@ -0,0 +1,159 @@
+package com.vibevault.productservice.services;
+
+import com.vibevault.productservice.models.ProductDocument;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.data.elasticsearch.core.RefreshPolicy;
+import org.springframework.data.elasticsearch.core.query.IndexQuery;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PreDestroy;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Buffers product documents and ships them to Elasticsearch as _bulk requests.
+ * Repeated changes to the same product are coalesced (highest row version wins), and the
+ * buffer is flushed when it reaches max-actions documents, max-bytes estimated payload, or
+ * when the flush interval elapses. No explicit refresh is issued; documents become searchable
+ * on the index's refresh_interval.
+ */
+@Slf4j
+@Component
+public class ProductBulkIndexer {
+
+    // Rough per-document JSON overhead for field names, punctuation and bulk action metadata
+    private static final int DOCUMENT_OVERHEAD_BYTES = 256;
+
+    private final ElasticsearchOperations bulkOps;
+    private final int maxActions;
+    private final long maxBytes;
+
+    private final Object bufferMonitor = new Object();
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private Map<String, ProductDocument> pending = new LinkedHashMap<>();
+    private long pendingBytes;
+
+    public ProductBulkIndexer(ElasticsearchOperations elasticsearchOperations,
+                              @Value("${indexing.bulk.max-actions:500}") int maxActions,
+                              @Value("${indexing.bulk.max-bytes:5242880}") long maxBytes) {
+        this.bulkOps = elasticsearchOperations.withRefreshPolicy(RefreshPolicy.NONE);
+        this.maxActions = maxActions;
+        this.maxBytes = maxBytes;
+    }
+
+    public void add(ProductDocument document) {
+        boolean full;
+        synchronized (bufferMonitor) {
+            ProductDocument previous = pending.get(document.getId());
+            if (previous != null && supersedes(previous, document)) {
+                return;
+            }
+            if (previous != null) {
+                pendingBytes -= estimateBytes(previous);
+            }
+            pending.put(document.getId(), document);
+            pendingBytes += estimateBytes(document);
+            full = pending.size() >= maxActions || pendingBytes >= maxBytes;
+        }
+        if (full) {
+            flush();
+        }
+    }
+
+    /**
+     * Drops any buffered update for the product so it is not resurrected after a hard delete.
+     */
+    public void discard(String productId) {
+        synchronized (bufferMonitor) {
+            ProductDocument removed = pending.remove(productId);
+            if (removed != null) {
+                pendingBytes -= estimateBytes(removed);
+            }
+        }
+    }
+
+    public int pendingCount() {
+        synchronized (bufferMonitor) {
+            return pending.size();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${indexing.bulk.flush-interval-ms:1000}")
+    public void flush() {
+        // Flushes are serialized so an older batch can never land after a newer one
+        flushLock.lock();
+        try {
+            Map<String, ProductDocument> batch;
+            synchronized (bufferMonitor) {
+                if (pending.isEmpty()) {
+                    return;
+                }
+                batch = pending;
+                pending = new LinkedHashMap<>();
+                pendingBytes = 0;
+            }
+            send(batch.values());
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        log.info("Flushing {} buffered index updates before shutdown", pendingCount());
+        flush();
+    }
+
+    private void send(Collection<ProductDocument> documents) {
+        List<IndexQuery> indexQueries = documents.stream()
+                .map(ProductIndexWrites::indexQuery)
+                .toList();
+        try {
+            ProductIndexWrites.bulkIndex(() -> bulkOps.bulkIndex(indexQueries, ProductDocument.class));
+            log.debug("Bulk indexed {} products", indexQueries.size());
+        } catch (Exception e) {
+            log.warn("Bulk index of {} products failed, re-queueing: {}", documents.size(), e.getMessage());
+            requeue(documents);
+        }
+    }
+
+    // Failed documents go back into the buffer unless a newer version arrived meanwhile.
+    // The buffer is keyed by product id, so retries are bounded by the number of distinct products changed.
+    private void requeue(Collection<ProductDocument> documents) {
+        synchronized (bufferMonitor) {
+            for (ProductDocument document : documents) {
+                ProductDocument current = pending.get(document.getId());
+                if (current == null) {
+                    pending.put(document.getId(), document);
+                    pendingBytes += estimateBytes(document);
+                }
+            }
+        }
+    }
+
+    private static boolean supersedes(ProductDocument current, ProductDocument candidate) {
+        Long currentVersion = current.getVersion();
+        Long candidateVersion = candidate.getVersion();
+        return currentVersion != null && candidateVersion != null && currentVersion > candidateVersion;
+    }
+
+    static long estimateBytes(ProductDocument document) {
+        return DOCUMENT_OVERHEAD_BYTES
+                + length(document.getId())
+                + length(document.getName())
+                + length(document.getDescription())
+                + length(document.getImageUrl())
+                + length(document.getCategoryId())
+                + length(document.getCategoryName());
+    }
+
+    private static int length(String value) {
+        return value == null ? 0 : value.length();
+    }
+}
@@ -0,0 +1,22 @@
+package com.vibevault.productservice.services;
+
+import com.vibevault.productservice.models.Product;
+
+/**
+ * Outcome of one item of a bulk write, identified by its position in the request:
+ * the saved product, or why the item was not written.
+ */
+public record ProductBulkResult(int index, Product product, String error) {
+
+    public static ProductBulkResult succeeded(int index, Product product) {
+        return new ProductBulkResult(index, product, null);
+    }
+
+    public static ProductBulkResult failed(int index, String error) {
+        return new ProductBulkResult(index, null, error);
+    }
+
+    public boolean isSucceeded() {
+        return error == null;
+    }
+}
@@ -0,0 +1,22 @@
+package com.vibevault.productservice.services;
+
+import com.vibevault.productservice.exceptions.products.InvalidBulkRequestException;
+import com.vibevault.productservice.models.Product;
+
+import java.util.List;
+
+public interface ProductBulkService {
+
+    /**
+     * Creates the products in chunked transactions and returns one result per product, in
+     * request order. An invalid product fails on its own; a chunk that cannot be written fails
+     * only its own items.
+     */
+    List<ProductBulkResult> createProducts(List<Product> products) throws InvalidBulkRequestException;
+
+    /**
+     * Applies partial updates in chunked transactions, with the same per-item results as
+     * {@link #createProducts}.
+     */
+    List<ProductBulkResult> updateProducts(List<ProductUpdate> updates) throws InvalidBulkRequestException;
+}
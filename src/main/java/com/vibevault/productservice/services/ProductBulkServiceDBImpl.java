@@ -0,0 +1,324 @@
+package com.vibevault.productservice.services;
+
+import com.vibevault.productservice.events.ProductBatchChangedEvent;
+import com.vibevault.productservice.exceptions.products.InvalidBulkRequestException;
+import com.vibevault.productservice.models.Category;
+import com.vibevault.productservice.models.Product;
+import com.vibevault.productservice.repositories.ProductRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+/**
+ * Bulk product writes for catalog imports. Each distinct category name is resolved once per
+ * request, items are validated up front so one bad item cannot roll back its neighbours, and
+ * the valid ones are written chunk-size at a time, each chunk in its own transaction. Within a
+ * chunk Hibernate sends the inserts/updates as JDBC batches (hibernate.jdbc.batch_size), and a
+ * single {@link ProductBatchChangedEvent} per chunk replaces the per-product change events.
+ * A chunk that still hits a unique constraint is retried one item at a time, so only the
+ * clashing items fail.
+ */
+@Slf4j
+@Service
+public class ProductBulkServiceDBImpl implements ProductBulkService {
+
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+
+    private final ProductRepository productRepository;
+    private final CategoryResolver categoryResolver;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate chunkTransaction;
+    private final int chunkSize;
+    private final int maxItems;
+
+    public ProductBulkServiceDBImpl(ProductRepository productRepository,
+                                    CategoryResolver categoryResolver,
+                                    ApplicationEventPublisher eventPublisher,
+                                    PlatformTransactionManager transactionManager,
+                                    @Value("${products.bulk.chunk-size:500}") int chunkSize,
+                                    @Value("${products.bulk.max-items:5000}") int maxItems) {
+        this.productRepository = productRepository;
+        this.categoryResolver = categoryResolver;
+        this.eventPublisher = eventPublisher;
+        this.chunkTransaction = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+        this.maxItems = maxItems;
+    }
+
+    @Override
+    public List<ProductBulkResult> createProducts(List<Product> products) throws InvalidBulkRequestException {
+        validateBatchSize(products);
+        ProductBulkResult[] results = new ProductBulkResult[products.size()];
+        Map<String, Category> categories = resolveCategories(products);
+        Set<String> takenNames = existingNames(products);
+
+        List<Integer> accepted = new ArrayList<>(products.size());
+        for (int i = 0; i < products.size(); i++) {
+            Product product = products.get(i);
+            String error = validateNewProduct(product);
+            if (error == null && !takenNames.add(nameKey(product.getName()))) {
+                error = "A product named " + product.getName() + " already exists";
+            }
+            if (error != null) {
+                results[i] = ProductBulkResult.failed(i, error);
+                continue;
+            }
+            product.setCategory(categoryOf(product, categories));
+            accepted.add(i);
+        }
+
+        for (List<Integer> chunk : chunks(accepted)) {
+            try {
+                createChunk(chunk, products, results);
+            } catch (DataIntegrityViolationException e) {
+                // A clash the name check missed; retry item by item so only the offending insert fails
+                log.debug("Bulk create of {} products hit a constraint, retrying one at a time", chunk.size());
+                for (int index : chunk) {
+                    try {
+                        createChunk(List.of(index), products, results);
+                    } catch (DataAccessException | TransactionException itemError) {
+                        failChunk(List.of(index), results, itemError);
+                    }
+                }
+            } catch (DataAccessException | TransactionException e) {
+                failChunk(chunk, results, e);
+            }
+        }
+        return Arrays.asList(results);
+    }
+
+    private void createChunk(List<Integer> chunk, List<Product> products, ProductBulkResult[] results) {
+        List<Product> toWrite = chunk.stream().map(products::get).toList();
+        // A rolled-back attempt leaves the generated id and initial version on the objects; clear
+        // them so the retry inserts again instead of merging into a row that was never written
+        toWrite.forEach(product -> {
+            product.setId(null);
+            product.setVersion(null);
+        });
+        List<Product> saved = chunkTransaction.execute(status -> {
+            List<Product> written = productRepository.saveAll(toWrite);
+            eventPublisher.publishEvent(ProductBatchChangedEvent.created(written));
+            return written;
+        });
+        for (int j = 0; j < chunk.size(); j++) {
+            results[chunk.get(j)] = ProductBulkResult.succeeded(chunk.get(j), saved.get(j));
+        }
+    }
+
+    @Override
+    public List<ProductBulkResult> updateProducts(List<ProductUpdate> updates) throws InvalidBulkRequestException {
+        validateBatchSize(updates);
+        ProductBulkResult[] results = new ProductBulkResult[updates.size()];
+        Map<String, Category> categories = resolveCategories(updates.stream().map(ProductUpdate::changes).toList());
+
+        List<Integer> accepted = new ArrayList<>(updates.size());
+        Map<Integer, UUID> ids = new HashMap<>();
+        Set<UUID> seen = new HashSet<>();
+        for (int i = 0; i < updates.size(); i++) {
+            UUID id = parseId(updates.get(i).productId());
+            if (id == null) {
+                results[i] = ProductBulkResult.failed(i, "Invalid product id: " + updates.get(i).productId());
+            } else if (updates.get(i).changes() == null) {
+                results[i] = ProductBulkResult.failed(i, "No changes given for product " + id);
+            } else if (!seen.add(id)) {
+                results[i] = ProductBulkResult.failed(i, "Product " + id + " appears more than once in the request");
+            } else {
+                ids.put(i, id);
+                accepted.add(i);
+            }
+        }
+
+        Set<String> takenNames = existingNames(accepted.stream().map(i -> updates.get(i).changes()).toList());
+        Map<String, Integer> claimedNames = new HashMap<>();
+        for (List<Integer> chunk : chunks(accepted)) {
+            try {
+                updateChunk(chunk, updates, ids, categories, takenNames, claimedNames, results);
+            } catch (DataIntegrityViolationException e) {
+                // A clash the name check missed; retry item by item so only the offending rename fails
+                log.debug("Bulk update of {} products hit a constraint, retrying one at a time", chunk.size());
+                for (int index : chunk) {
+                    try {
+                        updateChunk(List.of(index), updates, ids, categories, takenNames, claimedNames, results);
+                    } catch (DataAccessException | TransactionException itemError) {
+                        failChunk(List.of(index), results, itemError);
+                    }
+                }
+            } catch (DataAccessException | TransactionException e) {
+                failChunk(chunk, results, e);
+            }
+        }
+        return Arrays.asList(results);
+    }
+
+    private void updateChunk(List<Integer> chunk, List<ProductUpdate> updates, Map<Integer, UUID> ids,
+                             Map<String, Category> categories, Set<String> takenNames,
+                             Map<String, Integer> claimedNames, ProductBulkResult[] results) {
+        List<Integer> updated = new ArrayList<>(chunk.size());
+        List<Product> saved = chunkTransaction.execute(status -> {
+            Map<UUID, Product> existing = new HashMap<>();
+            productRepository.findAllByIdWithCategory(chunk.stream().map(ids::get).toList())
+                    .forEach(product -> existing.put(product.getId(), product));
+
+            List<Product> changed = new ArrayList<>(chunk.size());
+            for (int index : chunk) {
+                Product product = existing.get(ids.get(index));
+                if (product == null || product.isDeleted()) {
+                    results[index] = ProductBulkResult.failed(index, "Product with id " + ids.get(index) + " not found");
+                    continue;
+                }
+                Product changes = updates.get(index).changes();
+                if (isNameTaken(product, changes.getName(), index, takenNames, claimedNames)) {
+                    results[index] = ProductBulkResult.failed(index, "A product named " + changes.getName() + " already exists");
+                    continue;
+                }
+                ProductServiceDBImpl.applyChanges(product, changes, categoryOf(changes, categories));
+                changed.add(product);
+                updated.add(index);
+            }
+            List<Product> written = productRepository.saveAll(changed);
+            eventPublisher.publishEvent(ProductBatchChangedEvent.updated(written));
+            return written;
+        });
+        for (int j = 0; j < updated.size(); j++) {
+            results[updated.get(j)] = ProductBulkResult.succeeded(updated.get(j), saved.get(j));
+        }
+    }
+
+    // A product may keep or re-case its own name; any other holder, in the table or earlier in
+    // the request, makes the rename a clash. Claims are keyed by item so a retry can re-check.
+    private static boolean isNameTaken(Product product, String newName, int index,
+                                       Set<String> takenNames, Map<String, Integer> claimedNames) {
+        if (newName == null) {
+            return false;
+        }
+        String key = nameKey(newName);
+        Integer claimedBy = claimedNames.putIfAbsent(key, index);
+        if (claimedBy != null && claimedBy != index) {
+            return true;
+        }
+        return takenNames.contains(key) && !key.equals(nameKey(product.getName()));
+    }
+
+    private Map<String, Category> resolveCategories(List<Product> products) {
+        Map<String, Category> categories = new HashMap<>();
+        for (Product product : products) {
+            String name = categoryNameOf(product);
+            if (name != null) {
+                categories.computeIfAbsent(name.toLowerCase(Locale.ROOT), key -> categoryResolver.resolve(name));
+            }
+        }
+        return categories;
+    }
+
+    private static Category categoryOf(Product product, Map<String, Category> categories) {
+        String name = categoryNameOf(product);
+        return name != null ? categories.get(name.toLowerCase(Locale.ROOT)) : null;
+    }
+
+    private static String categoryNameOf(Product product) {
+        if (product == null || product.getCategory() == null || product.getCategory().getName() == null
+                || product.getCategory().getName().isBlank()) {
+            return null;
+        }
+        return product.getCategory().getName();
+    }
+
+    // One query for every name in the request, so clashes fail per item rather than rolling back a chunk
+    private Set<String> existingNames(List<Product> products) {
+        List<String> names = products.stream()
+                .map(Product::getName)
+                .filter(Objects::nonNull)
+                .distinct()
+                .toList();
+        Set<String> taken = new HashSet<>();
+        if (!names.isEmpty()) {
+            productRepository.findExistingNames(names).forEach(name -> taken.add(nameKey(name)));
+        }
+        return taken;
+    }
+
+    // Folds names the way uc_products_name's accent- and case-insensitive collation compares them
+    // (é = e, ß = ss, A = a). It approximates the collation, so the constraint still has the last word.
+    static String nameKey(String name) {
+        if (name == null) {
+            return null;
+        }
+        String unaccented = COMBINING_MARKS.matcher(Normalizer.normalize(name, Normalizer.Form.NFKD)).replaceAll("");
+        return unaccented.toUpperCase(Locale.ROOT).toLowerCase(Locale.ROOT);
+    }
+
+    private static String validateNewProduct(Product product) {
+        if (product == null) {
+            return "Product is missing";
+        }
+        if (product.getName() == null || product.getName().isBlank()) {
+            return "name is required";
+        }
+        if (product.getPrice() == null || product.getPrice().getPrice() == null) {
+            return "price is required";
+        }
+        if (product.getPrice().getCurrency() == null) {
+            return "currency is required";
+        }
+        return null;
+    }
+
+    private static UUID parseId(String productId) {
+        if (productId == null) {
+            return null;
+        }
+        try {
+            return UUID.fromString(productId);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private List<List<Integer>> chunks(List<Integer> indexes) {
+        List<List<Integer>> chunks = new ArrayList<>();
+        for (int from = 0; from < indexes.size(); from += chunkSize) {
+            chunks.add(indexes.subList(from, Math.min(from + chunkSize, indexes.size())));
+        }
+        return chunks;
+    }
+
+    // The chunk rolled back as a whole, so none of its items were written
+    private static void failChunk(List<Integer> chunk, ProductBulkResult[] results, RuntimeException e) {
+        String cause = NestedExceptionUtils.getMostSpecificCause(e).getMessage();
+        log.warn("Bulk write of {} products rolled back: {}", chunk.size(), cause);
+        for (int index : chunk) {
+            if (results[index] == null || results[index].isSucceeded()) {
+                results[index] = ProductBulkResult.failed(index, "Not written, its batch failed: " + cause);
+            }
+        }
+    }
+
+    private void validateBatchSize(List<?> items) throws InvalidBulkRequestException {
+        if (items == null || items.isEmpty()) {
+            throw new InvalidBulkRequestException("No products given");
+        }
+        if (items.size() > maxItems) {
+            throw new InvalidBulkRequestException("A bulk request cannot contain more than " + maxItems + " products");
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.vibevault.productservice.services;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.vibevault.productservice.models.ProductSnapshot;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Size- and TTL-bounded cache of product snapshots for the by-id read path.
+ * Every write is newest-wins by the product's row version, so a reader that loaded a row just
+ * before an update committed cannot overwrite the snapshot published by that update. The version
+ * is assigned by the database, so the order holds however far apart the instances' clocks are;
+ * on a tie the published snapshot wins. Deleted products stay cached as tombstones for the same
+ * reason. Changes made by other instances are only seen after the TTL expires.
+ *
+ * Exposes cache.gets{result=hit|miss}, cache.puts and cache.evictions tagged cache=products.
+ */
+@Component
+public class ProductCache {
+
+    static final String CACHE_NAME = "products";
+
+    private final Cache<UUID, ProductSnapshot> cache;
+
+    public ProductCache(MeterRegistry meterRegistry,
+                        @Value("${product.cache.max-size:10000}") long maxSize,
+                        @Value("${product.cache.ttl-seconds:30}") long ttlSeconds) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    public Optional<ProductSnapshot> get(UUID productId) {
+        return Optional.ofNullable(cache.getIfPresent(productId));
+    }
+
+    /**
+     * Stores a snapshot loaded from the database unless one at least as recent is already cached.
+     */
+    public void put(ProductSnapshot snapshot) {
+        cache.asMap().merge(snapshot.id(), snapshot,
+                (current, candidate) -> candidate.isNewerThan(current) ? candidate : current);
+    }
+
+    /**
+     * Stores the snapshot published by a committed write unless a more recent one is already cached.
+     */
+    public void putCommitted(ProductSnapshot snapshot) {
+        cache.asMap().merge(snapshot.id(), snapshot,
+                (current, candidate) -> candidate.isAtLeastAsRecentAs(current) ? candidate : current);
+    }
+
+    public void invalidate(UUID productId) {
+        cache.invalidate(productId);
+    }
+}
@@ -0,0 +1,14 @@
+package com.vibevault.productservice.services;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+public interface ProductExportService {
+
+    /**
+     * Writes every non-deleted product as one JSON object per line (NDJSON).
+     *
+     * @return number of products written
+     */
+    long exportProducts(OutputStream outputStream) throws IOException;
+}
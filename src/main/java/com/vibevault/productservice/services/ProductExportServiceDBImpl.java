@@ -0,0 +1,64 @@
+package com.vibevault.productservice.services;
+
+import com.vibevault.productservice.dtos.product.GetProductResponseDto;
+import com.vibevault.productservice.models.Product;
+import com.vibevault.productservice.repositories.ProductRepository;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import tools.jackson.databind.ObjectWriter;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ProductExportServiceDBImpl implements ProductExportService {
+
+    private static final int FLUSH_EVERY = 1000;
+    private static final long PROGRESS_LOG_INTERVAL = 100_000;
+    private static final byte NEWLINE = '\n';
+
+    private final ProductRepository productRepository;
+    private final EntityManager entityManager;
+    private final JsonMapper jsonMapper;
+
+    @Override
+    @Transactional(readOnly = true)
+    public long exportProducts(OutputStream outputStream) throws IOException {
+        log.info("Starting NDJSON catalog export...");
+        long startTime = System.currentTimeMillis();
+        ObjectWriter writer = jsonMapper.writerFor(GetProductResponseDto.class);
+        long written = 0;
+
+        try (Stream<Product> products = productRepository.streamAllWithCategory()) {
+            Iterator<Product> iterator = products.iterator();
+            while (iterator.hasNext()) {
+                Product product = iterator.next();
+                outputStream.write(writer.writeValueAsBytes(GetProductResponseDto.fromProduct(product)));
+                outputStream.write(NEWLINE);
+                // Detach as we go so the persistence context does not grow with the export
+                entityManager.detach(product);
+                written++;
+
+                if (written % FLUSH_EVERY == 0) {
+                    outputStream.flush();
+                }
+                if (written % PROGRESS_LOG_INTERVAL == 0) {
+                    log.info("Export progress: {} products", written);
+                }
+            }
+        }
+        outputStream.flush();
+
+        long elapsed = (System.currentTimeMillis() - startTime) / 1000;
+        log.info("NDJSON catalog export completed: {} products in {} seconds", written, elapsed);
+        return written;
+    }
+}
@@ -0,0 +1,202 @@
+package com.vibevault.productservice.services;
+
+import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.elasticsearch._types.HealthStatus;
+import co.elastic.clients.elasticsearch.cluster.HealthResponse;
+import com.vibevault.productservice.models.ProductDocument;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.elasticsearch.client.elc.NativeQuery;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.data.elasticsearch.core.IndexOperations;
+import org.springframework.data.elasticsearch.core.index.AliasAction;
+import org.springframework.data.elasticsearch.core.index.AliasActionParameters;
+import org.springframework.data.elasticsearch.core.index.AliasActions;
+import org.springframework.data.elasticsearch.core.index.Settings;
+import org.springframework.data.elasticsearch.core.mapping.IndexCoordinates;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Manages the versioned product indices behind the {@link ProductDocument#INDEX_ALIAS} alias.
+ * Reads and writes always go through the alias; a rebuild loads a fresh products_v{n} index
+ * with replicas and refresh disabled, restores serving settings, warms it, and then moves
+ * the alias in a single atomic _aliases request so searches never see a partial index.
+ */
+@Slf4j
+@Component
+public class ProductIndexManager {
+
+    static final String VERSION_PREFIX = ProductDocument.INDEX_ALIAS + "_v";
+    private static final Pattern VERSION_PATTERN = Pattern.compile(Pattern.quote(VERSION_PREFIX) + "(\\d+)");
+
+    private final ElasticsearchOperations elasticsearchOperations;
+    private final ElasticsearchClient elasticsearchClient;
+    private final int replicas;
+    private final String refreshInterval;
+    private final String healthTimeout;
+
+    public ProductIndexManager(ElasticsearchOperations elasticsearchOperations,
+                               ElasticsearchClient elasticsearchClient,
+                               @Value("${indexing.index.replicas:0}") int replicas,
+                               @Value("${indexing.index.refresh-interval:1s}") String refreshInterval,
+                               @Value("${indexing.index.health-timeout:5m}") String healthTimeout) {
+        this.elasticsearchOperations = elasticsearchOperations;
+        this.elasticsearchClient = elasticsearchClient;
+        this.replicas = replicas;
+        this.refreshInterval = refreshInterval;
+        this.healthTimeout = healthTimeout;
+    }
+
+    /**
+     * Creates products_v1 behind the alias on a fresh cluster. A pre-alias concrete "products"
+     * index is left serving as-is; the first reindex replaces it with a versioned index.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void ensureIndex() {
+        try {
+            if (elasticsearchClient.indices().exists(e -> e.index(ProductDocument.INDEX_ALIAS)).value()) {
+                return;
+            }
+            IndexCoordinates index = createIndexForLoad();
+            finishLoad(index);
+            swapAlias(index);
+        } catch (Exception e) {
+            log.warn("Could not ensure product index alias exists: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Creates the next products_v{n} index tuned for bulk loading: no replicas to copy each
+     * write to, and no periodic refreshes producing small segments.
+     */
+    public IndexCoordinates createIndexForLoad() {
+        IndexCoordinates index = IndexCoordinates.of(VERSION_PREFIX + (currentMaxVersion() + 1));
+        IndexOperations templateOps = elasticsearchOperations.indexOps(ProductDocument.class);
+        Settings settings = templateOps.createSettings().flatten();
+        settings.put("index.number_of_replicas", 0);
+        settings.put("index.refresh_interval", "-1");
+
+        elasticsearchOperations.indexOps(index).create(settings, templateOps.createMapping());
+        log.info("Created index {} for bulk load", index.getIndexName());
+        return index;
+    }
+
+    /**
+     * Restores serving settings, waits for replicas to be allocated, then refreshes and runs
+     * a few representative queries so the first real searches don't pay for cold caches.
+     */
+    public void finishLoad(IndexCoordinates index) {
+        String name = index.getIndexName();
+        try {
+            elasticsearchClient.indices().putSettings(p -> p
+                    .index(name)
+                    .settings(s -> s
+                            .numberOfReplicas(String.valueOf(replicas))
+                            .refreshInterval(t -> t.time(refreshInterval))));
+
+            HealthResponse health = elasticsearchClient.cluster().health(h -> h
+                    .index(name)
+                    .waitForStatus(replicas > 0 ? HealthStatus.Green : HealthStatus.Yellow)
+                    .timeout(t -> t.time(healthTimeout)));
+            if (health.timedOut()) {
+                throw new IllegalStateException("Index " + name + " did not reach "
+                        + (replicas > 0 ? "green" : "yellow") + " within " + healthTimeout);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        elasticsearchOperations.indexOps(index).refresh();
+        warm(index);
+    }
+
+    /**
+     * Atomically points the alias at the given index, detaching every index it pointed at before.
+     * Returns the detached indices so the caller can delete them.
+     */
+    public List<String> swapAlias(IndexCoordinates index) {
+        String target = index.getIndexName();
+        List<String> previous = new ArrayList<>(aliasedIndices());
+        previous.remove(target);
+
+        List<AliasAction> actions = new ArrayList<>();
+        if (previous.isEmpty() && isConcreteLegacyIndex()) {
+            // A pre-alias "products" index blocks the alias name; remove_index drops it in the same request
+            actions.add(new AliasAction.RemoveIndex(AliasActionParameters.builder()
+                    .withIndices(ProductDocument.INDEX_ALIAS).build()));
+        }
+        for (String old : previous) {
+            actions.add(new AliasAction.Remove(AliasActionParameters.builder()
+                    .withIndices(old).withAliases(ProductDocument.INDEX_ALIAS).build()));
+        }
+        actions.add(new AliasAction.Add(AliasActionParameters.builder()
+                .withIndices(target).withAliases(ProductDocument.INDEX_ALIAS).build()));
+
+        elasticsearchOperations.indexOps(index).alias(new AliasActions(actions.toArray(AliasAction[]::new)));
+        log.info("Alias {} now points to {} (previously {})", ProductDocument.INDEX_ALIAS, target, previous);
+        return previous;
+    }
+
+    public void deleteIndex(String name) {
+        elasticsearchOperations.indexOps(IndexCoordinates.of(name)).delete();
+        log.info("Deleted index {}", name);
+    }
+
+    private void warm(IndexCoordinates index) {
+        for (String sortField : List.of("name.keyword", "price", "createdAt")) {
+            NativeQuery query = NativeQuery.builder()
+                    .withQuery(q -> q.bool(b -> b.filter(f -> f.term(t -> t.field("deleted").value(false)))))
+                    .withPageable(PageRequest.of(0, 10, Sort.by(sortField)))
+                    .build();
+            elasticsearchOperations.search(query, ProductDocument.class, index);
+        }
+    }
+
+    private Set<String> aliasedIndices() {
+        try {
+            if (!elasticsearchClient.indices().existsAlias(e -> e.name(ProductDocument.INDEX_ALIAS)).value()) {
+                return Set.of();
+            }
+            return elasticsearchClient.indices().getAlias(g -> g.name(ProductDocument.INDEX_ALIAS)).result().keySet();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private boolean isConcreteLegacyIndex() {
+        try {
+            return elasticsearchClient.indices().exists(e -> e.index(ProductDocument.INDEX_ALIAS)).value()
+                    && !elasticsearchClient.indices().existsAlias(e -> e.name(ProductDocument.INDEX_ALIAS)).value();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private int currentMaxVersion() {
+        try {
+            Set<String> names = elasticsearchClient.indices()
+                    .get(g -> g.index(VERSION_PREFIX + "*").allowNoIndices(true))
+                    .result().keySet();
+            return names.stream()
+                    .map(VERSION_PATTERN::matcher)
+                    .filter(Matcher::matches)
+                    .mapToInt(m -> Integer.parseInt(m.group(1)))
+                    .max()
+                    .orElse(0);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
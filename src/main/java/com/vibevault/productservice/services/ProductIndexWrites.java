@@ -0,0 +1,50 @@
+package com.vibevault.productservice.services;
+
+import com.vibevault.productservice.models.ProductDocument;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.elasticsearch.BulkFailureException;
+import org.springframework.data.elasticsearch.core.query.IndexQuery;
+import org.springframework.data.elasticsearch.core.query.IndexQueryBuilder;
+
+/**
+ * Index writes versioned by the product's row version. ProductDocument is mapped with external_gte
+ * versioning, so whichever writer lands last (bulk buffer, outbox batch, reindex catch-up),
+ * the index keeps the document built from the latest committed row. The version is assigned by
+ * the database and only goes up, so a write rejected with a version conflict really carries an
+ * older snapshot and counts as done, whatever the writers' clocks say.
+ */
+@Slf4j
+final class ProductIndexWrites {
+
+    private static final int VERSION_CONFLICT = 409;
+
+    private ProductIndexWrites() {
+    }
+
+    static IndexQuery indexQuery(ProductDocument document) {
+        IndexQueryBuilder builder = new IndexQueryBuilder()
+                .withId(document.getId())
+                .withObject(document);
+        if (document.getVersion() != null) {
+            builder.withVersion(document.getVersion());
+        }
+        return builder.build();
+    }
+
+    /**
+     * Runs a bulk index request, ignoring items rejected only because the index already holds
+     * a newer version. Any other item failure is rethrown.
+     */
+    static void bulkIndex(Runnable bulkRequest) {
+        try {
+            bulkRequest.run();
+        } catch (BulkFailureException e) {
+            boolean onlyConflicts = e.getFailedDocuments().values().stream()
+                    .allMatch(failure -> failure.status() != null && failure.status() == VERSION_CONFLICT);
+            if (!onlyConflicts) {
+                throw e;
+            }
+            log.debug("Skipped {} documents already indexed at a newer version", e.getFailedDocuments().size());
+        }
+    }
+}
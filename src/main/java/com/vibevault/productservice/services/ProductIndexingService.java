@@ -2,10 +2,18 @@ package com.vibevault.productservice.services;
 
 import com.vibevault.productservice.models.Product;
 
+import java.util.List;
+
 public interface ProductIndexingService {
 
     void indexProduct(Product product);
 
+    /**
+     * Indexes the given products synchronously in one bulk request.
+     * Throws if the bulk request fails so callers can retry.
+     */
+    void indexProducts(List<Product> products);
+
     void deleteFromIndex(String productId);
 
     long reindexAll();
@@ -2,19 +2,15 @@ package com.vibevault.productservice.services;
 
 import com.vibevault.productservice.models.Product;
 import com.vibevault.productservice.models.ProductDocument;
-import com.vibevault.productservice.repositories.ProductDocumentRepository;
-import com.vibevault.productservice.repositories.ProductRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
 import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
-import org.springframework.data.elasticsearch.core.IndexOperations;
+import org.springframework.data.elasticsearch.core.mapping.IndexCoordinates;
 import org.springframework.data.elasticsearch.core.query.IndexQuery;
-import org.springframework.data.elasticsearch.core.query.IndexQueryBuilder;
 import org.springframework.data.elasticsearch.core.RefreshPolicy;
 import org.springframework.stereotype.Service;
 
+import java.util.Date;
 import java.util.List;
 
 @Slf4j
@@ -22,85 +18,110 @@ import java.util.List;
 @RequiredArgsConstructor
 public class ProductIndexingServiceESImpl implements ProductIndexingService {
 
-    private final ProductRepository productRepository;
-    private final ProductDocumentRepository productDocumentRepository;
     private final ElasticsearchOperations elasticsearchOperations;
+    private final ProductBulkIndexer productBulkIndexer;
+    private final ProductReindexer productReindexer;
+    private final ProductIndexManager productIndexManager;
+    private final SearchStageMetrics searchStageMetrics;
+    private final ProductReindexLock productReindexLock;
 
-    private static final int BATCH_SIZE = 1000;
+    private static final long CATCH_UP_MARGIN_MS = 1000;
 
+    // Writes are buffered and shipped as coalesced _bulk requests; visibility follows the
+    // index refresh_interval rather than forcing a refresh per write.
     @Override
     public void indexProduct(Product product) {
+        long startedAt = System.nanoTime();
         ProductDocument document = ProductDocument.fromProduct(product);
-        productDocumentRepository.save(document);
-        refreshIndex();
-        log.debug("Indexed product: {}", product.getId());
+        searchStageMetrics.recordIndexing(SearchStageMetrics.STAGE_DOCUMENTS, 1, System.nanoTime() - startedAt);
+        productBulkIndexer.add(document);
+        log.debug("Queued product for bulk indexing: {}", product.getId());
     }
 
     @Override
-    public void deleteFromIndex(String productId) {
-        productDocumentRepository.deleteById(productId);
-        refreshIndex();
-        log.debug("Deleted product from index: {}", productId);
+    public void indexProducts(List<Product> products) {
+        if (products.isEmpty()) {
+            return;
+        }
+        long startedAt = System.nanoTime();
+        List<IndexQuery> indexQueries = products.stream()
+                .map(ProductDocument::fromProduct)
+                .map(ProductIndexWrites::indexQuery)
+                .toList();
+        long mappedAt = System.nanoTime();
+        // Concurrent outbox batches may hold different snapshots of one product; versioning keeps the newest
+        ProductIndexWrites.bulkIndex(() -> elasticsearchOperations.withRefreshPolicy(RefreshPolicy.NONE)
+                .bulkIndex(indexQueries, ProductDocument.class));
+        searchStageMetrics.recordIndexing(SearchStageMetrics.STAGE_DOCUMENTS, indexQueries.size(), mappedAt - startedAt);
+        searchStageMetrics.recordIndexing(SearchStageMetrics.STAGE_BULK_REQUEST, indexQueries.size(),
+                System.nanoTime() - mappedAt);
+        log.debug("Bulk indexed {} products", indexQueries.size());
     }
 
-    // TODO: Forcing refresh on every write is expensive at scale. This will be replaced
-    // by Kafka-based indexing with periodic bulk refresh when Kafka is integrated.
-    private void refreshIndex() {
-        IndexOperations indexOps = elasticsearchOperations.indexOps(ProductDocument.class);
-        indexOps.refresh();
+    @Override
+    public void deleteFromIndex(String productId) {
+        productBulkIndexer.discard(productId);
+        elasticsearchOperations.withRefreshPolicy(RefreshPolicy.NONE).delete(productId, ProductDocument.class);
+        log.debug("Deleted product from index: {}", productId);
     }
 
+    /**
+     * Rebuilds the index without interrupting search: products are loaded into a new
+     * products_v{n} index while the alias keeps serving the old one, then the alias is swapped
+     * atomically. Writes that reached the old index during the load are replayed from MySQL
+     * (by lastModifiedAt) before and after the swap.
+     */
     @Override
     public long reindexAll() {
-        log.info("Starting full reindex of products to Elasticsearch...");
-        long startTime = System.currentTimeMillis();
-
-        // Drop and recreate the index instead of _delete_by_query
-        // which times out on large datasets with small OpenSearch instances
-        IndexOperations indexOps = elasticsearchOperations.indexOps(ProductDocument.class);
-        if (indexOps.exists()) {
-            indexOps.delete();
+        // Held in MySQL rather than in this JVM, so two instances cannot rebuild at once
+        ProductReindexLock.Lease lease = productReindexLock.tryAcquire();
+        if (lease == null) {
+            throw new IllegalStateException("A reindex is already in progress");
         }
-        indexOps.create();
-        indexOps.putMapping();
-
-        // Use a no-refresh operations instance for bulk reindex performance.
-        // OpenSearch's default 1s refresh_interval handles searchability during indexing.
-        ElasticsearchOperations bulkOps = elasticsearchOperations.withRefreshPolicy(RefreshPolicy.NONE);
-
-        int page = 0;
-        long totalIndexed = 0;
-
-        Page<Product> productPage;
-        do {
-            productPage = productRepository.findAllWithCategory(PageRequest.of(page, BATCH_SIZE));
-
-            List<IndexQuery> indexQueries = productPage.getContent().stream()
-                    .map(ProductDocument::fromProduct)
-                    .map(doc -> new IndexQueryBuilder()
-                            .withId(doc.getId())
-                            .withObject(doc)
-                            .build())
-                    .toList();
-
-            if (!indexQueries.isEmpty()) {
-                bulkOps.bulkIndex(indexQueries, ProductDocument.class);
+        try (lease) {
+            log.info("Starting full reindex of products to Elasticsearch...");
+            long startTime = System.currentTimeMillis();
+            // Step back to cover writes stamped by another instance whose clock runs slightly behind
+            Date loadStartedAt = new Date(startTime - CATCH_UP_MARGIN_MS);
+
+            long stageStartedAt = System.nanoTime();
+            IndexCoordinates index = productIndexManager.createIndexForLoad();
+            List<String> previous;
+            long totalIndexed;
+            long loadNanos;
+            long catchUpNanos;
+            long swapNanos;
+            try {
+                totalIndexed = productReindexer.reindex(index);
+                productIndexManager.finishLoad(index);
+                loadNanos = System.nanoTime() - stageStartedAt;
+
+                stageStartedAt = System.nanoTime();
+                productReindexer.catchUp(loadStartedAt, index);
+                catchUpNanos = System.nanoTime() - stageStartedAt;
+
+                stageStartedAt = System.nanoTime();
+                previous = productIndexManager.swapAlias(index);
+                swapNanos = System.nanoTime() - stageStartedAt;
+            } catch (RuntimeException e) {
+                log.error("Reindex into {} failed, keeping the current index: {}", index.getIndexName(), e.getMessage());
+                productIndexManager.deleteIndex(index.getIndexName());
+                throw e;
             }
 
-            totalIndexed += indexQueries.size();
+            // Writes between the pre-swap catch-up and the swap went to the old index only
+            stageStartedAt = System.nanoTime();
+            productReindexer.catchUp(loadStartedAt, index);
+            catchUpNanos += System.nanoTime() - stageStartedAt;
+            previous.forEach(productIndexManager::deleteIndex);
 
-            if (totalIndexed % 100_000 == 0 || !productPage.hasNext()) {
-                log.info("Reindex progress: {}/{} products", totalIndexed, productPage.getTotalElements());
-            }
-
-            page++;
-        } while (productPage.hasNext());
+            searchStageMetrics.recordIndexing(SearchStageMetrics.STAGE_LOAD, totalIndexed, loadNanos);
+            searchStageMetrics.recordIndexing(SearchStageMetrics.STAGE_CATCH_UP, totalIndexed, catchUpNanos);
+            searchStageMetrics.recordIndexing(SearchStageMetrics.STAGE_SWAP, totalIndexed, swapNanos);
 
-        // Single refresh after all batches are done
-        refreshIndex();
-
-        long elapsed = (System.currentTimeMillis() - startTime) / 1000;
-        log.info("Full reindex completed: {} products in {} seconds", totalIndexed, elapsed);
-        return totalIndexed;
+            long elapsed = (System.currentTimeMillis() - startTime) / 1000;
+            log.info("Full reindex completed: {} products in {} seconds", totalIndexed, elapsed);
+            return totalIndexed;
+        }
     }
 }
@@ -0,0 +1,112 @@
+package com.vibevault.productservice.services;
+
+import com.vibevault.productservice.models.Product;
+import com.vibevault.productservice.models.ProductOutboxEntry;
+import com.vibevault.productservice.repositories.ProductOutboxRepository;
+import com.vibevault.productservice.repositories.ProductRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Ships outbox rows to the search index. Each batch is claimed with FOR UPDATE SKIP LOCKED,
+ * indexed with a single _bulk request from the current database state, and deleted in the
+ * same transaction, so a crash at any point leaves the rows for the next poll on any replica.
+ * SKIP LOCKED lets two pollers ship the same product concurrently from different snapshots;
+ * documents are versioned by the product row version, so the older snapshot loses whichever lands last.
+ */
+@Slf4j
+@Component
+@Profile("!seed")
+@ConditionalOnProperty(name = "indexing.mode", havingValue = "outbox", matchIfMissing = true)
+public class ProductOutboxPoller {
+
+    private final ProductOutboxRepository productOutboxRepository;
+    private final ProductRepository productRepository;
+    private final ProductIndexingService productIndexingService;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int maxBatchesPerPoll;
+    private final Counter shipped;
+    private final Counter failures;
+
+    public ProductOutboxPoller(ProductOutboxRepository productOutboxRepository,
+                               ProductRepository productRepository,
+                               ProductIndexingService productIndexingService,
+                               PlatformTransactionManager transactionManager,
+                               MeterRegistry meterRegistry,
+                               @Value("${indexing.outbox.batch-size:500}") int batchSize,
+                               @Value("${indexing.outbox.max-batches-per-poll:20}") int maxBatchesPerPoll) {
+        this.productOutboxRepository = productOutboxRepository;
+        this.productRepository = productRepository;
+        this.productIndexingService = productIndexingService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.maxBatchesPerPoll = maxBatchesPerPoll;
+        this.shipped = Counter.builder("indexing.outbox.shipped")
+                .description("Outbox rows shipped to the search index")
+                .register(meterRegistry);
+        this.failures = Counter.builder("indexing.outbox.failures")
+                .description("Outbox batches that failed and were left for retry")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${indexing.outbox.poll-interval-ms:1000}")
+    public void poll() {
+        // Keep draining while batches come back full, so a post-crash backlog clears quickly
+        for (int i = 0; i < maxBatchesPerPoll; i++) {
+            int claimed;
+            try {
+                claimed = shipBatch();
+            } catch (Exception e) {
+                failures.increment();
+                log.warn("Outbox batch failed, will retry on next poll: {}", e.getMessage());
+                return;
+            }
+            if (claimed < batchSize) {
+                return;
+            }
+        }
+    }
+
+    int shipBatch() {
+        Integer claimed = transactionTemplate.execute(status -> {
+            List<ProductOutboxEntry> batch = productOutboxRepository.claimBatch(batchSize);
+            if (batch.isEmpty()) {
+                return 0;
+            }
+
+            // Several rows for the same product collapse into one document built from current state
+            Set<UUID> productIds = new LinkedHashSet<>();
+            batch.forEach(entry -> productIds.add(entry.getProductId()));
+
+            List<Product> products = productRepository.findAllByIdWithCategory(List.copyOf(productIds));
+            productIndexingService.indexProducts(products);
+
+            Set<UUID> found = new HashSet<>();
+            products.forEach(product -> found.add(product.getId()));
+            productIds.stream()
+                    .filter(id -> !found.contains(id))
+                    .forEach(id -> productIndexingService.deleteFromIndex(id.toString()));
+
+            productOutboxRepository.deleteAllInBatch(batch);
+            return batch.size();
+        });
+        int count = claimed == null ? 0 : claimed;
+        shipped.increment(count);
+        return count;
+    }
+}
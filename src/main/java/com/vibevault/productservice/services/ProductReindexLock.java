@@ -0,0 +1,90 @@
+package com.vibevault.productservice.services;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Allows one full reindex at a time across every instance, using a MySQL named lock
+ * (GET_LOCK). A named lock belongs to the session that took it, so the lease keeps its
+ * connection until released; if the instance dies, MySQL drops the lock with the session.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ProductReindexLock {
+
+    static final String LOCK_NAME = "productservice.product-reindex";
+
+    private final DataSource dataSource;
+
+    /**
+     * Takes the lock without waiting.
+     *
+     * @return the lease to close when the reindex ends, or null if another session holds the lock
+     */
+    public Lease tryAcquire() {
+        Connection connection = null;
+        try {
+            connection = dataSource.getConnection();
+            if (namedLock(connection, "SELECT GET_LOCK(?, 0)")) {
+                return new Lease(connection);
+            }
+            connection.close();
+            return null;
+        } catch (SQLException e) {
+            discard(connection);
+            throw new IllegalStateException("Could not take the reindex lock: " + e.getMessage(), e);
+        }
+    }
+
+    // GET_LOCK and RELEASE_LOCK return 1 on success, 0 or NULL otherwise
+    private static boolean namedLock(Connection connection, String sql) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setString(1, LOCK_NAME);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                return resultSet.next() && resultSet.getInt(1) == 1;
+            }
+        }
+    }
+
+    // A pooled connection that may still hold the lock must not go back to the pool
+    private static void discard(Connection connection) {
+        if (connection == null) {
+            return;
+        }
+        try {
+            connection.abort(Runnable::run);
+        } catch (SQLException e) {
+            log.warn("Could not abort reindex lock connection: {}", e.getMessage());
+        }
+    }
+
+    public static final class Lease implements AutoCloseable {
+
+        private final Connection connection;
+
+        Lease(Connection connection) {
+            this.connection = connection;
+        }
+
+        @Override
+        public void close() {
+            try {
+                if (!namedLock(connection, "SELECT RELEASE_LOCK(?)")) {
+                    log.warn("Reindex lock {} was not held at release", LOCK_NAME);
+                }
+                connection.close();
+            } catch (SQLException e) {
+                log.warn("Could not release reindex lock, dropping its connection: {}", e.getMessage());
+                discard(connection);
+            }
+        }
+    }
+}
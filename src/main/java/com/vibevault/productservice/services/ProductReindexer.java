@@ -0,0 +1,238 @@
+package com.vibevault.productservice.services;
+
+import com.vibevault.productservice.commons.UuidRanges;
+import com.vibevault.productservice.models.Product;
+import com.vibevault.productservice.models.ProductDocument;
+import com.vibevault.productservice.repositories.ProductRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.data.elasticsearch.core.RefreshPolicy;
+import org.springframework.data.elasticsearch.core.mapping.IndexCoordinates;
+import org.springframework.data.elasticsearch.core.query.IndexQuery;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Copies every product from MySQL into an index using range-partitioned keyset scans.
+ * The id range is split at row quantiles into partitions that workers pick up in turn; each
+ * partition is read in primary-key order with "id > last seen" batches, so every batch query is
+ * a bounded range scan on the clustered index with no OFFSET and no COUNT. While one batch's
+ * _bulk request is in flight the worker reads the next batch from MySQL, keeping both sides busy.
+ */
+@Slf4j
+@Component
+public class ProductReindexer {
+
+    private static final long PROGRESS_LOG_INTERVAL = 100_000;
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 30;
+
+    private final ProductRepository productRepository;
+    private final ElasticsearchOperations bulkOps;
+    private final int workers;
+    private final int partitions;
+    private final int batchSize;
+
+    public ProductReindexer(ProductRepository productRepository,
+                            ElasticsearchOperations elasticsearchOperations,
+                            @Value("${indexing.reindex.workers:4}") int workers,
+                            @Value("${indexing.reindex.partitions:16}") int partitions,
+                            @Value("${indexing.reindex.batch-size:1000}") int batchSize) {
+        this.productRepository = productRepository;
+        this.bulkOps = elasticsearchOperations.withRefreshPolicy(RefreshPolicy.NONE);
+        this.workers = workers;
+        this.partitions = partitions;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Indexes all products into the given index and returns the number of documents written.
+     * Fails on the first partition failure: the remaining partitions are cancelled and the worker
+     * pools shut down before it throws. The caller decides what to do with the partial index.
+     */
+    public long reindex(IndexCoordinates index) {
+        UUID minId = productRepository.findMinId();
+        UUID maxId = productRepository.findMaxId();
+        if (minId == null || maxId == null) {
+            return 0;
+        }
+
+        List<UuidRanges.Range> ranges = UuidRanges.between(minId, maxId, splitPoints(Math.max(partitions, workers)));
+        AtomicLong totalIndexed = new AtomicLong();
+        AtomicBoolean aborted = new AtomicBoolean();
+        long startTime = System.nanoTime();
+
+        // Readers and bulk senders get separate pools so a slow _bulk response never blocks the next read
+        ExecutorService readers = Executors.newFixedThreadPool(workers, namedThreads("reindex-read-"));
+        ExecutorService senders = Executors.newFixedThreadPool(workers, namedThreads("reindex-bulk-"));
+        List<CompletableFuture<Void>> futures = new ArrayList<>(ranges.size());
+        try {
+            // Completes with the first partition failure, so the wait below does not sit out the others
+            CompletableFuture<Void> firstFailure = new CompletableFuture<>();
+            for (int i = 0; i < ranges.size(); i++) {
+                int partition = i + 1;
+                UuidRanges.Range range = ranges.get(i);
+                CompletableFuture<Void> future = CompletableFuture.runAsync(
+                        () -> reindexPartition(partition, ranges.size(), range, index, senders, totalIndexed, aborted),
+                        readers);
+                future.whenComplete((ignored, error) -> {
+                    if (error != null) {
+                        firstFailure.completeExceptionally(error);
+                    }
+                });
+                futures.add(future);
+            }
+            CompletableFuture.anyOf(CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)), firstFailure)
+                    .join();
+        } catch (CompletionException | CancellationException e) {
+            aborted.set(true);
+            futures.forEach(future -> future.cancel(true));
+            throw new IllegalStateException("Reindex failed after " + totalIndexed.get() + " products", rootCause(e));
+        } finally {
+            stop(readers, senders);
+        }
+
+        double seconds = Math.max((System.nanoTime() - startTime) / 1e9, 0.001);
+        log.info("Reindexed {} products across {} partitions with {} workers in {}s ({} docs/s)",
+                totalIndexed.get(), ranges.size(), workers, String.format("%.1f", seconds),
+                Math.round(totalIndexed.get() / seconds));
+        return totalIndexed.get();
+    }
+
+    /**
+     * Re-indexes products modified at or after {@code since}, catching up on writes that landed
+     * in the previous index while a rebuild was loading. Reads keyset batches ordered by
+     * (lastModifiedAt, id), so memory stays bounded however many products changed.
+     */
+    public long catchUp(Date since, IndexCoordinates index) {
+        Pageable batch = PageRequest.of(0, batchSize);
+        long indexed = 0;
+        List<Product> products = productRepository.findModifiedSinceWithCategory(since, batch);
+        while (!products.isEmpty()) {
+            List<IndexQuery> indexQueries = toIndexQueries(products);
+            ProductIndexWrites.bulkIndex(() -> bulkOps.bulkIndex(indexQueries, index));
+            indexed += indexQueries.size();
+
+            Product last = products.get(products.size() - 1);
+            products = products.size() == batchSize
+                    ? productRepository.findModifiedAfterWithCategory(last.getLastModifiedAt(), last.getId(), batch)
+                    : List.of();
+        }
+        log.info("Reindex catch-up: {} products modified since {} written to {}",
+                indexed, since.toInstant(), index.getIndexName());
+        return indexed;
+    }
+
+    private void reindexPartition(int partition, int partitionCount, UuidRanges.Range range, IndexCoordinates index,
+                                  ExecutorService senders, AtomicLong totalIndexed, AtomicBoolean aborted) {
+        long startTime = System.nanoTime();
+        long indexed = 0;
+        Pageable batch = PageRequest.of(0, batchSize);
+        CompletableFuture<Void> inFlight = CompletableFuture.completedFuture(null);
+
+        List<Product> products = productRepository.findRangeWithCategory(range.from(), range.to(), batch);
+        while (!products.isEmpty()) {
+            // Another partition failed: stop reading, the caller discards the partial index
+            if (aborted.get()) {
+                throw new CancellationException("Reindex aborted");
+            }
+            List<IndexQuery> indexQueries = toIndexQueries(products);
+            UUID lastId = products.get(products.size() - 1).getId();
+            boolean more = products.size() == batchSize;
+
+            // At most one outstanding bulk per worker: wait for the previous one before sending the next
+            inFlight.join();
+            inFlight = CompletableFuture.runAsync(
+                    () -> ProductIndexWrites.bulkIndex(() -> bulkOps.bulkIndex(indexQueries, index)), senders);
+
+            indexed += indexQueries.size();
+            long total = totalIndexed.addAndGet(indexQueries.size());
+            if (total / PROGRESS_LOG_INTERVAL != (total - indexQueries.size()) / PROGRESS_LOG_INTERVAL) {
+                log.info("Reindex progress: {} products", total);
+            }
+
+            products = more
+                    ? productRepository.findRangeWithCategoryAfter(lastId, range.to(), batch)
+                    : List.of();
+        }
+        inFlight.join();
+
+        double seconds = Math.max((System.nanoTime() - startTime) / 1e9, 0.001);
+        log.info("Reindex partition {}/{} done: {} products in {}s ({} docs/s)",
+                partition, partitionCount, indexed, String.format("%.1f", seconds), Math.round(indexed / seconds));
+    }
+
+    private static List<IndexQuery> toIndexQueries(List<Product> products) {
+        return products.stream()
+                .map(ProductDocument::fromProduct)
+                .map(ProductIndexWrites::indexQuery)
+                .toList();
+    }
+
+    // Time-ordered (v7) ids are packed into a narrow slice of the key space, so equal-width ranges
+    // would leave nearly every product in one partition. Split at row quantiles instead: one
+    // COUNT and one OFFSET lookup per boundary, paid once per reindex rather than per batch.
+    private List<UUID> splitPoints(int partitionCount) {
+        long rows = productRepository.count();
+        List<UUID> points = new ArrayList<>(partitionCount - 1);
+        for (int i = 1; i < partitionCount; i++) {
+            long offset = rows * i / partitionCount;
+            if (offset > 0) {
+                productRepository.findIdsInKeyOrder(PageRequest.of(Math.toIntExact(offset), 1))
+                        .stream().findFirst().ifPresent(points::add);
+            }
+        }
+        return points;
+    }
+
+    // Interrupts running partitions and waits briefly, so no _bulk request from this run reaches
+    // the index after the caller has deleted it
+    private static void stop(ExecutorService readers, ExecutorService senders) {
+        readers.shutdownNow();
+        senders.shutdownNow();
+        try {
+            if (!readers.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)
+                    || !senders.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                log.warn("Reindex workers still running {}s after shutdown", SHUTDOWN_TIMEOUT_SECONDS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // CompletableFuture wraps a task's exception once per stage it passes through
+    static Throwable rootCause(Throwable error) {
+        Throwable cause = error;
+        while ((cause instanceof CompletionException || cause instanceof ExecutionException)
+                && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause;
+    }
+
+    private static ThreadFactory namedThreads(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -1,10 +1,12 @@
 package com.vibevault.productservice.services;
 
+import com.vibevault.productservice.exceptions.products.InvalidCursorException;
 import com.vibevault.productservice.exceptions.products.ProductNotCreatedException;
 import com.vibevault.productservice.exceptions.products.ProductNotDeletedException;
 import com.vibevault.productservice.exceptions.products.ProductNotFoundException;
 import com.vibevault.productservice.models.Product;
 import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Slice;
 
 import java.util.List;
 
@@ -17,6 +19,8 @@ public interface ProductService {
 
     List<Product> getAllProducts() throws ProductNotFoundException;
 
+    Slice<Product> getProductPage(String cursor, int size) throws ProductNotFoundException, InvalidCursorException;
+
     Product deleteProduct(String productId) throws ProductNotFoundException, ProductNotDeletedException, DataAccessException;
 
     Product replaceProduct(String productId, Product product) throws ProductNotFoundException;
@@ -1,18 +1,24 @@
 package com.vibevault.productservice.services;
 
+import com.vibevault.productservice.commons.CursorCodec;
 import com.vibevault.productservice.events.ProductChangedEvent;
+import com.vibevault.productservice.exceptions.products.InvalidCursorException;
 import com.vibevault.productservice.exceptions.products.ProductNotCreatedException;
 import com.vibevault.productservice.exceptions.products.ProductNotDeletedException;
 import com.vibevault.productservice.exceptions.products.ProductNotFoundException;
 import com.vibevault.productservice.models.Category;
 import com.vibevault.productservice.models.Price;
 import com.vibevault.productservice.models.Product;
-import com.vibevault.productservice.repositories.CategoryRepository;
+import com.vibevault.productservice.models.ProductSnapshot;
 import com.vibevault.productservice.repositories.ProductRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
@@ -20,18 +26,24 @@ import java.util.UUID;
 
 @Service("productServiceDBImpl")
 public class ProductServiceDBImpl implements ProductService{
+    private static final int MAX_PAGE_SIZE = 100;
+
     private ProductRepository productRepository;
-    private CategoryRepository categoryRepository;
+    private CategoryResolver categoryResolver;
     private ApplicationEventPublisher eventPublisher;
+    private ProductCache productCache;
     @Autowired
     public ProductServiceDBImpl(ProductRepository productRepository,
-                                CategoryRepository categoryRepository,
-                                ApplicationEventPublisher eventPublisher) {
+                                CategoryResolver categoryResolver,
+                                ApplicationEventPublisher eventPublisher,
+                                ProductCache productCache) {
         this.productRepository = productRepository;
-        this.categoryRepository = categoryRepository;
+        this.categoryResolver = categoryResolver;
         this.eventPublisher = eventPublisher;
+        this.productCache = productCache;
     }
     @Override
+    @Transactional
     public Product createProduct(Product product) throws ProductNotCreatedException {
         Category category = getSavedCategory(product);
         product.setCategory(category);
@@ -41,6 +53,7 @@ public class ProductServiceDBImpl implements ProductService{
     }
 
     @Override
+    @Transactional
     public Product updateProduct(String productId, Product product) throws ProductNotFoundException {
         Optional<Product> optionalProduct = productRepository.findById(UUID.fromString(productId));
 
@@ -48,17 +61,26 @@ public class ProductServiceDBImpl implements ProductService{
             throw new ProductNotFoundException("Product with id " + productId + " not found");
         }
         Product existingProduct = optionalProduct.get();
+        applyChanges(existingProduct, product, getSavedCategory(product));
 
+        Product saved = productRepository.save(existingProduct);
+        eventPublisher.publishEvent(ProductChangedEvent.updated(saved));
+        return saved;
+    }
+
+    /**
+     * Copies the fields set on changes onto existing, leaving null fields untouched. category is
+     * the already resolved category to move the product to, or null to keep the current one.
+     */
+    static void applyChanges(Product existingProduct, Product product, Category category) {
         if(product.getName() != null) {
             existingProduct.setName(product.getName());
         }
 
-
         if(product.getDescription() != null) {
             existingProduct.setDescription(product.getDescription());
         }
 
-
         if(product.getPrice() != null) {
             Price price = product.getPrice();
             if(price.getPrice()!= null){
@@ -69,19 +91,13 @@ public class ProductServiceDBImpl implements ProductService{
             }
         }
 
-        // Fixed category check condition
-        if(product.getCategory() != null && product.getCategory().getName() != null) {
-            Category category = getSavedCategory(product);
+        if(category != null) {
             existingProduct.setCategory(category);
         }
 
         if(product.getImageUrl() != null) {
             existingProduct.setImageUrl(product.getImageUrl());
         }
-
-        Product saved = productRepository.save(existingProduct);
-        eventPublisher.publishEvent(ProductChangedEvent.updated(saved));
-        return saved;
     }
 
     private Category getSavedCategory(Product product) {
@@ -90,22 +106,27 @@ public class ProductServiceDBImpl implements ProductService{
         if (category == null || category.getName() == null) {
             return null;
         }
-
-        Optional<Category> categoryOptional = categoryRepository.findByName(category.getName());
-        if (categoryOptional.isEmpty()) {
-            category = categoryRepository.save(category);
-        } else {
-            category = categoryOptional.get();
-        }
-        return category;
+        return categoryResolver.resolve(category.getName());
     }
 
     @Override
     public Product getProductById(String productId) throws ProductNotFoundException {
-        Optional<Product> optionalProduct = productRepository.findById(UUID.fromString(productId));
+        UUID id = UUID.fromString(productId);
+        Optional<ProductSnapshot> cached = productCache.get(id);
+        if (cached.isPresent()) {
+            if (cached.get().deleted()) {
+                throw new ProductNotFoundException("Product with id " + productId + " not found");
+            }
+            return cached.get().toProduct();
+        }
+
+        // Runs on the primary (no ReplicaReads scope): a replica could return a row older than the
+        // caller's own write, and the cache would then keep it
+        Optional<Product> optionalProduct = productRepository.findById(id);
         if(optionalProduct.isEmpty() || optionalProduct.get().isDeleted()){
             throw new ProductNotFoundException("Product with id " + productId + " not found");
         }
+        productCache.put(ProductSnapshot.fromProduct(optionalProduct.get()));
         return optionalProduct.get();
     }
 
@@ -115,6 +136,29 @@ public class ProductServiceDBImpl implements ProductService{
     }
 
     @Override
+    public Slice<Product> getProductPage(String cursor, int size) throws InvalidCursorException {
+        int effectiveSize = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        Pageable pageable = PageRequest.of(0, effectiveSize);
+        if (cursor == null || cursor.isBlank()) {
+            return productRepository.findFirstPageWithCategory(pageable);
+        }
+        return productRepository.findPageWithCategoryAfter(decodeCursor(cursor), pageable);
+    }
+
+    private UUID decodeCursor(String cursor) throws InvalidCursorException {
+        try {
+            List<String> parts = CursorCodec.decode(cursor);
+            if (parts.size() != 1) {
+                throw new InvalidCursorException("Invalid cursor: " + cursor);
+            }
+            return UUID.fromString(parts.get(0));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException("Invalid cursor: " + cursor, e);
+        }
+    }
+
+    @Override
+    @Transactional
     public Product deleteProduct(String productId) throws ProductNotFoundException, ProductNotDeletedException, DataAccessException {
         Optional<Product> optionalProduct = productRepository.findById(UUID.fromString(productId));
 
@@ -135,6 +179,7 @@ public class ProductServiceDBImpl implements ProductService{
     }
 
     @Override
+    @Transactional
     public Product replaceProduct(String productId, Product product) throws ProductNotFoundException {
         Optional<Product> optionalProduct = productRepository.findById(UUID.fromString(productId));
         if(optionalProduct.isEmpty() || optionalProduct.get().isDeleted()){
@@ -1,11 +1,16 @@
 package com.vibevault.productservice.services;
 
+import com.vibevault.productservice.commons.CursorCodec;
 import com.vibevault.productservice.dtos.fakestore.FakeStoreProductRequestDto;
 import com.vibevault.productservice.dtos.fakestore.FakeStoreProductResponseDto;
+import com.vibevault.productservice.exceptions.products.InvalidCursorException;
 import com.vibevault.productservice.exceptions.products.ProductNotCreatedException;
 import com.vibevault.productservice.exceptions.products.ProductNotDeletedException;
 import com.vibevault.productservice.exceptions.products.ProductNotFoundException;
 import com.vibevault.productservice.models.Product;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.ResponseEntity;
@@ -14,11 +19,14 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
 
+import java.util.Comparator;
 import java.util.List;
 import java.util.stream.Stream;
 
 @Service("productServiceFakeStoreImpl")
 public class ProductServiceFakeStoreImpl implements ProductService{
+    // Same cap as the DB service, so clients see one contract whichever backend is active
+    private static final int MAX_PAGE_SIZE = 100;
     private RestTemplate restTemplate;
 
     public ProductServiceFakeStoreImpl(RestTemplate restTemplate) {
@@ -88,6 +96,39 @@ public class ProductServiceFakeStoreImpl implements ProductService{
         }
     }
 
+    // FakeStore has no cursor API and only a handful of products, so the keyset is
+    // applied in memory over the full listing to keep the contract identical to the DB service.
+    @Override
+    public Slice<Product> getProductPage(String cursor, int size) throws ProductNotFoundException, InvalidCursorException {
+        String afterId = null;
+        if (cursor != null && !cursor.isBlank()) {
+            afterId = decodeCursor(cursor);
+        }
+        String lowerBound = afterId;
+        int effectiveSize = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        List<Product> page = getAllProducts().stream()
+                .sorted(Comparator.comparing(p -> p.getId().toString()))
+                .filter(p -> lowerBound == null || p.getId().toString().compareTo(lowerBound) > 0)
+                .limit(effectiveSize + 1L)
+                .toList();
+        boolean hasNext = page.size() > effectiveSize;
+        List<Product> content = hasNext ? page.subList(0, effectiveSize) : page;
+        return new SliceImpl<>(content, PageRequest.of(0, effectiveSize), hasNext);
+    }
+
+    private String decodeCursor(String cursor) throws InvalidCursorException {
+        List<String> parts;
+        try {
+            parts = CursorCodec.decode(cursor);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException("Invalid cursor: " + cursor, e);
+        }
+        if (parts.size() != 1 || parts.get(0).isEmpty()) {
+            throw new InvalidCursorException("Invalid cursor: " + cursor);
+        }
+        return parts.get(0);
+    }
+
     @Override
     public Product deleteProduct(String productId) throws ProductNotFoundException, ProductNotDeletedException {
         String url = "https://fakestoreapi.com/products/" + productId;
@@ -0,0 +1,316 @@
+package com.vibevault.productservice.services;
+
+import com.vibevault.productservice.models.Product;
+import com.vibevault.productservice.models.ProductSuggestion;
+import com.vibevault.productservice.repositories.ProductRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.stream.Stream;
+
+/**
+ * In-memory prefix index over the names of non-deleted products, for DB-mode suggestions.
+ *
+ * The bulk of the index is a pair of sorted arrays (lower-cased name + id as key, suggestion
+ * as value) searched with a binary search, so a lookup is O(log n) plus the hits returned.
+ * Changes land in a small sorted overlay, and ids they supersede are hidden in the arrays;
+ * once the overlay grows past the compaction threshold both are merged into fresh arrays.
+ * Readers take one immutable view of the arrays and never block on writers.
+ *
+ * The row version of the newest change applied to each product, deletes included, is kept
+ * apart from the overlay so it survives compaction; a late event older than it is dropped.
+ * It holds one entry per product changed since startup.
+ *
+ * Committed changes made on this instance are applied as they happen. Changes made on other
+ * instances are picked up by a periodic catch-up that re-reads rows modified since the previous
+ * run, minus an overlap covering clock skew between instances and transactions that committed
+ * after stamping lastModifiedAt; re-applying a change already seen is a no-op.
+ *
+ * Only loaded when searchServiceType is the database implementation; until the startup load
+ * finishes, {@link #isReady()} is false and callers should fall back to the database.
+ */
+@Slf4j
+@Component
+public class ProductSuggestionIndex {
+
+    static final String DB_SEARCH_SERVICE = "searchServiceDBImpl";
+
+    // Sorts before every character a name can contain, so name + SEPARATOR + id orders by name
+    // first and a name before its extensions ("ab" < "ab c" < "abc"). All keys starting with a
+    // prefix are then one contiguous run, which lookups walk from the prefix until startsWith fails.
+    private static final char SEPARATOR = '\u0000';
+
+    private final ProductRepository productRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final int compactThreshold;
+    private final long catchUpOverlapMs;
+    private final int catchUpBatchSize;
+
+    private volatile State state = State.empty();
+    private volatile boolean ready;
+    // Only touched by load and the scheduled catch-up, which runs after load has set ready
+    private volatile Date catchUpFrom;
+    // Guarded by this; row version of the newest change applied per product
+    private final Map<UUID, Long> lastApplied = new HashMap<>();
+
+    public ProductSuggestionIndex(ProductRepository productRepository,
+                                  PlatformTransactionManager transactionManager,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${searchServiceType}") String searchServiceType,
+                                  @Value("${search.suggest.prefix-index.enabled:true}") boolean enabled,
+                                  @Value("${search.suggest.prefix-index.compact-threshold:10000}") int compactThreshold,
+                                  @Value("${search.suggest.prefix-index.catch-up-overlap-ms:30000}") long catchUpOverlapMs,
+                                  @Value("${search.suggest.prefix-index.catch-up-batch-size:500}") int catchUpBatchSize) {
+        this.productRepository = productRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.enabled = enabled && DB_SEARCH_SERVICE.equals(searchServiceType);
+        this.compactThreshold = compactThreshold;
+        this.catchUpOverlapMs = catchUpOverlapMs;
+        this.catchUpBatchSize = catchUpBatchSize;
+
+        Gauge.builder("search.suggest.index.entries", this, index -> index.state.size())
+                .description("Entries held by the in-memory suggestion index, including overlay entries")
+                .register(meterRegistry);
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        if (!enabled) {
+            return;
+        }
+        long start = System.currentTimeMillis();
+        catchUpFrom = new Date(start - catchUpOverlapMs);
+        List<ProductSuggestion> loaded = new ArrayList<>();
+        transactionTemplate.executeWithoutResult(status -> {
+            try (Stream<ProductSuggestion> rows = productRepository.streamAllSuggestions()) {
+                rows.forEach(loaded::add);
+            }
+        });
+        loaded.sort(Comparator.comparing(ProductSuggestionIndex::keyOf));
+
+        String[] keys = new String[loaded.size()];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = keyOf(loaded.get(i));
+        }
+        synchronized (this) {
+            // Changes applied while loading stay in the overlay and still hide their rows
+            State current = state;
+            state = new State(keys, loaded.toArray(new ProductSuggestion[0]),
+                    current.added(), current.addedKeys(), current.hidden());
+            compact();
+        }
+        ready = true;
+        log.info("Suggestion index loaded {} products in {} ms", keys.length, System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Applies products modified since the previous run, deletes included, so changes made on
+     * other instances reach this index. Reads keyset batches ordered by (lastModifiedAt, id)
+     * from the primary. A failed run keeps its starting point and is retried on the next tick.
+     */
+    @Scheduled(fixedDelayString = "${search.suggest.prefix-index.catch-up-interval-ms:5000}")
+    public void catchUp() {
+        if (!enabled || !ready) {
+            return;
+        }
+        long start = System.currentTimeMillis();
+        Date since = catchUpFrom;
+        Pageable batch = PageRequest.of(0, catchUpBatchSize);
+        long applied = 0;
+        try {
+            List<Product> products = transactionTemplate.execute(
+                    status -> productRepository.findModifiedSinceWithCategory(since, batch));
+            while (products != null && !products.isEmpty()) {
+                products.forEach(this::apply);
+                applied += products.size();
+
+                Product last = products.get(products.size() - 1);
+                products = products.size() == catchUpBatchSize
+                        ? transactionTemplate.execute(status -> productRepository.findModifiedAfterWithCategory(
+                                last.getLastModifiedAt(), last.getId(), batch))
+                        : List.of();
+            }
+        } catch (RuntimeException e) {
+            log.warn("Suggestion index catch-up since {} failed, will retry: {}", since.toInstant(), e.getMessage());
+            return;
+        }
+        catchUpFrom = new Date(start - catchUpOverlapMs);
+        log.debug("Suggestion index catch-up applied {} products modified since {}", applied, since.toInstant());
+    }
+
+    /**
+     * Returns up to limit products whose lower-cased name starts with the lower-cased prefix,
+     * ordered by name.
+     */
+    public List<Product> lookup(String prefix, int limit) {
+        State view = state;
+        String lowered = prefix == null ? "" : prefix.toLowerCase(Locale.ROOT);
+
+        List<Product> results = new ArrayList<>(limit);
+        int base = lowerBound(view.keys(), lowered);
+        Iterator<Map.Entry<String, ProductSuggestion>> overlay = view.added().tailMap(lowered).entrySet().iterator();
+        Map.Entry<String, ProductSuggestion> nextAdded = nextMatching(overlay, lowered);
+
+        while (results.size() < limit) {
+            while (base < view.keys().length && view.hidden().contains(view.entries()[base].id())) {
+                base++;
+            }
+            boolean baseMatches = base < view.keys().length && view.keys()[base].startsWith(lowered);
+            if (!baseMatches && nextAdded == null) {
+                break;
+            }
+            if (nextAdded == null || (baseMatches && view.keys()[base].compareTo(nextAdded.getKey()) < 0)) {
+                results.add(view.entries()[base++].toProduct());
+            } else {
+                results.add(nextAdded.getValue().toProduct());
+                nextAdded = nextMatching(overlay, lowered);
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Applies a committed change. A change older than the last one applied for the same product,
+     * including a delete, is ignored, so out-of-order events cannot resurrect an old name or a
+     * deleted product. A change without a row version never replaces one that has it.
+     */
+    public synchronized void apply(Product product) {
+        if (!enabled) {
+            return;
+        }
+        Long version = product.getVersion();
+        Long applied = lastApplied.get(product.getId());
+        if (applied != null && (version == null || version < applied)) {
+            return;
+        }
+        if (version != null) {
+            lastApplied.put(product.getId(), version);
+        }
+
+        State view = state;
+        ProductSuggestion suggestion = ProductSuggestion.fromProduct(product);
+        String previousKey = view.addedKeys().get(product.getId());
+
+        if (product.isDeleted()) {
+            view.hidden().add(product.getId());
+            if (previousKey != null) {
+                view.added().remove(previousKey);
+                view.addedKeys().remove(product.getId());
+            }
+        } else {
+            String key = keyOf(suggestion);
+            // Publish the new entry before hiding the array row and dropping the previous overlay
+            // key, so a concurrent lookup may briefly see both names but never neither
+            view.added().put(key, suggestion);
+            view.addedKeys().put(product.getId(), key);
+            view.hidden().add(product.getId());
+            if (previousKey != null && !previousKey.equals(key)) {
+                view.added().remove(previousKey);
+            }
+        }
+
+        if (view.added().size() + view.hidden().size() >= compactThreshold) {
+            compact();
+        }
+    }
+
+    // Merges the overlay into fresh arrays and starts an empty overlay; callers hold the lock
+    private void compact() {
+        State view = state;
+        int capacity = view.keys().length + view.added().size();
+        String[] keys = new String[capacity];
+        ProductSuggestion[] entries = new ProductSuggestion[capacity];
+        int size = 0;
+
+        int base = 0;
+        Iterator<Map.Entry<String, ProductSuggestion>> overlay = view.added().entrySet().iterator();
+        Map.Entry<String, ProductSuggestion> nextAdded = overlay.hasNext() ? overlay.next() : null;
+        while (base < view.keys().length || nextAdded != null) {
+            if (base < view.keys().length && view.hidden().contains(view.entries()[base].id())) {
+                base++;
+                continue;
+            }
+            if (nextAdded == null || (base < view.keys().length && view.keys()[base].compareTo(nextAdded.getKey()) < 0)) {
+                keys[size] = view.keys()[base];
+                entries[size++] = view.entries()[base++];
+            } else {
+                keys[size] = nextAdded.getKey();
+                entries[size++] = nextAdded.getValue();
+                nextAdded = overlay.hasNext() ? overlay.next() : null;
+            }
+        }
+        state = new State(Arrays.copyOf(keys, size), Arrays.copyOf(entries, size),
+                new ConcurrentSkipListMap<>(), new ConcurrentHashMap<>(), ConcurrentHashMap.newKeySet());
+    }
+
+    private static Map.Entry<String, ProductSuggestion> nextMatching(
+            Iterator<Map.Entry<String, ProductSuggestion>> overlay, String prefix) {
+        if (!overlay.hasNext()) {
+            return null;
+        }
+        Map.Entry<String, ProductSuggestion> entry = overlay.next();
+        return entry.getKey().startsWith(prefix) ? entry : null;
+    }
+
+    private static int lowerBound(String[] keys, String prefix) {
+        int low = 0;
+        int high = keys.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (keys[mid].compareTo(prefix) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static String keyOf(ProductSuggestion suggestion) {
+        String name = suggestion.name() != null ? suggestion.name().toLowerCase(Locale.ROOT) : "";
+        return name + SEPARATOR + suggestion.id();
+    }
+
+    private record State(String[] keys, ProductSuggestion[] entries,
+                         ConcurrentSkipListMap<String, ProductSuggestion> added,
+                         Map<UUID, String> addedKeys, Set<UUID> hidden) {
+
+        static State empty() {
+            return new State(new String[0], new ProductSuggestion[0],
+                    new ConcurrentSkipListMap<>(), new ConcurrentHashMap<>(), ConcurrentHashMap.newKeySet());
+        }
+
+        int size() {
+            return keys.length + added.size();
+        }
+    }
+}
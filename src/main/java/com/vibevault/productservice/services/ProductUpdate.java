@@ -0,0 +1,10 @@
+package com.vibevault.productservice.services;
+
+import com.vibevault.productservice.models.Product;
+
+/**
+ * One item of a bulk update: the id of the product to change and the fields to set on it.
+ * Null fields of {@code changes} are left as they are, as in a single PATCH.
+ */
+public record ProductUpdate(String productId, Product changes) {
+}
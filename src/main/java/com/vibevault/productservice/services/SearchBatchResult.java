@@ -0,0 +1,19 @@
+package com.vibevault.productservice.services;
+
+import com.vibevault.productservice.models.Product;
+import org.springframework.data.domain.Page;
+
+/**
+ * Outcome of one search in a batch: its page, or the reason its parameters were rejected.
+ * A rejected search does not fail the rest of the batch.
+ */
+public record SearchBatchResult(Page<Product> page, String error) {
+
+    public static SearchBatchResult of(Page<Product> page) {
+        return new SearchBatchResult(page, null);
+    }
+
+    public static SearchBatchResult rejected(String error) {
+        return new SearchBatchResult(null, error);
+    }
+}
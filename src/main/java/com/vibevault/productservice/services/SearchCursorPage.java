@@ -0,0 +1,11 @@
+package com.vibevault.productservice.services;
+
+import com.vibevault.productservice.models.Product;
+
+import java.util.List;
+
+/**
+ * One page of a cursor-paginated search. nextCursor is null on the last page.
+ */
+public record SearchCursorPage(List<Product> products, int pageSize, boolean hasNext, String nextCursor) {
+}
@@ -0,0 +1,31 @@
+package com.vibevault.productservice.services;
+
+import com.vibevault.productservice.exceptions.search.InvalidSearchParameterException;
+import com.vibevault.productservice.models.Currency;
+
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * One set of {@link SearchService#searchProducts} arguments, as submitted in a batch.
+ */
+public record SearchParameters(String query, Double minPrice, Double maxPrice, Currency currency,
+                               UUID categoryId, String categoryName, Date createdAfter, Date createdBefore,
+                               int page, int size, String sortBy, String sortDir) {
+
+    static final int MAX_BATCH_SIZE = 20;
+
+    /**
+     * Rejects an empty or oversized batch as a whole. Shared by every {@link SearchService#searchBatch}
+     * implementation, so the cache in front of a backend applies the same limit before any lookup.
+     */
+    static void validateBatchSize(List<SearchParameters> searches) throws InvalidSearchParameterException {
+        if (searches == null || searches.isEmpty()) {
+            throw new InvalidSearchParameterException("searches cannot be empty");
+        }
+        if (searches.size() > MAX_BATCH_SIZE) {
+            throw new InvalidSearchParameterException("A batch cannot contain more than " + MAX_BATCH_SIZE + " searches");
+        }
+    }
+}
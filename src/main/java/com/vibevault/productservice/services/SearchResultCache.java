@@ -0,0 +1,150 @@
+package com.vibevault.productservice.services;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.vibevault.productservice.models.Currency;
+import com.vibevault.productservice.models.Product;
+import com.vibevault.productservice.models.ProductSnapshot;
+import com.vibevault.productservice.models.SearchFacets;
+import com.vibevault.productservice.models.TotalAccuracy;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.StringJoiner;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Short-lived cache of search result pages keyed by normalized search parameters.
+ * Any committed product change clears the whole cache; the TTL bounds how long a page can lag
+ * behind the search index, which is itself updated asynchronously.
+ *
+ * Lookups are counted per key shape (which filters were present) as
+ * search.cache.requests{shape, result=hit|miss}, so hit ratios can be compared between,
+ * for example, the landing page ("browse") and category listings ("category").
+ */
+@Component
+public class SearchResultCache {
+
+    static final String CACHE_NAME = "search-results";
+
+    /**
+     * Normalized search parameters. Text is lower-cased, matching how both search backends
+     * compare it, and blank text counts as absent; whitespace is kept as sent, since the
+     * backend receives the raw text and a LIKE pattern does not ignore it. Dates are reduced
+     * to epoch millis.
+     * Pages with facets are keyed apart from the same page without them.
+     */
+    public record SearchKey(String query, Double minPrice, Double maxPrice, Currency currency,
+                            UUID categoryId, String categoryName, Long createdAfter, Long createdBefore,
+                            int page, int size, String sortBy, String sortDir, boolean facets) {
+
+        public static SearchKey of(String query, Double minPrice, Double maxPrice,
+                                   Currency currency, UUID categoryId, String categoryName,
+                                   Date createdAfter, Date createdBefore,
+                                   int page, int size, String sortBy, String sortDir) {
+            return new SearchKey(normalize(query), minPrice, maxPrice, currency, categoryId,
+                    normalize(categoryName),
+                    createdAfter != null ? createdAfter.getTime() : null,
+                    createdBefore != null ? createdBefore.getTime() : null,
+                    page, size, sortBy,
+                    "asc".equalsIgnoreCase(sortDir) ? "asc" : "desc", false);
+        }
+
+        public SearchKey withFacets() {
+            return new SearchKey(query, minPrice, maxPrice, currency, categoryId, categoryName,
+                    createdAfter, createdBefore, page, size, sortBy, sortDir, true);
+        }
+
+        /**
+         * Which filters are present, e.g. "query+category" or "browse" when none are.
+         * Bounded to a few dozen values so it is safe to use as a metric tag.
+         */
+        public String shape() {
+            return shapeOf(query != null, minPrice != null || maxPrice != null, currency != null,
+                    categoryId != null || categoryName != null, createdAfter != null || createdBefore != null);
+        }
+
+        static String shapeOf(boolean query, boolean price, boolean currency, boolean category, boolean date) {
+            StringJoiner shape = new StringJoiner("+");
+            if (query) shape.add("query");
+            if (price) shape.add("price");
+            if (currency) shape.add("currency");
+            if (category) shape.add("category");
+            if (date) shape.add("date");
+            return shape.length() == 0 ? "browse" : shape.toString();
+        }
+
+        private static String normalize(String text) {
+            if (text == null || text.isBlank()) {
+                return null;
+            }
+            return text.toLowerCase(Locale.ROOT);
+        }
+    }
+
+    private record CachedPage(List<ProductSnapshot> content, Pageable pageable, long total,
+                              TotalAccuracy totalAccuracy, SearchFacets facets) {
+    }
+
+    private final Cache<SearchKey, CachedPage> cache;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Counter> hits = new ConcurrentHashMap<>();
+    private final Map<String, Counter> misses = new ConcurrentHashMap<>();
+
+    public SearchResultCache(MeterRegistry meterRegistry,
+                             @Value("${search.cache.max-size:1000}") long maxSize,
+                             @Value("${search.cache.ttl-seconds:10}") long ttlSeconds) {
+        this.meterRegistry = meterRegistry;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    public Optional<Page<Product>> get(SearchKey key) {
+        CachedPage cached = cache.getIfPresent(key);
+        counter(cached != null ? hits : misses, key.shape(), cached != null ? "hit" : "miss").increment();
+        if (cached == null) {
+            return Optional.empty();
+        }
+        List<Product> products = new ArrayList<>(cached.content().size());
+        cached.content().forEach(snapshot -> products.add(snapshot.toProduct()));
+        return Optional.of(new SearchResultsPage<>(products, cached.pageable(), cached.total(),
+                cached.totalAccuracy(), cached.facets()));
+    }
+
+    public void put(SearchKey key, Page<Product> page) {
+        List<ProductSnapshot> content = page.getContent().stream()
+                .map(ProductSnapshot::fromProduct)
+                .toList();
+        cache.put(key, new CachedPage(content, page.getPageable(), page.getTotalElements(),
+                SearchResultsPage.totalAccuracyOf(page), SearchResultsPage.facetsOf(page)));
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    private Counter counter(Map<String, Counter> counters, String shape, String result) {
+        return counters.computeIfAbsent(shape, s -> Counter.builder("search.cache.requests")
+                .description("Search result cache lookups by query shape")
+                .tag("shape", s)
+                .tag("result", result)
+                .register(meterRegistry));
+    }
+}
@@ -0,0 +1,49 @@
+package com.vibevault.productservice.services;
+
+import com.vibevault.productservice.models.SearchFacets;
+import com.vibevault.productservice.models.TotalAccuracy;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+
+/**
+ * A search page whose total may not be an exact count, optionally carrying facet counts.
+ * Any other {@link Page} is treated as exact and without facets.
+ */
+public class SearchResultsPage<T> extends PageImpl<T> {
+
+    private final TotalAccuracy totalAccuracy;
+    private final SearchFacets facets;
+
+    public SearchResultsPage(List<T> content, Pageable pageable, long total, TotalAccuracy totalAccuracy) {
+        this(content, pageable, total, totalAccuracy, null);
+    }
+
+    public SearchResultsPage(List<T> content, Pageable pageable, long total, TotalAccuracy totalAccuracy,
+                             SearchFacets facets) {
+        super(content, pageable, total);
+        this.totalAccuracy = totalAccuracy;
+        this.facets = facets;
+    }
+
+    public TotalAccuracy getTotalAccuracy() {
+        return totalAccuracy;
+    }
+
+    public SearchFacets getFacets() {
+        return facets;
+    }
+
+    public static TotalAccuracy totalAccuracyOf(Page<?> page) {
+        return page instanceof SearchResultsPage<?> results ? results.getTotalAccuracy() : TotalAccuracy.EXACT;
+    }
+
+    /**
+     * Facets of a page returned by searchProductsWithFacets, or null.
+     */
+    public static SearchFacets facetsOf(Page<?> page) {
+        return page instanceof SearchResultsPage<?> results ? results.getFacets() : null;
+    }
+}
@@ -1,5 +1,6 @@
 package com.vibevault.productservice.services;
 
+import com.vibevault.productservice.exceptions.products.InvalidCursorException;
 import com.vibevault.productservice.exceptions.search.InvalidSearchParameterException;
 import com.vibevault.productservice.models.Currency;
 import com.vibevault.productservice.models.Product;
@@ -17,5 +18,33 @@ public interface SearchService {
                                  int page, int size, String sortBy, String sortDir)
             throws InvalidSearchParameterException;
 
+    /**
+     * Same as {@link #searchProducts} but also returns category, currency and price-range counts
+     * over all matches (see {@link SearchResultsPage#facetsOf}), computed alongside the page.
+     */
+    Page<Product> searchProductsWithFacets(String query, Double minPrice, Double maxPrice,
+                                           Currency currency, UUID categoryId, String categoryName,
+                                           Date createdAfter, Date createdBefore,
+                                           int page, int size, String sortBy, String sortDir)
+            throws InvalidSearchParameterException;
+
+    /**
+     * Cursor-paginated search. Each page continues after the position in {@code cursor}
+     * (null or blank for the first page) using a (sort field, id) keyset, so cost per page does
+     * not grow with depth. Filters must be repeated on every request; the sort must not change.
+     */
+    SearchCursorPage searchProductsAfter(String query, Double minPrice, Double maxPrice,
+                                         Currency currency, UUID categoryId, String categoryName,
+                                         Date createdAfter, Date createdBefore,
+                                         int size, String sortBy, String sortDir, String cursor)
+            throws InvalidSearchParameterException, InvalidCursorException;
+
+    /**
+     * Runs several independent searches at once, returning one result per search in the same
+     * order. A search with invalid parameters yields a rejected result instead of failing the
+     * batch; only an empty or oversized batch is rejected as a whole.
+     */
+    List<SearchBatchResult> searchBatch(List<SearchParameters> searches) throws InvalidSearchParameterException;
+
     List<Product> getSuggestions(String prefix, int limit);
 }
@@ -1,23 +1,40 @@
 package com.vibevault.productservice.services;
 
+import com.vibevault.productservice.commons.SearchCursor;
+import com.vibevault.productservice.configurations.AsyncConfig;
+import com.vibevault.productservice.configurations.ReplicaReads;
+import com.vibevault.productservice.exceptions.products.InvalidCursorException;
 import com.vibevault.productservice.exceptions.search.InvalidSearchParameterException;
 import com.vibevault.productservice.models.Currency;
 import com.vibevault.productservice.models.Product;
+import com.vibevault.productservice.models.SearchFacets;
+import com.vibevault.productservice.models.TotalAccuracy;
 import com.vibevault.productservice.repositories.ProductRepository;
 import com.vibevault.productservice.specifications.ProductSpecification;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.Date;
 import java.util.List;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 
+// Search may trail the latest writes by the replica lag limit, so its queries opt in to read
+// replicas (ReplicaReads); product lookups by id stay on the primary.
 @Service("searchServiceDBImpl")
 public class SearchServiceDBImpl implements SearchService {
 
@@ -25,33 +42,249 @@ public class SearchServiceDBImpl implements SearchService {
             "name", "price", "createdAt", "lastModifiedAt"
     );
 
+    static final String TEXT_MODE_LIKE = "like";
+    static final String TEXT_MODE_FULLTEXT = "fulltext";
+    // Only accepted in fulltext mode with a query, where rows carry a MATCH ... AGAINST score
+    static final String SORT_RELEVANCE = "relevance";
+
+    static final String TOTAL_MODE_EXACT = "exact";
+    static final String TOTAL_MODE_ESTIMATE = "estimate";
+    static final String TOTAL_MODE_NONE = "none";
+
     private static final int MAX_PAGE_SIZE = 100;
     private static final int MAX_SUGGESTIONS = 10;
 
     private final ProductRepository productRepository;
+    private final ProductSuggestionIndex productSuggestionIndex;
+    private final SearchTotalCache searchTotalCache;
+    private final SearchStageMetrics searchStageMetrics;
+    private final boolean fullText;
+    private final String totalMode;
+    private final double[] priceBoundaries;
+    private final int categoryFacetSize;
+    private final Executor searchBatchExecutor;
+    private final TransactionTemplate batchSearchTransaction;
 
     @Autowired
-    public SearchServiceDBImpl(ProductRepository productRepository) {
+    public SearchServiceDBImpl(ProductRepository productRepository,
+                               ProductSuggestionIndex productSuggestionIndex,
+                               SearchTotalCache searchTotalCache,
+                               SearchStageMetrics searchStageMetrics,
+                               PlatformTransactionManager transactionManager,
+                               @Value("${search.db.text-mode:like}") String textMode,
+                               @Value("${search.db.total-mode:exact}") String totalMode,
+                               @Value("${search.facets.price-ranges:0,25,50,100,250,500,1000}") double[] priceBoundaries,
+                               @Value("${search.facets.category-size:20}") int categoryFacetSize,
+                               @Qualifier(AsyncConfig.SEARCH_BATCH_EXECUTOR) Executor searchBatchExecutor) {
+        if (!TEXT_MODE_LIKE.equals(textMode) && !TEXT_MODE_FULLTEXT.equals(textMode)) {
+            throw new IllegalArgumentException("Unknown search.db.text-mode: " + textMode
+                    + ". Allowed: " + TEXT_MODE_LIKE + ", " + TEXT_MODE_FULLTEXT);
+        }
+        if (!Set.of(TOTAL_MODE_EXACT, TOTAL_MODE_ESTIMATE, TOTAL_MODE_NONE).contains(totalMode)) {
+            throw new IllegalArgumentException("Unknown search.db.total-mode: " + totalMode
+                    + ". Allowed: " + TOTAL_MODE_EXACT + ", " + TOTAL_MODE_ESTIMATE + ", " + TOTAL_MODE_NONE);
+        }
         this.productRepository = productRepository;
+        this.productSuggestionIndex = productSuggestionIndex;
+        this.searchTotalCache = searchTotalCache;
+        this.searchStageMetrics = searchStageMetrics;
+        this.fullText = TEXT_MODE_FULLTEXT.equals(textMode);
+        this.totalMode = totalMode;
+        this.priceBoundaries = SearchFacets.requireAscending(priceBoundaries);
+        this.categoryFacetSize = categoryFacetSize;
+        this.searchBatchExecutor = searchBatchExecutor;
+        this.batchSearchTransaction = new TransactionTemplate(transactionManager);
+        this.batchSearchTransaction.setReadOnly(true);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Page<Product> searchProducts(String query, Double minPrice, Double maxPrice,
                                          Currency currency, UUID categoryId, String categoryName,
                                          Date createdAfter, Date createdBefore,
                                          int page, int size, String sortBy, String sortDir)
             throws InvalidSearchParameterException {
+        try (ReplicaReads.Scope ignored = ReplicaReads.allow()) {
+            SearchStageMetrics.Search timing = startTiming(query, sortBy);
+            Page<Product> results = searchPage(query, minPrice, maxPrice, currency, categoryId, categoryName,
+                    createdAfter, createdBefore, page, size, sortBy, sortDir, timing);
+            timing.finish(results.getTotalElements());
+            return results;
+        }
+    }
 
-        validateSearchParameters(minPrice, maxPrice, createdAfter, createdBefore, size, sortBy);
+    // In exact mode the query stage includes the COUNT that findAll(spec, pageable) runs
+    private Page<Product> searchPage(String query, Double minPrice, Double maxPrice,
+                                     Currency currency, UUID categoryId, String categoryName,
+                                     Date createdAfter, Date createdBefore,
+                                     int page, int size, String sortBy, String sortDir,
+                                     SearchStageMetrics.Search timing)
+            throws InvalidSearchParameterException {
 
-        String mappedSortField = mapSortField(sortBy);
-        Sort.Direction direction = sortDir != null && sortDir.equalsIgnoreCase("asc")
-                ? Sort.Direction.ASC : Sort.Direction.DESC;
-        Sort sort = Sort.by(direction, mappedSortField);
-        Pageable pageable = PageRequest.of(page, size, sort);
+        boolean relevanceAllowed = fullText && query != null && !query.isBlank();
+        validateSearchParameters(minPrice, maxPrice, createdAfter, createdBefore, size, sortBy, relevanceAllowed);
 
-        Specification<Product> spec = Specification.where(ProductSpecification.notDeleted())
-                .and(ProductSpecification.withQuery(query))
+        boolean byRelevance = SORT_RELEVANCE.equals(sortBy);
+        Pageable pageable;
+        if (byRelevance) {
+            // The specification orders by score; a sorted Pageable would override it
+            pageable = PageRequest.of(page, size);
+        } else {
+            Sort.Direction direction = sortDir != null && sortDir.equalsIgnoreCase("asc")
+                    ? Sort.Direction.ASC : Sort.Direction.DESC;
+            pageable = PageRequest.of(page, size, Sort.by(direction, mapSortField(sortBy)));
+        }
+
+        Specification<Product> spec = buildSpecification(query, byRelevance, minPrice, maxPrice, currency,
+                categoryId, categoryName, createdAfter, createdBefore);
+
+        if (TOTAL_MODE_EXACT.equals(totalMode)) {
+            Page<Product> results = productRepository.findAll(spec, pageable);
+            timing.lap(SearchStageMetrics.STAGE_QUERY);
+            return results;
+        }
+
+        Slice<Product> slice = productRepository.findSlice(spec, pageable);
+        timing.lap(SearchStageMetrics.STAGE_QUERY);
+        // Everything up to the end of this page, plus one more row if there is a next page
+        long seen = pageable.getOffset() + slice.getNumberOfElements() + (slice.hasNext() ? 1 : 0);
+        if (!slice.hasNext() && (slice.hasContent() || page == 0)) {
+            // The last page pins the total down without counting
+            return new SearchResultsPage<>(slice.getContent(), pageable, seen, TotalAccuracy.EXACT);
+        }
+        if (TOTAL_MODE_NONE.equals(totalMode)) {
+            return new SearchResultsPage<>(slice.getContent(), pageable, seen, TotalAccuracy.LOWER_BOUND);
+        }
+
+        SearchResultCache.SearchKey filters = SearchResultCache.SearchKey.of(query, minPrice, maxPrice, currency,
+                categoryId, categoryName, createdAfter, createdBefore, 0, 0, null, null);
+        long estimate = searchTotalCache.get(filters, () -> productRepository.count(spec));
+        timing.lap(SearchStageMetrics.STAGE_COUNT);
+        // A cached count can predate inserts; never report fewer matches than this page proves exist
+        return new SearchResultsPage<>(slice.getContent(), pageable, Math.max(estimate, seen), TotalAccuracy.ESTIMATE);
+    }
+
+    /**
+     * The page is fetched as usual; facets then take one GROUP BY query each over the same
+     * filters, so this costs three extra queries rather than one per facet value.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Page<Product> searchProductsWithFacets(String query, Double minPrice, Double maxPrice,
+                                                  Currency currency, UUID categoryId, String categoryName,
+                                                  Date createdAfter, Date createdBefore,
+                                                  int page, int size, String sortBy, String sortDir)
+            throws InvalidSearchParameterException {
+        try (ReplicaReads.Scope ignored = ReplicaReads.allow()) {
+            SearchStageMetrics.Search timing = startTiming(query, sortBy);
+            Page<Product> results = searchPage(query, minPrice, maxPrice, currency, categoryId, categoryName,
+                    createdAfter, createdBefore, page, size, sortBy, sortDir, timing);
+
+            // Never relevance-ordered: an ORDER BY on the score is invalid alongside GROUP BY
+            Specification<Product> filters = buildSpecification(query, false, minPrice, maxPrice, currency,
+                    categoryId, categoryName, createdAfter, createdBefore);
+            SearchFacets facets = productRepository.findFacets(filters, priceBoundaries, categoryFacetSize);
+            timing.lap(SearchStageMetrics.STAGE_FACETS);
+            timing.finish(results.getTotalElements());
+
+            return new SearchResultsPage<>(results.getContent(), results.getPageable(), results.getTotalElements(),
+                    SearchResultsPage.totalAccuracyOf(results), facets);
+        }
+    }
+
+    /**
+     * Each search runs on the bounded batch executor with its own connection, so a batch takes
+     * about as long as its slowest search rather than the sum of them. A direct call to
+     * searchProducts would bypass its transactional proxy, so each search opens its own read-only
+     * transaction: the page query and its COUNT then share one connection, and one replica.
+     */
+    @Override
+    public List<SearchBatchResult> searchBatch(List<SearchParameters> searches) throws InvalidSearchParameterException {
+        SearchParameters.validateBatchSize(searches);
+
+        List<CompletableFuture<SearchBatchResult>> futures = searches.stream()
+                .map(search -> CompletableFuture.supplyAsync(() -> runBatchSearch(search), searchBatchExecutor))
+                .toList();
+        try {
+            return futures.stream().map(CompletableFuture::join).toList();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private SearchBatchResult runBatchSearch(SearchParameters search) {
+        return batchSearchTransaction.execute(status -> {
+            try {
+                return SearchBatchResult.of(searchProducts(search.query(), search.minPrice(), search.maxPrice(),
+                        search.currency(), search.categoryId(), search.categoryName(), search.createdAfter(),
+                        search.createdBefore(), search.page(), search.size(), search.sortBy(), search.sortDir()));
+            } catch (InvalidSearchParameterException e) {
+                return SearchBatchResult.rejected(e.getMessage());
+            }
+        });
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public SearchCursorPage searchProductsAfter(String query, Double minPrice, Double maxPrice,
+                                                Currency currency, UUID categoryId, String categoryName,
+                                                Date createdAfter, Date createdBefore,
+                                                int size, String sortBy, String sortDir, String cursor)
+            throws InvalidSearchParameterException, InvalidCursorException {
+
+        validateSearchParameters(minPrice, maxPrice, createdAfter, createdBefore, size, sortBy, false);
+        if (size < 1) {
+            throw new InvalidSearchParameterException("size must be at least 1");
+        }
+
+        try (ReplicaReads.Scope ignored = ReplicaReads.allow()) {
+            SearchStageMetrics.Search timing = startTiming(query, sortBy);
+            boolean ascending = "asc".equalsIgnoreCase(sortDir);
+            String direction = ascending ? "asc" : "desc";
+            Sort.Direction sortDirection = ascending ? Sort.Direction.ASC : Sort.Direction.DESC;
+            Sort sort = Sort.by(sortDirection, mapSortField(sortBy)).and(Sort.by(sortDirection, "id"));
+
+            Specification<Product> spec = buildSpecification(query, false, minPrice, maxPrice, currency,
+                    categoryId, categoryName, createdAfter, createdBefore);
+            if (cursor != null && !cursor.isBlank()) {
+                SearchCursor position = SearchCursor.decode(cursor, sortBy, direction);
+                spec = spec.and(afterPosition(sortBy, position, ascending));
+            }
+
+            // Fetch one extra row to learn whether another page exists, without a COUNT query
+            List<Product> rows = productRepository.findBy(spec, q -> q.sortBy(sort).limit(size + 1).all());
+            timing.lap(SearchStageMetrics.STAGE_QUERY);
+            boolean hasNext = rows.size() > size;
+            List<Product> products = hasNext ? rows.subList(0, size) : rows;
+
+            String nextCursor = null;
+            if (hasNext) {
+                Product last = products.get(products.size() - 1);
+                nextCursor = new SearchCursor(sortBy, direction, sortValueOf(last, sortBy),
+                        last.getId().toString(), null).encode();
+            }
+            timing.finishUncounted();
+            return new SearchCursorPage(products, size, hasNext, nextCursor);
+        }
+    }
+
+    // Categories load eagerly along with the rows, so the query stage covers hydration too
+    private SearchStageMetrics.Search startTiming(String query, String sortBy) {
+        return searchStageMetrics.search(SearchStageMetrics.BACKEND_DATABASE, SearchStageMetrics.shapeOf(query), sortBy);
+    }
+
+    private Specification<Product> buildSpecification(String query, boolean byRelevance,
+                                                      Double minPrice, Double maxPrice,
+                                                      Currency currency, UUID categoryId, String categoryName,
+                                                      Date createdAfter, Date createdBefore) {
+        Specification<Product> textMatch = fullText
+                ? ProductSpecification.withFullTextQuery(query, byRelevance)
+                : ProductSpecification.withQuery(query);
+        return Specification.where(ProductSpecification.notDeleted())
+                .and(textMatch)
                 .and(ProductSpecification.withMinPrice(minPrice))
                 .and(ProductSpecification.withMaxPrice(maxPrice))
                 .and(ProductSpecification.withCurrency(currency))
@@ -59,25 +292,56 @@ public class SearchServiceDBImpl implements SearchService {
                 .and(ProductSpecification.withCategoryName(categoryName))
                 .and(ProductSpecification.withCreatedAfter(createdAfter))
                 .and(ProductSpecification.withCreatedBefore(createdBefore));
+    }
 
-        return productRepository.findAll(spec, pageable);
+    private Specification<Product> afterPosition(String sortBy, SearchCursor position, boolean ascending)
+            throws InvalidCursorException {
+        try {
+            UUID lastId = UUID.fromString(position.id());
+            return switch (sortBy) {
+                case "name" -> ProductSpecification.afterPosition("name", position.sortValue(), lastId, ascending);
+                case "price" -> ProductSpecification.afterPosition("price",
+                        Double.valueOf(position.sortValue()), lastId, ascending);
+                default -> ProductSpecification.afterPosition(sortBy,
+                        new Date(Long.parseLong(position.sortValue())), lastId, ascending);
+            };
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException("Invalid cursor position", e);
+        }
+    }
+
+    private static String sortValueOf(Product product, String sortBy) {
+        return switch (sortBy) {
+            case "name" -> product.getName();
+            case "price" -> String.valueOf(product.getPrice().getPrice());
+            case "createdAt" -> String.valueOf(product.getCreatedAt().getTime());
+            default -> String.valueOf(product.getLastModifiedAt().getTime());
+        };
     }
 
     @Override
     public List<Product> getSuggestions(String prefix, int limit) {
         int effectiveLimit = Math.min(Math.max(limit, 1), MAX_SUGGESTIONS);
 
+        // The in-memory index answers once loaded; MySQL is only the fallback until then
+        if (productSuggestionIndex.isReady()) {
+            return productSuggestionIndex.lookup(prefix, effectiveLimit);
+        }
+
         Specification<Product> spec = Specification.where(ProductSpecification.notDeleted())
                 .and(ProductSpecification.withNamePrefix(prefix));
 
         Pageable pageable = PageRequest.of(0, effectiveLimit, Sort.by("name").ascending());
 
-        return productRepository.findAll(spec, pageable).getContent();
+        try (ReplicaReads.Scope ignored = ReplicaReads.allow()) {
+            return productRepository.findAll(spec, pageable).getContent();
+        }
     }
 
     private void validateSearchParameters(Double minPrice, Double maxPrice,
                                           Date createdAfter, Date createdBefore,
-                                          int size, String sortBy) throws InvalidSearchParameterException {
+                                          int size, String sortBy,
+                                          boolean relevanceAllowed) throws InvalidSearchParameterException {
         if (minPrice != null && minPrice < 0) {
             throw new InvalidSearchParameterException("minPrice cannot be negative");
         }
@@ -98,6 +362,9 @@ public class SearchServiceDBImpl implements SearchService {
             throw new InvalidSearchParameterException("Page size cannot exceed " + MAX_PAGE_SIZE);
         }
 
+        if (relevanceAllowed && SORT_RELEVANCE.equals(sortBy)) {
+            return;
+        }
         if (!isValidSortField(sortBy)) {
             throw new InvalidSearchParameterException(
                     "Invalid sort field: " + sortBy + ". Allowed fields: " + ALLOWED_SORT_FIELDS);
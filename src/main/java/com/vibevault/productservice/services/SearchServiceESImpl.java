@@ -1,38 +1,95 @@
 package com.vibevault.productservice.services;
 
+import co.elastic.clients.elasticsearch._types.aggregations.Aggregate;
+import co.elastic.clients.elasticsearch._types.aggregations.Aggregation;
+import co.elastic.clients.elasticsearch._types.aggregations.AggregationRange;
+import co.elastic.clients.elasticsearch._types.query_dsl.BoolQuery;
+import co.elastic.clients.elasticsearch._types.query_dsl.Operator;
+import com.vibevault.productservice.commons.SearchCursor;
+import com.vibevault.productservice.exceptions.products.InvalidCursorException;
 import com.vibevault.productservice.exceptions.search.InvalidSearchParameterException;
 import com.vibevault.productservice.models.Currency;
+import com.vibevault.productservice.models.FacetBucket;
+import com.vibevault.productservice.models.PriceRangeBucket;
 import com.vibevault.productservice.models.Product;
 import com.vibevault.productservice.models.ProductDocument;
+import com.vibevault.productservice.models.ProductVersion;
+import com.vibevault.productservice.models.SearchFacets;
+import com.vibevault.productservice.models.TotalAccuracy;
 import com.vibevault.productservice.repositories.ProductRepository;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.elasticsearch.client.elc.ElasticsearchAggregations;
 import org.springframework.data.elasticsearch.client.elc.NativeQuery;
 import org.springframework.data.elasticsearch.client.elc.NativeQueryBuilder;
 import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
 import org.springframework.data.elasticsearch.core.SearchHit;
 import org.springframework.data.elasticsearch.core.SearchHits;
+import org.springframework.data.elasticsearch.core.TotalHitsRelation;
+import org.springframework.data.elasticsearch.core.mapping.IndexCoordinates;
+import org.springframework.data.elasticsearch.core.query.FetchSourceFilterBuilder;
+import org.springframework.data.elasticsearch.core.query.Query;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
 import java.util.*;
 
 @Slf4j
 @Service("searchServiceESImpl")
-@RequiredArgsConstructor
 public class SearchServiceESImpl implements SearchService {
 
+    static final String HYDRATION_DATABASE = "database";
+    static final String HYDRATION_INDEX = "index";
+
     private static final Set<String> ALLOWED_SORT_FIELDS = Set.of(
             "name", "price", "createdAt", "lastModifiedAt"
     );
     private static final int MAX_PAGE_SIZE = 100;
     private static final int MAX_SUGGESTIONS = 10;
+    private static final String[] SUGGESTION_FIELDS = {
+            "id", "name", "categoryId", "categoryName", "categoryDisplayName"
+    };
+    private static final String CATEGORY_FACET = "categories";
+    private static final String CURRENCY_FACET = "currencies";
+    private static final String PRICE_FACET = "price_ranges";
 
     private final ElasticsearchOperations elasticsearchOperations;
     private final ProductRepository productRepository;
+    private final SearchStageMetrics searchStageMetrics;
+    private final boolean hydrateFromIndex;
+    private final boolean stalenessGuard;
+    private final boolean pointInTime;
+    private final Duration pointInTimeKeepAlive;
+    private final double[] priceBoundaries;
+    private final int categoryFacetSize;
+
+    public SearchServiceESImpl(ElasticsearchOperations elasticsearchOperations,
+                               ProductRepository productRepository,
+                               SearchStageMetrics searchStageMetrics,
+                               @Value("${search.hydration:database}") String hydration,
+                               @Value("${search.hydration.staleness-guard:false}") boolean stalenessGuard,
+                               @Value("${search.cursor.point-in-time:false}") boolean pointInTime,
+                               @Value("${search.cursor.keep-alive-seconds:60}") long keepAliveSeconds,
+                               @Value("${search.facets.price-ranges:0,25,50,100,250,500,1000}") double[] priceBoundaries,
+                               @Value("${search.facets.category-size:20}") int categoryFacetSize) {
+        if (!HYDRATION_DATABASE.equals(hydration) && !HYDRATION_INDEX.equals(hydration)) {
+            throw new IllegalArgumentException("Unknown search.hydration: " + hydration
+                    + ". Allowed: " + HYDRATION_DATABASE + ", " + HYDRATION_INDEX);
+        }
+        this.elasticsearchOperations = elasticsearchOperations;
+        this.productRepository = productRepository;
+        this.searchStageMetrics = searchStageMetrics;
+        this.hydrateFromIndex = HYDRATION_INDEX.equals(hydration);
+        this.stalenessGuard = stalenessGuard;
+        this.pointInTime = pointInTime;
+        this.pointInTimeKeepAlive = Duration.ofSeconds(keepAliveSeconds);
+        this.priceBoundaries = SearchFacets.requireAscending(priceBoundaries);
+        this.categoryFacetSize = categoryFacetSize;
+    }
 
     @Override
     public Page<Product> searchProducts(String query, Double minPrice, Double maxPrice,
@@ -40,6 +97,97 @@ public class SearchServiceESImpl implements SearchService {
                                          Date createdAfter, Date createdBefore,
                                          int page, int size, String sortBy, String sortDir)
             throws InvalidSearchParameterException {
+        return search(query, minPrice, maxPrice, currency, categoryId, categoryName,
+                createdAfter, createdBefore, page, size, sortBy, sortDir, false);
+    }
+
+    /**
+     * Facets are aggregations on the same request as the page, so they cost no extra round trip.
+     */
+    @Override
+    public Page<Product> searchProductsWithFacets(String query, Double minPrice, Double maxPrice,
+                                                  Currency currency, UUID categoryId, String categoryName,
+                                                  Date createdAfter, Date createdBefore,
+                                                  int page, int size, String sortBy, String sortDir)
+            throws InvalidSearchParameterException {
+        return search(query, minPrice, maxPrice, currency, categoryId, categoryName,
+                createdAfter, createdBefore, page, size, sortBy, sortDir, true);
+    }
+
+    private Page<Product> search(String query, Double minPrice, Double maxPrice,
+                                 Currency currency, UUID categoryId, String categoryName,
+                                 Date createdAfter, Date createdBefore,
+                                 int page, int size, String sortBy, String sortDir, boolean withFacets)
+            throws InvalidSearchParameterException {
+        SearchStageMetrics.Search timing = searchStageMetrics.search(SearchStageMetrics.BACKEND_ELASTICSEARCH,
+                SearchStageMetrics.shapeOf(query), sortBy);
+        NativeQuery nativeQuery = buildSearchQuery(query, minPrice, maxPrice, currency, categoryId, categoryName,
+                createdAfter, createdBefore, page, size, sortBy, sortDir, withFacets);
+        timing.lap(SearchStageMetrics.STAGE_BUILD);
+        SearchHits<ProductDocument> searchHits = elasticsearchOperations.search(nativeQuery, ProductDocument.class);
+        timing.lap(SearchStageMetrics.STAGE_QUERY);
+        List<Product> products = hydrate(documentsOf(searchHits));
+        timing.lap(SearchStageMetrics.STAGE_HYDRATION);
+        Page<Product> results = toPage(searchHits, nativeQuery.getPageable(), products, withFacets);
+        timing.lap(SearchStageMetrics.STAGE_MAPPING);
+        timing.finish(searchHits.getTotalHits());
+        return results;
+    }
+
+    /**
+     * All valid searches go out as one _msearch request, and the hits of every response are
+     * hydrated together, so a batch costs one search round trip and at most one MySQL query.
+     */
+    @Override
+    public List<SearchBatchResult> searchBatch(List<SearchParameters> searches) throws InvalidSearchParameterException {
+        SearchParameters.validateBatchSize(searches);
+
+        SearchStageMetrics.Search timing = searchStageMetrics.search(SearchStageMetrics.BACKEND_ELASTICSEARCH,
+                SearchStageMetrics.SHAPE_BATCH, SearchStageMetrics.SORT_MIXED);
+        SearchBatchResult[] results = new SearchBatchResult[searches.size()];
+        List<NativeQuery> queries = new ArrayList<>(searches.size());
+        List<Integer> positions = new ArrayList<>(searches.size());
+        for (int i = 0; i < searches.size(); i++) {
+            SearchParameters search = searches.get(i);
+            try {
+                queries.add(buildSearchQuery(search.query(), search.minPrice(), search.maxPrice(), search.currency(),
+                        search.categoryId(), search.categoryName(), search.createdAfter(), search.createdBefore(),
+                        search.page(), search.size(), search.sortBy(), search.sortDir(), false));
+                positions.add(i);
+            } catch (InvalidSearchParameterException e) {
+                results[i] = SearchBatchResult.rejected(e.getMessage());
+            }
+        }
+
+        if (!queries.isEmpty()) {
+            timing.lap(SearchStageMetrics.STAGE_BUILD);
+            List<SearchHits<ProductDocument>> responses = elasticsearchOperations.multiSearch(queries, ProductDocument.class);
+            timing.lap(SearchStageMetrics.STAGE_QUERY);
+            // Rails often share products, so resolve every hit of the batch in one pass
+            Map<UUID, Product> resolved = resolve(responses.stream()
+                    .flatMap(searchHits -> documentsOf(searchHits).stream())
+                    .toList());
+            timing.lap(SearchStageMetrics.STAGE_HYDRATION);
+            long totalHits = 0;
+            for (int j = 0; j < responses.size(); j++) {
+                SearchHits<ProductDocument> searchHits = responses.get(j);
+                List<Product> products = inHitOrder(documentsOf(searchHits), resolved);
+                results[positions.get(j)] = SearchBatchResult.of(
+                        toPage(searchHits, queries.get(j).getPageable(), products, false));
+                totalHits += searchHits.getTotalHits();
+            }
+            timing.lap(SearchStageMetrics.STAGE_MAPPING);
+            timing.finish(totalHits);
+        }
+        return List.of(results);
+    }
+
+    // Package-private for the JMH benchmark of query construction
+    NativeQuery buildSearchQuery(String query, Double minPrice, Double maxPrice,
+                                 Currency currency, UUID categoryId, String categoryName,
+                                 Date createdAfter, Date createdBefore,
+                                 int page, int size, String sortBy, String sortDir, boolean withFacets)
+            throws InvalidSearchParameterException {
 
         validateSearchParameters(minPrice, maxPrice, createdAfter, createdBefore, page, size, sortBy);
 
@@ -49,9 +197,77 @@ public class SearchServiceESImpl implements SearchService {
         PageRequest pageRequest = PageRequest.of(page, size, Sort.by(direction, esSortField));
 
         NativeQueryBuilder queryBuilder = NativeQuery.builder().withPageable(pageRequest);
+        BoolQuery filters = buildFilterQuery(query, minPrice, maxPrice, currency, categoryId, categoryName,
+                createdAfter, createdBefore);
+        queryBuilder.withQuery(q -> q.bool(filters));
+        if (withFacets) {
+            addFacetAggregations(queryBuilder);
+        }
+        return queryBuilder.build();
+    }
+
+    private Page<Product> toPage(SearchHits<ProductDocument> searchHits, Pageable pageable,
+                                 List<Product> products, boolean withFacets) {
+        long totalHits = searchHits.getTotalHits();
+        // Past track_total_hits (10,000 by default) Elasticsearch only reports a lower bound
+        TotalAccuracy accuracy = searchHits.getTotalHitsRelation() == TotalHitsRelation.GREATER_THAN_OR_EQUAL_TO
+                ? TotalAccuracy.LOWER_BOUND : TotalAccuracy.EXACT;
+        SearchFacets facets = withFacets ? readFacets(searchHits) : null;
+        return new SearchResultsPage<>(products, pageable, totalHits, accuracy, facets);
+    }
+
+    private void addFacetAggregations(NativeQueryBuilder queryBuilder) {
+        List<AggregationRange> ranges = new ArrayList<>(priceBoundaries.length);
+        for (int i = 0; i < priceBoundaries.length; i++) {
+            double from = priceBoundaries[i];
+            Double to = i + 1 < priceBoundaries.length ? priceBoundaries[i + 1] : null;
+            ranges.add(AggregationRange.of(r -> r.from(from).to(to)));
+        }
+        queryBuilder
+                .withAggregation(CATEGORY_FACET, Aggregation.of(a -> a.terms(t -> t.field("categoryName").size(categoryFacetSize))))
+                .withAggregation(CURRENCY_FACET, Aggregation.of(a -> a.terms(t -> t.field("currency"))))
+                .withAggregation(PRICE_FACET, Aggregation.of(a -> a.range(r -> r.field("price").ranges(ranges))));
+    }
+
+    private static SearchFacets readFacets(SearchHits<ProductDocument> searchHits) {
+        if (!(searchHits.getAggregations() instanceof ElasticsearchAggregations aggregations)) {
+            return new SearchFacets(List.of(), List.of(), List.of());
+        }
+        return new SearchFacets(
+                termBuckets(aggregations, CATEGORY_FACET),
+                termBuckets(aggregations, CURRENCY_FACET),
+                rangeBuckets(aggregations));
+    }
+
+    private static List<FacetBucket> termBuckets(ElasticsearchAggregations aggregations, String name) {
+        Aggregate aggregate = aggregateOf(aggregations, name);
+        if (aggregate == null || !aggregate.isSterms()) {
+            return List.of();
+        }
+        return aggregate.sterms().buckets().array().stream()
+                .map(bucket -> new FacetBucket(bucket.key().stringValue(), bucket.docCount()))
+                .toList();
+    }
 
-        co.elastic.clients.elasticsearch._types.query_dsl.BoolQuery.Builder boolBuilder =
-                new co.elastic.clients.elasticsearch._types.query_dsl.BoolQuery.Builder();
+    private static List<PriceRangeBucket> rangeBuckets(ElasticsearchAggregations aggregations) {
+        Aggregate aggregate = aggregateOf(aggregations, PRICE_FACET);
+        if (aggregate == null || !aggregate.isRange()) {
+            return List.of();
+        }
+        return aggregate.range().buckets().array().stream()
+                .map(bucket -> new PriceRangeBucket(bucket.from(), bucket.to(), bucket.docCount()))
+                .toList();
+    }
+
+    private static Aggregate aggregateOf(ElasticsearchAggregations aggregations, String name) {
+        var aggregation = aggregations.aggregationsAsMap().get(name);
+        return aggregation != null ? aggregation.aggregation().getAggregate() : null;
+    }
+
+    private BoolQuery buildFilterQuery(String query, Double minPrice, Double maxPrice,
+                                       Currency currency, UUID categoryId, String categoryName,
+                                       Date createdAfter, Date createdBefore) {
+        BoolQuery.Builder boolBuilder = new BoolQuery.Builder();
 
         // Exclude deleted products
         boolBuilder.filter(f -> f.term(t -> t.field("deleted").value(false)));
@@ -102,34 +318,92 @@ public class SearchServiceESImpl implements SearchService {
             }));
         }
 
-        queryBuilder.withQuery(q -> q.bool(boolBuilder.build()));
+        return boolBuilder.build();
+    }
 
-        NativeQuery nativeQuery = queryBuilder.build();
-        SearchHits<ProductDocument> searchHits = elasticsearchOperations.search(nativeQuery, ProductDocument.class);
+    @Override
+    public SearchCursorPage searchProductsAfter(String query, Double minPrice, Double maxPrice,
+                                                Currency currency, UUID categoryId, String categoryName,
+                                                Date createdAfter, Date createdBefore,
+                                                int size, String sortBy, String sortDir, String cursor)
+            throws InvalidSearchParameterException, InvalidCursorException {
+
+        validateSearchParameters(minPrice, maxPrice, createdAfter, createdBefore, 0, size, sortBy);
+
+        SearchStageMetrics.Search timing = searchStageMetrics.search(SearchStageMetrics.BACKEND_ELASTICSEARCH,
+                SearchStageMetrics.shapeOf(query), sortBy);
+        boolean ascending = "asc".equalsIgnoreCase(sortDir);
+        String direction = ascending ? "asc" : "desc";
+        Sort.Direction sortDirection = ascending ? Sort.Direction.ASC : Sort.Direction.DESC;
+        SearchCursor position = cursor != null && !cursor.isBlank()
+                ? SearchCursor.decode(cursor, sortBy, direction)
+                : null;
+
+        String pointInTimeId = position != null ? position.pointInTimeId() : null;
+        if (position == null && pointInTime) {
+            pointInTimeId = elasticsearchOperations.openPointInTime(
+                    IndexCoordinates.of(ProductDocument.INDEX_ALIAS), pointInTimeKeepAlive);
+        }
 
-        // Fetch full Product entities from MySQL using the IDs from ES
-        List<UUID> productIds = searchHits.getSearchHits().stream()
-                .map(SearchHit::getContent)
-                .map(doc -> UUID.fromString(doc.getId()))
-                .toList();
+        BoolQuery filters = buildFilterQuery(query, minPrice, maxPrice, currency, categoryId, categoryName,
+                createdAfter, createdBefore);
+        // The id tie-break gives every hit a unique sort position, so search_after never skips or repeats
+        NativeQueryBuilder queryBuilder = NativeQuery.builder()
+                .withQuery(q -> q.bool(filters))
+                .withSort(Sort.by(sortDirection, mapSortField(sortBy)).and(Sort.by(sortDirection, "id")))
+                .withPageable(PageRequest.of(0, size + 1))
+                .withTrackTotalHits(false);
+        if (position != null) {
+            queryBuilder.withSearchAfter(List.of(parseSortValue(sortBy, position.sortValue()), position.id()));
+        }
+        if (pointInTimeId != null) {
+            queryBuilder.withPointInTime(new Query.PointInTime(pointInTimeId, pointInTimeKeepAlive));
+        }
+        NativeQuery nativeQuery = queryBuilder.build();
+        // On a first page this includes opening the point in time
+        timing.lap(SearchStageMetrics.STAGE_BUILD);
 
-        Map<UUID, Product> productMap = new HashMap<>();
-        if (!productIds.isEmpty()) {
-            productRepository.findAllByIdWithCategory(productIds)
-                    .forEach(p -> productMap.put(p.getId(), p));
+        SearchHits<ProductDocument> searchHits = elasticsearchOperations.search(nativeQuery, ProductDocument.class);
+        List<SearchHit<ProductDocument>> hits = searchHits.getSearchHits();
+        boolean hasNext = hits.size() > size;
+        List<SearchHit<ProductDocument>> pageHits = hasNext ? hits.subList(0, size) : hits;
+
+        // Elasticsearch may hand back a new point-in-time id on every response
+        String currentPointInTimeId = searchHits.getPointInTimeId() != null
+                ? searchHits.getPointInTimeId() : pointInTimeId;
+        String nextCursor = null;
+        if (hasNext) {
+            List<Object> sortValues = pageHits.get(pageHits.size() - 1).getSortValues();
+            nextCursor = new SearchCursor(sortBy, direction, String.valueOf(sortValues.get(0)),
+                    String.valueOf(sortValues.get(1)), currentPointInTimeId).encode();
+        } else if (currentPointInTimeId != null) {
+            elasticsearchOperations.closePointInTime(currentPointInTimeId);
         }
+        timing.lap(SearchStageMetrics.STAGE_QUERY);
 
-        // Preserve ES ordering, exclude soft-deleted products (guards against stale ES index)
-        List<Product> products = productIds.stream()
-                .map(productMap::get)
-                .filter(Objects::nonNull)
-                .filter(p -> !p.isDeleted())
-                .toList();
+        List<Product> products = hydrate(pageHits.stream().map(SearchHit::getContent).toList());
+        timing.lap(SearchStageMetrics.STAGE_HYDRATION);
+        timing.finishUncounted();
+        return new SearchCursorPage(products, size, hasNext, nextCursor);
+    }
 
-        long totalHits = searchHits.getTotalHits();
-        return new PageImpl<>(products, pageRequest, totalHits);
+    private static Object parseSortValue(String sortBy, String value) throws InvalidCursorException {
+        try {
+            return switch (sortBy) {
+                case "name" -> value;
+                case "price" -> Double.valueOf(value);
+                default -> Long.valueOf(value);
+            };
+        } catch (NumberFormatException e) {
+            throw new InvalidCursorException("Invalid cursor position", e);
+        }
     }
 
+    /**
+     * Answers from the index alone: every term of the prefix must match the edge n-grams in
+     * name.suggest, only the fields a suggestion shows are fetched, and no database hydration
+     * is done, since autocomplete tolerates a briefly stale name far better than added latency.
+     */
     @Override
     public List<Product> getSuggestions(String prefix, int limit) {
         int effectiveLimit = Math.min(Math.max(limit, 1), MAX_SUGGESTIONS);
@@ -137,35 +411,106 @@ public class SearchServiceESImpl implements SearchService {
         NativeQuery query = NativeQuery.builder()
                 .withQuery(q -> q.bool(b -> b
                         .filter(f -> f.term(t -> t.field("deleted").value(false)))
-                        .must(m -> m.matchPhrasePrefix(mpp -> mpp
-                                .field("name")
+                        .must(m -> m.match(mt -> mt
+                                .field("name.suggest")
                                 .query(prefix)
+                                .operator(Operator.And)
                         ))
                 ))
+                .withSourceFilter(new FetchSourceFilterBuilder().withIncludes(SUGGESTION_FIELDS).build())
                 .withPageable(PageRequest.of(0, effectiveLimit, Sort.by("name.keyword").ascending()))
+                .withTrackTotalHits(false)
                 .build();
 
         SearchHits<ProductDocument> searchHits = elasticsearchOperations.search(query, ProductDocument.class);
 
-        List<UUID> productIds = searchHits.getSearchHits().stream()
-                .map(hit -> UUID.fromString(hit.getContent().getId()))
+        return searchHits.getSearchHits().stream()
+                .map(hit -> hit.getContent().toProduct())
                 .toList();
+    }
 
-        if (productIds.isEmpty()) {
+    /**
+     * Turns hits into products in hit order. In database mode every hit is loaded from MySQL.
+     * In index mode products are built from _source; with the staleness guard on, a narrow
+     * MySQL lookup of version/is_deleted finds hits whose document is out of date and
+     * only those are loaded in full.
+     */
+    private List<Product> hydrate(List<ProductDocument> documents) {
+        if (documents.isEmpty()) {
             return List.of();
         }
+        return inHitOrder(documents, resolve(documents));
+    }
 
+    private Map<UUID, Product> resolve(List<ProductDocument> documents) {
         Map<UUID, Product> productMap = new HashMap<>();
-        productRepository.findAllByIdWithCategory(productIds)
-                .forEach(p -> productMap.put(p.getId(), p));
+        if (documents.isEmpty()) {
+            return productMap;
+        }
+        if (!hydrateFromIndex) {
+            loadFromDatabase(documents.stream().map(doc -> UUID.fromString(doc.getId())).distinct().toList(), productMap);
+        } else if (!stalenessGuard) {
+            documents.forEach(doc -> {
+                Product product = doc.toProduct();
+                productMap.put(product.getId(), product);
+            });
+        } else {
+            Map<UUID, ProductVersion> versions = new HashMap<>();
+            productRepository.findVersionsByIds(documents.stream().map(doc -> UUID.fromString(doc.getId())).distinct().toList())
+                    .forEach(version -> versions.put(version.id(), version));
+
+            List<UUID> stale = new ArrayList<>();
+            for (ProductDocument doc : documents) {
+                UUID id = UUID.fromString(doc.getId());
+                ProductVersion version = versions.get(id);
+                if (version == null || version.deleted()) {
+                    continue;
+                }
+                if (isNewerThanDocument(version, doc)) {
+                    stale.add(id);
+                } else {
+                    productMap.put(id, doc.toProduct());
+                }
+            }
+            if (!stale.isEmpty()) {
+                log.debug("Reloading {} search hits with stale index documents", stale.size());
+                loadFromDatabase(stale, productMap);
+            }
+        }
+        return productMap;
+    }
 
-        return productIds.stream()
-                .map(productMap::get)
+    private static List<Product> inHitOrder(List<ProductDocument> documents, Map<UUID, Product> productMap) {
+        // Preserve ES ordering, exclude soft-deleted products (guards against stale ES index)
+        return documents.stream()
+                .map(doc -> productMap.get(UUID.fromString(doc.getId())))
                 .filter(Objects::nonNull)
                 .filter(p -> !p.isDeleted())
                 .toList();
     }
 
+    private static List<ProductDocument> documentsOf(SearchHits<ProductDocument> searchHits) {
+        return searchHits.getSearchHits().stream().map(SearchHit::getContent).toList();
+    }
+
+    private void loadFromDatabase(List<UUID> productIds, Map<UUID, Product> productMap) {
+        productRepository.findAllByIdWithCategory(productIds)
+                .forEach(p -> productMap.put(p.getId(), p));
+    }
+
+    // Compares the row version, which the database increments on every update, so the check does
+    // not depend on the clock of the instance that wrote either copy. Documents indexed before
+    // the version existed cannot be compared and are reloaded from the database.
+    static boolean isNewerThanDocument(ProductVersion version, ProductDocument document) {
+        if (version.version() == null) {
+            return false;
+        }
+        if (document.getVersion() == null) {
+            return true;
+        }
+        return version.version() > document.getVersion();
+    }
+
     private void validateSearchParameters(Double minPrice, Double maxPrice,
                                           Date createdAfter, Date createdBefore,
                                           int page, int size, String sortBy) throws InvalidSearchParameterException {
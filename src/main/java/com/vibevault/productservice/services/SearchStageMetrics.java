@@ -0,0 +1,196 @@
+package com.vibevault.productservice.services;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Where the time of a search goes, stage by stage, so a slow /search/products can be pinned on
+ * the backend query, the MySQL hydration of its hits or the mapping of the response.
+ *
+ * Searches are timed as search.stage{backend, stage, shape, sort, hits}: shape is "query" for a
+ * text search and "browse" for filters only, sort the validated sortBy, and hits the bucketed
+ * match count the backend reported. Index writes are timed as indexing.stage{stage, documents}.
+ * Both publish percentile histograms only, so percentiles are computed where the buckets are
+ * aggregated, across instances and over any tag subset; client-side percentiles could not be.
+ *
+ * Stages are only recorded for searches that complete; a rejected or failed search records none.
+ */
+@Component
+public class SearchStageMetrics {
+
+    public static final String BACKEND_ELASTICSEARCH = "elasticsearch";
+    public static final String BACKEND_DATABASE = "database";
+
+    // Both backends run a query; Elasticsearch also builds it, hydrates its hits into products and
+    // maps them to a page, while MySQL may add an estimated count and the facet GROUP BYs
+    public static final String STAGE_BUILD = "build";
+    public static final String STAGE_QUERY = "query";
+    public static final String STAGE_HYDRATION = "hydration";
+    public static final String STAGE_MAPPING = "mapping";
+    public static final String STAGE_COUNT = "count";
+    public static final String STAGE_FACETS = "facets";
+    // The controller turning the page into its response DTO
+    public static final String STAGE_RESPONSE = "response";
+
+    // Index writes: products to documents, the _bulk round trip, and the phases of a full reindex
+    public static final String STAGE_DOCUMENTS = "documents";
+    public static final String STAGE_BULK_REQUEST = "bulk-request";
+    public static final String STAGE_LOAD = "load";
+    public static final String STAGE_CATCH_UP = "catch-up";
+    public static final String STAGE_SWAP = "swap";
+
+    static final String SHAPE_QUERY = "query";
+    static final String SHAPE_BROWSE = "browse";
+    // A batch mixes shapes and sorts; it is timed as one search
+    static final String SHAPE_BATCH = "batch";
+    static final String SORT_MIXED = "mixed";
+    // Cursor pages do not count matches
+    static final String HITS_UNKNOWN = "unknown";
+
+    static final String SEARCH_STAGE = "search.stage";
+    static final String INDEXING_STAGE = "indexing.stage";
+
+    private record StageKey(String backend, String stage, String shape, String sort, String hits) {
+    }
+
+    private final MeterRegistry meterRegistry;
+    private final String configuredBackend;
+    private final Map<StageKey, Timer> searchTimers = new ConcurrentHashMap<>();
+    private final Map<StageKey, Timer> indexingTimers = new ConcurrentHashMap<>();
+
+    public SearchStageMetrics(MeterRegistry meterRegistry,
+                              @Value("${searchServiceType:searchServiceESImpl}") String serviceType) {
+        this.meterRegistry = meterRegistry;
+        this.configuredBackend = "searchServiceDBImpl".equals(serviceType) ? BACKEND_DATABASE : BACKEND_ELASTICSEARCH;
+    }
+
+    /**
+     * Starts timing one search. Call {@link Search#lap} after each stage, then
+     * {@link Search#finish} once the hit count is known.
+     */
+    public Search search(String backend, String shape, String sortBy) {
+        return new Search(backend, shape, sortBy);
+    }
+
+    /**
+     * Records the controller's mapping of a result page to its response DTO. Cache hits reach
+     * the controller without touching the backend, so this is tagged with the configured one.
+     */
+    public void recordResponse(String shape, String sortBy, long hits, long nanos) {
+        recordResponse(shape, sortBy, hitsBucket(hits), nanos);
+    }
+
+    /**
+     * Records the response stage of a cursor page, which has no match count.
+     */
+    public void recordResponseUncounted(String shape, String sortBy, long nanos) {
+        recordResponse(shape, sortBy, HITS_UNKNOWN, nanos);
+    }
+
+    private void recordResponse(String shape, String sortBy, String hits, long nanos) {
+        searchTimer(new StageKey(configuredBackend, STAGE_RESPONSE, shape, sortBy, hits))
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordIndexing(String stage, long documents, long nanos) {
+        StageKey key = new StageKey(BACKEND_ELASTICSEARCH, stage, null, null, hitsBucket(documents));
+        indexingTimers.computeIfAbsent(key, k -> timer(INDEXING_STAGE,
+                        "Time spent in each stage of writing products to the search index")
+                        .tag("stage", k.stage())
+                        .tag("documents", k.hits())
+                        .register(meterRegistry))
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Whether the search has query text, as a metric tag. Coarser than the result cache's
+     * {@link SearchResultCache.SearchKey#shape()}: every tag value multiplies the histogram
+     * series, and the filters matter far less to latency than the text match does.
+     */
+    public static String shapeOf(String query) {
+        return query != null && !query.isBlank() ? SHAPE_QUERY : SHAPE_BROWSE;
+    }
+
+    // Powers of ten, capped where Elasticsearch stops counting exactly (track_total_hits)
+    static String hitsBucket(long hits) {
+        if (hits <= 0) return "0";
+        if (hits <= 10) return "1-10";
+        if (hits <= 100) return "11-100";
+        if (hits <= 1_000) return "101-1000";
+        if (hits < 10_000) return "1001-9999";
+        return "10000+";
+    }
+
+    private Timer searchTimer(StageKey key) {
+        return searchTimers.computeIfAbsent(key, k -> timer(SEARCH_STAGE,
+                        "Time spent in each stage of a product search")
+                        .tag("backend", k.backend())
+                        .tag("stage", k.stage())
+                        .tag("shape", k.shape())
+                        .tag("sort", k.sort())
+                        .tag("hits", k.hits())
+                        .register(meterRegistry));
+    }
+
+    // Bucket range trimmed to what a stage can plausibly take, since shape x sort x hits multiplies series
+    private static Timer.Builder timer(String name, String description) {
+        return Timer.builder(name)
+                .description(description)
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofMillis(1))
+                .maximumExpectedValue(Duration.ofSeconds(10));
+    }
+
+    /**
+     * The stages of one search, held until its hit count is known. Not thread-safe; a search
+     * is timed on the thread that runs it.
+     */
+    public final class Search {
+        private final String backend;
+        private final String shape;
+        private final String sort;
+        private final List<String> stages = new ArrayList<>(4);
+        private final List<Long> durations = new ArrayList<>(4);
+        private long lapStartedAt = System.nanoTime();
+
+        private Search(String backend, String shape, String sort) {
+            this.backend = backend;
+            this.shape = shape;
+            this.sort = sort;
+        }
+
+        /**
+         * Ends the given stage: the time since the previous lap (or since the search started).
+         */
+        public void lap(String stage) {
+            long now = System.nanoTime();
+            stages.add(stage);
+            durations.add(now - lapStartedAt);
+            lapStartedAt = now;
+        }
+
+        public void finish(long hits) {
+            record(hitsBucket(hits));
+        }
+
+        public void finishUncounted() {
+            record(HITS_UNKNOWN);
+        }
+
+        private void record(String hits) {
+            for (int i = 0; i < stages.size(); i++) {
+                searchTimer(new StageKey(backend, stages.get(i), shape, sort, hits))
+                        .record(durations.get(i), TimeUnit.NANOSECONDS);
+            }
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.vibevault.productservice.services;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.function.LongSupplier;
+
+/**
+ * Match counts per filter signature, so paging through one result set runs its COUNT once per
+ * TTL instead of once per page. Totals served from here are estimates: they are not cleared on
+ * product changes and may lag by up to the TTL.
+ *
+ * Keys are {@link SearchResultCache.SearchKey}s with page, size and sort cleared.
+ */
+@Component
+public class SearchTotalCache {
+
+    static final String CACHE_NAME = "search-totals";
+
+    private final Cache<SearchResultCache.SearchKey, Long> cache;
+
+    public SearchTotalCache(MeterRegistry meterRegistry,
+                            @Value("${search.db.estimated-total.max-size:10000}") long maxSize,
+                            @Value("${search.db.estimated-total.ttl-seconds:60}") long ttlSeconds) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    public long get(SearchResultCache.SearchKey filters, LongSupplier count) {
+        return cache.get(filters, key -> count.getAsLong());
+    }
+}
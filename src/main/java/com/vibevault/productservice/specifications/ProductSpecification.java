@@ -1,11 +1,14 @@
 package com.vibevault.productservice.specifications;
 
+import com.vibevault.productservice.configurations.FullTextFunctionContributor;
 import com.vibevault.productservice.models.Category;
 import com.vibevault.productservice.models.Currency;
 import com.vibevault.productservice.models.Product;
+import jakarta.persistence.criteria.Expression;
 import jakarta.persistence.criteria.From;
 import jakarta.persistence.criteria.Join;
 import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Path;
 import org.springframework.data.jpa.domain.Specification;
 
 import java.util.Date;
@@ -53,12 +56,55 @@ public class ProductSpecification {
             String escaped = escapeLikePattern(searchQuery.toLowerCase());
             String pattern = "%" + escaped + "%";
             // Note: description is a @Lob (CLOB) type which doesn't support lower() in MySQL
-            // For full-text search including description, use Elasticsearch
-            // Here we search on name only for MySQL compatibility
-            return criteriaBuilder.like(criteriaBuilder.lower(root.get("name")), pattern, ESCAPE_CHAR);
+            // For full-text search including description, use Elasticsearch or the fulltext text mode
+            // Here we search on name only; its collation is case-insensitive, so no lower() is needed
+            return criteriaBuilder.like(root.get("name"), pattern, ESCAPE_CHAR);
         };
     }
 
+    /**
+     * Full-text match on name and description through the products FULLTEXT index.
+     * Every word must match as a word prefix, like the LIKE search it replaces matches substrings.
+     * When orderByRelevance is set the rows are ordered by score, then id for stable paging;
+     * callers must then pass an unsorted Pageable, or its sort would replace this ordering.
+     */
+    public static Specification<Product> withFullTextQuery(String searchQuery, boolean orderByRelevance) {
+        return (root, query, criteriaBuilder) -> {
+            String booleanQuery = toBooleanModeQuery(searchQuery);
+            if (booleanQuery.isEmpty()) {
+                return criteriaBuilder.conjunction();
+            }
+            Expression<Double> score = criteriaBuilder.function(FullTextFunctionContributor.FULLTEXT_MATCH, Double.class,
+                    root.get("name"), root.get("description"), criteriaBuilder.literal(booleanQuery));
+            // Spring Data reuses the specification for the COUNT query, where ordering is meaningless
+            if (orderByRelevance && query != null && !Long.class.equals(query.getResultType())) {
+                query.orderBy(criteriaBuilder.desc(score), criteriaBuilder.asc(root.get("id")));
+            }
+            return criteriaBuilder.greaterThan(score, 0.0);
+        };
+    }
+
+    /**
+     * Turns free text into a boolean-mode query requiring each word as a prefix: "red sh" -> "+red* +sh*".
+     * Boolean-mode operators in the input are dropped so user text cannot change the query structure.
+     */
+    static String toBooleanModeQuery(String searchQuery) {
+        if (searchQuery == null) {
+            return "";
+        }
+        StringBuilder booleanQuery = new StringBuilder();
+        for (String term : searchQuery.replaceAll("[+\\-<>()~*\"@]", " ").trim().split("\\s+")) {
+            if (term.isEmpty()) {
+                continue;
+            }
+            if (!booleanQuery.isEmpty()) {
+                booleanQuery.append(' ');
+            }
+            booleanQuery.append('+').append(term).append('*');
+        }
+        return booleanQuery.toString();
+    }
+
     public static Specification<Product> withMinPrice(Double minPrice) {
         return (root, query, criteriaBuilder) -> {
             if (minPrice == null) {
@@ -134,7 +180,35 @@ public class ProductSpecification {
             }
             String escaped = escapeLikePattern(prefix.toLowerCase());
             String pattern = escaped + "%";
-            return criteriaBuilder.like(criteriaBuilder.lower(root.get("name")), pattern, ESCAPE_CHAR);
+            // name's collation is case-insensitive, so the bare column (not lower(name)) both matches
+            // any case and lets MySQL range-scan uc_products_name
+            return criteriaBuilder.like(root.get("name"), pattern, ESCAPE_CHAR);
+        };
+    }
+
+    /**
+     * Keyset continuation for cursor pagination over (sortAttribute, id): rows strictly after
+     * the last row returned, in the given direction. The id tie-break makes the order total.
+     */
+    public static <T extends Comparable<? super T>> Specification<Product> afterPosition(
+            String sortAttribute, T lastValue, UUID lastId, boolean ascending) {
+        return (root, query, criteriaBuilder) -> {
+            Path<T> sortPath = "price".equals(sortAttribute)
+                    ? root.get("price").get("price")
+                    : root.get(sortAttribute);
+            Path<UUID> idPath = root.get("id");
+            if (ascending) {
+                return criteriaBuilder.or(
+                        criteriaBuilder.greaterThan(sortPath, lastValue),
+                        criteriaBuilder.and(
+                                criteriaBuilder.equal(sortPath, lastValue),
+                                criteriaBuilder.greaterThan(idPath, lastId)));
+            }
+            return criteriaBuilder.or(
+                    criteriaBuilder.lessThan(sortPath, lastValue),
+                    criteriaBuilder.and(
+                            criteriaBuilder.equal(sortPath, lastValue),
+                            criteriaBuilder.lessThan(idPath, lastId)));
         };
     }
 }
@@ -0,0 +1,8 @@
+CREATE TABLE product_outbox
+(
+    id          BIGINT     NOT NULL AUTO_INCREMENT,
+    product_id  BINARY(16) NOT NULL,
+    action_type SMALLINT   NOT NULL,
+    created_at  datetime   NOT NULL,
+    CONSTRAINT pk_product_outbox PRIMARY KEY (id)
+);
@@ -0,0 +1,4 @@
+-- Backs MATCH(name, description) AGAINST (...) for the fulltext DB search mode.
+-- The column list must match the MATCH() column list exactly.
+ALTER TABLE products
+    ADD FULLTEXT INDEX ft_products_name_description (name, description);
@@ -0,0 +1,20 @@
+-- Secondary indexes for the filter/sort combinations built by ProductSpecification.
+-- Every search filters on is_deleted = false; InnoDB appends the primary key (id) to each
+-- secondary index, so (..., sort column) also serves the keyset tie-break on id.
+
+-- Name prefix search (autocomplete and LIKE 'x%') needs no index of its own: name's default
+-- collation is case-insensitive, so name LIKE 'x%' already range-scans uc_products_name.
+
+ALTER TABLE products
+    -- Default browse (sortBy=createdAt) and createdAfter/createdBefore ranges
+    ADD INDEX idx_products_deleted_created_at (is_deleted, created_at),
+    -- sortBy=price and minPrice/maxPrice ranges without a category
+    ADD INDEX idx_products_deleted_price (is_deleted, price),
+    -- Category (by id, or by name resolved through the categories join) + price range / price sort
+    ADD INDEX idx_products_category_deleted_price (category_id, is_deleted, price),
+    -- Category + createdAt sort / range
+    ADD INDEX idx_products_category_deleted_created_at (category_id, is_deleted, created_at),
+    -- Currency + price range / price sort
+    ADD INDEX idx_products_currency_deleted_price (currency, is_deleted, price),
+    -- sortBy=lastModifiedAt, and the reindex catch-up scan (last_modified_at >= ?)
+    ADD INDEX idx_products_last_modified_at (last_modified_at);
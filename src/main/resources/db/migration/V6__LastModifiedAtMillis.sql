@@ -0,0 +1,5 @@
+-- Search documents use lastModifiedAt as their external version (ProductDocument), so it needs
+-- to order two writes made within the same second. DATETIME(0) also rounded the fraction, which
+-- left the stored value up to half a second later than the one the entity was saved with.
+ALTER TABLE products
+    MODIFY last_modified_at DATETIME(3) NULL;
@@ -0,0 +1,13 @@
+-- Row version for products (JPA @Version), incremented by every update. Search documents,
+-- the product cache and the suggestion index order writes by it instead of lastModifiedAt,
+-- which comes from the clock of whichever instance made the change.
+--
+-- Documents indexed so far carry lastModifiedAt millis as their external version, so existing
+-- rows start one day past the current time: every later write outranks those documents even if
+-- an instance's clock ran fast. Documents without a version field are reloaded from the database
+-- on search until the next reindex rewrites them.
+ALTER TABLE products
+    ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+
+UPDATE products
+SET version = FLOOR(UNIX_TIMESTAMP(NOW(3)) * 1000) + 86400000;
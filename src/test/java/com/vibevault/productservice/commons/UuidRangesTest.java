@@ -0,0 +1,126 @@
+package com.vibevault.productservice.commons;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UuidRangesTest {
+
+    private static final UUID MIN = new UUID(0L, 0L);
+    private static final UUID MAX = new UUID(-1L, -1L);
+
+    @Test
+    void split_shouldReturnWholeInterval_whenOnePart() {
+        UUID from = UUID.fromString("10000000-0000-4000-8000-000000000000");
+        UUID to = UUID.fromString("90000000-0000-4000-8000-000000000000");
+
+        assertEquals(List.of(new UuidRanges.Range(from, to)), UuidRanges.split(from, to, 1));
+    }
+
+    @Test
+    void split_shouldCoverFullKeySpaceWithContiguousRanges() {
+        List<UuidRanges.Range> ranges = UuidRanges.split(MIN, MAX, 4);
+
+        assertEquals(4, ranges.size());
+        assertEquals(MIN, ranges.get(0).from());
+        assertEquals(MAX, ranges.get(3).to());
+        assertEquals(UUID.fromString("3fffffff-ffff-ffff-ffff-ffffffffffff"), ranges.get(0).to());
+        assertEquals(UUID.fromString("40000000-0000-0000-0000-000000000000"), ranges.get(1).from());
+        assertContiguous(ranges);
+    }
+
+    @Test
+    void split_shouldOrderIdsAsUnsignedBytes() {
+        // 0x80... is negative as a signed long but sorts after 0x7f... in a BINARY(16) column
+        UUID low = UUID.fromString("7fffffff-ffff-ffff-ffff-fffffffffff0");
+        UUID high = UUID.fromString("80000000-0000-0000-0000-00000000000f");
+
+        List<UuidRanges.Range> ranges = UuidRanges.split(low, high, 2);
+
+        assertEquals(2, ranges.size());
+        assertEquals(UUID.fromString("7fffffff-ffff-ffff-ffff-ffffffffffff"), ranges.get(0).to());
+        assertEquals(UUID.fromString("80000000-0000-0000-0000-000000000000"), ranges.get(1).from());
+        assertContiguous(ranges);
+    }
+
+    @Test
+    void split_shouldReturnOneRangePerId_whenFewerIdsThanParts() {
+        UUID from = UUID.fromString("00000000-0000-0000-0000-000000000001");
+        UUID to = UUID.fromString("00000000-0000-0000-0000-000000000003");
+
+        List<UuidRanges.Range> ranges = UuidRanges.split(from, to, 10);
+
+        assertEquals(3, ranges.size());
+        ranges.forEach(range -> assertEquals(range.from(), range.to()));
+        assertContiguous(ranges);
+    }
+
+    @Test
+    void split_shouldReturnSingleRange_whenMinEqualsMax() {
+        assertEquals(List.of(new UuidRanges.Range(MAX, MAX)), UuidRanges.split(MAX, MAX, 4));
+    }
+
+    @Test
+    void split_shouldRejectInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> UuidRanges.split(MIN, MAX, 0));
+        assertThrows(IllegalArgumentException.class, () -> UuidRanges.split(MAX, MIN, 2));
+    }
+
+    @Test
+    void between_shouldStartARangeAtEachSplitPoint() {
+        UUID min = UUID.fromString("019a0000-0000-7000-8000-000000000000");
+        UUID split = UUID.fromString("019a0000-0001-7000-8000-000000000000");
+        UUID max = UUID.fromString("019a0000-0002-7000-8000-000000000000");
+
+        List<UuidRanges.Range> ranges = UuidRanges.between(min, max, List.of(split));
+
+        assertEquals(List.of(
+                new UuidRanges.Range(min, UUID.fromString("019a0000-0001-7000-7fff-ffffffffffff")),
+                new UuidRanges.Range(split, max)), ranges);
+    }
+
+    @Test
+    void between_shouldSkipRepeatedAndOutOfRangePoints() {
+        UUID min = UUID.fromString("10000000-0000-0000-0000-000000000000");
+        UUID split = UUID.fromString("20000000-0000-0000-0000-000000000000");
+        UUID max = UUID.fromString("30000000-0000-0000-0000-000000000000");
+
+        List<UuidRanges.Range> ranges = UuidRanges.between(min, max,
+                List.of(min, split, split, UUID.fromString("40000000-0000-0000-0000-000000000000")));
+
+        assertEquals(2, ranges.size());
+        assertEquals(min, ranges.get(0).from());
+        assertEquals(split, ranges.get(1).from());
+        assertEquals(max, ranges.get(1).to());
+        assertContiguous(ranges);
+    }
+
+    @Test
+    void between_shouldReturnWholeInterval_withoutSplitPoints() {
+        assertEquals(List.of(new UuidRanges.Range(MIN, MAX)), UuidRanges.between(MIN, MAX, List.of()));
+    }
+
+    @Test
+    void toBigInteger_shouldRoundTripExtremes() {
+        assertEquals(BigInteger.ZERO, UuidRanges.toBigInteger(MIN));
+        assertEquals(BigInteger.ONE.shiftLeft(128).subtract(BigInteger.ONE), UuidRanges.toBigInteger(MAX));
+        assertEquals(MIN, UuidRanges.fromBigInteger(UuidRanges.toBigInteger(MIN)));
+        assertEquals(MAX, UuidRanges.fromBigInteger(UuidRanges.toBigInteger(MAX)));
+    }
+
+    private static void assertContiguous(List<UuidRanges.Range> ranges) {
+        for (int i = 0; i < ranges.size(); i++) {
+            UuidRanges.Range range = ranges.get(i);
+            assertTrue(UuidRanges.toBigInteger(range.from()).compareTo(UuidRanges.toBigInteger(range.to())) <= 0,
+                    "range " + i + " is empty");
+            if (i > 0) {
+                assertEquals(UuidRanges.toBigInteger(ranges.get(i - 1).to()).add(BigInteger.ONE),
+                        UuidRanges.toBigInteger(range.from()), "gap or overlap before range " + i);
+            }
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.vibevault.productservice.commons;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UuidV7Test {
+
+    @Test
+    void next_shouldSetVersionAndVariant() {
+        UUID id = UuidV7.next();
+
+        assertEquals(7, id.version());
+        assertEquals(2, id.variant());
+    }
+
+    @Test
+    void next_shouldCarryTheCurrentTimeInTheFirst48Bits() {
+        long before = System.currentTimeMillis();
+        UUID id = UuidV7.next();
+        long after = System.currentTimeMillis();
+
+        long timestamp = id.getMostSignificantBits() >>> 16;
+        assertTrue(timestamp >= before, "timestamp " + timestamp + " before " + before);
+        // The counter carries into the timestamp when ids are drawn faster than 4096/ms,
+        // as the ordering test below does, so allow it to run a little ahead of the clock
+        assertTrue(timestamp <= after + 1_000, "timestamp " + timestamp + " after " + after);
+    }
+
+    @Test
+    void next_shouldIncreaseInBinaryKeyOrder_evenWithinOneMillisecond() {
+        UUID previous = UuidV7.next();
+        for (int i = 0; i < 20_000; i++) {
+            UUID current = UuidV7.next();
+            assertTrue(UuidRanges.toBigInteger(current).compareTo(UuidRanges.toBigInteger(previous)) > 0,
+                    current + " does not sort after " + previous);
+            previous = current;
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package com.vibevault.productservice.configurations;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class AdmissionControlledDataSourceTest {
+
+    @Mock
+    private DataSource pool;
+    @Mock
+    private Connection pooledConnection;
+
+    private SimpleMeterRegistry meterRegistry;
+    private AutoCloseable closeable;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        closeable = MockitoAnnotations.openMocks(this);
+        meterRegistry = new SimpleMeterRegistry();
+        when(pool.getConnection()).thenReturn(pooledConnection);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        closeable.close();
+    }
+
+    @Test
+    void getConnection_shouldReleaseThePermitWhenTheConnectionIsClosed() throws SQLException {
+        AdmissionControlledDataSource dataSource = new AdmissionControlledDataSource(pool, "primary", 1, 0, 10, meterRegistry);
+
+        Connection connection = dataSource.getConnection();
+        rejectedElsewhere(dataSource);
+
+        connection.close();
+        connection.close();
+        verify(pooledConnection, times(2)).close();
+
+        // Closing twice released one permit, not two
+        Connection next = dataSource.getConnection();
+        rejectedElsewhere(dataSource);
+        next.close();
+    }
+
+    @Test
+    void getConnection_shouldTimeOut_whenNoPermitFreesUp() throws SQLException {
+        AdmissionControlledDataSource dataSource = new AdmissionControlledDataSource(pool, "primary", 1, 10, 20, meterRegistry);
+        dataSource.getConnection();
+
+        SQLTransientConnectionException e = rejectedElsewhere(dataSource);
+
+        assertTrue(e.getMessage().contains("20 ms"));
+        assertEquals(1.0, meterRegistry.get("datasource.admission.rejected").tag("reason", "timeout").counter().count());
+        assertEquals(0.0, meterRegistry.get("datasource.admission.waiting").gauge().value());
+    }
+
+    @Test
+    void getConnection_shouldRejectAtOnce_whenTooManyThreadsAreWaiting() throws SQLException {
+        AdmissionControlledDataSource dataSource = new AdmissionControlledDataSource(pool, "primary", 1, 0, 60_000, meterRegistry);
+        dataSource.getConnection();
+
+        assertTimeoutPreemptively(Duration.ofSeconds(5), () -> rejectedElsewhere(dataSource));
+
+        assertEquals(1.0, meterRegistry.get("datasource.admission.rejected").tag("reason", "queue-full").counter().count());
+    }
+
+    @Test
+    void getConnection_shouldReturnThePermit_whenThePoolFails() throws SQLException {
+        when(pool.getConnection())
+                .thenThrow(new SQLTransientConnectionException("Connection is not available"))
+                .thenReturn(pooledConnection);
+        AdmissionControlledDataSource dataSource = new AdmissionControlledDataSource(pool, "primary", 1, 0, 10, meterRegistry);
+
+        assertThrows(SQLTransientConnectionException.class, dataSource::getConnection);
+
+        assertNotNull(dataSource.getConnection());
+        assertEquals(1.0, meterRegistry.get("datasource.admission.in-use").gauge().value());
+    }
+
+    @Test
+    void nestedRequiresNew_shouldNotWaitForASecondPermit_whenAllPermitsAreHeld() {
+        // Two permits for a pool of three: each thread's outer transaction holds a permit, and its
+        // nested REQUIRES_NEW transaction must get a connection without waiting for one
+        AdmissionControlledDataSource dataSource = new AdmissionControlledDataSource(pool, "primary", 2, 10, 60_000, meterRegistry);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        TransactionTemplate outer = new TransactionTemplate(transactionManager);
+        TransactionTemplate requiresNew = new TransactionTemplate(transactionManager);
+        requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        CountDownLatch saturated = new CountDownLatch(2);
+
+        Runnable request = () -> outer.executeWithoutResult(status -> {
+            saturated.countDown();
+            await(saturated);
+            assertEquals(2.0, meterRegistry.get("datasource.admission.in-use").gauge().value());
+            requiresNew.executeWithoutResult(inner -> { });
+        });
+
+        try (ExecutorService threads = Executors.newFixedThreadPool(2)) {
+            assertTimeoutPreemptively(Duration.ofSeconds(5), () -> CompletableFuture.allOf(
+                    CompletableFuture.runAsync(request, threads), CompletableFuture.runAsync(request, threads)).join());
+        }
+        assertEquals(0.0, meterRegistry.get("datasource.admission.in-use").gauge().value());
+    }
+
+    @Test
+    void getConnection_shouldStillAdmitOtherThreads_againstTheLimit_whileOneHoldsNestedConnections() throws Exception {
+        AdmissionControlledDataSource dataSource = new AdmissionControlledDataSource(pool, "primary", 1, 0, 10, meterRegistry);
+        Connection outer = dataSource.getConnection();
+        Connection nested = dataSource.getConnection();
+
+        rejectedElsewhere(dataSource);
+
+        nested.close();
+        // The outer connection still holds the permit
+        assertEquals(1.0, meterRegistry.get("datasource.admission.in-use").gauge().value());
+        outer.close();
+        assertNotNull(CompletableFuture.supplyAsync(() -> connect(dataSource)).get(5, TimeUnit.SECONDS));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // From another thread, since a thread that already holds a permit is not limited again
+    private static SQLTransientConnectionException rejectedElsewhere(DataSource dataSource) {
+        CompletionException e = assertThrows(CompletionException.class,
+                () -> CompletableFuture.supplyAsync(() -> connect(dataSource)).join());
+        return assertInstanceOf(SQLTransientConnectionException.class, e.getCause());
+    }
+
+    private static Connection connect(DataSource dataSource) {
+        try {
+            return dataSource.getConnection();
+        } catch (SQLException e) {
+            throw new CompletionException(e);
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.vibevault.productservice.configurations;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AsyncConfigTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private Counter rejected;
+    private ThreadPoolExecutor pool;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        rejected = meterRegistry.counter("indexing.executor.rejected");
+        pool = new ThreadPoolExecutor(1, 1, 0, TimeUnit.SECONDS, new LinkedBlockingQueue<>(1));
+    }
+
+    @Test
+    void callerRunsPolicy_shouldRunTaskOnCallerAndCount() {
+        RejectedExecutionHandler handler = AsyncConfig.rejectionHandler(AsyncConfig.POLICY_CALLER_RUNS, rejected);
+        AtomicBoolean ran = new AtomicBoolean(false);
+
+        handler.rejectedExecution(() -> ran.set(true), pool);
+
+        assertTrue(ran.get());
+        assertEquals(1.0, rejected.count());
+    }
+
+    @Test
+    void shedPolicy_shouldDropTaskAndCount() {
+        RejectedExecutionHandler handler = AsyncConfig.rejectionHandler(AsyncConfig.POLICY_SHED, rejected);
+        AtomicBoolean ran = new AtomicBoolean(false);
+
+        assertDoesNotThrow(() -> handler.rejectedExecution(() -> ran.set(true), pool));
+
+        assertFalse(ran.get());
+        assertEquals(1.0, rejected.count());
+    }
+
+    @Test
+    void unknownPolicy_shouldFailFast() {
+        assertThrows(IllegalArgumentException.class, () -> AsyncConfig.rejectionHandler("block", rejected));
+    }
+
+    @Test
+    void latencyDecorator_shouldRecordEachTask() {
+        Timer latency = meterRegistry.timer("indexing.executor.task.latency");
+
+        AsyncConfig.latencyRecordingDecorator(latency).decorate(() -> { }).run();
+
+        assertEquals(1, latency.count());
+    }
+
+    @Test
+    void setThreads_shouldRunTasksOnVirtualThreads_whenEnabled() throws Exception {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        AsyncConfig.setThreads(executor, "indexing-", true);
+        executor.initialize();
+        try {
+            Thread worker = executor.submit(Thread::currentThread).get(5, TimeUnit.SECONDS);
+
+            assertTrue(worker.isVirtual());
+            assertTrue(worker.getName().startsWith("indexing-"));
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package com.vibevault.productservice.configurations;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLNonTransientConnectionException;
+import java.sql.Statement;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ReadReplicasTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private DataSource primary;
+    private Connection primaryConnection;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        meterRegistry = new SimpleMeterRegistry();
+        primary = mock(DataSource.class);
+        primaryConnection = mock(Connection.class);
+        when(primary.getConnection()).thenReturn(primaryConnection);
+    }
+
+    @Test
+    void routing_shouldUseThePrimary_untilALagCheckHasSeenTheReplica() throws SQLException {
+        FakeReplica replica = new FakeReplica("replica-1", 0L);
+        ReadReplicas readReplicas = new ReadReplicas(List.of(replica.replica), 5, false, meterRegistry);
+
+        assertSame(primaryConnection, replicaRead(readReplicas));
+        verify(replica.dataSource, never()).getConnection();
+        assertEquals(1.0, meterRegistry.get("datasource.routing.fallback").tag("reason", "no-healthy-replica").counter().count());
+    }
+
+    @Test
+    void routing_shouldSpreadReadsOverHealthyReplicas() throws SQLException {
+        FakeReplica first = new FakeReplica("replica-1", 0L);
+        FakeReplica second = new FakeReplica("replica-2", 2L);
+        ReadReplicas readReplicas = new ReadReplicas(List.of(first.replica, second.replica), 5, false, meterRegistry);
+        readReplicas.checkLag();
+        DataSource routing = readReplicas.routing(primary);
+
+        List<Connection> served;
+        try (ReplicaReads.Scope ignored = ReplicaReads.allow()) {
+            served = List.of(routing.getConnection(), routing.getConnection(),
+                    routing.getConnection(), routing.getConnection());
+        }
+
+        assertEquals(2, served.stream().filter(c -> c == first.readConnection).count());
+        assertEquals(2, served.stream().filter(c -> c == second.readConnection).count());
+        verify(primary, never()).getConnection();
+        assertEquals(2.0, meterRegistry.get("datasource.replica.lag").tag("pool", "replica-2").gauge().value());
+    }
+
+    @Test
+    void routing_shouldFallBackToThePrimary_whenTheReplicaLagsTooFar() throws SQLException {
+        FakeReplica replica = new FakeReplica("replica-1", 30L);
+        ReadReplicas readReplicas = new ReadReplicas(List.of(replica.replica), 5, false, meterRegistry);
+        readReplicas.checkLag();
+
+        assertSame(primaryConnection, replicaRead(readReplicas));
+        assertEquals(0.0, meterRegistry.get("datasource.replica.healthy").tag("pool", "replica-1").gauge().value());
+    }
+
+    @Test
+    void checkLag_shouldTakeAReplicaOutOfRotation_whenReplicationIsStopped() throws SQLException {
+        FakeReplica replica = new FakeReplica("replica-1", 0L);
+        ReadReplicas readReplicas = new ReadReplicas(List.of(replica.replica), 5, false, meterRegistry);
+        readReplicas.checkLag();
+
+        replica.reportLag(null);
+        readReplicas.checkLag();
+
+        assertSame(primaryConnection, replicaRead(readReplicas));
+        assertTrue(Double.isNaN(meterRegistry.get("datasource.replica.lag").tag("pool", "replica-1").gauge().value()));
+    }
+
+    @Test
+    void checkLag_shouldKeepAServerWithoutReplicationStatusOutOfRotation() throws SQLException {
+        FakeReplica replica = new FakeReplica("replica-1", 0L);
+        replica.reportNoStatus();
+        ReadReplicas readReplicas = new ReadReplicas(List.of(replica.replica), 5, false, meterRegistry);
+        readReplicas.checkLag();
+
+        assertSame(primaryConnection, replicaRead(readReplicas));
+        verify(replica.dataSource, never()).getConnection();
+        assertEquals(0.0, meterRegistry.get("datasource.replica.healthy").tag("pool", "replica-1").gauge().value());
+    }
+
+    @Test
+    void checkLag_shouldTreatAServerWithoutReplicationStatusAsUpToDate_whenStandaloneIsAllowed() throws SQLException {
+        FakeReplica replica = new FakeReplica("replica-1", 0L);
+        replica.reportNoStatus();
+        ReadReplicas readReplicas = new ReadReplicas(List.of(replica.replica), 5, true, meterRegistry);
+        readReplicas.checkLag();
+
+        assertSame(replica.readConnection, replicaRead(readReplicas));
+    }
+
+    @Test
+    void routing_shouldDropAFailingReplica_untilTheNextLagCheck() throws SQLException {
+        FakeReplica replica = new FakeReplica("replica-1", 0L);
+        ReadReplicas readReplicas = new ReadReplicas(List.of(replica.replica), 5, false, meterRegistry);
+        readReplicas.checkLag();
+        when(replica.dataSource.getConnection()).thenThrow(new SQLNonTransientConnectionException("Connection refused"));
+        DataSource routing = readReplicas.routing(primary);
+
+        try (ReplicaReads.Scope ignored = ReplicaReads.allow()) {
+            assertSame(primaryConnection, routing.getConnection());
+            assertSame(primaryConnection, routing.getConnection());
+        }
+
+        verify(replica.dataSource, times(1)).getConnection();
+        assertEquals(1.0, meterRegistry.get("datasource.routing.fallback").tag("reason", "replica-error").counter().count());
+    }
+
+    @Test
+    void routing_shouldUseThePrimary_forReadsThatDidNotOptIn() throws SQLException {
+        FakeReplica replica = new FakeReplica("replica-1", 0L);
+        ReadReplicas readReplicas = new ReadReplicas(List.of(replica.replica), 5, false, meterRegistry);
+        readReplicas.checkLag();
+        DataSource routing = readReplicas.routing(primary);
+
+        assertSame(primaryConnection, routing.getConnection());
+        try (ReplicaReads.Scope ignored = ReplicaReads.allow()) {
+            assertSame(replica.readConnection, routing.getConnection());
+        }
+        assertSame(primaryConnection, routing.getConnection());
+        assertEquals(0.0, meterRegistry.get("datasource.routing.fallback").tag("reason", "no-healthy-replica").counter().count());
+    }
+
+    private Connection replicaRead(ReadReplicas readReplicas) throws SQLException {
+        try (ReplicaReads.Scope ignored = ReplicaReads.allow()) {
+            return readReplicas.routing(primary).getConnection();
+        }
+    }
+
+    // A replica whose pool answers SHOW REPLICA STATUS and whose read DataSource hands out one connection
+    private static final class FakeReplica {
+        private final DataSource pool = mock(DataSource.class);
+        private final DataSource dataSource = mock(DataSource.class);
+        private final Connection readConnection = mock(Connection.class);
+        private final ResultSet status = mock(ResultSet.class);
+        private final ReadReplicas.Replica replica;
+
+        private FakeReplica(String name, Long lagSeconds) throws SQLException {
+            Connection lagConnection = mock(Connection.class);
+            Statement statement = mock(Statement.class);
+            when(pool.getConnection()).thenReturn(lagConnection);
+            when(lagConnection.createStatement()).thenReturn(statement);
+            when(statement.executeQuery(ReadReplicas.LAG_QUERY)).thenReturn(status);
+            when(dataSource.getConnection()).thenReturn(readConnection);
+            reportLag(lagSeconds);
+            replica = new ReadReplicas.Replica(name, pool, dataSource);
+        }
+
+        void reportLag(Long lagSeconds) throws SQLException {
+            when(status.next()).thenReturn(true);
+            when(status.getLong("Seconds_Behind_Source")).thenReturn(lagSeconds == null ? 0L : lagSeconds);
+            when(status.wasNull()).thenReturn(lagSeconds == null);
+        }
+
+        void reportNoStatus() throws SQLException {
+            when(status.next()).thenReturn(false);
+        }
+    }
+}
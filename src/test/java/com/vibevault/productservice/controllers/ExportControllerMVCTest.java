@@ -0,0 +1,100 @@
+package com.vibevault.productservice.controllers;
+
+import com.vibevault.productservice.security.RolesClaimConverter;
+import com.vibevault.productservice.security.SecurityConfig;
+import com.vibevault.productservice.services.ProductExportService;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.webmvc.test.autoconfigure.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.ByteArrayInputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(ExportController.class)
+@Import({SecurityConfig.class, RolesClaimConverter.class})
+@org.springframework.test.context.TestPropertySource(properties = {
+        "spring.security.oauth2.resourceserver.jwt.issuer-uri=https://test-issuer.example.com"
+})
+class ExportControllerMVCTest {
+
+    private static final String NDJSON = "{\"name\":\"iPhone 14\"}\n{\"name\":\"Kindle\"}\n";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private ProductExportService productExportService;
+
+    @MockitoBean
+    private JwtDecoder jwtDecoder;
+
+    @Test
+    void exportProducts_Admin_StreamsNdjson() throws Exception {
+        stubExport();
+
+        mockMvc.perform(get("/admin/export/products")
+                        .with(jwt().authorities(() -> "ROLE_ADMIN")))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_TYPE, "application/x-ndjson;charset=UTF-8"))
+                .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"products.ndjson\""))
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andExpect(content().string(NDJSON));
+    }
+
+    @Test
+    void exportProducts_Gzip_CompressesBody() throws Exception {
+        stubExport();
+
+        MvcResult result = mockMvc.perform(get("/admin/export/products")
+                        .param("gzip", "true")
+                        .with(jwt().authorities(() -> "ROLE_ADMIN")))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andReturn();
+
+        try (GZIPInputStream in = new GZIPInputStream(
+                new ByteArrayInputStream(result.getResponse().getContentAsByteArray()))) {
+            assertEquals(NDJSON, new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    void exportProducts_NonAdmin_ReturnsForbidden() throws Exception {
+        mockMvc.perform(get("/admin/export/products")
+                        .with(jwt().authorities(() -> "ROLE_USER")))
+                .andExpect(status().isForbidden());
+
+        Mockito.verifyNoInteractions(productExportService);
+    }
+
+    @Test
+    void exportProducts_Unauthenticated_ReturnsUnauthorized() throws Exception {
+        mockMvc.perform(get("/admin/export/products"))
+                .andExpect(status().isUnauthorized());
+
+        Mockito.verifyNoInteractions(productExportService);
+    }
+
+    private void stubExport() throws Exception {
+        Mockito.when(productExportService.exportProducts(any())).thenAnswer(invocation -> {
+            OutputStream out = invocation.getArgument(0);
+            out.write(NDJSON.getBytes(StandardCharsets.UTF_8));
+            return 2L;
+        });
+    }
+}
@@ -0,0 +1,113 @@
+package com.vibevault.productservice.controllers;
+
+import com.vibevault.productservice.exceptions.products.InvalidBulkRequestException;
+import com.vibevault.productservice.models.Product;
+import com.vibevault.productservice.security.RolesClaimConverter;
+import com.vibevault.productservice.security.SecurityConfig;
+import com.vibevault.productservice.services.ProductBulkResult;
+import com.vibevault.productservice.services.ProductBulkService;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.webmvc.test.autoconfigure.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(ProductBulkController.class)
+@Import({SecurityConfig.class, RolesClaimConverter.class})
+@org.springframework.test.context.TestPropertySource(properties = {
+        "spring.security.oauth2.resourceserver.jwt.issuer-uri=https://test-issuer.example.com"
+})
+class ProductBulkControllerMVCTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private ProductBulkService productBulkService;
+
+    @MockitoBean
+    private JwtDecoder jwtDecoder;
+
+    @Test
+    void createProducts_Success_ReturnsResultPerItem() throws Exception {
+        Product product = new Product();
+        product.setId(UUID.randomUUID());
+        product.setName("iPhone 14");
+        Mockito.when(productBulkService.createProducts(anyList())).thenReturn(List.of(
+                ProductBulkResult.succeeded(0, product),
+                ProductBulkResult.failed(1, "price is required")));
+
+        mockMvc.perform(post("/products/bulk")
+                        .with(jwt().authorities(() -> "ROLE_SELLER"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"products": [
+                                  {"name": "iPhone 14", "price": 699.99, "currency": "USD", "categoryName": "Electronics"},
+                                  {"name": "Kindle", "currency": "USD"}
+                                ]}
+                                """))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.succeeded").value(1))
+                .andExpect(jsonPath("$.failed").value(1))
+                .andExpect(jsonPath("$.results[0].id").value(product.getId().toString()))
+                .andExpect(jsonPath("$.results[1].index").value(1))
+                .andExpect(jsonPath("$.results[1].error").value("price is required"));
+
+        Mockito.verify(productBulkService).createProducts(argThat(products -> products.size() == 2
+                && "Electronics".equals(products.get(0).getCategory().getName())));
+    }
+
+    @Test
+    void updateProducts_Success_PassesIdsPerItem() throws Exception {
+        UUID id = UUID.randomUUID();
+        Mockito.when(productBulkService.updateProducts(anyList()))
+                .thenReturn(List.of(ProductBulkResult.failed(0, "Product with id " + id + " not found")));
+
+        mockMvc.perform(patch("/products/bulk")
+                        .with(jwt().authorities(() -> "ROLE_ADMIN"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"products\": [{\"id\": \"" + id + "\", \"price\": 599.0}]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.failed").value(1));
+
+        Mockito.verify(productBulkService).updateProducts(argThat(updates -> updates.size() == 1
+                && id.toString().equals(updates.get(0).productId())
+                && updates.get(0).changes().getPrice().getPrice() == 599.0));
+    }
+
+    @Test
+    void createProducts_BadRequest_WhenRequestRejected() throws Exception {
+        Mockito.when(productBulkService.createProducts(anyList()))
+                .thenThrow(new InvalidBulkRequestException("No products given"));
+
+        mockMvc.perform(post("/products/bulk")
+                        .with(jwt().authorities(() -> "ROLE_SELLER"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"products\": []}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errorCode").value("INVALID_BULK_REQUEST"));
+    }
+
+    @Test
+    void createProducts_Forbidden_AsBuyer() throws Exception {
+        mockMvc.perform(post("/products/bulk")
+                        .with(jwt().authorities(() -> "ROLE_BUYER"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"products\": []}"))
+                .andExpect(status().isForbidden());
+
+        Mockito.verifyNoInteractions(productBulkService);
+    }
+}
@@ -1,6 +1,7 @@
 package com.vibevault.productservice.controllers;
 
 import com.vibevault.productservice.dtos.product.*;
+import com.vibevault.productservice.exceptions.products.InvalidCursorException;
 import com.vibevault.productservice.exceptions.products.ProductNotFoundException;
 import com.vibevault.productservice.security.SecurityConfig;
 import com.vibevault.productservice.security.RolesClaimConverter;
@@ -15,6 +16,8 @@ import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.webmvc.test.autoconfigure.WebMvcTest;
 import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.http.MediaType;
 import org.springframework.security.oauth2.jwt.JwtDecoder;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
@@ -269,30 +272,59 @@ class ProductControllerMVCTest {
 
     @Test
     void getAllProducts_Success() throws Exception {
-        Mockito.when(productService.getAllProducts()).thenReturn(Collections.singletonList(sampleProduct));
+        Mockito.when(productService.getProductPage(isNull(), eq(20)))
+                .thenReturn(new SliceImpl<>(Collections.singletonList(sampleProduct), PageRequest.of(0, 20), false));
 
         mockMvc.perform(get("/products"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$[0].name").value("Test Product"));
+                .andExpect(jsonPath("$.products[0].name").value("Test Product"))
+                .andExpect(jsonPath("$.hasNext").value(false))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
     }
 
     @Test
     void getAllProducts_Success_WithoutAuth() throws Exception {
         // GET endpoints are public - no authentication required
-        Mockito.when(productService.getAllProducts()).thenReturn(Collections.singletonList(sampleProduct));
+        Mockito.when(productService.getProductPage(isNull(), eq(20)))
+                .thenReturn(new SliceImpl<>(Collections.singletonList(sampleProduct), PageRequest.of(0, 20), false));
 
         mockMvc.perform(get("/products"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.length()").value(1));
+                .andExpect(jsonPath("$.products.length()").value(1));
     }
 
     @Test
     void getAllProducts_ReturnsEmptyList() throws Exception {
-        Mockito.when(productService.getAllProducts()).thenReturn(Collections.emptyList());
+        Mockito.when(productService.getProductPage(isNull(), eq(20)))
+                .thenReturn(new SliceImpl<>(Collections.emptyList(), PageRequest.of(0, 20), false));
 
         mockMvc.perform(get("/products"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.length()").value(0));
+                .andExpect(jsonPath("$.products.length()").value(0));
+    }
+
+    @Test
+    void getAllProducts_WithCursor_ReturnsNextCursor() throws Exception {
+        Mockito.when(productService.getProductPage(eq("abc"), eq(1)))
+                .thenReturn(new SliceImpl<>(Collections.singletonList(sampleProduct), PageRequest.of(0, 1), true));
+
+        mockMvc.perform(get("/products")
+                        .param("cursor", "abc")
+                        .param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.hasNext").value(true))
+                .andExpect(jsonPath("$.nextCursor").isNotEmpty());
+    }
+
+    @Test
+    void getAllProducts_InvalidCursor_ReturnsBadRequest() throws Exception {
+        Mockito.when(productService.getProductPage(eq("bad"), anyInt()))
+                .thenThrow(new InvalidCursorException("Invalid cursor: bad"));
+
+        mockMvc.perform(get("/products")
+                        .param("cursor", "bad"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errorCode").value("INVALID_CURSOR"));
     }
 
     // ==================== DELETE PRODUCT TESTS ====================
@@ -21,6 +21,8 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
@@ -411,15 +413,17 @@ public class ProductControllerTest {
     }
 
     @Test
-    public void test_get_all_products_success_WhenProductsExist_ReturnsProductList() throws Exception {
+    public void test_get_all_products_success_WhenProductsExist_ReturnsProductPage() throws Exception {
         // Arrange
-        when(productService.getAllProducts()).thenReturn(products);
+        when(productService.getProductPage(null, 20))
+                .thenReturn(new SliceImpl<>(products, PageRequest.of(0, 20), true));
 
         // Act
-        List<GetProductResponseDto> responseList = productController.getAllProducts();
+        GetProductPageResponseDto responseDto = productController.getAllProducts(null, 20);
 
         // Assert
-        assertNotNull(responseList);
+        assertNotNull(responseDto);
+        List<GetProductResponseDto> responseList = responseDto.getProducts();
         assertEquals(products.size(), responseList.size());
         assertEquals(products.get(0).getName(), responseList.get(0).getName());
         assertEquals(products.get(0).getDescription(), responseList.get(0).getDescription());
@@ -427,21 +431,26 @@ public class ProductControllerTest {
         assertEquals(products.get(0).getCategory().getName(), responseList.get(0).getCategoryName());
         assertEquals(products.get(0).getPrice().getPrice(), responseList.get(0).getPrice().getPrice());
         assertEquals(products.get(0).getPrice().getCurrency(), responseList.get(0).getPrice().getCurrency());
+        assertTrue(responseDto.isHasNext());
+        assertNotNull(responseDto.getNextCursor());
 
-        verify(productService, times(1)).getAllProducts();
+        verify(productService, times(1)).getProductPage(null, 20);
     }
 
     @Test
-    public void test_get_all_products_success_WhenNoProductsExist_ReturnsEmptyList() throws Exception {
+    public void test_get_all_products_success_WhenNoProductsExist_ReturnsEmptyPage() throws Exception {
         // Arrange
-        when(productService.getAllProducts()).thenReturn(Collections.emptyList());
+        when(productService.getProductPage(null, 20))
+                .thenReturn(new SliceImpl<>(Collections.emptyList(), PageRequest.of(0, 20), false));
 
         // Act
-        List<GetProductResponseDto> responseList = productController.getAllProducts();
+        GetProductPageResponseDto responseDto = productController.getAllProducts(null, 20);
 
         // Assert
-        assertNotNull(responseList);
-        assertTrue(responseList.isEmpty());
-        verify(productService, times(1)).getAllProducts();
+        assertNotNull(responseDto);
+        assertTrue(responseDto.getProducts().isEmpty());
+        assertFalse(responseDto.isHasNext());
+        assertNull(responseDto.getNextCursor());
+        verify(productService, times(1)).getProductPage(null, 20);
     }
 }
@@ -3,11 +3,19 @@ package com.vibevault.productservice.controllers;
 import com.vibevault.productservice.exceptions.search.InvalidSearchParameterException;
 import com.vibevault.productservice.models.Category;
 import com.vibevault.productservice.models.Currency;
+import com.vibevault.productservice.models.FacetBucket;
 import com.vibevault.productservice.models.Price;
+import com.vibevault.productservice.models.PriceRangeBucket;
 import com.vibevault.productservice.models.Product;
+import com.vibevault.productservice.models.SearchFacets;
+import com.vibevault.productservice.models.TotalAccuracy;
 import com.vibevault.productservice.security.RolesClaimConverter;
 import com.vibevault.productservice.security.SecurityConfig;
+import com.vibevault.productservice.services.SearchBatchResult;
+import com.vibevault.productservice.services.SearchCursorPage;
+import com.vibevault.productservice.services.SearchResultsPage;
 import com.vibevault.productservice.services.SearchService;
+import com.vibevault.productservice.services.SearchStageMetrics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
@@ -17,6 +25,7 @@ import org.springframework.context.annotation.Import;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.http.MediaType;
 import org.springframework.security.oauth2.jwt.JwtDecoder;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
@@ -29,6 +38,7 @@ import java.util.UUID;
 
 import static org.mockito.ArgumentMatchers.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(SearchController.class)
@@ -44,6 +54,9 @@ class SearchControllerMVCTest {
     @MockitoBean
     private SearchService searchService;
 
+    @MockitoBean
+    private SearchStageMetrics searchStageMetrics;
+
     @MockitoBean
     private JwtDecoder jwtDecoder;
 
@@ -95,7 +108,47 @@ class SearchControllerMVCTest {
                 .andExpect(jsonPath("$.products.length()").value(2))
                 .andExpect(jsonPath("$.currentPage").value(0))
                 .andExpect(jsonPath("$.totalElements").value(2))
-                .andExpect(jsonPath("$.totalPages").value(1));
+                .andExpect(jsonPath("$.totalPages").value(1))
+                .andExpect(jsonPath("$.totalAccuracy").value("EXACT"));
+    }
+
+    @Test
+    void searchProducts_Success_ReportsEstimatedTotal() throws Exception {
+        Page<Product> page = new SearchResultsPage<>(sampleProducts, PageRequest.of(0, 10), 5_000, TotalAccuracy.ESTIMATE);
+        Mockito.when(searchService.searchProducts(
+                any(), any(), any(), any(), any(), any(), any(), any(),
+                anyInt(), anyInt(), anyString(), anyString()))
+                .thenReturn(page);
+
+        mockMvc.perform(get("/search/products"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements").value(5000))
+                .andExpect(jsonPath("$.totalAccuracy").value("ESTIMATE"));
+    }
+
+    @Test
+    void searchProducts_Success_WithFacets() throws Exception {
+        SearchFacets facets = new SearchFacets(
+                List.of(new FacetBucket("electronics", 2)),
+                List.of(new FacetBucket("USD", 2)),
+                List.of(new PriceRangeBucket(500.0, 1000.0, 1), new PriceRangeBucket(1000.0, null, 1)));
+        Page<Product> page = new SearchResultsPage<>(sampleProducts, PageRequest.of(0, 10), 2, TotalAccuracy.EXACT, facets);
+        Mockito.when(searchService.searchProductsWithFacets(
+                any(), any(), any(), any(), any(), any(), any(), any(),
+                anyInt(), anyInt(), anyString(), anyString()))
+                .thenReturn(page);
+
+        mockMvc.perform(get("/search/products")
+                        .param("facets", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.facets.categories[0].key").value("electronics"))
+                .andExpect(jsonPath("$.facets.categories[0].count").value(2))
+                .andExpect(jsonPath("$.facets.currencies[0].key").value("USD"))
+                .andExpect(jsonPath("$.facets.priceRanges.length()").value(2))
+                .andExpect(jsonPath("$.facets.priceRanges[1].from").value(1000.0));
+        Mockito.verify(searchService, Mockito.never()).searchProducts(
+                any(), any(), any(), any(), any(), any(), any(), any(),
+                anyInt(), anyInt(), anyString(), anyString());
     }
 
     @Test
@@ -357,6 +410,44 @@ class SearchControllerMVCTest {
 
     // ==================== SUGGESTIONS TESTS ====================
 
+    @Test
+    void searchBatch_Success_ReturnsResultPerSearchWithoutAuthentication() throws Exception {
+        Page<Product> page = new PageImpl<>(Collections.singletonList(sampleProduct), PageRequest.of(0, 4), 1);
+        Mockito.when(searchService.searchBatch(anyList()))
+                .thenReturn(List.of(SearchBatchResult.of(page), SearchBatchResult.rejected("minPrice cannot be negative")));
+
+        mockMvc.perform(post("/search/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"searches": [
+                                  {"categoryName": "electronics", "size": 4},
+                                  {"minPrice": -1}
+                                ]}
+                                """))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.results.length()").value(2))
+                .andExpect(jsonPath("$.results[0].result.products[0].name").value("iPhone 14"))
+                .andExpect(jsonPath("$.results[0].error").doesNotExist())
+                .andExpect(jsonPath("$.results[1].error").value("minPrice cannot be negative"));
+
+        Mockito.verify(searchService).searchBatch(argThat(searches -> searches.size() == 2
+                && "electronics".equals(searches.get(0).categoryName())
+                && searches.get(0).size() == 4
+                && "createdAt".equals(searches.get(0).sortBy())
+                && searches.get(1).minPrice() == -1.0));
+    }
+
+    @Test
+    void searchBatch_BadRequest_WhenBatchRejected() throws Exception {
+        Mockito.when(searchService.searchBatch(anyList()))
+                .thenThrow(new InvalidSearchParameterException("searches cannot be empty"));
+
+        mockMvc.perform(post("/search/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"searches\": []}"))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     void getSuggestions_Success() throws Exception {
         List<Product> suggestions = Arrays.asList(
@@ -437,6 +528,24 @@ class SearchControllerMVCTest {
                 .andExpect(jsonPath("$.products[0].categoryName").value("Electronics"));
     }
 
+    @Test
+    void searchProductsAfter_RecordsResponseStage() throws Exception {
+        Mockito.when(searchService.searchProductsAfter(
+                any(), any(), any(), any(), any(), any(), any(), any(),
+                anyInt(), anyString(), anyString(), anyString()))
+                .thenReturn(new SearchCursorPage(sampleProducts, 2, true, "next-page"));
+
+        mockMvc.perform(get("/search/products")
+                        .param("query", "phone")
+                        .param("size", "2")
+                        .param("cursor", ""))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.products.length()").value(2))
+                .andExpect(jsonPath("$.nextCursor").value("next-page"));
+
+        Mockito.verify(searchStageMetrics).recordResponseUncounted(eq("query"), eq("createdAt"), anyLong());
+    }
+
     @Test
     void getSuggestions_ResponseContainsAllFields() throws Exception {
         List<Product> suggestions = Collections.singletonList(sampleProduct);
@@ -0,0 +1,217 @@
+package com.vibevault.productservice.services;
+
+import com.vibevault.productservice.exceptions.search.InvalidSearchParameterException;
+import com.vibevault.productservice.models.FacetBucket;
+import com.vibevault.productservice.models.Product;
+import com.vibevault.productservice.models.SearchFacets;
+import com.vibevault.productservice.models.TotalAccuracy;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+class CachingSearchServiceTest {
+
+    @Mock
+    private SearchService delegate;
+
+    private SimpleMeterRegistry meterRegistry;
+    private SearchResultCache searchResultCache;
+    private CachingSearchService searchService;
+    private AutoCloseable closeable;
+
+    @BeforeEach
+    void setUp() {
+        closeable = MockitoAnnotations.openMocks(this);
+        meterRegistry = new SimpleMeterRegistry();
+        searchResultCache = new SearchResultCache(meterRegistry, 100, 60);
+        searchService = new CachingSearchService(delegate, searchResultCache);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        closeable.close();
+    }
+
+    @Test
+    void searchProducts_shouldServeRepeatedQueryFromCache() throws InvalidSearchParameterException {
+        stubDelegate(page("Leather Wallet"));
+
+        searchService.searchProducts("leather", null, null, null, null, null, null, null, 0, 10, "createdAt", "desc");
+        Page<Product> second = searchService.searchProducts("leather", null, null, null, null, null, null, null,
+                0, 10, "createdAt", "desc");
+
+        assertEquals("Leather Wallet", second.getContent().get(0).getName());
+        assertEquals(1, second.getTotalElements());
+        verify(delegate, times(1)).searchProducts(any(), any(), any(), any(), any(), any(), any(), any(),
+                anyInt(), anyInt(), any(), any());
+    }
+
+    @Test
+    void searchProducts_shouldNormalizeQueryCaseAndSortDirection() throws InvalidSearchParameterException {
+        stubDelegate(page("Leather Wallet"));
+
+        searchService.searchProducts("Leather Wallet", null, null, null, null, "Accessories", null, null,
+                0, 10, "price", "DESC");
+        searchService.searchProducts("leather wallet", null, null, null, null, "accessories", null, null,
+                0, 10, "price", "desc");
+
+        verify(delegate, times(1)).searchProducts(any(), any(), any(), any(), any(), any(), any(), any(),
+                anyInt(), anyInt(), any(), any());
+    }
+
+    @Test
+    void searchProducts_shouldKeyWhitespaceAsSent() throws InvalidSearchParameterException {
+        stubDelegate(page("Leather Wallet"));
+
+        // The backend gets the raw text, so differently spaced queries may match different products
+        searchService.searchProducts("leather  wallet", null, null, null, null, null, null, null,
+                0, 10, "price", "desc");
+        searchService.searchProducts(" leather wallet", null, null, null, null, null, null, null,
+                0, 10, "price", "desc");
+        searchService.searchProducts("leather wallet", null, null, null, null, null, null, null,
+                0, 10, "price", "desc");
+
+        verify(delegate, times(3)).searchProducts(any(), any(), any(), any(), any(), any(), any(), any(),
+                anyInt(), anyInt(), any(), any());
+    }
+
+    @Test
+    void searchProducts_shouldQueryBackendAgain_afterInvalidation() throws InvalidSearchParameterException {
+        stubDelegate(page("Leather Wallet"));
+
+        searchService.searchProducts(null, null, null, null, null, null, null, null, 0, 10, "createdAt", "desc");
+        searchResultCache.invalidateAll();
+        searchService.searchProducts(null, null, null, null, null, null, null, null, 0, 10, "createdAt", "desc");
+
+        verify(delegate, times(2)).searchProducts(any(), any(), any(), any(), any(), any(), any(), any(),
+                anyInt(), anyInt(), any(), any());
+    }
+
+    @Test
+    void searchProducts_shouldNotCacheRejectedParameters() throws InvalidSearchParameterException {
+        when(delegate.searchProducts(any(), any(), any(), any(), any(), any(), any(), any(),
+                anyInt(), anyInt(), any(), any()))
+                .thenThrow(new InvalidSearchParameterException("minPrice cannot be negative"));
+
+        assertThrows(InvalidSearchParameterException.class, () -> searchService.searchProducts(
+                null, -1.0, null, null, null, null, null, null, 0, 10, "createdAt", "desc"));
+        assertThrows(InvalidSearchParameterException.class, () -> searchService.searchProducts(
+                null, -1.0, null, null, null, null, null, null, 0, 10, "createdAt", "desc"));
+    }
+
+    @Test
+    void searchProducts_shouldCountHitsAndMissesPerShape() throws InvalidSearchParameterException {
+        stubDelegate(page("Leather Wallet"));
+
+        searchService.searchProducts(null, null, null, null, null, null, null, null, 0, 10, "createdAt", "desc");
+        searchService.searchProducts(null, null, null, null, null, null, null, null, 0, 10, "createdAt", "desc");
+        searchService.searchProducts("wallet", 10.0, null, null, null, "bags", null, null, 0, 10, "createdAt", "desc");
+
+        assertEquals(1.0, meterRegistry.get("search.cache.requests")
+                .tag("shape", "browse").tag("result", "hit").counter().count());
+        assertEquals(1.0, meterRegistry.get("search.cache.requests")
+                .tag("shape", "browse").tag("result", "miss").counter().count());
+        assertEquals(1.0, meterRegistry.get("search.cache.requests")
+                .tag("shape", "query+price+category").tag("result", "miss").counter().count());
+    }
+
+    @Test
+    void searchProducts_shouldKeepTotalAccuracyOfCachedPage() throws InvalidSearchParameterException {
+        Product product = page("Leather Wallet").getContent().get(0);
+        stubDelegate(new SearchResultsPage<>(List.of(product), PageRequest.of(0, 10), 500, TotalAccuracy.ESTIMATE));
+
+        searchService.searchProducts(null, null, null, null, null, null, null, null, 0, 10, "createdAt", "desc");
+        Page<Product> cached = searchService.searchProducts(null, null, null, null, null, null, null, null,
+                0, 10, "createdAt", "desc");
+
+        assertEquals(TotalAccuracy.ESTIMATE, SearchResultsPage.totalAccuracyOf(cached));
+        assertEquals(500, cached.getTotalElements());
+    }
+
+    @Test
+    void searchProductsWithFacets_shouldCacheFacetsApartFromPlainPage() throws InvalidSearchParameterException {
+        Product product = page("Leather Wallet").getContent().get(0);
+        SearchFacets facets = new SearchFacets(List.of(new FacetBucket("accessories", 1)), List.of(), List.of());
+        stubDelegate(page("Leather Wallet"));
+        when(delegate.searchProductsWithFacets(any(), any(), any(), any(), any(), any(), any(), any(),
+                anyInt(), anyInt(), any(), any())).thenReturn(new SearchResultsPage<>(List.of(product),
+                PageRequest.of(0, 10), 1, TotalAccuracy.EXACT, facets));
+
+        searchService.searchProducts("leather", null, null, null, null, null, null, null, 0, 10, "createdAt", "desc");
+        searchService.searchProductsWithFacets("leather", null, null, null, null, null, null, null,
+                0, 10, "createdAt", "desc");
+        Page<Product> cached = searchService.searchProductsWithFacets("leather", null, null, null, null, null, null,
+                null, 0, 10, "createdAt", "desc");
+
+        assertEquals(facets, SearchResultsPage.facetsOf(cached));
+        verify(delegate, times(1)).searchProductsWithFacets(any(), any(), any(), any(), any(), any(), any(), any(),
+                anyInt(), anyInt(), any(), any());
+    }
+
+    @Test
+    void searchBatch_shouldSendOnlyCacheMissesToDelegate() throws InvalidSearchParameterException {
+        stubDelegate(page("Leather Wallet"));
+        searchService.searchProducts("wallet", null, null, null, null, null, null, null, 0, 10, "createdAt", "desc");
+        SearchParameters cachedSearch = new SearchParameters("wallet", null, null, null, null, null, null, null,
+                0, 10, "createdAt", "desc");
+        SearchParameters newSearch = new SearchParameters("belt", null, null, null, null, null, null, null,
+                0, 10, "createdAt", "desc");
+        when(delegate.searchBatch(List.of(newSearch))).thenReturn(List.of(SearchBatchResult.of(page("Leather Belt"))));
+
+        List<SearchBatchResult> results = searchService.searchBatch(List.of(cachedSearch, newSearch));
+        Page<Product> belt = searchService.searchProducts("belt", null, null, null, null, null, null, null,
+                0, 10, "createdAt", "desc");
+
+        assertEquals("Leather Wallet", results.get(0).page().getContent().get(0).getName());
+        assertEquals("Leather Belt", results.get(1).page().getContent().get(0).getName());
+        assertEquals("Leather Belt", belt.getContent().get(0).getName());
+        verify(delegate).searchBatch(List.of(newSearch));
+    }
+
+    @Test
+    void searchBatch_shouldRejectOversizedBatch_evenWhenEverySearchIsCached() throws InvalidSearchParameterException {
+        stubDelegate(page("Leather Wallet"));
+        searchService.searchProducts("wallet", null, null, null, null, null, null, null, 0, 10, "createdAt", "desc");
+        SearchParameters cachedSearch = new SearchParameters("wallet", null, null, null, null, null, null, null,
+                0, 10, "createdAt", "desc");
+
+        InvalidSearchParameterException e = assertThrows(InvalidSearchParameterException.class,
+                () -> searchService.searchBatch(Collections.nCopies(21, cachedSearch)));
+
+        assertEquals("A batch cannot contain more than 20 searches", e.getMessage());
+        verify(delegate, never()).searchBatch(any());
+    }
+
+    @Test
+    void searchBatch_shouldRejectEmptyBatch() {
+        assertThrows(InvalidSearchParameterException.class, () -> searchService.searchBatch(List.of()));
+        verifyNoInteractions(delegate);
+    }
+
+    private void stubDelegate(Page<Product> page) throws InvalidSearchParameterException {
+        when(delegate.searchProducts(any(), any(), any(), any(), any(), any(), any(), any(),
+                anyInt(), anyInt(), any(), any())).thenReturn(page);
+    }
+
+    private static Page<Product> page(String name) {
+        Product product = new Product();
+        product.setId(UUID.randomUUID());
+        product.setName(name);
+        return new PageImpl<>(List.of(product), PageRequest.of(0, 10), 1);
+    }
+}
@@ -0,0 +1,94 @@
+package com.vibevault.productservice.services;
+
+import com.vibevault.productservice.models.Category;
+import com.vibevault.productservice.repositories.CategoryRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.Date;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class CategoryResolverTest {
+
+    @Mock
+    private CategoryRepository categoryRepository;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private CategoryResolver categoryResolver;
+    private AutoCloseable closeable;
+
+    @BeforeEach
+    void setUp() {
+        closeable = MockitoAnnotations.openMocks(this);
+        categoryResolver = new CategoryResolver(categoryRepository, transactionManager,
+                new SimpleMeterRegistry(), 100, 600);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        closeable.close();
+    }
+
+    @Test
+    void resolve_shouldSkipDatabase_onRepeatedLookups() {
+        Category stored = category("Electronics");
+        when(categoryRepository.findByName("Electronics")).thenReturn(Optional.of(stored));
+
+        categoryResolver.resolve("Electronics");
+        Category second = categoryResolver.resolve("electronics");
+
+        assertEquals(stored.getId(), second.getId());
+        assertEquals("Electronics", second.getName());
+        verify(categoryRepository, times(1)).findByName(anyString());
+        verify(categoryRepository, never()).insertIfAbsent(any(), anyString(), any());
+    }
+
+    @Test
+    void resolve_shouldUpsertInOwnTransaction_whenCategoryIsNew() {
+        Category stored = category("Garden");
+        when(categoryRepository.findByName("Garden"))
+                .thenReturn(Optional.empty())
+                .thenReturn(Optional.of(stored));
+
+        Category result = categoryResolver.resolve("Garden");
+
+        assertEquals(stored.getId(), result.getId());
+        verify(categoryRepository).insertIfAbsent(any(byte[].class), eq("Garden"), any(Date.class));
+        verify(transactionManager).getTransaction(any());
+        verify(transactionManager).commit(any());
+    }
+
+    @Test
+    void resolve_shouldReturnWinningRow_whenConcurrentInsertWonTheRace() {
+        // The insert is a no-op because another writer committed the row first
+        Category winner = category("Toys");
+        when(categoryRepository.findByName("Toys"))
+                .thenReturn(Optional.empty())
+                .thenReturn(Optional.of(winner));
+        when(categoryRepository.insertIfAbsent(any(), eq("Toys"), any())).thenReturn(0);
+
+        Category result = categoryResolver.resolve("Toys");
+
+        assertEquals(winner.getId(), result.getId());
+    }
+
+    private static Category category(String name) {
+        Category category = new Category();
+        category.setId(UUID.randomUUID());
+        category.setName(name);
+        return category;
+    }
+}
@@ -0,0 +1,137 @@
+package com.vibevault.productservice.services;
+
+import com.vibevault.productservice.models.ProductDocument;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.data.elasticsearch.core.RefreshPolicy;
+import org.springframework.data.elasticsearch.core.query.IndexQuery;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class ProductBulkIndexerTest {
+
+    @Mock
+    private ElasticsearchOperations elasticsearchOperations;
+    @Mock
+    private ElasticsearchOperations bulkOps;
+
+    private AutoCloseable closeable;
+
+    @BeforeEach
+    void setUp() {
+        closeable = MockitoAnnotations.openMocks(this);
+        when(elasticsearchOperations.withRefreshPolicy(RefreshPolicy.NONE)).thenReturn(bulkOps);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        closeable.close();
+    }
+
+    @Test
+    void add_shouldCoalesceRepeatedUpdatesToSameProduct() {
+        ProductBulkIndexer indexer = new ProductBulkIndexer(elasticsearchOperations, 100, Long.MAX_VALUE);
+
+        indexer.add(document("p1", "First", 1));
+        indexer.add(document("p1", "Second", 2));
+        indexer.add(document("p2", "Other", 1));
+        indexer.flush();
+
+        List<IndexQuery> sent = captureBulk(1).get(0);
+        assertEquals(2, sent.size());
+        ProductDocument p1 = (ProductDocument) sent.stream()
+                .filter(q -> "p1".equals(q.getId())).findFirst().orElseThrow().getObject();
+        assertEquals("Second", p1.getName());
+    }
+
+    @Test
+    void add_shouldKeepNewerVersion_whenOlderArrivesLate() {
+        ProductBulkIndexer indexer = new ProductBulkIndexer(elasticsearchOperations, 100, Long.MAX_VALUE);
+
+        indexer.add(document("p1", "Newer", 2));
+        indexer.add(document("p1", "Older", 1));
+        indexer.flush();
+
+        ProductDocument sent = (ProductDocument) captureBulk(1).get(0).get(0).getObject();
+        assertEquals("Newer", sent.getName());
+    }
+
+    @Test
+    void add_shouldFlush_whenMaxActionsReached() {
+        ProductBulkIndexer indexer = new ProductBulkIndexer(elasticsearchOperations, 2, Long.MAX_VALUE);
+
+        indexer.add(document("p1", "A", 1));
+        verify(bulkOps, never()).bulkIndex(anyList(), eq(ProductDocument.class));
+        indexer.add(document("p2", "B", 1));
+
+        assertEquals(2, captureBulk(1).get(0).size());
+        assertEquals(0, indexer.pendingCount());
+    }
+
+    @Test
+    void add_shouldFlush_whenMaxBytesReached() {
+        ProductBulkIndexer indexer = new ProductBulkIndexer(elasticsearchOperations, 100, 1);
+
+        indexer.add(document("p1", "A", 1));
+
+        assertEquals(1, captureBulk(1).get(0).size());
+    }
+
+    @Test
+    void flush_shouldDoNothing_whenBufferEmpty() {
+        ProductBulkIndexer indexer = new ProductBulkIndexer(elasticsearchOperations, 100, Long.MAX_VALUE);
+
+        indexer.flush();
+
+        verifyNoInteractions(bulkOps);
+    }
+
+    @Test
+    void flush_shouldRequeue_whenBulkFails() {
+        ProductBulkIndexer indexer = new ProductBulkIndexer(elasticsearchOperations, 100, Long.MAX_VALUE);
+        when(bulkOps.bulkIndex(anyList(), eq(ProductDocument.class))).thenThrow(new RuntimeException("ES down"));
+
+        indexer.add(document("p1", "A", 1));
+        indexer.flush();
+
+        assertEquals(1, indexer.pendingCount());
+    }
+
+    @Test
+    void discard_shouldDropBufferedUpdate() {
+        ProductBulkIndexer indexer = new ProductBulkIndexer(elasticsearchOperations, 100, Long.MAX_VALUE);
+
+        indexer.add(document("p1", "A", 1));
+        indexer.discard("p1");
+        indexer.flush();
+
+        assertEquals(0, indexer.pendingCount());
+        verify(bulkOps, never()).bulkIndex(anyList(), any(Class.class));
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<List<IndexQuery>> captureBulk(int times) {
+        ArgumentCaptor<List<IndexQuery>> captor = ArgumentCaptor.forClass(List.class);
+        verify(bulkOps, times(times)).bulkIndex(captor.capture(), eq(ProductDocument.class));
+        return captor.getAllValues();
+    }
+
+    private ProductDocument document(String id, String name, long version) {
+        return ProductDocument.builder()
+                .id(id)
+                .name(name)
+                .version(version)
+                .build();
+    }
+}
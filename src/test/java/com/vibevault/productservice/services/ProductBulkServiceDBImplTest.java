@@ -0,0 +1,279 @@
+package com.vibevault.productservice.services;
+
+import com.vibevault.productservice.events.ProductBatchChangedEvent;
+import com.vibevault.productservice.exceptions.products.InvalidBulkRequestException;
+import com.vibevault.productservice.models.Category;
+import com.vibevault.productservice.models.Currency;
+import com.vibevault.productservice.models.Price;
+import com.vibevault.productservice.models.Product;
+import com.vibevault.productservice.repositories.ProductRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+class ProductBulkServiceDBImplTest {
+
+    @Mock
+    private ProductRepository productRepository;
+    @Mock
+    private CategoryResolver categoryResolver;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private ProductBulkServiceDBImpl bulkService;
+    private AutoCloseable closeable;
+
+    @BeforeEach
+    void setUp() {
+        closeable = MockitoAnnotations.openMocks(this);
+        bulkService = new ProductBulkServiceDBImpl(productRepository, categoryResolver, eventPublisher,
+                transactionManager, 2, 10);
+        when(categoryResolver.resolve(any())).thenAnswer(i -> category(i.getArgument(0)));
+        when(productRepository.saveAll(anyList())).thenAnswer(i -> new ArrayList<>(i.<List<Product>>getArgument(0)));
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        closeable.close();
+    }
+
+    @Test
+    void createProducts_shouldResolveEachCategoryOnce_andWriteInChunks() throws InvalidBulkRequestException {
+        List<Product> products = List.of(
+                newProduct("iPhone 14", "Electronics"),
+                newProduct("Galaxy S23", "electronics"),
+                newProduct("Dune", "Books"),
+                newProduct("Pixel 8", "Electronics"),
+                newProduct("Foundation", null));
+
+        List<ProductBulkResult> results = bulkService.createProducts(products);
+
+        assertTrue(results.stream().allMatch(ProductBulkResult::isSucceeded));
+        assertEquals("Galaxy S23", results.get(1).product().getName());
+        assertEquals(products.get(0).getCategory().getId(), products.get(1).getCategory().getId());
+        assertNull(products.get(4).getCategory());
+        verify(categoryResolver, times(1)).resolve("Electronics");
+        verify(categoryResolver, times(1)).resolve("Books");
+        verify(productRepository, times(3)).saveAll(anyList());
+        verify(productRepository, never()).save(any());
+        verify(transactionManager, times(3)).commit(any());
+
+        ArgumentCaptor<ProductBatchChangedEvent> events = ArgumentCaptor.forClass(ProductBatchChangedEvent.class);
+        verify(eventPublisher, times(3)).publishEvent(events.capture());
+        assertEquals(List.of(2, 2, 1), events.getAllValues().stream().map(event -> event.getProducts().size()).toList());
+    }
+
+    @Test
+    void createProducts_shouldFailInvalidAndDuplicateItemsIndividually() throws InvalidBulkRequestException {
+        Product missingPrice = newProduct("Kindle", "Electronics");
+        missingPrice.setPrice(new Price(null, Currency.USD));
+        when(productRepository.findExistingNames(anyList())).thenReturn(List.of("IPHONE 14"));
+
+        List<ProductBulkResult> results = bulkService.createProducts(List.of(
+                newProduct("iPhone 14", "Electronics"),
+                missingPrice,
+                newProduct("Pixel 8", "Electronics"),
+                newProduct("pixel 8", "Electronics")));
+
+        assertEquals("A product named iPhone 14 already exists", results.get(0).error());
+        assertEquals("price is required", results.get(1).error());
+        assertTrue(results.get(2).isSucceeded());
+        assertEquals("A product named pixel 8 already exists", results.get(3).error());
+        verify(productRepository).saveAll(List.of(results.get(2).product()));
+    }
+
+    @Test
+    void createProducts_shouldRetryItemByItem_whenAChunkHitsTheUniqueConstraint() throws InvalidBulkRequestException {
+        List<List<Product>> attempts = new ArrayList<>();
+        when(productRepository.saveAll(anyList())).thenAnswer(i -> {
+            List<Product> chunk = i.getArgument(0);
+            attempts.add(chunk.stream().map(product -> {
+                Product seen = new Product();
+                seen.setName(product.getName());
+                seen.setId(product.getId());
+                seen.setVersion(product.getVersion());
+                return seen;
+            }).toList());
+            // Persisting assigns the id and version before the insert fails at flush
+            chunk.forEach(product -> {
+                product.setId(UUID.randomUUID());
+                product.setVersion(0L);
+            });
+            if (chunk.stream().anyMatch(product -> product.getName().equals("B"))) {
+                throw new DataIntegrityViolationException("Duplicate entry 'B'");
+            }
+            return new ArrayList<>(chunk);
+        });
+
+        List<ProductBulkResult> results = bulkService.createProducts(List.of(
+                newProduct("A", "Books"), newProduct("B", "Books"), newProduct("C", "Books")));
+
+        assertTrue(results.get(0).isSucceeded());
+        assertTrue(results.get(1).error().contains("Duplicate entry"));
+        assertTrue(results.get(2).isSucceeded());
+        assertEquals(List.of(List.of("A", "B"), List.of("A"), List.of("B"), List.of("C")),
+                attempts.stream().map(chunk -> chunk.stream().map(Product::getName).toList()).toList());
+        // The retry of A inserts afresh rather than merging the id left by the rolled-back chunk
+        assertNull(attempts.get(1).get(0).getId());
+        assertNull(attempts.get(1).get(0).getVersion());
+        verify(transactionManager, times(2)).rollback(any());
+        verify(eventPublisher, times(2)).publishEvent(any(ProductBatchChangedEvent.class));
+    }
+
+    @Test
+    void createProducts_shouldFailTheWholeChunk_whenTheDatabaseIsUnavailable() throws InvalidBulkRequestException {
+        when(productRepository.saveAll(anyList()))
+                .thenThrow(new QueryTimeoutException("Lock wait timeout exceeded"))
+                .thenAnswer(i -> new ArrayList<>(i.<List<Product>>getArgument(0)));
+
+        List<ProductBulkResult> results = bulkService.createProducts(List.of(
+                newProduct("A", "Books"), newProduct("B", "Books"), newProduct("C", "Books")));
+
+        assertTrue(results.get(0).error().contains("Lock wait timeout exceeded"));
+        assertFalse(results.get(1).isSucceeded());
+        assertTrue(results.get(2).isSucceeded());
+        verify(productRepository, times(2)).saveAll(anyList());
+        verify(transactionManager, times(1)).rollback(any());
+    }
+
+    @Test
+    void updateProducts_shouldApplyChangesAndReportUnknownProducts() throws InvalidBulkRequestException {
+        Product existing = newProduct("iPhone 14", "Electronics");
+        existing.setId(UUID.randomUUID());
+        Product deleted = newProduct("iPhone 13", "Electronics");
+        deleted.setId(UUID.randomUUID());
+        deleted.setDeleted(true);
+        when(productRepository.findAllByIdWithCategory(anyList())).thenReturn(List.of(existing, deleted));
+
+        Product priceChange = new Product();
+        priceChange.setPrice(new Price(599.0, null));
+        Product moveCategory = new Product();
+        moveCategory.setCategory(category("Phones"));
+
+        List<ProductBulkResult> results = bulkService.updateProducts(List.of(
+                new ProductUpdate(existing.getId().toString(), priceChange),
+                new ProductUpdate(deleted.getId().toString(), moveCategory),
+                new ProductUpdate("not-a-uuid", priceChange),
+                new ProductUpdate(existing.getId().toString(), moveCategory)));
+
+        assertTrue(results.get(0).isSucceeded());
+        assertEquals(599.0, existing.getPrice().getPrice());
+        assertEquals(Currency.USD, existing.getPrice().getCurrency());
+        assertEquals("Electronics", existing.getCategory().getName());
+        assertEquals("Product with id " + deleted.getId() + " not found", results.get(1).error());
+        assertEquals("Invalid product id: not-a-uuid", results.get(2).error());
+        assertTrue(results.get(3).error().contains("more than once"));
+        verify(productRepository).saveAll(List.of(existing));
+        verify(eventPublisher).publishEvent(any(ProductBatchChangedEvent.class));
+    }
+
+    @Test
+    void updateProducts_shouldRejectRenamesOntoTakenNames_butAllowReCasingOwnName() throws InvalidBulkRequestException {
+        Product cafe = existingProduct("Cafe Latte");
+        Product mocha = existingProduct("Mocha");
+        Product espresso = existingProduct("Espresso");
+        Product tea = existingProduct("Tea");
+        when(productRepository.findAllByIdWithCategory(anyList())).thenReturn(List.of(cafe, mocha, espresso, tea));
+        when(productRepository.findExistingNames(anyList())).thenReturn(List.of("Cafe Latte", "Mocha"));
+
+        List<ProductBulkResult> results = bulkService.updateProducts(List.of(
+                new ProductUpdate(cafe.getId().toString(), rename("CAFÉ LATTE")),
+                new ProductUpdate(mocha.getId().toString(), rename("café latte")),
+                new ProductUpdate(espresso.getId().toString(), rename("Flat White")),
+                new ProductUpdate(tea.getId().toString(), rename("flat white"))));
+
+        assertTrue(results.get(0).isSucceeded());
+        assertEquals("CAFÉ LATTE", cafe.getName());
+        assertEquals("A product named café latte already exists", results.get(1).error());
+        assertEquals("Mocha", mocha.getName());
+        assertTrue(results.get(2).isSucceeded());
+        assertEquals("A product named flat white already exists", results.get(3).error());
+        assertEquals("Tea", tea.getName());
+    }
+
+    @Test
+    void updateProducts_shouldRetryItemByItem_whenAChunkHitsTheUniqueConstraint() throws InvalidBulkRequestException {
+        Product first = existingProduct("Straße");
+        Product second = existingProduct("Road");
+        when(productRepository.findAllByIdWithCategory(anyList())).thenReturn(List.of(first, second));
+        when(productRepository.saveAll(anyList()))
+                .thenThrow(new DataIntegrityViolationException("Duplicate entry 'Strasse'"))
+                .thenThrow(new DataIntegrityViolationException("Duplicate entry 'Strasse'"))
+                .thenAnswer(i -> new ArrayList<>(i.<List<Product>>getArgument(0)));
+
+        List<ProductBulkResult> results = bulkService.updateProducts(List.of(
+                new ProductUpdate(first.getId().toString(), rename("Strasse")),
+                new ProductUpdate(second.getId().toString(), rename("Avenue"))));
+
+        assertTrue(results.get(0).error().contains("Duplicate entry"));
+        assertTrue(results.get(1).isSucceeded());
+        verify(productRepository, times(3)).saveAll(anyList());
+        verify(transactionManager, times(2)).rollback(any());
+        verify(eventPublisher, times(1)).publishEvent(any(ProductBatchChangedEvent.class));
+    }
+
+    @Test
+    void nameKey_shouldFoldCaseAndAccents() {
+        assertEquals(ProductBulkServiceDBImpl.nameKey("cafe"), ProductBulkServiceDBImpl.nameKey("CAFÉ"));
+        assertEquals(ProductBulkServiceDBImpl.nameKey("strasse"), ProductBulkServiceDBImpl.nameKey("Straße"));
+        assertNotEquals(ProductBulkServiceDBImpl.nameKey("a b"), ProductBulkServiceDBImpl.nameKey("ab"));
+    }
+
+    @Test
+    void createProducts_shouldRejectEmptyAndOversizedRequests() {
+        assertThrows(InvalidBulkRequestException.class, () -> bulkService.createProducts(List.of()));
+        assertThrows(InvalidBulkRequestException.class, () -> bulkService.createProducts(
+                Collections.nCopies(11, newProduct("A", null))));
+        verifyNoInteractions(productRepository);
+    }
+
+    private static Product newProduct(String name, String categoryName) {
+        Product product = new Product();
+        product.setName(name);
+        product.setPrice(new Price(10.0, Currency.USD));
+        if (categoryName != null) {
+            Category category = new Category();
+            category.setName(categoryName);
+            product.setCategory(category);
+        }
+        return product;
+    }
+
+    private static Product existingProduct(String name) {
+        Product product = newProduct(name, "Drinks");
+        product.setId(UUID.randomUUID());
+        return product;
+    }
+
+    private static Product rename(String name) {
+        Product changes = new Product();
+        changes.setName(name);
+        return changes;
+    }
+
+    private static Category category(String name) {
+        Category category = new Category();
+        category.setId(UUID.nameUUIDFromBytes(name.toLowerCase().getBytes()));
+        category.setName(name);
+        return category;
+    }
+}
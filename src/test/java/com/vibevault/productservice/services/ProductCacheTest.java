@@ -0,0 +1,123 @@
+package com.vibevault.productservice.services;
+
+import com.vibevault.productservice.models.Product;
+import com.vibevault.productservice.models.ProductSnapshot;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Date;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProductCacheTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private ProductCache productCache;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        productCache = new ProductCache(meterRegistry, 100, 60);
+    }
+
+    @Test
+    void put_shouldNotReplaceNewerSnapshotWithOlderOne() {
+        UUID id = UUID.randomUUID();
+        productCache.put(snapshot(id, "Updated", 2));
+        // A reader that loaded the row before the update committed arrives late
+        productCache.put(snapshot(id, "Original", 1));
+
+        assertEquals("Updated", productCache.get(id).orElseThrow().name());
+    }
+
+    @Test
+    void put_shouldReplaceOlderSnapshot() {
+        UUID id = UUID.randomUUID();
+        productCache.put(snapshot(id, "Original", 1));
+        productCache.put(snapshot(id, "Updated", 2));
+
+        assertEquals("Updated", productCache.get(id).orElseThrow().name());
+    }
+
+    @Test
+    void put_shouldOrderByRowVersion_whenWriterClocksDisagree() {
+        UUID id = UUID.randomUUID();
+        // The update was made on an instance whose clock runs a minute behind the original writer's
+        ProductSnapshot updated = snapshot(id, "Updated", 2, 1_700_000_000_000L);
+        ProductSnapshot original = snapshot(id, "Original", 1, 1_700_000_060_000L);
+
+        productCache.putCommitted(updated);
+        productCache.put(original);
+
+        assertEquals("Updated", productCache.get(id).orElseThrow().name());
+    }
+
+    @Test
+    void put_shouldNotReplaceCommittedSnapshot_onTie() {
+        UUID id = UUID.randomUUID();
+        productCache.putCommitted(snapshot(id, "Committed", 3));
+        productCache.put(snapshot(id, "Loaded", 3));
+
+        assertEquals("Committed", productCache.get(id).orElseThrow().name());
+    }
+
+    @Test
+    void putCommitted_shouldReplaceLoadedSnapshot_onTie() {
+        UUID id = UUID.randomUUID();
+        productCache.put(snapshot(id, "Loaded", 3));
+        productCache.putCommitted(snapshot(id, "Committed", 3));
+
+        assertEquals("Committed", productCache.get(id).orElseThrow().name());
+    }
+
+    @Test
+    void putCommitted_shouldNotReplaceNewerSnapshot() {
+        UUID id = UUID.randomUUID();
+        productCache.put(snapshot(id, "Loaded", 4));
+        productCache.putCommitted(snapshot(id, "Committed", 3));
+
+        assertEquals("Loaded", productCache.get(id).orElseThrow().name());
+    }
+
+    @Test
+    void get_shouldRecordHitsAndMisses() {
+        UUID id = UUID.randomUUID();
+        productCache.get(id);
+        productCache.put(snapshot(id, "Name", 1));
+        productCache.get(id);
+
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "products").tag("result", "hit")
+                .functionCounter().count());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "products").tag("result", "miss")
+                .functionCounter().count());
+    }
+
+    @Test
+    void snapshot_shouldBeIsolatedFromReturnedProducts() {
+        UUID id = UUID.randomUUID();
+        productCache.put(snapshot(id, "Name", 1, 1_000));
+
+        Product first = productCache.get(id).orElseThrow().toProduct();
+        first.setName("Mutated");
+        first.getLastModifiedAt().setTime(0);
+
+        ProductSnapshot cached = productCache.get(id).orElseThrow();
+        assertEquals("Name", cached.name());
+        assertEquals(1_000, cached.lastModifiedAt().getTime());
+    }
+
+    private static ProductSnapshot snapshot(UUID id, String name, long version) {
+        return snapshot(id, name, version, 1_700_000_000_000L);
+    }
+
+    private static ProductSnapshot snapshot(UUID id, String name, long version, long lastModifiedAt) {
+        Product product = new Product();
+        product.setId(id);
+        product.setName(name);
+        product.setVersion(version);
+        product.setLastModifiedAt(new Date(lastModifiedAt));
+        return ProductSnapshot.fromProduct(product);
+    }
+}
@@ -0,0 +1,106 @@
+package com.vibevault.productservice.services;
+
+import com.vibevault.productservice.models.Category;
+import com.vibevault.productservice.models.Currency;
+import com.vibevault.productservice.models.Price;
+import com.vibevault.productservice.models.Product;
+import com.vibevault.productservice.repositories.ProductRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class ProductExportServiceDBImplTest {
+
+    @Mock
+    private ProductRepository productRepository;
+    @Mock
+    private EntityManager entityManager;
+
+    private final JsonMapper jsonMapper = JsonMapper.builder().build();
+
+    private ProductExportServiceDBImpl exportService;
+
+    private AutoCloseable closeable;
+
+    @BeforeEach
+    void setUp() {
+        closeable = MockitoAnnotations.openMocks(this);
+        exportService = new ProductExportServiceDBImpl(productRepository, entityManager, jsonMapper);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        closeable.close();
+    }
+
+    @Test
+    void exportProducts_shouldWriteOneJsonObjectPerLine() throws IOException {
+        Product first = getSampleProduct("First");
+        Product second = getSampleProduct("Second");
+        when(productRepository.streamAllWithCategory()).thenReturn(Stream.of(first, second));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long count = exportService.exportProducts(out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, count);
+        assertEquals(2, lines.length);
+        JsonNode firstLine = jsonMapper.readTree(lines[0]);
+        assertEquals(first.getId().toString(), firstLine.get("id").asString());
+        assertEquals("First", firstLine.get("name").asString());
+        assertEquals("Cat", firstLine.get("categoryName").asString());
+        assertEquals("Second", jsonMapper.readTree(lines[1]).get("name").asString());
+    }
+
+    @Test
+    void exportProducts_shouldDetachEachRowAndCloseStream() throws IOException {
+        AtomicBoolean closed = new AtomicBoolean(false);
+        Stream<Product> products = Stream.of(getSampleProduct("A"), getSampleProduct("B"), getSampleProduct("C"))
+                .onClose(() -> closed.set(true));
+        when(productRepository.streamAllWithCategory()).thenReturn(products);
+
+        exportService.exportProducts(new ByteArrayOutputStream());
+
+        verify(entityManager, times(3)).detach(any(Product.class));
+        assertTrue(closed.get());
+    }
+
+    @Test
+    void exportProducts_shouldWriteNothing_whenCatalogEmpty() throws IOException {
+        when(productRepository.streamAllWithCategory()).thenReturn(Stream.empty());
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long count = exportService.exportProducts(out);
+
+        assertEquals(0, count);
+        assertEquals(0, out.size());
+    }
+
+    private Product getSampleProduct(String name) {
+        Category category = new Category();
+        category.setName("Cat");
+        Product product = new Product();
+        product.setId(UUID.randomUUID());
+        product.setName(name);
+        product.setDescription("Desc");
+        product.setPrice(new Price(10.0, Currency.USD));
+        product.setCategory(category);
+        return product;
+    }
+}
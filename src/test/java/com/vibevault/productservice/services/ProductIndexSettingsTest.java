@@ -0,0 +1,69 @@
+package com.vibevault.productservice.services;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProductIndexSettingsTest {
+
+    private JsonNode analysis;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        try (InputStream settings = getClass().getResourceAsStream("/elasticsearch/product-settings.json")) {
+            assertNotNull(settings);
+            analysis = JsonMapper.builder().build().readTree(settings).get("analysis");
+        }
+    }
+
+    @Test
+    void autocompleteSearch_shouldTruncateTermsToTheLongestIndexedGram() {
+        int maxGram = analysis.get("filter").get("autocomplete_edge_ngram").get("max_gram").asInt();
+
+        JsonNode truncate = searchFilterOfType("truncate");
+
+        assertNotNull(truncate, "autocomplete_search has no truncate filter");
+        assertEquals(maxGram, truncate.get("length").asInt());
+    }
+
+    @Test
+    void autocompleteSearch_shouldMatchWordsLongerThanMaxGram() {
+        int maxGram = analysis.get("filter").get("autocomplete_edge_ngram").get("max_gram").asInt();
+        JsonNode truncate = searchFilterOfType("truncate");
+        assertNotNull(truncate, "autocomplete_search has no truncate filter");
+        String word = "Donaudampfschifffahrtsgesellschaft";
+        assertTrue(word.length() > maxGram);
+
+        // Index side: edge n-grams of the lower-cased word, 1 to max_gram characters
+        String lowered = word.toLowerCase(Locale.ROOT);
+        List<String> indexed = new ArrayList<>();
+        for (int length = 1; length <= Math.min(maxGram, lowered.length()); length++) {
+            indexed.add(lowered.substring(0, length));
+        }
+        // Search side: the typed prefix, lower-cased and truncated
+        for (String typed : List.of(word, word.substring(0, maxGram + 3), word.substring(0, maxGram))) {
+            String term = typed.toLowerCase(Locale.ROOT);
+            term = term.substring(0, Math.min(term.length(), truncate.get("length").asInt()));
+
+            assertTrue(indexed.contains(term), "no indexed gram for " + typed);
+        }
+    }
+
+    private JsonNode searchFilterOfType(String type) {
+        for (JsonNode name : analysis.get("analyzer").get("autocomplete_search").get("filter")) {
+            JsonNode filter = analysis.get("filter").get(name.asString());
+            if (filter != null && type.equals(filter.get("type").asString())) {
+                return filter;
+            }
+        }
+        return null;
+    }
+}
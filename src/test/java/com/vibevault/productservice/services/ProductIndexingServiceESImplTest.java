@@ -0,0 +1,217 @@
+package com.vibevault.productservice.services;
+
+import com.vibevault.productservice.models.Product;
+import com.vibevault.productservice.models.ProductDocument;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.elasticsearch.BulkFailureException;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.data.elasticsearch.core.RefreshPolicy;
+import org.springframework.data.elasticsearch.core.mapping.IndexCoordinates;
+import org.springframework.data.elasticsearch.core.query.IndexQuery;
+
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class ProductIndexingServiceESImplTest {
+
+    private static final IndexCoordinates NEW_INDEX = IndexCoordinates.of("products_v3");
+
+    @Mock
+    private ElasticsearchOperations elasticsearchOperations;
+    @Mock
+    private ProductBulkIndexer productBulkIndexer;
+    @Mock
+    private ProductReindexer productReindexer;
+    @Mock
+    private ProductIndexManager productIndexManager;
+    @Mock
+    private ProductReindexLock productReindexLock;
+    @Mock
+    private ProductReindexLock.Lease lease;
+
+    private ProductIndexingServiceESImpl productIndexingService;
+    private SimpleMeterRegistry meterRegistry;
+    private AutoCloseable closeable;
+
+    @BeforeEach
+    void setUp() {
+        closeable = MockitoAnnotations.openMocks(this);
+        meterRegistry = new SimpleMeterRegistry();
+        productIndexingService = new ProductIndexingServiceESImpl(elasticsearchOperations, productBulkIndexer,
+                productReindexer, productIndexManager, new SearchStageMetrics(meterRegistry, "searchServiceESImpl"),
+                productReindexLock);
+        when(productIndexManager.createIndexForLoad()).thenReturn(NEW_INDEX);
+        when(productReindexLock.tryAcquire()).thenReturn(lease);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        closeable.close();
+    }
+
+    @Test
+    void reindexAll_shouldLoadNewIndexThenSwapAliasAndDropOldIndex() {
+        when(productReindexer.reindex(NEW_INDEX)).thenReturn(42L);
+        when(productIndexManager.swapAlias(NEW_INDEX)).thenReturn(List.of("products_v2"));
+
+        long indexed = productIndexingService.reindexAll();
+
+        assertEquals(42L, indexed);
+        InOrder inOrder = inOrder(productReindexer, productIndexManager);
+        inOrder.verify(productReindexer).reindex(NEW_INDEX);
+        inOrder.verify(productIndexManager).finishLoad(NEW_INDEX);
+        inOrder.verify(productReindexer).catchUp(any(Date.class), eq(NEW_INDEX));
+        inOrder.verify(productIndexManager).swapAlias(NEW_INDEX);
+        inOrder.verify(productReindexer).catchUp(any(Date.class), eq(NEW_INDEX));
+        inOrder.verify(productIndexManager).deleteIndex("products_v2");
+    }
+
+    @Test
+    void reindexAll_shouldTimeEachPhase() {
+        when(productReindexer.reindex(NEW_INDEX)).thenReturn(42L);
+        when(productIndexManager.swapAlias(NEW_INDEX)).thenReturn(List.of());
+
+        productIndexingService.reindexAll();
+
+        for (String stage : List.of("load", "catch-up", "swap")) {
+            assertEquals(1, meterRegistry.get("indexing.stage").tag("stage", stage).tag("documents", "11-100")
+                    .timer().count(), stage);
+        }
+    }
+
+    @Test
+    void reindexAll_shouldDropNewIndexAndKeepAlias_whenLoadFails() {
+        when(productReindexer.reindex(NEW_INDEX)).thenThrow(new IllegalStateException("bulk failed"));
+
+        assertThrows(IllegalStateException.class, () -> productIndexingService.reindexAll());
+
+        verify(productIndexManager, never()).swapAlias(any());
+        verify(productIndexManager).deleteIndex("products_v3");
+    }
+
+    @Test
+    void reindexAll_shouldReleaseLock_afterFailure() {
+        when(productReindexer.reindex(NEW_INDEX))
+                .thenThrow(new IllegalStateException("bulk failed"))
+                .thenReturn(5L);
+        when(productIndexManager.swapAlias(NEW_INDEX)).thenReturn(List.of());
+
+        assertThrows(IllegalStateException.class, () -> productIndexingService.reindexAll());
+        verify(lease).close();
+
+        assertEquals(5L, productIndexingService.reindexAll());
+        verify(lease, times(2)).close();
+    }
+
+    @Test
+    void reindexAll_shouldRefuse_whenAnotherInstanceHoldsTheLock() {
+        when(productReindexLock.tryAcquire()).thenReturn(null);
+
+        assertThrows(IllegalStateException.class, () -> productIndexingService.reindexAll());
+
+        verifyNoInteractions(productReindexer);
+        verify(productIndexManager, never()).createIndexForLoad();
+    }
+
+    @Test
+    void indexProducts_shouldKeepNewerDocument_whenInterleavedBatchesLandOutOfOrder() {
+        Map<String, ProductDocument> index = versionedIndex();
+        UUID id = UUID.randomUUID();
+        // Two outbox batches read the same product before and after an update...
+        Product older = product(id, "Kindle", 1L);
+        Product newer = product(id, "Kindle Paperwhite", 2L);
+
+        // ...and the batch holding the newer snapshot finishes first
+        productIndexingService.indexProducts(List.of(newer));
+        assertDoesNotThrow(() -> productIndexingService.indexProducts(List.of(older)));
+
+        assertEquals("Kindle Paperwhite", index.get(id.toString()).getName());
+    }
+
+    @Test
+    void indexProducts_shouldReplaceDocument_whenSnapshotIsNewer() {
+        Map<String, ProductDocument> index = versionedIndex();
+        UUID id = UUID.randomUUID();
+
+        productIndexingService.indexProducts(List.of(product(id, "Kindle", 1L)));
+        productIndexingService.indexProducts(List.of(product(id, "Kindle Paperwhite", 2L)));
+
+        assertEquals("Kindle Paperwhite", index.get(id.toString()).getName());
+    }
+
+    @Test
+    void indexProducts_shouldOrderByRowVersion_whenWriterClocksDisagree() {
+        Map<String, ProductDocument> index = versionedIndex();
+        UUID id = UUID.randomUUID();
+        // The first write came from an instance whose clock runs a minute fast
+        Product older = product(id, "Kindle", 1L);
+        older.setLastModifiedAt(new Date(1_700_000_060_000L));
+        Product newer = product(id, "Kindle Paperwhite", 2L);
+        newer.setLastModifiedAt(new Date(1_700_000_001_000L));
+
+        productIndexingService.indexProducts(List.of(older));
+        productIndexingService.indexProducts(List.of(newer));
+
+        assertEquals("Kindle Paperwhite", index.get(id.toString()).getName());
+    }
+
+    @Test
+    void indexProducts_shouldThrow_whenFailureIsNotAVersionConflict() {
+        when(elasticsearchOperations.withRefreshPolicy(RefreshPolicy.NONE)).thenReturn(elasticsearchOperations);
+        when(elasticsearchOperations.bulkIndex(anyList(), eq(ProductDocument.class)))
+                .thenThrow(new BulkFailureException("Bulk operation has failures",
+                        Map.of("1", new BulkFailureException.FailureDetails(429, "es_rejected_execution_exception"))));
+
+        assertThrows(BulkFailureException.class, () -> productIndexingService.indexProducts(
+                List.of(product(UUID.randomUUID(), "Kindle", 1L))));
+    }
+
+    // Stands in for an index with external_gte versioning: a write with a lower version than the
+    // stored document fails with 409 and leaves it in place
+    private Map<String, ProductDocument> versionedIndex() {
+        Map<String, ProductDocument> documents = new HashMap<>();
+        Map<String, Long> versions = new HashMap<>();
+        when(elasticsearchOperations.withRefreshPolicy(RefreshPolicy.NONE)).thenReturn(elasticsearchOperations);
+        when(elasticsearchOperations.bulkIndex(anyList(), eq(ProductDocument.class))).thenAnswer(invocation -> {
+            List<IndexQuery> queries = invocation.getArgument(0);
+            Map<String, BulkFailureException.FailureDetails> failed = new HashMap<>();
+            for (IndexQuery query : queries) {
+                Long current = versions.get(query.getId());
+                if (current != null && query.getVersion() < current) {
+                    failed.put(query.getId(), new BulkFailureException.FailureDetails(409, "version_conflict_engine_exception"));
+                } else {
+                    versions.put(query.getId(), query.getVersion());
+                    documents.put(query.getId(), (ProductDocument) query.getObject());
+                }
+            }
+            if (!failed.isEmpty()) {
+                throw new BulkFailureException("Bulk operation has failures", failed);
+            }
+            return List.of();
+        });
+        return documents;
+    }
+
+    private static Product product(UUID id, String name, long version) {
+        Product product = new Product();
+        product.setId(id);
+        product.setName(name);
+        product.setVersion(version);
+        return product;
+    }
+}
@@ -0,0 +1,131 @@
+package com.vibevault.productservice.services;
+
+import com.vibevault.productservice.events.ProductChangedEvent;
+import com.vibevault.productservice.models.Product;
+import com.vibevault.productservice.models.ProductOutboxEntry;
+import com.vibevault.productservice.repositories.ProductOutboxRepository;
+import com.vibevault.productservice.repositories.ProductRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+class ProductOutboxPollerTest {
+
+    @Mock
+    private ProductOutboxRepository productOutboxRepository;
+    @Mock
+    private ProductRepository productRepository;
+    @Mock
+    private ProductIndexingService productIndexingService;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private SimpleMeterRegistry meterRegistry;
+    private ProductOutboxPoller poller;
+    private AutoCloseable closeable;
+
+    @BeforeEach
+    void setUp() {
+        closeable = MockitoAnnotations.openMocks(this);
+        meterRegistry = new SimpleMeterRegistry();
+        poller = new ProductOutboxPoller(productOutboxRepository, productRepository, productIndexingService,
+                transactionManager, meterRegistry, 2, 5);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        closeable.close();
+    }
+
+    @Test
+    void shipBatch_shouldIndexCurrentStateOncePerProductAndDeleteRows() {
+        UUID id = UUID.randomUUID();
+        List<ProductOutboxEntry> batch = List.of(
+                entry(1L, id, ProductChangedEvent.ActionType.CREATED),
+                entry(2L, id, ProductChangedEvent.ActionType.UPDATED));
+        Product product = new Product();
+        product.setId(id);
+        when(productOutboxRepository.claimBatch(2)).thenReturn(batch);
+        when(productRepository.findAllByIdWithCategory(List.of(id))).thenReturn(List.of(product));
+
+        int shipped = poller.shipBatch();
+
+        assertEquals(2, shipped);
+        verify(productIndexingService).indexProducts(List.of(product));
+        verify(productIndexingService, never()).deleteFromIndex(any());
+        verify(productOutboxRepository).deleteAllInBatch(batch);
+        verify(transactionManager).commit(any());
+        assertEquals(2.0, meterRegistry.counter("indexing.outbox.shipped").count());
+    }
+
+    @Test
+    void shipBatch_shouldRemoveDocument_whenProductNoLongerExists() {
+        UUID id = UUID.randomUUID();
+        List<ProductOutboxEntry> batch = List.of(entry(1L, id, ProductChangedEvent.ActionType.DELETED));
+        when(productOutboxRepository.claimBatch(2)).thenReturn(batch);
+        when(productRepository.findAllByIdWithCategory(List.of(id))).thenReturn(List.of());
+
+        poller.shipBatch();
+
+        verify(productIndexingService).deleteFromIndex(id.toString());
+        verify(productOutboxRepository).deleteAllInBatch(batch);
+    }
+
+    @Test
+    void poll_shouldRollBackAndKeepRows_whenBulkIndexFails() {
+        UUID id = UUID.randomUUID();
+        Product product = new Product();
+        product.setId(id);
+        when(productOutboxRepository.claimBatch(2))
+                .thenReturn(List.of(entry(1L, id, ProductChangedEvent.ActionType.UPDATED)));
+        when(productRepository.findAllByIdWithCategory(anyList())).thenReturn(List.of(product));
+        doThrow(new RuntimeException("cluster unavailable"))
+                .when(productIndexingService).indexProducts(anyList());
+
+        assertDoesNotThrow(() -> poller.poll());
+
+        verify(productOutboxRepository, never()).deleteAllInBatch(anyList());
+        verify(transactionManager).rollback(any());
+        assertEquals(1.0, meterRegistry.counter("indexing.outbox.failures").count());
+    }
+
+    @Test
+    void poll_shouldKeepDraining_whileBatchesAreFull() {
+        when(productOutboxRepository.claimBatch(anyInt()))
+                .thenReturn(List.of(entry(1L, UUID.randomUUID(), ProductChangedEvent.ActionType.CREATED),
+                        entry(2L, UUID.randomUUID(), ProductChangedEvent.ActionType.CREATED)))
+                .thenReturn(List.of(entry(3L, UUID.randomUUID(), ProductChangedEvent.ActionType.CREATED)));
+        when(productRepository.findAllByIdWithCategory(anyList())).thenReturn(List.of());
+
+        poller.poll();
+
+        verify(productOutboxRepository, times(2)).claimBatch(2);
+        ArgumentCaptor<List<ProductOutboxEntry>> deleted = ArgumentCaptor.forClass(List.class);
+        verify(productOutboxRepository, times(2)).deleteAllInBatch(deleted.capture());
+        assertEquals(3, deleted.getAllValues().stream().mapToInt(List::size).sum());
+    }
+
+    private static ProductOutboxEntry entry(Long id, UUID productId, ProductChangedEvent.ActionType actionType) {
+        ProductOutboxEntry entry = new ProductOutboxEntry();
+        entry.setId(id);
+        entry.setProductId(productId);
+        entry.setActionType(actionType);
+        entry.setCreatedAt(new Date());
+        return entry;
+    }
+}
@@ -0,0 +1,95 @@
+package com.vibevault.productservice.services;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.concurrent.Executor;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class ProductReindexLockTest {
+
+    @Mock
+    private DataSource dataSource;
+    @Mock
+    private Connection connection;
+    @Mock
+    private PreparedStatement getLock;
+    @Mock
+    private PreparedStatement releaseLock;
+    @Mock
+    private ResultSet getLockResult;
+    @Mock
+    private ResultSet releaseLockResult;
+
+    private ProductReindexLock reindexLock;
+    private AutoCloseable closeable;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        closeable = MockitoAnnotations.openMocks(this);
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.prepareStatement("SELECT GET_LOCK(?, 0)")).thenReturn(getLock);
+        when(connection.prepareStatement("SELECT RELEASE_LOCK(?)")).thenReturn(releaseLock);
+        when(getLock.executeQuery()).thenReturn(getLockResult);
+        when(releaseLock.executeQuery()).thenReturn(releaseLockResult);
+        when(getLockResult.next()).thenReturn(true);
+        when(releaseLockResult.next()).thenReturn(true);
+        when(releaseLockResult.getInt(1)).thenReturn(1);
+        reindexLock = new ProductReindexLock(dataSource);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        closeable.close();
+    }
+
+    @Test
+    void tryAcquire_shouldHoldConnectionUntilLeaseIsClosed() throws SQLException {
+        when(getLockResult.getInt(1)).thenReturn(1);
+
+        ProductReindexLock.Lease lease = reindexLock.tryAcquire();
+
+        assertNotNull(lease);
+        verify(getLock).setString(1, ProductReindexLock.LOCK_NAME);
+        verify(connection, never()).close();
+
+        lease.close();
+
+        verify(releaseLock).setString(1, ProductReindexLock.LOCK_NAME);
+        verify(connection).close();
+    }
+
+    @Test
+    void tryAcquire_shouldReturnNullAndReturnConnection_whenLockIsHeldElsewhere() throws SQLException {
+        when(getLockResult.getInt(1)).thenReturn(0);
+
+        assertNull(reindexLock.tryAcquire());
+
+        verify(connection).close();
+        verify(connection, never()).prepareStatement("SELECT RELEASE_LOCK(?)");
+    }
+
+    @Test
+    void close_shouldDropConnection_whenReleaseFails() throws SQLException {
+        when(getLockResult.getInt(1)).thenReturn(1);
+        when(releaseLock.executeQuery()).thenThrow(new SQLException("connection lost"));
+
+        ProductReindexLock.Lease lease = reindexLock.tryAcquire();
+        lease.close();
+
+        // Returning it to the pool could leave the lock held by an idle session
+        verify(connection).abort(any(Executor.class));
+        verify(connection, never()).close();
+    }
+}
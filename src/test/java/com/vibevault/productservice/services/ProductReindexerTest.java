@@ -0,0 +1,205 @@
+package com.vibevault.productservice.services;
+
+import com.vibevault.productservice.models.Product;
+import com.vibevault.productservice.repositories.ProductRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.data.elasticsearch.core.RefreshPolicy;
+import org.springframework.data.elasticsearch.core.mapping.IndexCoordinates;
+import org.springframework.data.elasticsearch.core.query.IndexQuery;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class ProductReindexerTest {
+
+    private static final IndexCoordinates INDEX = IndexCoordinates.of("products");
+    private static final UUID MIN_ID = UUID.fromString("00000000-0000-4000-8000-000000000000");
+    private static final UUID MAX_ID = UUID.fromString("ffffffff-ffff-4fff-bfff-ffffffffffff");
+
+    @Mock
+    private ProductRepository productRepository;
+    @Mock
+    private ElasticsearchOperations elasticsearchOperations;
+    @Mock
+    private ElasticsearchOperations bulkOps;
+
+    private AutoCloseable closeable;
+
+    @BeforeEach
+    void setUp() {
+        closeable = MockitoAnnotations.openMocks(this);
+        when(elasticsearchOperations.withRefreshPolicy(RefreshPolicy.NONE)).thenReturn(bulkOps);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        closeable.close();
+    }
+
+    @Test
+    void reindex_shouldReturnZero_whenCatalogIsEmpty() {
+        ProductReindexer reindexer = new ProductReindexer(productRepository, elasticsearchOperations, 2, 4, 10);
+
+        assertEquals(0, reindexer.reindex(INDEX));
+        verifyNoInteractions(bulkOps);
+    }
+
+    @Test
+    void reindex_shouldScanEachPartitionWithKeysetBatches() {
+        Product a = product("10000000-0000-4000-8000-000000000000");
+        Product b = product("20000000-0000-4000-8000-000000000000");
+        Product c = product("30000000-0000-4000-8000-000000000000");
+        when(productRepository.findMinId()).thenReturn(MIN_ID);
+        when(productRepository.findMaxId()).thenReturn(MAX_ID);
+        when(productRepository.count()).thenReturn(3L);
+        when(productRepository.findIdsInKeyOrder(PageRequest.of(1, 1))).thenReturn(List.of(b.getId()));
+        // The first partition holds one product; the second holds two and is read in batches of two
+        when(productRepository.findRangeWithCategory(eq(MIN_ID), any(), any(Pageable.class)))
+                .thenReturn(List.of(a));
+        when(productRepository.findRangeWithCategory(eq(b.getId()), any(), any(Pageable.class)))
+                .thenReturn(List.of(b, c));
+
+        ProductReindexer reindexer = new ProductReindexer(productRepository, elasticsearchOperations, 2, 2, 2);
+        long indexed = reindexer.reindex(INDEX);
+
+        assertEquals(3, indexed);
+        verify(productRepository).findRangeWithCategory(eq(MIN_ID),
+                eq(UUID.fromString("20000000-0000-4000-7fff-ffffffffffff")), any(Pageable.class));
+        verify(productRepository).findRangeWithCategory(eq(b.getId()), eq(MAX_ID), any(Pageable.class));
+        verify(productRepository, times(1)).findRangeWithCategoryAfter(eq(c.getId()), eq(MAX_ID), any(Pageable.class));
+        ArgumentCaptor<List<IndexQuery>> bulks = ArgumentCaptor.forClass(List.class);
+        verify(bulkOps, times(2)).bulkIndex(bulks.capture(), eq(INDEX));
+        assertEquals(3, bulks.getAllValues().stream().mapToInt(List::size).sum());
+    }
+
+    @Test
+    void reindex_shouldSplitAtRowQuantiles_whenIdsAreTimeOrdered() {
+        // v7 ids created within a few milliseconds share their leading bytes
+        UUID min = UUID.fromString("019a0000-0000-7000-8000-000000000000");
+        UUID max = UUID.fromString("019a0000-0009-7fff-bfff-ffffffffffff");
+        UUID q1 = UUID.fromString("019a0000-0002-7000-8000-000000000000");
+        UUID q2 = UUID.fromString("019a0000-0004-7000-8000-000000000000");
+        UUID q3 = UUID.fromString("019a0000-0007-7000-8000-000000000000");
+        when(productRepository.findMinId()).thenReturn(min);
+        when(productRepository.findMaxId()).thenReturn(max);
+        when(productRepository.count()).thenReturn(1000L);
+        when(productRepository.findIdsInKeyOrder(PageRequest.of(250, 1))).thenReturn(List.of(q1));
+        when(productRepository.findIdsInKeyOrder(PageRequest.of(500, 1))).thenReturn(List.of(q2));
+        when(productRepository.findIdsInKeyOrder(PageRequest.of(750, 1))).thenReturn(List.of(q3));
+
+        ProductReindexer reindexer = new ProductReindexer(productRepository, elasticsearchOperations, 2, 4, 10);
+        reindexer.reindex(INDEX);
+
+        for (UUID from : List.of(min, q1, q2, q3)) {
+            verify(productRepository).findRangeWithCategory(eq(from), any(), any(Pageable.class));
+        }
+        verify(productRepository, times(4)).findRangeWithCategory(any(), any(), any(Pageable.class));
+    }
+
+    @Test
+    void reindex_shouldFail_whenABulkRequestFails() {
+        when(productRepository.findMinId()).thenReturn(MIN_ID);
+        when(productRepository.findMaxId()).thenReturn(MIN_ID);
+        when(productRepository.findRangeWithCategory(any(), any(), any(Pageable.class)))
+                .thenReturn(List.of(product(MIN_ID.toString())));
+        when(bulkOps.bulkIndex(anyList(), eq(INDEX))).thenThrow(new RuntimeException("cluster unavailable"));
+
+        ProductReindexer reindexer = new ProductReindexer(productRepository, elasticsearchOperations, 2, 4, 10);
+
+        assertThrows(IllegalStateException.class, () -> reindexer.reindex(INDEX));
+    }
+
+    @Test
+    void reindex_shouldAbortOtherPartitions_whenOnePartitionFails() {
+        when(productRepository.findMinId()).thenReturn(MIN_ID);
+        when(productRepository.findMaxId()).thenReturn(MAX_ID);
+        when(productRepository.count()).thenReturn(2L);
+        when(productRepository.findIdsInKeyOrder(PageRequest.of(1, 1)))
+                .thenReturn(List.of(UUID.fromString("80000000-0000-4000-8000-000000000000")));
+        CountDownLatch secondStarted = new CountDownLatch(1);
+        CountDownLatch never = new CountDownLatch(1);
+        AtomicBoolean interrupted = new AtomicBoolean();
+        RuntimeException failure = new RuntimeException("connection reset");
+        // The first partition fails once the second is running; the second would read forever
+        when(productRepository.findRangeWithCategory(any(), any(), any(Pageable.class))).thenAnswer(invocation -> {
+            if (MIN_ID.equals(invocation.getArgument(0))) {
+                secondStarted.await();
+                throw failure;
+            }
+            secondStarted.countDown();
+            try {
+                never.await();
+            } catch (InterruptedException e) {
+                interrupted.set(true);
+                throw e;
+            }
+            return List.of();
+        });
+
+        ProductReindexer reindexer = new ProductReindexer(productRepository, elasticsearchOperations, 2, 2, 10);
+
+        IllegalStateException thrown = assertTimeoutPreemptively(Duration.ofSeconds(10),
+                () -> assertThrows(IllegalStateException.class, () -> reindexer.reindex(INDEX)));
+        assertSame(failure, thrown.getCause());
+        assertTrue(interrupted.get());
+    }
+
+    @Test
+    void catchUp_shouldReadModifiedProductsInKeysetBatches() {
+        Date since = new Date(1_700_000_000_000L);
+        Product a = product("10000000-0000-4000-8000-000000000000");
+        Product b = product("20000000-0000-4000-8000-000000000000");
+        Product c = product("30000000-0000-4000-8000-000000000000");
+        a.setLastModifiedAt(new Date(1_700_000_000_100L));
+        b.setLastModifiedAt(new Date(1_700_000_000_200L));
+        c.setLastModifiedAt(new Date(1_700_000_000_200L));
+        when(productRepository.findModifiedSinceWithCategory(eq(since), any(Pageable.class)))
+                .thenReturn(List.of(a, b));
+        when(productRepository.findModifiedAfterWithCategory(eq(b.getLastModifiedAt()), eq(b.getId()), any(Pageable.class)))
+                .thenReturn(List.of(c));
+
+        ProductReindexer reindexer = new ProductReindexer(productRepository, elasticsearchOperations, 2, 2, 2);
+
+        assertEquals(3, reindexer.catchUp(since, INDEX));
+        verify(productRepository, times(1)).findModifiedAfterWithCategory(any(), any(), any(Pageable.class));
+        ArgumentCaptor<List<IndexQuery>> bulks = ArgumentCaptor.forClass(List.class);
+        verify(bulkOps, times(2)).bulkIndex(bulks.capture(), eq(INDEX));
+        assertEquals(List.of(2, 1), bulks.getAllValues().stream().map(List::size).toList());
+    }
+
+    @Test
+    void rootCause_shouldUnwrapNestedCompletionAndExecutionExceptions() {
+        RuntimeException failure = new RuntimeException("bulk failed");
+
+        assertSame(failure, ProductReindexer.rootCause(
+                new CompletionException(new ExecutionException(new CompletionException(failure)))));
+        assertSame(failure, ProductReindexer.rootCause(failure));
+    }
+
+    private static Product product(String id) {
+        Product product = new Product();
+        product.setId(UUID.fromString(id));
+        product.setName("Product " + id);
+        return product;
+    }
+}
@@ -1,19 +1,25 @@
 package com.vibevault.productservice.services;
 
-
+import com.vibevault.productservice.commons.CursorCodec;
+import com.vibevault.productservice.configurations.ReplicaReads;
+import com.vibevault.productservice.exceptions.products.InvalidCursorException;
 import com.vibevault.productservice.exceptions.products.ProductNotCreatedException;
 import com.vibevault.productservice.exceptions.products.ProductNotDeletedException;
 import com.vibevault.productservice.exceptions.products.ProductNotFoundException;
 import com.vibevault.productservice.models.Category;
 import com.vibevault.productservice.models.Price;
 import com.vibevault.productservice.models.Product;
-import com.vibevault.productservice.repositories.CategoryRepository;
+import com.vibevault.productservice.models.ProductSnapshot;
 import com.vibevault.productservice.repositories.ProductRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.*;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 
 import java.util.*;
 
@@ -25,9 +31,11 @@ class ProductServiceDBImplTest {
     @Mock
     private ProductRepository productRepository;
     @Mock
-    private CategoryRepository categoryRepository;
+    private CategoryResolver categoryResolver;
     @Mock
     private ApplicationEventPublisher eventPublisher;
+    @Mock
+    private ProductCache productCache;
 
     @InjectMocks
     private ProductServiceDBImpl productService;
@@ -45,7 +53,7 @@ class ProductServiceDBImplTest {
         Category category = getSampleCategory();
         product.setCategory(category);
 
-        when(categoryRepository.findByName(category.getName())).thenReturn(Optional.of(category));
+        when(categoryResolver.resolve(category.getName())).thenReturn(category);
         when(productRepository.save(any(Product.class))).thenAnswer(i -> i.getArgument(0));
 
         Product saved = productService.createProduct(product);
@@ -55,20 +63,16 @@ class ProductServiceDBImplTest {
     }
 
     @Test
-    void createProduct_shouldSaveProductWithNewCategory() throws ProductNotCreatedException {
+    void createProduct_shouldNotResolveCategory_whenNoneGiven() throws ProductNotCreatedException {
         Product product = getSampleProduct();
-        Category category = getSampleCategory();
-        product.setCategory(category);
+        product.setCategory(null);
 
-        when(categoryRepository.findByName(category.getName())).thenReturn(Optional.empty());
-        when(categoryRepository.save(category)).thenReturn(category);
         when(productRepository.save(any(Product.class))).thenAnswer(i -> i.getArgument(0));
 
         Product saved = productService.createProduct(product);
 
-        assertEquals(category, saved.getCategory());
-        verify(categoryRepository).save(category);
-        verify(productRepository).save(product);
+        assertNull(saved.getCategory());
+        verifyNoInteractions(categoryResolver);
     }
 
     @Test
@@ -86,7 +90,7 @@ class ProductServiceDBImplTest {
         update.setCategory(newCategory);
 
         when(productRepository.findById(id)).thenReturn(Optional.of(existing));
-        when(categoryRepository.findByName("NewCat")).thenReturn(Optional.of(newCategory));
+        when(categoryResolver.resolve("NewCat")).thenReturn(newCategory);
         when(productRepository.save(any(Product.class))).thenAnswer(i -> i.getArgument(0));
 
         Product result = productService.updateProduct(id.toString(), update);
@@ -147,6 +151,66 @@ class ProductServiceDBImplTest {
         assertEquals(product, result);
     }
 
+    @Test
+    void getProductById_shouldCacheLoadedProduct() throws ProductNotFoundException {
+        UUID id = UUID.randomUUID();
+        Product product = getSampleProduct();
+        product.setId(id);
+        when(productCache.get(id)).thenReturn(Optional.empty());
+        when(productRepository.findById(id)).thenReturn(Optional.of(product));
+
+        productService.getProductById(id.toString());
+
+        ArgumentCaptor<ProductSnapshot> cached = ArgumentCaptor.forClass(ProductSnapshot.class);
+        verify(productCache).put(cached.capture());
+        assertEquals(id, cached.getValue().id());
+        assertEquals(product.getName(), cached.getValue().name());
+    }
+
+    @Test
+    void getProductById_shouldLoadFromThePrimary_notAReadReplica() throws ProductNotFoundException {
+        UUID id = UUID.randomUUID();
+        Product product = getSampleProduct();
+        product.setId(id);
+        when(productCache.get(id)).thenReturn(Optional.empty());
+        List<Boolean> replicaAllowed = new ArrayList<>();
+        when(productRepository.findById(id)).thenAnswer(i -> {
+            replicaAllowed.add(ReplicaReads.isAllowed());
+            return Optional.of(product);
+        });
+
+        productService.getProductById(id.toString());
+
+        // The loaded row also fills the product cache, so it must not come from a lagging replica
+        assertEquals(List.of(false), replicaAllowed);
+    }
+
+    @Test
+    void getProductById_shouldServeFromCacheWithoutQueryingDatabase() throws ProductNotFoundException {
+        UUID id = UUID.randomUUID();
+        Product product = getSampleProduct();
+        product.setId(id);
+        when(productCache.get(id)).thenReturn(Optional.of(ProductSnapshot.fromProduct(product)));
+
+        Product result = productService.getProductById(id.toString());
+
+        assertEquals(id, result.getId());
+        assertEquals(product.getName(), result.getName());
+        verify(productRepository, never()).findById(any());
+    }
+
+    @Test
+    void getProductById_shouldThrowIfCachedAsDeleted() {
+        UUID id = UUID.randomUUID();
+        Product deleted = getSampleProduct();
+        deleted.setId(id);
+        deleted.setDeleted(true);
+        when(productCache.get(id)).thenReturn(Optional.of(ProductSnapshot.fromProduct(deleted)));
+
+        assertThrows(ProductNotFoundException.class, () -> productService.getProductById(id.toString()));
+        verify(productRepository, never()).findById(any());
+    }
+
     @Test
     void getProductById_shouldThrowIfNotFound() {
         UUID id = UUID.randomUUID();
@@ -174,6 +238,47 @@ class ProductServiceDBImplTest {
         assertEquals(products, result);
     }
 
+    @Test
+    void getProductPage_shouldReadFirstPage_whenNoCursor() throws InvalidCursorException {
+        Slice<Product> slice = new SliceImpl<>(List.of(getSampleProduct()), PageRequest.of(0, 20), false);
+        when(productRepository.findFirstPageWithCategory(any(Pageable.class))).thenReturn(slice);
+
+        Slice<Product> result = productService.getProductPage(null, 20);
+
+        assertEquals(slice, result);
+        verify(productRepository, never()).findPageWithCategoryAfter(any(), any());
+    }
+
+    @Test
+    void getProductPage_shouldSeekPastCursor() throws InvalidCursorException {
+        UUID lastId = UUID.randomUUID();
+        String cursor = CursorCodec.encode(List.of(lastId.toString()));
+        Slice<Product> slice = new SliceImpl<>(List.of(getSampleProduct()), PageRequest.of(0, 20), false);
+        when(productRepository.findPageWithCategoryAfter(eq(lastId), any(Pageable.class))).thenReturn(slice);
+
+        Slice<Product> result = productService.getProductPage(cursor, 20);
+
+        assertEquals(slice, result);
+    }
+
+    @Test
+    void getProductPage_shouldCapPageSize() throws InvalidCursorException {
+        ArgumentCaptor<Pageable> captor = ArgumentCaptor.forClass(Pageable.class);
+        when(productRepository.findFirstPageWithCategory(captor.capture()))
+                .thenReturn(new SliceImpl<>(List.of()));
+
+        productService.getProductPage(null, 10_000);
+
+        assertEquals(100, captor.getValue().getPageSize());
+    }
+
+    @Test
+    void getProductPage_shouldRejectMalformedCursor() {
+        assertThrows(InvalidCursorException.class, () -> productService.getProductPage("not*a*cursor", 20));
+        assertThrows(InvalidCursorException.class,
+                () -> productService.getProductPage(CursorCodec.encode(List.of("not-a-uuid")), 20));
+    }
+
     @Test
     void deleteProduct_shouldSoftDelete() throws ProductNotFoundException, ProductNotDeletedException {
         UUID id = UUID.randomUUID();
@@ -229,7 +334,7 @@ class ProductServiceDBImplTest {
         replacement.setCategory(newCategory);
 
         when(productRepository.findById(id)).thenReturn(Optional.of(existing));
-        when(categoryRepository.findByName("ReplacedCat")).thenReturn(Optional.of(newCategory));
+        when(categoryResolver.resolve("ReplacedCat")).thenReturn(newCategory);
         when(productRepository.save(any(Product.class))).thenAnswer(i -> i.getArgument(0));
 
         Product result = productService.replaceProduct(id.toString(), replacement);
@@ -288,24 +393,10 @@ class ProductServiceDBImplTest {
         Category category = getSampleCategory();
         product.setCategory(category);
 
-        when(categoryRepository.findByName(category.getName())).thenReturn(Optional.of(category));
-
-        Category result = invokeGetSavedCategory(productService, product);
-        assertEquals(category, result);
-    }
-
-    @Test
-    void getSavedCategory_shouldSaveAndReturnNewCategory() {
-        Product product = getSampleProduct();
-        Category category = getSampleCategory();
-        product.setCategory(category);
-
-        when(categoryRepository.findByName(category.getName())).thenReturn(Optional.empty());
-        when(categoryRepository.save(category)).thenReturn(category);
+        when(categoryResolver.resolve(category.getName())).thenReturn(category);
 
         Category result = invokeGetSavedCategory(productService, product);
         assertEquals(category, result);
-        verify(categoryRepository).save(category);
     }
 
     private Product getSampleProduct() {
@@ -1,7 +1,9 @@
 package com.vibevault.productservice.services;
 
+import com.vibevault.productservice.commons.CursorCodec;
 import com.vibevault.productservice.dtos.fakestore.FakeStoreProductRequestDto;
 import com.vibevault.productservice.dtos.fakestore.FakeStoreProductResponseDto;
+import com.vibevault.productservice.exceptions.products.InvalidCursorException;
 import com.vibevault.productservice.exceptions.products.ProductNotCreatedException;
 import com.vibevault.productservice.exceptions.products.ProductNotDeletedException;
 import com.vibevault.productservice.exceptions.products.ProductNotFoundException;
@@ -12,6 +14,7 @@ import com.vibevault.productservice.models.Category;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.*;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.*;
 import org.springframework.web.client.RestTemplate;
 
@@ -169,6 +172,36 @@ class ProductServiceFakeStoreImplTest {
         assertThrows(ProductNotFoundException.class, () -> productService.getAllProducts());
     }
 
+    @Test
+    void getProductPage_sizeAboveMaximum_isCapped() throws Exception {
+        FakeStoreProductResponseDto[] responseDtos = new FakeStoreProductResponseDto[150];
+        for (int i = 0; i < responseDtos.length; i++) {
+            responseDtos[i] = getSampleResponseDto();
+        }
+        when(restTemplate.getForEntity(contains("products"), eq(FakeStoreProductResponseDto[].class)))
+                .thenReturn(new ResponseEntity<>(responseDtos, HttpStatus.OK));
+
+        Slice<Product> page = productService.getProductPage(null, 500);
+
+        assertEquals(100, page.getSize());
+        assertEquals(100, page.getNumberOfElements());
+        assertTrue(page.hasNext());
+    }
+
+    @Test
+    void getProductPage_cursorWithWrongPartCount_throwsInvalidCursor() {
+        String twoParts = CursorCodec.encode(List.of("a", "b"));
+
+        assertThrows(InvalidCursorException.class, () -> productService.getProductPage(twoParts, 10));
+        assertThrows(InvalidCursorException.class, () -> productService.getProductPage(".", 10));
+        verifyNoInteractions(restTemplate);
+    }
+
+    @Test
+    void getProductPage_malformedCursor_throwsInvalidCursor() {
+        assertThrows(InvalidCursorException.class, () -> productService.getProductPage("not base64!", 10));
+    }
+
     @Test
     void deleteProduct_success() throws ProductNotFoundException, ProductNotDeletedException {
         String productId = "1";
@@ -0,0 +1,247 @@
+package com.vibevault.productservice.services;
+
+import com.vibevault.productservice.models.Category;
+import com.vibevault.productservice.models.Product;
+import com.vibevault.productservice.models.ProductSuggestion;
+import com.vibevault.productservice.repositories.ProductRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ProductSuggestionIndexTest {
+
+    @Mock
+    private ProductRepository productRepository;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private AutoCloseable closeable;
+
+    @BeforeEach
+    void setUp() {
+        closeable = MockitoAnnotations.openMocks(this);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        closeable.close();
+    }
+
+    @Test
+    void lookup_shouldReturnCaseInsensitivePrefixMatchesInNameOrder() {
+        ProductSuggestionIndex index = loadedIndex(10_000, "iPhone 14", "Samsung Galaxy", "iPad Air", "IPHONE 13");
+
+        assertEquals(List.of("IPHONE 13", "iPhone 14"), names(index.lookup("IPH", 10)));
+        assertEquals(List.of("iPad Air", "IPHONE 13", "iPhone 14"), names(index.lookup("ip", 10)));
+        assertEquals(List.of("iPad Air"), names(index.lookup("ip", 1)));
+        assertTrue(index.lookup("xyz", 10).isEmpty());
+        assertTrue(index.isReady());
+    }
+
+    @Test
+    void lookup_shouldOrderNamesBeforeTheirExtensionsAndStopAtPrefixEnd() {
+        ProductSuggestionIndex index = loadedIndex(10_000, "abd", "b", "Ab d", "aa", "abc", "ab");
+        index.apply(product("ab c", 2));
+        index.apply(product("ac", 2));
+
+        assertEquals(List.of("ab", "ab c", "Ab d", "abc", "abd"), names(index.lookup("ab", 10)));
+        assertEquals(List.of("ab", "ab c"), names(index.lookup("ab", 2)));
+        assertEquals(List.of("b"), names(index.lookup("b", 10)));
+    }
+
+    @Test
+    void apply_shouldReflectCreatesUpdatesAndDeletes() {
+        ProductSuggestionIndex index = loadedIndex(10_000, "iPhone 14", "iPad Air");
+        Product created = product("iPod Nano", 5);
+        index.apply(created);
+        assertEquals(List.of("iPad Air", "iPhone 14", "iPod Nano"), names(index.lookup("ip", 10)));
+
+        Product renamed = product("Galaxy Tab", 6);
+        renamed.setId(index.lookup("ipad", 1).get(0).getId());
+        index.apply(renamed);
+        assertEquals(List.of("iPhone 14", "iPod Nano"), names(index.lookup("ip", 10)));
+        assertEquals(List.of("Galaxy Tab"), names(index.lookup("gal", 10)));
+
+        created.setDeleted(true);
+        created.setVersion(7L);
+        index.apply(created);
+        assertEquals(List.of("iPhone 14"), names(index.lookup("ip", 10)));
+    }
+
+    @Test
+    void apply_shouldIgnoreUpdateOlderThanTheOneApplied() {
+        ProductSuggestionIndex index = loadedIndex(10_000);
+        Product newer = product("iPhone 15", 2);
+        Product older = product("iPhone 14", 1);
+        older.setId(newer.getId());
+
+        index.apply(newer);
+        index.apply(older);
+
+        assertEquals(List.of("iPhone 15"), names(index.lookup("iphone", 10)));
+    }
+
+    @Test
+    void apply_shouldNotResurrectDeletedProduct_withOlderUpdate() {
+        ProductSuggestionIndex index = loadedIndex(10_000);
+        Product product = product("iPhone 14", 1);
+        index.apply(product);
+        Product deleted = product("iPhone 14", 3);
+        deleted.setId(product.getId());
+        deleted.setDeleted(true);
+        Product lateUpdate = product("iPhone 14 Pro", 2);
+        lateUpdate.setId(product.getId());
+
+        index.apply(deleted);
+        index.apply(lateUpdate);
+
+        assertTrue(index.lookup("iphone", 10).isEmpty());
+    }
+
+    @Test
+    void apply_shouldIgnoreOlderChanges_afterCompaction() {
+        ProductSuggestionIndex index = loadedIndex(2, "Alpha");
+        Product renamed = product("Beta", 3);
+        Product deleted = product("Gamma", 3);
+        deleted.setDeleted(true);
+        // With a threshold of two the overlay is merged into the arrays before the stale events arrive
+        index.apply(renamed);
+        index.apply(deleted);
+        index.apply(product("Delta", 3));
+
+        Product staleRename = product("Bravo", 2);
+        staleRename.setId(renamed.getId());
+        Product staleUpdate = product("Gamma", 2);
+        staleUpdate.setId(deleted.getId());
+        index.apply(staleRename);
+        index.apply(staleUpdate);
+
+        assertEquals(List.of("Beta"), names(index.lookup("b", 10)));
+        assertTrue(index.lookup("gam", 10).isEmpty());
+    }
+
+    @Test
+    void apply_shouldKeepResultsAcrossCompaction() {
+        ProductSuggestionIndex index = loadedIndex(2, "Alpha", "Beta");
+        index.apply(product("Alphabet", 1));
+        index.apply(product("Alpine", 1));
+        index.apply(product("Alto", 1));
+
+        assertEquals(List.of("Alpha", "Alphabet", "Alpine", "Alto"), names(index.lookup("al", 10)));
+    }
+
+    @Test
+    void lookup_shouldBeDisabled_whenSearchRunsOnElasticsearch() {
+        ProductSuggestionIndex index = new ProductSuggestionIndex(productRepository, transactionManager,
+                new SimpleMeterRegistry(), "searchServiceESImpl", true, 10_000, 30_000, 500);
+
+        index.load();
+        index.apply(product("iPhone 14", 1));
+        index.catchUp();
+
+        assertFalse(index.isReady());
+        verifyNoInteractions(productRepository);
+        assertTrue(index.lookup("iph", 10).isEmpty());
+    }
+
+    @Test
+    void catchUp_shouldApplyChangesMadeOnOtherInstances() {
+        ProductSuggestionIndex index = loadedIndex(10_000, "iPhone 14", "iPad Air");
+        Product deleted = product("iPad Air", 2);
+        deleted.setId(index.lookup("ipad", 1).get(0).getId());
+        deleted.setDeleted(true);
+        when(productRepository.findModifiedSinceWithCategory(any(Date.class), any(Pageable.class)))
+                .thenReturn(List.of(product("iPod Nano", 1), deleted));
+
+        index.catchUp();
+
+        assertEquals(List.of("iPhone 14", "iPod Nano"), names(index.lookup("ip", 10)));
+    }
+
+    @Test
+    void catchUp_shouldPageThroughChanges_inKeysetBatches() {
+        ProductSuggestionIndex index = loadedIndex(10_000, 2);
+        Product first = product("Alpha", 1);
+        Product second = product("Beta", 1);
+        second.setLastModifiedAt(new Date(5_000));
+        when(productRepository.findModifiedSinceWithCategory(any(Date.class), any(Pageable.class)))
+                .thenReturn(List.of(first, second));
+        when(productRepository.findModifiedAfterWithCategory(eq(second.getLastModifiedAt()), eq(second.getId()),
+                any(Pageable.class))).thenReturn(List.of(product("Gamma", 1)));
+
+        index.catchUp();
+
+        assertEquals(List.of("Alpha"), names(index.lookup("a", 10)));
+        assertEquals(List.of("Beta"), names(index.lookup("b", 10)));
+        assertEquals(List.of("Gamma"), names(index.lookup("g", 10)));
+    }
+
+    @Test
+    void catchUp_shouldRetryFromTheSameStart_afterFailure() {
+        ProductSuggestionIndex index = loadedIndex(10_000);
+        when(productRepository.findModifiedSinceWithCategory(any(Date.class), any(Pageable.class)))
+                .thenThrow(new IllegalStateException("connection lost"))
+                .thenReturn(List.of());
+
+        index.catchUp();
+        index.catchUp();
+
+        ArgumentCaptor<Date> since = ArgumentCaptor.forClass(Date.class);
+        verify(productRepository, times(2)).findModifiedSinceWithCategory(since.capture(), any(Pageable.class));
+        assertEquals(since.getAllValues().get(0), since.getAllValues().get(1));
+    }
+
+    @Test
+    void catchUp_shouldWaitForTheStartupLoad() {
+        ProductSuggestionIndex index = new ProductSuggestionIndex(productRepository, transactionManager,
+                new SimpleMeterRegistry(), ProductSuggestionIndex.DB_SEARCH_SERVICE, true, 10_000, 30_000, 500);
+
+        index.catchUp();
+
+        verifyNoInteractions(productRepository);
+    }
+
+    private ProductSuggestionIndex loadedIndex(int compactThreshold, String... names) {
+        return loadedIndex(compactThreshold, 500, names);
+    }
+
+    private ProductSuggestionIndex loadedIndex(int compactThreshold, int catchUpBatchSize, String... names) {
+        when(productRepository.streamAllSuggestions()).thenReturn(Stream.of(names)
+                .map(name -> ProductSuggestion.fromProduct(product(name, 1))));
+        ProductSuggestionIndex index = new ProductSuggestionIndex(productRepository, transactionManager,
+                new SimpleMeterRegistry(), ProductSuggestionIndex.DB_SEARCH_SERVICE, true, compactThreshold,
+                30_000, catchUpBatchSize);
+        index.load();
+        return index;
+    }
+
+    private static List<String> names(List<Product> products) {
+        return products.stream().map(Product::getName).toList();
+    }
+
+    private static Product product(String name, long version) {
+        Category category = new Category();
+        category.setId(UUID.randomUUID());
+        category.setName("Electronics");
+        Product product = new Product();
+        product.setId(UUID.randomUUID());
+        product.setName(name);
+        product.setCategory(category);
+        product.setVersion(version);
+        return product;
+    }
+}
@@ -1,30 +1,42 @@
 package com.vibevault.productservice.services;
 
+import com.vibevault.productservice.commons.SearchCursor;
+import com.vibevault.productservice.configurations.ReplicaReads;
+import com.vibevault.productservice.exceptions.products.InvalidCursorException;
 import com.vibevault.productservice.exceptions.search.InvalidSearchParameterException;
 import com.vibevault.productservice.models.Category;
 import com.vibevault.productservice.models.Currency;
+import com.vibevault.productservice.models.FacetBucket;
 import com.vibevault.productservice.models.Price;
+import com.vibevault.productservice.models.PriceRangeBucket;
 import com.vibevault.productservice.models.Product;
+import com.vibevault.productservice.models.SearchFacets;
+import com.vibevault.productservice.models.TotalAccuracy;
 import com.vibevault.productservice.repositories.ProductRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Date;
 import java.util.List;
 import java.util.UUID;
+import java.util.function.Function;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -32,17 +44,27 @@ import static org.mockito.Mockito.*;
 
 class SearchServiceDBImplTest {
 
+    private static final double[] PRICE_BOUNDARIES = {0, 25, 50, 100};
+
     @Mock
     private ProductRepository productRepository;
+    @Mock
+    private ProductSuggestionIndex productSuggestionIndex;
+    @Mock
+    private SearchTotalCache searchTotalCache;
+    @Mock
+    private PlatformTransactionManager transactionManager;
 
-    @InjectMocks
     private SearchServiceDBImpl searchService;
 
+    private SimpleMeterRegistry meterRegistry;
     private AutoCloseable closeable;
 
     @BeforeEach
     void setUp() {
         closeable = MockitoAnnotations.openMocks(this);
+        meterRegistry = new SimpleMeterRegistry();
+        searchService = service("like", "exact");
     }
 
     @AfterEach
@@ -68,6 +90,20 @@ class SearchServiceDBImplTest {
         verify(productRepository).findAll(any(Specification.class), any(Pageable.class));
     }
 
+    @Test
+    void searchProducts_shouldAllowReadReplicas_onlyForTheSearchItself() throws InvalidSearchParameterException {
+        List<Boolean> replicaAllowed = new ArrayList<>();
+        when(productRepository.findAll(any(Specification.class), any(Pageable.class))).thenAnswer(i -> {
+            replicaAllowed.add(ReplicaReads.isAllowed());
+            return new PageImpl<>(List.of(getSampleProduct()), PageRequest.of(0, 10), 1);
+        });
+
+        searchService.searchProducts("test", null, null, null, null, null, null, null, 0, 10, "createdAt", "desc");
+
+        assertEquals(List.of(true), replicaAllowed);
+        assertFalse(ReplicaReads.isAllowed());
+    }
+
     @Test
     void searchProducts_shouldReturnEmptyPage_whenNoMatches() throws InvalidSearchParameterException {
         Page<Product> emptyPage = new PageImpl<>(Collections.emptyList(), PageRequest.of(0, 10), 0);
@@ -316,6 +352,18 @@ class SearchServiceDBImplTest {
         assertTrue(nameOrder.isAscending());
     }
 
+    @Test
+    void getSuggestions_shouldUsePrefixIndex_whenLoaded() {
+        List<Product> suggestions = List.of(createProductWithName("iPhone 14"));
+        when(productSuggestionIndex.isReady()).thenReturn(true);
+        when(productSuggestionIndex.lookup("iph", 5)).thenReturn(suggestions);
+
+        List<Product> result = searchService.getSuggestions("iph", 5);
+
+        assertSame(suggestions, result);
+        verifyNoInteractions(productRepository);
+    }
+
     // ==================== SORT FIELD VALIDATION TESTS ====================
 
     @Test
@@ -360,8 +408,278 @@ class SearchServiceDBImplTest {
                 0, 10, "lastModifiedAt", "desc"));
     }
 
+    // ==================== CURSOR SEARCH TESTS ====================
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void searchProductsAfter_shouldReturnCursor_whenMoreRowsExist() throws Exception {
+        Product first = createProductWithName("Alpha");
+        Product second = createProductWithName("Beta");
+        Product extra = createProductWithName("Gamma");
+        when(productRepository.findBy(any(Specification.class), any(Function.class)))
+                .thenReturn(List.of(first, second, extra));
+
+        SearchCursorPage page = searchService.searchProductsAfter(
+                null, null, null, null, null, null, null, null, 2, "name", "asc", null);
+
+        assertEquals(List.of(first, second), page.products());
+        assertTrue(page.hasNext());
+        SearchCursor next = SearchCursor.decode(page.nextCursor(), "name", "asc");
+        assertEquals("Beta", next.sortValue());
+        assertEquals(second.getId().toString(), next.id());
+        verify(productRepository, never()).findAll(any(Specification.class), any(Pageable.class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void searchProductsAfter_shouldOmitCursor_onLastPage() throws Exception {
+        when(productRepository.findBy(any(Specification.class), any(Function.class)))
+                .thenReturn(List.of(getSampleProduct()));
+        String cursor = new SearchCursor("price", "desc", "150.0", UUID.randomUUID().toString(), null).encode();
+
+        SearchCursorPage page = searchService.searchProductsAfter(
+                null, null, null, null, null, null, null, null, 2, "price", "desc", cursor);
+
+        assertFalse(page.hasNext());
+        assertNull(page.nextCursor());
+        assertEquals(1, page.products().size());
+    }
+
+    @Test
+    void searchProductsAfter_shouldRejectCursorWithMalformedPosition() {
+        String cursor = new SearchCursor("createdAt", "desc", "yesterday", UUID.randomUUID().toString(), null).encode();
+
+        assertThrows(InvalidCursorException.class, () -> searchService.searchProductsAfter(
+                null, null, null, null, null, null, null, null, 2, "createdAt", "desc", cursor));
+    }
+
+    @Test
+    void searchProductsAfter_shouldRejectCursorIssuedForDifferentSort() {
+        String cursor = new SearchCursor("name", "asc", "Beta", UUID.randomUUID().toString(), null).encode();
+
+        assertThrows(InvalidCursorException.class, () -> searchService.searchProductsAfter(
+                null, null, null, null, null, null, null, null, 2, "name", "desc", cursor));
+    }
+
+    // ==================== FULLTEXT MODE TESTS ====================
+
+    @Test
+    void searchProducts_shouldLeavePageableUnsorted_whenSortingByRelevance() throws InvalidSearchParameterException {
+        SearchServiceDBImpl fullTextService = service("fulltext", "exact");
+        when(productRepository.findAll(any(Specification.class), any(Pageable.class)))
+                .thenReturn(new PageImpl<>(Collections.emptyList()));
+        ArgumentCaptor<Pageable> pageableCaptor = ArgumentCaptor.forClass(Pageable.class);
+
+        fullTextService.searchProducts("wireless headphones", null, null, null, null, null, null, null,
+                0, 10, "relevance", "desc");
+
+        verify(productRepository).findAll(any(Specification.class), pageableCaptor.capture());
+        assertTrue(pageableCaptor.getValue().getSort().isUnsorted());
+    }
+
+    @Test
+    void searchProducts_shouldRejectRelevanceSort_withoutQuery() {
+        SearchServiceDBImpl fullTextService = service("fulltext", "exact");
+
+        assertThrows(InvalidSearchParameterException.class, () -> fullTextService.searchProducts(
+                null, null, null, null, null, null, null, null, 0, 10, "relevance", "desc"));
+    }
+
+    @Test
+    void searchProducts_shouldRejectRelevanceSort_inLikeMode() {
+        assertThrows(InvalidSearchParameterException.class, () -> searchService.searchProducts(
+                "headphones", null, null, null, null, null, null, null, 0, 10, "relevance", "desc"));
+    }
+
+    @Test
+    void constructor_shouldRejectUnknownTextMode() {
+        assertThrows(IllegalArgumentException.class,
+                () -> service("regex", "exact"));
+    }
+
+    @Test
+    void constructor_shouldRejectUnknownTotalMode() {
+        assertThrows(IllegalArgumentException.class, () -> service("like", "approximate"));
+    }
+
+    // ==================== TOTAL MODE TESTS ====================
+
+    @Test
+    void searchProducts_shouldSkipCountAndReportLowerBound_inNoneMode() throws InvalidSearchParameterException {
+        List<Product> products = Arrays.asList(getSampleProduct(), getSampleProduct());
+        when(productRepository.findSlice(any(Specification.class), any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(products, PageRequest.of(1, 2), true));
+
+        Page<Product> result = service("like", "none").searchProducts(
+                null, null, null, null, null, null, null, null, 1, 2, "createdAt", "desc");
+
+        assertEquals(TotalAccuracy.LOWER_BOUND, SearchResultsPage.totalAccuracyOf(result));
+        assertEquals(5, result.getTotalElements());
+        assertTrue(result.hasNext());
+        verify(productRepository, never()).count(any(Specification.class));
+        verify(productRepository, never()).findAll(any(Specification.class), any(Pageable.class));
+    }
+
+    @Test
+    void searchProducts_shouldUseCachedCount_inEstimateMode() throws InvalidSearchParameterException {
+        List<Product> products = Arrays.asList(getSampleProduct(), getSampleProduct());
+        when(productRepository.findSlice(any(Specification.class), any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(products, PageRequest.of(0, 2), true));
+        when(searchTotalCache.get(any(), any())).thenReturn(1_000L);
+
+        Page<Product> result = service("like", "estimate").searchProducts(
+                "wallet", null, null, null, null, null, null, null, 0, 2, "createdAt", "desc");
+
+        assertEquals(TotalAccuracy.ESTIMATE, SearchResultsPage.totalAccuracyOf(result));
+        assertEquals(1_000, result.getTotalElements());
+        assertEquals(500, result.getTotalPages());
+    }
+
+    @Test
+    void searchProducts_shouldTimeQueryAndCountStages_inEstimateMode() throws InvalidSearchParameterException {
+        when(productRepository.findSlice(any(Specification.class), any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(List.of(getSampleProduct()), PageRequest.of(0, 1), true));
+        when(searchTotalCache.get(any(), any())).thenReturn(1_000L);
+
+        service("like", "estimate").searchProducts(
+                "wallet", 10.0, null, null, null, null, null, null, 0, 1, "price", "asc");
+
+        for (String stage : List.of("query", "count")) {
+            assertEquals(1, meterRegistry.get("search.stage")
+                    .tag("backend", "database")
+                    .tag("stage", stage)
+                    .tag("shape", "query")
+                    .tag("sort", "price")
+                    .tag("hits", "101-1000")
+                    .timer().count(), stage);
+        }
+    }
+
+    @Test
+    void searchProducts_shouldNeverEstimateBelowRowsSeen() throws InvalidSearchParameterException {
+        when(productRepository.findSlice(any(Specification.class), any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(List.of(getSampleProduct(), getSampleProduct()), PageRequest.of(4, 2), true));
+        when(searchTotalCache.get(any(), any())).thenReturn(3L);
+
+        Page<Product> result = service("like", "estimate").searchProducts(
+                null, null, null, null, null, null, null, null, 4, 2, "createdAt", "desc");
+
+        assertEquals(11, result.getTotalElements());
+    }
+
+    @Test
+    void searchProducts_shouldReportExactTotal_onLastPageWithoutCounting() throws InvalidSearchParameterException {
+        when(productRepository.findSlice(any(Specification.class), any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(List.of(getSampleProduct()), PageRequest.of(2, 2), false));
+
+        Page<Product> result = service("like", "estimate").searchProducts(
+                null, null, null, null, null, null, null, null, 2, 2, "createdAt", "desc");
+
+        assertEquals(TotalAccuracy.EXACT, SearchResultsPage.totalAccuracyOf(result));
+        assertEquals(5, result.getTotalElements());
+        verifyNoInteractions(searchTotalCache);
+    }
+
+    // ==================== FACET TESTS ====================
+
+    @Test
+    void searchProductsWithFacets_shouldAttachGroupedCounts() throws InvalidSearchParameterException {
+        List<Product> products = List.of(getSampleProduct());
+        when(productRepository.findAll(any(Specification.class), any(Pageable.class)))
+                .thenReturn(new PageImpl<>(products, PageRequest.of(0, 10), 1));
+        SearchFacets facets = new SearchFacets(
+                List.of(new FacetBucket("electronics", 1)),
+                List.of(new FacetBucket("USD", 1)),
+                List.of(new PriceRangeBucket(0.0, 25.0, 1)));
+        when(productRepository.findFacets(any(Specification.class), eq(PRICE_BOUNDARIES), eq(20))).thenReturn(facets);
+
+        Page<Product> result = service("like", "exact").searchProductsWithFacets(
+                "sample", null, null, null, null, null, null, null, 0, 10, "createdAt", "desc");
+
+        assertEquals(products, result.getContent());
+        assertEquals(1, result.getTotalElements());
+        assertSame(facets, SearchResultsPage.facetsOf(result));
+        assertEquals(TotalAccuracy.EXACT, SearchResultsPage.totalAccuracyOf(result));
+        // One search: the page query is not also recorded as a search of its own
+        assertEquals(1, meterRegistry.get("search.stage").tag("stage", "query").timer().count());
+        assertEquals(1, meterRegistry.get("search.stage").tag("stage", "facets").tag("hits", "1-10").timer().count());
+    }
+
+    @Test
+    void searchProductsWithFacets_shouldValidateBeforeQuerying() {
+        assertThrows(InvalidSearchParameterException.class, () -> service("like", "exact").searchProductsWithFacets(
+                null, 100.0, 10.0, null, null, null, null, null, 0, 10, "createdAt", "desc"));
+
+        verifyNoInteractions(productRepository);
+        assertTrue(meterRegistry.find("search.stage").timers().isEmpty());
+    }
+
+    @Test
+    void constructor_shouldRejectUnorderedPriceRanges() {
+        assertThrows(IllegalArgumentException.class, () -> new SearchServiceDBImpl(productRepository,
+                productSuggestionIndex, searchTotalCache, new SearchStageMetrics(meterRegistry, "searchServiceDBImpl"),
+                transactionManager, "like", "exact", new double[]{0, 50, 25}, 20, Runnable::run));
+    }
+
+    // ==================== BATCH TESTS ====================
+
+    @Test
+    void searchBatch_shouldReturnResultsInSubmittedOrder_andRejectInvalidSearchesIndividually()
+            throws InvalidSearchParameterException {
+        Product wallet = getSampleProduct();
+        wallet.setName("Wallet");
+        Product phone = getSampleProduct();
+        phone.setName("Phone");
+        when(productRepository.findAll(any(Specification.class), any(Pageable.class)))
+                .thenReturn(new PageImpl<>(List.of(wallet), PageRequest.of(0, 10), 1))
+                .thenReturn(new PageImpl<>(List.of(phone), PageRequest.of(0, 10), 1));
+
+        List<SearchBatchResult> results = service("like", "exact").searchBatch(List.of(
+                parameters("wallet", null),
+                parameters(null, -1.0),
+                parameters("phone", null)));
+
+        assertEquals(3, results.size());
+        assertEquals("Wallet", results.get(0).page().getContent().get(0).getName());
+        assertNull(results.get(1).page());
+        assertEquals("minPrice cannot be negative", results.get(1).error());
+        assertEquals("Phone", results.get(2).page().getContent().get(0).getName());
+    }
+
+    @Test
+    void searchBatch_shouldRunEachSearchInItsOwnReadOnlyTransaction() throws InvalidSearchParameterException {
+        when(productRepository.findAll(any(Specification.class), any(Pageable.class)))
+                .thenReturn(new PageImpl<>(List.of(getSampleProduct()), PageRequest.of(0, 10), 1));
+
+        service("like", "exact").searchBatch(List.of(parameters("wallet", null), parameters("phone", null)));
+
+        ArgumentCaptor<TransactionDefinition> definitions = ArgumentCaptor.forClass(TransactionDefinition.class);
+        verify(transactionManager, times(2)).getTransaction(definitions.capture());
+        assertTrue(definitions.getAllValues().stream().allMatch(TransactionDefinition::isReadOnly));
+        verify(transactionManager, times(2)).commit(any());
+    }
+
+    @Test
+    void searchBatch_shouldRejectOversizedBatch() {
+        List<SearchParameters> searches = Collections.nCopies(21, parameters(null, null));
+
+        assertThrows(InvalidSearchParameterException.class, () -> service("like", "exact").searchBatch(searches));
+        assertThrows(InvalidSearchParameterException.class, () -> service("like", "exact").searchBatch(List.of()));
+        verifyNoInteractions(productRepository);
+    }
+
     // ==================== HELPER METHODS ====================
 
+    private static SearchParameters parameters(String query, Double minPrice) {
+        return new SearchParameters(query, minPrice, null, null, null, null, null, null, 0, 10, "createdAt", "desc");
+    }
+
+    private SearchServiceDBImpl service(String textMode, String totalMode) {
+        return new SearchServiceDBImpl(productRepository, productSuggestionIndex, searchTotalCache,
+                new SearchStageMetrics(meterRegistry, "searchServiceDBImpl"), transactionManager, textMode, totalMode,
+                PRICE_BOUNDARIES, 20, Runnable::run);
+    }
+
     private Product getSampleProduct() {
         Product product = new Product();
         product.setId(UUID.randomUUID());
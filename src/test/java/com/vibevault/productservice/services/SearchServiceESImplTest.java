@@ -0,0 +1,386 @@
+package com.vibevault.productservice.services;
+
+import co.elastic.clients.elasticsearch._types.aggregations.Aggregate;
+import co.elastic.clients.elasticsearch._types.aggregations.RangeBucket;
+import co.elastic.clients.elasticsearch._types.aggregations.StringTermsBucket;
+import com.vibevault.productservice.commons.SearchCursor;
+import com.vibevault.productservice.exceptions.products.InvalidCursorException;
+import com.vibevault.productservice.models.Category;
+import com.vibevault.productservice.models.FacetBucket;
+import com.vibevault.productservice.models.Price;
+import com.vibevault.productservice.models.PriceRangeBucket;
+import com.vibevault.productservice.models.Product;
+import com.vibevault.productservice.models.ProductDocument;
+import com.vibevault.productservice.models.ProductVersion;
+import com.vibevault.productservice.models.SearchFacets;
+import com.vibevault.productservice.repositories.ProductRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.Page;
+import org.springframework.data.elasticsearch.client.elc.ElasticsearchAggregation;
+import org.springframework.data.elasticsearch.client.elc.ElasticsearchAggregations;
+import org.springframework.data.elasticsearch.client.elc.NativeQuery;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.data.elasticsearch.core.SearchHit;
+import org.springframework.data.elasticsearch.core.SearchHits;
+import org.springframework.data.elasticsearch.core.query.Query;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class SearchServiceESImplTest {
+
+    @Mock
+    private ElasticsearchOperations elasticsearchOperations;
+    @Mock
+    private ProductRepository productRepository;
+    @Mock
+    private SearchHits<ProductDocument> searchHits;
+
+    private SimpleMeterRegistry meterRegistry;
+    private AutoCloseable closeable;
+
+    @BeforeEach
+    void setUp() {
+        closeable = MockitoAnnotations.openMocks(this);
+        meterRegistry = new SimpleMeterRegistry();
+        when(elasticsearchOperations.search(any(Query.class), eq(ProductDocument.class))).thenReturn(searchHits);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        closeable.close();
+    }
+
+    @Test
+    void searchProducts_shouldLoadFromDatabase_inDatabaseMode() throws Exception {
+        Product product = product("Leather Wallet", 1_000);
+        stubHits(ProductDocument.fromProduct(product));
+        when(productRepository.findAllByIdWithCategory(List.of(product.getId()))).thenReturn(List.of(product));
+
+        List<Product> results = search(service("database", false));
+
+        assertSame(product, results.get(0));
+    }
+
+    @Test
+    void searchProducts_shouldTimeEachStage_taggedByShapeSortAndHits() throws Exception {
+        Product product = product("Leather Wallet", 1_000);
+        stubHits(ProductDocument.fromProduct(product));
+        when(searchHits.getTotalHits()).thenReturn(42L);
+        when(productRepository.findAllByIdWithCategory(List.of(product.getId()))).thenReturn(List.of(product));
+
+        search(service("database", false));
+
+        for (String stage : List.of("build", "query", "hydration", "mapping")) {
+            assertEquals(1, meterRegistry.get("search.stage")
+                    .tag("backend", "elasticsearch")
+                    .tag("stage", stage)
+                    .tag("shape", "query")
+                    .tag("sort", "createdAt")
+                    .tag("hits", "11-100")
+                    .timer().count(), stage);
+        }
+    }
+
+    @Test
+    void searchProducts_shouldBuildFromSource_inIndexMode() throws Exception {
+        Product product = product("Leather Wallet", 1_000);
+        stubHits(ProductDocument.fromProduct(product));
+
+        List<Product> results = search(service("index", false));
+
+        assertEquals(product.getId(), results.get(0).getId());
+        assertEquals("Leather Wallet", results.get(0).getName());
+        assertEquals("Accessories", results.get(0).getCategory().getName());
+        assertEquals(25.0, results.get(0).getPrice().getPrice());
+        verifyNoInteractions(productRepository);
+    }
+
+    @Test
+    void searchProducts_shouldReloadOnlyStaleHits_whenGuardEnabled() throws Exception {
+        Product fresh = product("Leather Wallet", 3);
+        Product stale = product("Leather Belt", 3);
+        stubHits(ProductDocument.fromProduct(fresh), ProductDocument.fromProduct(stale));
+        Product reloaded = product("Leather Belt v2", 4);
+        reloaded.setId(stale.getId());
+        when(productRepository.findVersionsByIds(anyList())).thenReturn(List.of(
+                new ProductVersion(fresh.getId(), 3L, false),
+                new ProductVersion(stale.getId(), 4L, false)));
+        when(productRepository.findAllByIdWithCategory(List.of(stale.getId()))).thenReturn(List.of(reloaded));
+
+        List<Product> results = search(service("index", true));
+
+        assertEquals(List.of("Leather Wallet", "Leather Belt v2"), results.stream().map(Product::getName).toList());
+        verify(productRepository).findAllByIdWithCategory(List.of(stale.getId()));
+    }
+
+    @Test
+    void searchProducts_shouldDropHitsDeletedInDatabase_whenGuardEnabled() throws Exception {
+        Product product = product("Leather Wallet", 3);
+        stubHits(ProductDocument.fromProduct(product));
+        when(productRepository.findVersionsByIds(anyList())).thenReturn(List.of(
+                new ProductVersion(product.getId(), 3L, true)));
+
+        assertTrue(search(service("index", true)).isEmpty());
+    }
+
+    @Test
+    void getSuggestions_shouldAnswerFromIndexAlone_evenInDatabaseMode() {
+        Product product = product("Leather Wallet", 1_000);
+        stubHits(ProductDocument.fromProduct(product));
+
+        List<Product> results = service("database", true).getSuggestions("lea", 5);
+
+        assertEquals(product.getId(), results.get(0).getId());
+        assertEquals("Leather Wallet", results.get(0).getName());
+        assertEquals("Accessories", results.get(0).getCategory().getName());
+        verifyNoInteractions(productRepository);
+    }
+
+    @Test
+    void getSuggestions_shouldFetchOnlySuggestionFields() {
+        stubHits();
+
+        service("index", false).getSuggestions("lea", 5);
+
+        ArgumentCaptor<Query> captor = ArgumentCaptor.forClass(Query.class);
+        verify(elasticsearchOperations).search(captor.capture(), eq(ProductDocument.class));
+        assertNotNull(captor.getValue().getSourceFilter());
+        assertFalse(List.of(captor.getValue().getSourceFilter().getIncludes()).contains("description"));
+        assertEquals(5, captor.getValue().getPageable().getPageSize());
+    }
+
+    @Test
+    void searchProductsWithFacets_shouldRequestAggregationsOnTheSameQuery() throws Exception {
+        stubHits();
+
+        service("index", false).searchProductsWithFacets("leather", null, null, null, null, null, null, null,
+                0, 10, "createdAt", "desc");
+
+        ArgumentCaptor<Query> captor = ArgumentCaptor.forClass(Query.class);
+        verify(elasticsearchOperations, times(1)).search(captor.capture(), eq(ProductDocument.class));
+        NativeQuery query = (NativeQuery) captor.getValue();
+        assertEquals(Set.of("categories", "currencies", "price_ranges"), query.getAggregations().keySet());
+        assertEquals(3, query.getAggregations().get("price_ranges").range().ranges().size());
+    }
+
+    @Test
+    void searchProductsWithFacets_shouldMapAggregationBuckets() throws Exception {
+        stubHits();
+        Aggregate categories = Aggregate.of(a -> a.sterms(t -> t.sumOtherDocCount(0L)
+                .buckets(b -> b.array(List.of(StringTermsBucket.of(bucket -> bucket.key("accessories").docCount(4L)))))));
+        Aggregate prices = Aggregate.of(a -> a.range(r -> r.buckets(b -> b.array(List.of(
+                RangeBucket.of(bucket -> bucket.from(0.0).to(25.0).docCount(1L)),
+                RangeBucket.of(bucket -> bucket.from(50.0).docCount(3L)))))));
+        when(searchHits.getAggregations()).thenReturn(new ElasticsearchAggregations(List.of(
+                new ElasticsearchAggregation(new org.springframework.data.elasticsearch.client.elc.Aggregation("categories", categories)),
+                new ElasticsearchAggregation(new org.springframework.data.elasticsearch.client.elc.Aggregation("price_ranges", prices)))));
+
+        Page<Product> result = service("index", false).searchProductsWithFacets(null, null, null, null, null, null,
+                null, null, 0, 10, "createdAt", "desc");
+
+        SearchFacets facets = SearchResultsPage.facetsOf(result);
+        assertEquals(List.of(new FacetBucket("accessories", 4)), facets.categories());
+        assertTrue(facets.currencies().isEmpty());
+        assertEquals(List.of(new PriceRangeBucket(0.0, 25.0, 1), new PriceRangeBucket(50.0, null, 3)),
+                facets.priceRanges());
+    }
+
+    @Test
+    void searchProducts_shouldNotRequestAggregations() throws Exception {
+        stubHits();
+
+        search(service("index", false));
+
+        ArgumentCaptor<Query> captor = ArgumentCaptor.forClass(Query.class);
+        verify(elasticsearchOperations).search(captor.capture(), eq(ProductDocument.class));
+        assertTrue(((NativeQuery) captor.getValue()).getAggregations().isEmpty());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void searchBatch_shouldSendOneMultiSearch_andHydrateAllHitsTogether() throws Exception {
+        Product wallet = product("Leather Wallet", 1_000);
+        Product belt = product("Leather Belt", 1_000);
+        SearchHits<ProductDocument> walletHits = hitsOf(ProductDocument.fromProduct(wallet));
+        SearchHits<ProductDocument> beltHits = hitsOf(ProductDocument.fromProduct(belt), ProductDocument.fromProduct(wallet));
+        when(elasticsearchOperations.multiSearch(anyList(), eq(ProductDocument.class)))
+                .thenReturn(List.of(walletHits, beltHits));
+        when(productRepository.findAllByIdWithCategory(anyList())).thenReturn(List.of(wallet, belt));
+
+        List<SearchBatchResult> results = service("database", false).searchBatch(List.of(
+                parameters("wallet", null), parameters(null, -1.0), parameters("belt", null)));
+
+        assertEquals(List.of(wallet), results.get(0).page().getContent());
+        assertEquals("minPrice cannot be negative", results.get(1).error());
+        assertEquals(List.of(belt, wallet), results.get(2).page().getContent());
+
+        ArgumentCaptor<List<Query>> queries = ArgumentCaptor.forClass(List.class);
+        verify(elasticsearchOperations).multiSearch(queries.capture(), eq(ProductDocument.class));
+        assertEquals(2, queries.getValue().size());
+        verify(elasticsearchOperations, never()).search(any(Query.class), eq(ProductDocument.class));
+        ArgumentCaptor<List<UUID>> ids = ArgumentCaptor.forClass(List.class);
+        verify(productRepository, times(1)).findAllByIdWithCategory(ids.capture());
+        assertEquals(List.of(wallet.getId(), belt.getId()), ids.getValue());
+    }
+
+    @Test
+    void searchBatch_shouldSkipMultiSearch_whenEverySearchIsRejected() throws Exception {
+        List<SearchBatchResult> results = service("index", false).searchBatch(List.of(parameters(null, -1.0)));
+
+        assertEquals(1, results.size());
+        assertNotNull(results.get(0).error());
+        verify(elasticsearchOperations, never()).multiSearch(anyList(), eq(ProductDocument.class));
+    }
+
+    @Test
+    void isNewerThanDocument_shouldCompareRowVersions() {
+        // The document's timestamp is ahead of the row's, as when the indexing instance's clock ran fast
+        ProductDocument document = ProductDocument.builder().id(UUID.randomUUID().toString())
+                .lastModifiedAt(new Date(20_000)).version(5L).build();
+
+        assertFalse(SearchServiceESImpl.isNewerThanDocument(
+                new ProductVersion(UUID.randomUUID(), 5L, false), document));
+        assertFalse(SearchServiceESImpl.isNewerThanDocument(
+                new ProductVersion(UUID.randomUUID(), 4L, false), document));
+        assertTrue(SearchServiceESImpl.isNewerThanDocument(
+                new ProductVersion(UUID.randomUUID(), 6L, false), document));
+    }
+
+    @Test
+    void isNewerThanDocument_shouldReload_whenDocumentHasNoVersion() {
+        // Indexed before the version column existed; reloading is the safe outcome
+        ProductDocument document = ProductDocument.builder().id(UUID.randomUUID().toString())
+                .lastModifiedAt(new Date(10_700)).build();
+
+        assertTrue(SearchServiceESImpl.isNewerThanDocument(
+                new ProductVersion(UUID.randomUUID(), 1L, false), document));
+    }
+
+    @Test
+    void constructor_shouldRejectUnknownHydrationMode() {
+        assertThrows(IllegalArgumentException.class, () -> service("cache", false));
+    }
+
+    @Test
+    void searchProductsAfter_shouldReturnCursorFromLastHitOnPage() throws Exception {
+        Product first = product("Leather Wallet", 10_000);
+        Product second = product("Leather Belt", 10_000);
+        Product extra = product("Leather Bag", 10_000);
+        stubSortedHits(List.of(
+                sortedHit(ProductDocument.fromProduct(first), 3_000L, first.getId().toString()),
+                sortedHit(ProductDocument.fromProduct(second), 2_000L, second.getId().toString()),
+                sortedHit(ProductDocument.fromProduct(extra), 1_000L, extra.getId().toString())));
+
+        SearchCursorPage page = service("index", false).searchProductsAfter(
+                null, null, null, null, null, null, null, null, 2, "createdAt", "desc", "");
+
+        assertEquals(List.of(first.getId(), second.getId()), page.products().stream().map(Product::getId).toList());
+        assertTrue(page.hasNext());
+        SearchCursor next = SearchCursor.decode(page.nextCursor(), "createdAt", "desc");
+        assertEquals("2000", next.sortValue());
+        assertEquals(second.getId().toString(), next.id());
+    }
+
+    @Test
+    void searchProductsAfter_shouldOmitCursorOnLastPage() throws Exception {
+        Product product = product("Leather Wallet", 10_000);
+        stubSortedHits(List.of(sortedHit(ProductDocument.fromProduct(product), 3_000L, product.getId().toString())));
+
+        SearchCursorPage page = service("index", false).searchProductsAfter(
+                null, null, null, null, null, null, null, null, 2, "createdAt", "desc",
+                new SearchCursor("createdAt", "desc", "4000", UUID.randomUUID().toString(), null).encode());
+
+        assertFalse(page.hasNext());
+        assertNull(page.nextCursor());
+        assertEquals(1, page.products().size());
+    }
+
+    @Test
+    void searchProductsAfter_shouldRejectCursorIssuedForDifferentSort() {
+        String cursor = new SearchCursor("name", "asc", "Leather", UUID.randomUUID().toString(), null).encode();
+
+        assertThrows(InvalidCursorException.class, () -> service("index", false).searchProductsAfter(
+                null, null, null, null, null, null, null, null, 2, "createdAt", "desc", cursor));
+    }
+
+    @SuppressWarnings("unchecked")
+    private SearchHit<ProductDocument> sortedHit(ProductDocument document, Object sortValue, String id) {
+        SearchHit<ProductDocument> hit = mock(SearchHit.class);
+        when(hit.getContent()).thenReturn(document);
+        when(hit.getSortValues()).thenReturn(List.of(sortValue, id));
+        return hit;
+    }
+
+    private void stubSortedHits(List<SearchHit<ProductDocument>> hits) {
+        when(searchHits.getSearchHits()).thenReturn(hits);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void stubHits(ProductDocument... documents) {
+        List<SearchHit<ProductDocument>> hits = new ArrayList<>();
+        for (ProductDocument document : documents) {
+            SearchHit<ProductDocument> hit = mock(SearchHit.class);
+            when(hit.getContent()).thenReturn(document);
+            hits.add(hit);
+        }
+        when(searchHits.getSearchHits()).thenReturn(hits);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static SearchHits<ProductDocument> hitsOf(ProductDocument... documents) {
+        SearchHits<ProductDocument> hits = mock(SearchHits.class);
+        List<SearchHit<ProductDocument>> hitList = new ArrayList<>();
+        for (ProductDocument document : documents) {
+            SearchHit<ProductDocument> hit = mock(SearchHit.class);
+            when(hit.getContent()).thenReturn(document);
+            hitList.add(hit);
+        }
+        when(hits.getSearchHits()).thenReturn(hitList);
+        when(hits.getTotalHits()).thenReturn((long) documents.length);
+        return hits;
+    }
+
+    private static SearchParameters parameters(String query, Double minPrice) {
+        return new SearchParameters(query, minPrice, null, null, null, null, null, null, 0, 10, "createdAt", "desc");
+    }
+
+    private List<Product> search(SearchServiceESImpl service) throws Exception {
+        return service.searchProducts("leather", null, null, null, null, null, null, null,
+                0, 10, "createdAt", "desc").getContent();
+    }
+
+    private SearchServiceESImpl service(String hydration, boolean stalenessGuard) {
+        return new SearchServiceESImpl(elasticsearchOperations, productRepository,
+                new SearchStageMetrics(meterRegistry, "searchServiceESImpl"), hydration, stalenessGuard,
+                false, 60, new double[]{0, 25, 50}, 20);
+    }
+
+    private static Product product(String name, long version) {
+        Category category = new Category();
+        category.setId(UUID.randomUUID());
+        category.setName("Accessories");
+        Product product = new Product();
+        product.setId(UUID.randomUUID());
+        product.setName(name);
+        product.setPrice(new Price(25.0, com.vibevault.productservice.models.Currency.USD));
+        product.setCategory(category);
+        product.setVersion(version);
+        return product;
+    }
+}
@@ -288,4 +288,22 @@ class ProductSpecificationTest {
         Specification<Product> spec = ProductSpecification.withCreatedBefore(futureDate);
         assertNotNull(spec);
     }
+
+    @Test
+    void withFullTextQuery_shouldReturnNonNullSpecification() {
+        assertNotNull(ProductSpecification.withFullTextQuery("wireless headphones", true));
+        assertNotNull(ProductSpecification.withFullTextQuery(null, false));
+    }
+
+    @Test
+    void toBooleanModeQuery_shouldRequireEveryWordAsPrefix() {
+        assertEquals("+red* +sh*", ProductSpecification.toBooleanModeQuery("  red   sh "));
+    }
+
+    @Test
+    void toBooleanModeQuery_shouldStripBooleanOperators() {
+        assertEquals("+iphone* +14*", ProductSpecification.toBooleanModeQuery("-iphone +(14)* \"~\""));
+        assertEquals("", ProductSpecification.toBooleanModeQuery("+-*"));
+        assertEquals("", ProductSpecification.toBooleanModeQuery(null));
+    }
 }